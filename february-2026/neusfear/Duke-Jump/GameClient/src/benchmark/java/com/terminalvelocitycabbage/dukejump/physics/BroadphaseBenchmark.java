@@ -0,0 +1,152 @@
+package com.terminalvelocitycabbage.dukejump.physics;
+
+import com.terminalvelocitycabbage.dukejump.DukeGameClient;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Compares the {@link GridBroadphase} with scanning every enemy for the player's collisions, on enemies that
+ * walk, bob and respawn like the game's bugs and flies. Needs neither the engine nor a window.
+ * The grid update is timed as its own loop here, in the game it runs inside the physics step.
+ * <p>
+ * Every count runs twice: crowded onto the game's own track, where nearly every enemy is near the player,
+ * and spread out at a fixed density, where the player only ever has a few enemies nearby.
+ * <p>
+ * Arguments: the enemy counts to run, 1000 10000 100000 by default.
+ */
+public class BroadphaseBenchmark {
+
+    private static final float DELTA_TIME = 1000f / 60;
+    private static final int WARMUP_TICKS = 200;
+    private static final int MEASURED_TICKS = 1000;
+    private static final float GAME_TRACK_LENGTH = DukeGameClient.ENEMY + DukeGameClient.WORLD_HALF_WIDTH;
+    private static final float SPREAD_TRACK_LENGTH_PER_ENEMY = 10;
+
+    public static void main(String[] args) {
+        int[] enemyCounts = args.length == 0 ? new int[] {1_000, 10_000, 100_000} : new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            enemyCounts[i] = Integer.parseInt(args[i]);
+        }
+
+        System.out.println("enemies   track px    scan us/tick    grid update us/tick    grid query us/tick   collisions");
+        for (int enemies : enemyCounts) {
+            new Run(enemies, GAME_TRACK_LENGTH).measure();
+            new Run(enemies, enemies * SPREAD_TRACK_LENGTH_PER_ENEMY).measure();
+        }
+    }
+
+    private static final class Run {
+
+        private final int enemies;
+        private final float trackLength;
+        private final Random random = new Random(0);
+        private final float[] x;
+        private final float[] y;
+        private final boolean[] flies;
+        private final GridBroadphase broadphase;
+        private float elapsedTime;
+
+        //Enemies walk from the end of the track to its start at -WORLD_HALF_WIDTH and respawn at the end
+        private Run(int enemies, float trackLength) {
+            this.enemies = enemies;
+            this.trackLength = trackLength;
+            x = new float[enemies];
+            y = new float[enemies];
+            flies = new boolean[enemies];
+            broadphase = new GridBroadphase(-DukeGameClient.WORLD_HALF_WIDTH, trackEnd(), DukeGameClient.INTERSECTION_RADIUS * 2);
+            for (int i = 0; i < enemies; i++) {
+                spawn(i, -DukeGameClient.WORLD_HALF_WIDTH + random.nextFloat() * trackLength);
+                broadphase.add(i, x[i]);
+            }
+        }
+
+        private float trackEnd() {
+            return -DukeGameClient.WORLD_HALF_WIDTH + trackLength;
+        }
+
+        private void measure() {
+            for (int tick = 0; tick < WARMUP_TICKS; tick++) {
+                tick();
+                scan();
+                updateGrid();
+                query();
+            }
+
+            long scanNanoseconds = 0;
+            long updateNanoseconds = 0;
+            long queryNanoseconds = 0;
+            long scanCollisions = 0;
+            long gridCollisions = 0;
+            for (int tick = 0; tick < MEASURED_TICKS; tick++) {
+                tick();
+                long start = System.nanoTime();
+                scanCollisions += scan();
+                long scanned = System.nanoTime();
+                updateGrid();
+                long updated = System.nanoTime();
+                gridCollisions += query();
+                long queried = System.nanoTime();
+                scanNanoseconds += scanned - start;
+                updateNanoseconds += updated - scanned;
+                queryNanoseconds += queried - updated;
+            }
+
+            if (scanCollisions != gridCollisions) {
+                throw new IllegalStateException("The grid found " + gridCollisions + " collisions, the scan " + scanCollisions);
+            }
+            System.out.printf(Locale.ROOT, "%7d %10.0f %15.1f %22.1f %21.2f %12d%n", enemies, trackLength,
+                    scanNanoseconds / 1e3 / MEASURED_TICKS,
+                    updateNanoseconds / 1e3 / MEASURED_TICKS,
+                    queryNanoseconds / 1e3 / MEASURED_TICKS,
+                    gridCollisions);
+        }
+
+        //Moves enemies the way the physics step does and respawns those that left, like freeing and spawning
+        private void tick() {
+            elapsedTime += DELTA_TIME;
+            float scroll = DELTA_TIME * DukeGameClient.INITIAL_SPEED;
+            float flyLift = (float) (Math.sin(elapsedTime * (DukeGameClient.FLY_HEIGHT_SPEED/10000)) * DukeGameClient.FLY_HEIGHT_VARIANCE);
+            for (int i = 0; i < enemies; i++) {
+                if (flies[i]) {
+                    x[i] += scroll * DukeGameClient.FLY_SPEED_MULTIPLIER;
+                    y[i] += flyLift;
+                } else {
+                    x[i] += scroll * DukeGameClient.BUG_SPEED_MULTIPLIER;
+                }
+                if (x[i] < -DukeGameClient.WORLD_HALF_WIDTH) {
+                    broadphase.remove(i);
+                    spawn(i, trackEnd());
+                    broadphase.add(i, x[i]);
+                }
+            }
+        }
+
+        private void spawn(int i, float spawnX) {
+            flies[i] = random.nextFloat() < DukeGameClient.FLY_CHANCE;
+            x[i] = spawnX;
+            y[i] = DukeGameClient.GROUND_Y + (flies[i] ? DukeGameClient.FLY_BASE_HEIGHT : 0);
+        }
+
+        private void updateGrid() {
+            for (int i = 0; i < enemies; i++) {
+                broadphase.update(i, x[i]);
+            }
+        }
+
+        private int scan() {
+            int collisions = 0;
+            float radiusSquared = DukeGameClient.INTERSECTION_RADIUS * DukeGameClient.INTERSECTION_RADIUS;
+            for (int i = 0; i < enemies; i++) {
+                float distanceX = x[i] - DukeGameClient.PLAYER_POSITION_X;
+                float distanceY = y[i] - DukeGameClient.GROUND_Y;
+                if (distanceX * distanceX + distanceY * distanceY <= radiusSquared) collisions++;
+            }
+            return collisions;
+        }
+
+        private int query() {
+            return broadphase.query(x, y, DukeGameClient.PLAYER_POSITION_X, DukeGameClient.GROUND_Y, DukeGameClient.INTERSECTION_RADIUS);
+        }
+    }
+}
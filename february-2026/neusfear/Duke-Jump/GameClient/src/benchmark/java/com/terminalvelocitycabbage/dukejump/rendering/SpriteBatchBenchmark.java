@@ -0,0 +1,102 @@
+package com.terminalvelocitycabbage.dukejump.rendering;
+
+import com.terminalvelocitycabbage.dukejump.DukeGameClient;
+import org.joml.Matrix4f;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Times building the instance buffer of a {@link SpriteBatch}, adding every sprite and sorting them into
+ * batches, for sprites spread over a few shaders, textures and layers. Needs neither the engine nor a GPU.
+ * Every frame is checked: each batch must hold only its own shader and texture, back to front.
+ * <p>
+ * Arguments: the sprite counts to run, 1000 10000 100000 by default.
+ */
+public class SpriteBatchBenchmark {
+
+    private static final int WARMUP_FRAMES = 200;
+    private static final int MEASURED_FRAMES = 1000;
+    private static final int SHADERS = 2;
+    private static final int TEXTURES = 4;
+    private static final float[] LAYERS = {-2, -1, 0, 1};
+
+    public static void main(String[] args) {
+        int[] spriteCounts = args.length == 0 ? new int[] {1_000, 10_000, 100_000} : new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            spriteCounts[i] = Integer.parseInt(args[i]);
+        }
+
+        System.out.println("sprites   build us/frame   ns/sprite   draw calls before   draw calls after");
+        for (int sprites : spriteCounts) {
+            measure(sprites);
+        }
+    }
+
+    private static void measure(int sprites) {
+        var random = new Random(0);
+        var transformations = new Matrix4f[sprites];
+        int[] shaders = new int[sprites];
+        int[] textures = new int[sprites];
+        for (int i = 0; i < sprites; i++) {
+            float x = (random.nextFloat() * 2 - 1) * DukeGameClient.WORLD_HALF_WIDTH;
+            float y = random.nextFloat() * DukeGameClient.WORLD_HALF_WIDTH;
+            transformations[i] = new Matrix4f()
+                    .translate(x, y, LAYERS[random.nextInt(LAYERS.length)])
+                    .rotateZ(random.nextFloat())
+                    .scale(DukeGameClient.SCALE);
+            shaders[i] = random.nextInt(SHADERS);
+            textures[i] = 1 + random.nextInt(TEXTURES);
+        }
+
+        var batch = new SpriteBatch();
+        for (int frame = 0; frame < WARMUP_FRAMES; frame++) {
+            build(batch, transformations, shaders, textures);
+            check(batch);
+        }
+
+        long nanoseconds = 0;
+        for (int frame = 0; frame < MEASURED_FRAMES; frame++) {
+            long start = System.nanoTime();
+            build(batch, transformations, shaders, textures);
+            nanoseconds += System.nanoTime() - start;
+            check(batch);
+        }
+
+        System.out.printf(Locale.ROOT, "%7d %16.1f %11.1f %19d %18d%n", sprites,
+                nanoseconds / 1e3 / MEASURED_FRAMES,
+                (double) nanoseconds / MEASURED_FRAMES / sprites,
+                sprites,
+                batch.getBatchCount());
+    }
+
+    //The data of each sprite is its shader and texture, so check can tell whether it ended up in the right batch
+    private static void build(SpriteBatch batch, Matrix4f[] transformations, int[] shaders, int[] textures) {
+        batch.clear();
+        for (int i = 0; i < transformations.length; i++) {
+            batch.add(shaders[i], textures[i], transformations[i], shaders[i], textures[i], 0, 1);
+        }
+        batch.build();
+    }
+
+    private static void check(SpriteBatch batch) {
+        float[] instances = batch.getInstances();
+        int checked = 0;
+        for (int b = 0; b < batch.getBatchCount(); b++) {
+            if (batch.getBatchStart(b) != checked) throw new IllegalStateException("Batch " + b + " does not follow the one before it");
+            float previousZ = Float.NEGATIVE_INFINITY;
+            for (int i = checked; i < checked + batch.getBatchSize(b); i++) {
+                int offset = i * SpriteBatch.FLOATS_PER_INSTANCE;
+                float z = instances[offset + 6];
+                if (instances[offset + 8] != batch.getBatchShader(b) || instances[offset + 9] != batch.getBatchTexture(b)) {
+                    throw new IllegalStateException("Sprite " + i + " is in the batch of another shader or texture");
+                }
+                if (z < previousZ) throw new IllegalStateException("Sprite " + i + " is drawn before a sprite behind it");
+                previousZ = z;
+            }
+            checked += batch.getBatchSize(b);
+        }
+        if (checked != batch.size()) throw new IllegalStateException("The batches hold " + checked + " of " + batch.size() + " sprites");
+        if (batch.getBatchCount() > SHADERS * TEXTURES) throw new IllegalStateException(batch.getBatchCount() + " batches for " + SHADERS * TEXTURES + " combinations");
+    }
+}
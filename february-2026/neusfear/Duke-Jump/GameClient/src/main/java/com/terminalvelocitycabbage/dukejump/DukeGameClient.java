@@ -4,6 +4,8 @@ import com.terminalvelocitycabbage.dukejump.components.*;
 import com.terminalvelocitycabbage.dukejump.inputcontrollers.PauseGameController;
 import com.terminalvelocitycabbage.dukejump.inputcontrollers.JumpController;
 import com.terminalvelocitycabbage.dukejump.inputcontrollers.StompController;
+import com.terminalvelocitycabbage.dukejump.physics.PhysicsWorld;
+import com.terminalvelocitycabbage.dukejump.pools.EntityPool;
 import com.terminalvelocitycabbage.dukejump.rendernodes.DrawConfettiRenderNode;
 import com.terminalvelocitycabbage.dukejump.rendernodes.DrawUIRenderNode;
 import com.terminalvelocitycabbage.dukejump.rendernodes.DrawSceneRenderNode;
@@ -29,7 +31,6 @@ import com.terminalvelocitycabbage.engine.filesystem.resources.ResourceSource;
 import com.terminalvelocitycabbage.engine.filesystem.sources.MainSource;
 import com.terminalvelocitycabbage.engine.graph.Routine;
 import com.terminalvelocitycabbage.engine.registry.Identifier;
-import com.terminalvelocitycabbage.engine.util.Color;
 import com.terminalvelocitycabbage.templates.ecs.components.*;
 import com.terminalvelocitycabbage.templates.events.*;
 import com.terminalvelocitycabbage.templates.inputcontrollers.UIClickController;
@@ -39,7 +40,10 @@ import org.joml.Vector3f;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 public class DukeGameClient extends ClientBase {
 
@@ -57,9 +61,6 @@ public class DukeGameClient extends ClientBase {
     public static Identifier CONFETTI_FRAGMENT_SHADER;
     public static ShaderProgramConfig CONFETTI_SHADER_PROGRAM_CONFIG;
 
-    //Atlases
-    public static Identifier TEXTURE_ATLAS;
-
     //Textures
     public static Identifier DUKE_IDLE_0_TEXTURE;
     public static Identifier DUKE_IDLE_1_TEXTURE;
@@ -76,6 +77,9 @@ public class DukeGameClient extends ClientBase {
     public static Identifier FLY_1_TEXTURE;
     public static Identifier BACKGROUND_TEXTURE;
 
+    //File of each texture, the sprite atlas of the scene renderer is packed from these
+    public static final Map<Identifier, String> TEXTURE_FILES = new LinkedHashMap<>();
+
     //Meshes and Models
     public static Identifier SPRITE_MESH;
     public static Identifier DUKE_IDLE_0_MODEL;
@@ -116,6 +120,16 @@ public class DukeGameClient extends ClientBase {
             .addElement(VertexAttribute.XYZ_POSITION)
             .build();
     public static Routine DEFAULT_ROUTINE;
+    //Steps of the DEFAULT_ROUTINE in the order they run, the headless simulation runs the same steps
+    public static final List<RoutineStep> ROUTINE_STEPS = List.of(
+            new RoutineStep("physics", PhysicsSystem.class),
+            new RoutineStep("spawn_bug", SpawnEnemySystem.class),
+            new RoutineStep("check_for_collision", CheckForCollisionSystem.class),
+            new RoutineStep("count_passed_bugs", CountPassedBugsSystem.class),
+            new RoutineStep("animate_sprites", AnimateSpritesSystem.class),
+            new RoutineStep("spawn_confetti", SpawnConfettiSystem.class),
+            new RoutineStep("movement_speed", MovementSpeedSystem.class)
+    );
     public static Identifier RENDER_GRAPH;
     private static Identifier DEFAULT_SCENE;
 
@@ -127,6 +141,10 @@ public class DukeGameClient extends ClientBase {
     public static Identifier BACKGROUND_ENTITY;
     public static Identifier PLAYER_CAMERA_ENTITY;
     public static Identifier CONFETTI_ENTITY;
+    //Enemies and confetti come and go all the time, so they are recycled instead of freed
+    public static EntityPool BUG_POOL;
+    public static EntityPool FLY_POOL;
+    public static EntityPool CONFETTI_POOL;
 
     //STATES
     public static Identifier CURRENT_SCORE;
@@ -146,6 +164,7 @@ public class DukeGameClient extends ClientBase {
     public static final int GROUND_PARTS = 8;
     public static final int GROUND_Y = -100;
     public static final int PLAYER_POSITION_X = -300;
+    public static final float WORLD_HALF_WIDTH = 600; //enemies are freed past this, bodies further out are not synced to their transformation
     public static final float SPEEDUP_MULTIPLIER = .000005f;
     //Enemies
     public static final int ENEMY = 500;
@@ -171,22 +190,149 @@ public class DukeGameClient extends ClientBase {
     public static final float CONFETTI_MAX_HORIZONTAL_VELOCITY = 1.0f;
     public static final float CONFETTI_MAX_ROTATIONAL_VELOCITY = 1.0f;
     public static final float CONFETTI_SCALE = 8.0f;
-    public static final Color[] confettiColors = {
-            new Color(255, 0, 0, 255),
-            new Color(0, 255, 0, 255),
-            new Color(0, 0, 255, 255),
-            new Color(255, 255, 0, 255),
-            new Color(128, 0, 128, 255)
+    //RGBA, one byte each
+    public static final int[] confettiColors = {
+            0xFF0000FF,
+            0x00FF00FF,
+            0x0000FFFF,
+            0xFFFF00FF,
+            0x800080FF
     };
     public static final float CONFETTI_SPAWN_DURATION = 500; //How long in ms it takes to spawn all the confetti
 
+    //Physics
+    public static final PhysicsWorld PHYSICS = new PhysicsWorld();
+    //Seeded by the headless simulation so a run can be repeated
+    public static final Random RANDOM = new Random();
+
     //High Scores
     public static final List<Score> HIGH_SCORES = new ArrayList<>();
 
+    private final boolean headless;
+
     public DukeGameClient(String namespace, int ticksPerSecond) {
+        this(namespace, ticksPerSecond, false);
+    }
+
+    //A headless client only registers what the simulation needs, no resources, rendering, sound or input
+    public DukeGameClient(String namespace, int ticksPerSecond, boolean headless) {
         super(namespace, ticksPerSecond);
+        this.headless = headless;
         Collections.sort(HIGH_SCORES);
         //Listen to events
+        listenToGameplayEvents();
+        if (!headless) listenToPresentationEvents();
+    }
+
+    private void listenToGameplayEvents() {
+        getEventDispatcher().listenToEvent(EntityComponentRegistrationEvent.EVENT, e -> {
+            EntityComponentRegistrationEvent event = (EntityComponentRegistrationEvent) e;
+            event.registerComponent(ModelComponent.class);
+            event.registerComponent(TransformationComponent.class);
+            event.registerComponent(PositionComponent.class);
+            event.registerComponent(FixedOrthoCameraComponent.class);
+            event.registerComponent(VelocityComponent.class);
+            event.registerComponent(GroundComponent.class);
+            event.registerComponent(BugComponent.class);
+            event.registerComponent(BackgroundComponent.class);
+            event.registerComponent(SoundSourceComponent.class);
+            event.registerComponent(SoundListenerComponent.class);
+            event.registerComponent(PlayerComponent.class);
+            event.registerComponent(AnimatedSpriteComponent.class);
+            event.registerComponent(FlyComponent.class);
+            event.registerComponent(EnemyComponent.class);
+            event.registerComponent(ConfettiComponent.class);
+            event.registerComponent(PhysicsBodyComponent.class);
+        });
+        getEventDispatcher().listenToEvent(EntitySystemRegistrationEvent.EVENT, e -> {
+            EntitySystemRegistrationEvent event = (EntitySystemRegistrationEvent) e;
+            ROUTINE_STEPS.forEach(step -> event.createSystem(step.system()));
+        });
+        getEventDispatcher().listenToEvent(EntityTemplateRegistrationEvent.EVENT, e -> {
+            EntityTemplateRegistrationEvent event = (EntityTemplateRegistrationEvent) e;
+            PLAYER_CAMERA_ENTITY = event.createEntityTemplate(ID, "player_camera", entity -> {
+                entity.addComponent(TransformationComponent.class).setPosition(0, 0, -10);
+                entity.addComponent(FixedOrthoCameraComponent.class);
+            });
+            DUKE_ENTITY = event.createEntityTemplate(ID, "duke", entity -> {
+                entity.addComponent(ModelComponent.class).setModel(DUKE_IDLE_1_MODEL);
+                entity.addComponent(AnimatedSpriteComponent.class)
+                        .addStateAndStages("idle", 0.005f, DUKE_IDLE_0_MODEL, DUKE_IDLE_1_MODEL)
+                        .addStateAndStages("walk", 0.01f, DUKE_WALK_0_MODEL, DUKE_WALK_1_MODEL, DUKE_WALK_2_MODEL, DUKE_WALK_3_MODEL)
+                        .addStateAndStages("jump", 1f, DUKE_JUMP_MODEL)
+                        .addStateAndStages("dead", 0.5f, DUKE_DEAD_MODEL)
+                        .updateAnimation("idle", 0.1f);
+                entity.addComponent(TransformationComponent.class).setPosition(PLAYER_POSITION_X, GROUND_Y, 0).setScale(SCALE);
+                entity.addComponent(VelocityComponent.class);
+                entity.addComponent(SoundSourceComponent.class);
+                entity.addComponent(SoundListenerComponent.class);
+                entity.addComponent(PlayerComponent.class);
+                entity.addComponent(PhysicsBodyComponent.class);
+            });
+            BUG_ENTITY = event.createEntityTemplate(ID, "bug", entity -> {
+                entity.addComponent(ModelComponent.class).setModel(BUG_0_MODEL);
+                entity.addComponent(AnimatedSpriteComponent.class)
+                        .addStateAndStages("any", 0.01f, BUG_0_MODEL, BUG_1_MODEL)
+                        .updateAnimation("any", 0.1f);
+                entity.addComponent(BugComponent.class);
+                entity.addComponent(EnemyComponent.class);
+                entity.addComponent(TransformationComponent.class).setPosition(ENEMY, GROUND_Y, 1).setScale(SCALE);
+                entity.addComponent(SoundSourceComponent.class);
+                entity.addComponent(PhysicsBodyComponent.class);
+            });
+            FLY_ENTITY = event.createEntityTemplate(ID, "fly", entity -> {
+                entity.addComponent(ModelComponent.class).setModel(FLY_0_MODEL);
+                entity.addComponent(AnimatedSpriteComponent.class)
+                        .addStateAndStages("any", 0.5f, FLY_0_MODEL, FLY_1_MODEL)
+                        .updateAnimation("any", 0.1f);
+                entity.addComponent(FlyComponent.class);
+                entity.addComponent(EnemyComponent.class);
+                entity.addComponent(TransformationComponent.class).setPosition(ENEMY, GROUND_Y + FLY_BASE_HEIGHT, 1).setScale(SCALE);
+                entity.addComponent(SoundSourceComponent.class);
+                entity.addComponent(PhysicsBodyComponent.class);
+            });
+            GROUND_ENTITY = event.createEntityTemplate(ID, "ground", entity -> {
+                entity.addComponent(ModelComponent.class).setModel(GROUND_MODEL);
+                entity.addComponent(TransformationComponent.class).setPosition(-300, GROUND_Y - 150, -1).setScale(SCALE*4f);
+                entity.addComponent(GroundComponent.class);
+                entity.addComponent(PhysicsBodyComponent.class);
+            });
+            BACKGROUND_ENTITY = event.createEntityTemplate(ID, "background", entity -> {
+                entity.addComponent(ModelComponent.class).setModel(BACKGROUND_MODEL);
+                entity.addComponent(TransformationComponent.class).setPosition(-300, 80, -2).setScale((SCALE+1)*8f);
+                entity.addComponent(BackgroundComponent.class);
+                entity.addComponent(PhysicsBodyComponent.class);
+            });
+            CONFETTI_ENTITY = event.createEntityTemplate(ID, "confetti", entity -> {
+                entity.addComponent(TransformationComponent.class).setPosition(CONFETTI_SPAWN_LOCATION).setScale(CONFETTI_SCALE);
+                entity.addComponent(VelocityComponent.class);
+                entity.addComponent(ConfettiComponent.class);
+                entity.addComponent(PhysicsBodyComponent.class);
+            });
+            BUG_POOL = new EntityPool(BUG_ENTITY, entity -> resetEnemy(entity, GROUND_Y));
+            FLY_POOL = new EntityPool(FLY_ENTITY, entity -> resetEnemy(entity, GROUND_Y + FLY_BASE_HEIGHT));
+            CONFETTI_POOL = new EntityPool(CONFETTI_ENTITY, entity -> {
+                var transformation = entity.getComponent(TransformationComponent.class);
+                transformation.setDefaults();
+                transformation.setPosition(CONFETTI_SPAWN_LOCATION).setScale(CONFETTI_SCALE);
+                entity.getComponent(ConfettiComponent.class).setDefaults();
+            });
+        });
+        getEventDispatcher().listenToEvent(RoutineRegistrationEvent.EVENT, e -> {
+            RoutineRegistrationEvent event = (RoutineRegistrationEvent) e;
+            var routine = Routine.builder(ID, "update_duke_positions");
+            ROUTINE_STEPS.forEach(step -> routine.addStep(event.registerStep(ID, step.name()), step.system()));
+            DEFAULT_ROUTINE = event.registerRoutine(routine.build());
+        });
+        getEventDispatcher().listenToEvent(GameStateRegistrationEvent.EVENT, e -> {
+            GameStateRegistrationEvent event = (GameStateRegistrationEvent) e;
+            CURRENT_SCORE = event.registerState(ID, "score", 0);
+            GAME_STATE = event.registerState(ID, "alive", GameState.MAIN_MENU);
+            PASSED_ENEMIES_THIS_ROUND = event.registerState(ID, "passed_enemies", 0);
+        });
+    }
+
+    private void listenToPresentationEvents() {
         getEventDispatcher().listenToEvent(ResourceCategoryRegistrationEvent.EVENT, e -> {
             //Register engine defaults
             ResourceCategory.registerEngineDefaults(((ResourceCategoryRegistrationEvent) e).getRegistry(), ID);
@@ -213,7 +359,6 @@ public class DukeGameClient extends ClientBase {
                     .addUniform(new Uniform("textureSampler"))
                     .addUniform(new Uniform("projectionMatrix"))
                     .addUniform(new Uniform("viewMatrix"))
-                    .addUniform(new Uniform("modelMatrix"))
                     .build();
             CONFETTI_VERTEX_SHADER = event.registerResource(CLIENT_RESOURCE_SOURCE, ResourceCategory.SHADER, "confetti.vert").getIdentifier();
             CONFETTI_FRAGMENT_SHADER = event.registerResource(CLIENT_RESOURCE_SOURCE, ResourceCategory.SHADER, "confetti.frag").getIdentifier();
@@ -221,30 +366,27 @@ public class DukeGameClient extends ClientBase {
                     .vertexFormat(DukeGameClient.CONFETTI_FORMAT)
                     .addShader(Shader.Type.VERTEX, CONFETTI_VERTEX_SHADER)
                     .addShader(Shader.Type.FRAGMENT, CONFETTI_FRAGMENT_SHADER)
-                    .addUniform(new Uniform("textureSampler"))
                     .addUniform(new Uniform("projectionMatrix"))
                     .addUniform(new Uniform("viewMatrix"))
-                    .addUniform(new Uniform("modelMatrix"))
-                    .addUniform(new Uniform("color"))
                     .build();
         });
         getEventDispatcher().listenToEvent(ResourceRegistrationEvent.getEventNameFromCategory(ResourceCategory.TEXTURE), e -> {
             ResourceRegistrationEvent event = (ResourceRegistrationEvent) e;
             //Register texture resources
-            DUKE_IDLE_0_TEXTURE = event.registerResource(CLIENT_RESOURCE_SOURCE, ResourceCategory.TEXTURE, "duke_idle_0.png").getIdentifier();
-            DUKE_IDLE_1_TEXTURE = event.registerResource(CLIENT_RESOURCE_SOURCE, ResourceCategory.TEXTURE, "duke_idle_1.png").getIdentifier();
-            DUKE_WALK_0_TEXTURE = event.registerResource(CLIENT_RESOURCE_SOURCE, ResourceCategory.TEXTURE, "duke_walk_0.png").getIdentifier();
-            DUKE_WALK_1_TEXTURE = event.registerResource(CLIENT_RESOURCE_SOURCE, ResourceCategory.TEXTURE, "duke_walk_1.png").getIdentifier();
-            DUKE_WALK_2_TEXTURE = event.registerResource(CLIENT_RESOURCE_SOURCE, ResourceCategory.TEXTURE, "duke_walk_2.png").getIdentifier();
-            DUKE_WALK_3_TEXTURE = event.registerResource(CLIENT_RESOURCE_SOURCE, ResourceCategory.TEXTURE, "duke_walk_3.png").getIdentifier();
-            DUKE_JUMP_TEXTURE = event.registerResource(CLIENT_RESOURCE_SOURCE, ResourceCategory.TEXTURE, "duke_jump_0.png").getIdentifier();
-            DUKE_DEAD_TEXTURE = event.registerResource(CLIENT_RESOURCE_SOURCE, ResourceCategory.TEXTURE, "duke_dead.png").getIdentifier();
-            GROUND_TEXTURE = event.registerResource(CLIENT_RESOURCE_SOURCE, ResourceCategory.TEXTURE, "ground.png").getIdentifier();
-            BUG_0_TEXTURE = event.registerResource(CLIENT_RESOURCE_SOURCE, ResourceCategory.TEXTURE, "bug_0.png").getIdentifier();
-            BUG_1_TEXTURE = event.registerResource(CLIENT_RESOURCE_SOURCE, ResourceCategory.TEXTURE, "bug_1.png").getIdentifier();
-            FLY_0_TEXTURE = event.registerResource(CLIENT_RESOURCE_SOURCE, ResourceCategory.TEXTURE, "fly_0.png").getIdentifier();
-            FLY_1_TEXTURE = event.registerResource(CLIENT_RESOURCE_SOURCE, ResourceCategory.TEXTURE, "fly_1.png").getIdentifier();
-            BACKGROUND_TEXTURE = event.registerResource(CLIENT_RESOURCE_SOURCE, ResourceCategory.TEXTURE, "background.png").getIdentifier();
+            DUKE_IDLE_0_TEXTURE = registerTexture(event, "duke_idle_0.png");
+            DUKE_IDLE_1_TEXTURE = registerTexture(event, "duke_idle_1.png");
+            DUKE_WALK_0_TEXTURE = registerTexture(event, "duke_walk_0.png");
+            DUKE_WALK_1_TEXTURE = registerTexture(event, "duke_walk_1.png");
+            DUKE_WALK_2_TEXTURE = registerTexture(event, "duke_walk_2.png");
+            DUKE_WALK_3_TEXTURE = registerTexture(event, "duke_walk_3.png");
+            DUKE_JUMP_TEXTURE = registerTexture(event, "duke_jump_0.png");
+            DUKE_DEAD_TEXTURE = registerTexture(event, "duke_dead.png");
+            GROUND_TEXTURE = registerTexture(event, "ground.png");
+            BUG_0_TEXTURE = registerTexture(event, "bug_0.png");
+            BUG_1_TEXTURE = registerTexture(event, "bug_1.png");
+            FLY_0_TEXTURE = registerTexture(event, "fly_0.png");
+            FLY_1_TEXTURE = registerTexture(event, "fly_1.png");
+            BACKGROUND_TEXTURE = registerTexture(event, "background.png");
         });
         getEventDispatcher().listenToEvent(ResourceRegistrationEvent.getEventNameFromCategory(ResourceCategory.SOUND), e -> {
             ResourceRegistrationEvent event = (ResourceRegistrationEvent) e;
@@ -268,26 +410,6 @@ public class DukeGameClient extends ClientBase {
             FontRegistrationEvent event = (FontRegistrationEvent) e;
             PIXEL_FONT = event.register(new Font(PIXEL_FONT_RESOURCE)).getIdentifier();
         });
-        getEventDispatcher().listenToEvent(ConfigureTexturesEvent.EVENT, e -> {
-            ConfigureTexturesEvent event = (ConfigureTexturesEvent) e;
-            //Register a default atlas
-            TEXTURE_ATLAS = event.registerAtlas(ID, "atlas");
-            //Add textures to atlas
-            event.addTexture(GROUND_TEXTURE, TEXTURE_ATLAS);
-            event.addTexture(DUKE_IDLE_0_TEXTURE, TEXTURE_ATLAS);
-            event.addTexture(DUKE_IDLE_1_TEXTURE, TEXTURE_ATLAS);
-            event.addTexture(DUKE_WALK_0_TEXTURE, TEXTURE_ATLAS);
-            event.addTexture(DUKE_WALK_1_TEXTURE, TEXTURE_ATLAS);
-            event.addTexture(DUKE_WALK_2_TEXTURE, TEXTURE_ATLAS);
-            event.addTexture(DUKE_WALK_3_TEXTURE, TEXTURE_ATLAS);
-            event.addTexture(DUKE_JUMP_TEXTURE, TEXTURE_ATLAS);
-            event.addTexture(DUKE_DEAD_TEXTURE, TEXTURE_ATLAS);
-            event.addTexture(BUG_0_TEXTURE, TEXTURE_ATLAS);
-            event.addTexture(BUG_1_TEXTURE, TEXTURE_ATLAS);
-            event.addTexture(FLY_0_TEXTURE, TEXTURE_ATLAS);
-            event.addTexture(FLY_1_TEXTURE, TEXTURE_ATLAS);
-            event.addTexture(BACKGROUND_TEXTURE, TEXTURE_ATLAS);
-        });
         getEventDispatcher().listenToEvent(MeshRegistrationEvent.EVENT, e -> {
             MeshRegistrationEvent event = (MeshRegistrationEvent) e;
             SPRITE_MESH = event.registerMesh(ID, "sprite", new Mesh(MESH_FORMAT, new SquareDataMesh()));
@@ -309,113 +431,6 @@ public class DukeGameClient extends ClientBase {
             FLY_1_MODEL = event.registerModel(ID, "fly_1", SPRITE_MESH, FLY_1_TEXTURE);
             BACKGROUND_MODEL = event.registerModel(ID, "background", SPRITE_MESH, BACKGROUND_TEXTURE);
         });
-        getEventDispatcher().listenToEvent(EntityComponentRegistrationEvent.EVENT, e -> {
-            EntityComponentRegistrationEvent event = (EntityComponentRegistrationEvent) e;
-            event.registerComponent(ModelComponent.class);
-            event.registerComponent(TransformationComponent.class);
-            event.registerComponent(PositionComponent.class);
-            event.registerComponent(FixedOrthoCameraComponent.class);
-            event.registerComponent(VelocityComponent.class);
-            event.registerComponent(GroundComponent.class);
-            event.registerComponent(BugComponent.class);
-            event.registerComponent(BackgroundComponent.class);
-            event.registerComponent(SoundSourceComponent.class);
-            event.registerComponent(SoundListenerComponent.class);
-            event.registerComponent(SquashedComponent.class);
-            event.registerComponent(PlayerComponent.class);
-            event.registerComponent(AnimatedSpriteComponent.class);
-            event.registerComponent(FlyComponent.class);
-            event.registerComponent(EnemyComponent.class);
-            event.registerComponent(ConfettiComponent.class);
-        });
-        getEventDispatcher().listenToEvent(EntitySystemRegistrationEvent.EVENT, e -> {
-            EntitySystemRegistrationEvent event = (EntitySystemRegistrationEvent) e;
-            event.createSystem(GravitySystem.class);
-            event.createSystem(AccelerationSystem.class);
-            event.createSystem(UpdateGroundPositionsSystem.class);
-            event.createSystem(UpdateEnemyPositionSystem.class);
-            event.createSystem(SpawnEnemySystem.class);
-            event.createSystem(UpdateBackgroundPositionsSystem.class);
-            event.createSystem(CheckForCollisionSystem.class);
-            event.createSystem(CountPassedBugsSystem.class);
-            event.createSystem(AnimateSpritesSystem.class);
-            event.createSystem(UpdateConfettiSystem.class);
-            event.createSystem(SpawnConfettiSystem.class);
-            event.createSystem(MovementSpeedSystem.class);
-        });
-        getEventDispatcher().listenToEvent(EntityTemplateRegistrationEvent.EVENT, e -> {
-            EntityTemplateRegistrationEvent event = (EntityTemplateRegistrationEvent) e;
-            PLAYER_CAMERA_ENTITY = event.createEntityTemplate(ID, "player_camera", entity -> {
-                entity.addComponent(TransformationComponent.class).setPosition(0, 0, -10);
-                entity.addComponent(FixedOrthoCameraComponent.class);
-            });
-            DUKE_ENTITY = event.createEntityTemplate(ID, "duke", entity -> {
-                entity.addComponent(ModelComponent.class).setModel(DUKE_IDLE_1_MODEL);
-                entity.addComponent(AnimatedSpriteComponent.class)
-                        .addStateAndStages("idle", 0.005f, DUKE_IDLE_0_MODEL, DUKE_IDLE_1_MODEL)
-                        .addStateAndStages("walk", 0.01f, DUKE_WALK_0_MODEL, DUKE_WALK_1_MODEL, DUKE_WALK_2_MODEL, DUKE_WALK_3_MODEL)
-                        .addStateAndStages("jump", 1f, DUKE_JUMP_MODEL)
-                        .addStateAndStages("dead", 0.5f, DUKE_DEAD_MODEL)
-                        .updateAnimation("idle", 0.1f);
-                entity.addComponent(TransformationComponent.class).setPosition(PLAYER_POSITION_X, GROUND_Y, 0).setScale(SCALE);
-                entity.addComponent(VelocityComponent.class);
-                entity.addComponent(SoundSourceComponent.class);
-                entity.addComponent(SoundListenerComponent.class);
-                entity.addComponent(PlayerComponent.class);
-            });
-            BUG_ENTITY = event.createEntityTemplate(ID, "bug", entity -> {
-                entity.addComponent(ModelComponent.class).setModel(BUG_0_MODEL);
-                entity.addComponent(AnimatedSpriteComponent.class)
-                        .addStateAndStages("any", 0.01f, BUG_0_MODEL, BUG_1_MODEL)
-                        .updateAnimation("any", 0.1f);
-                entity.addComponent(BugComponent.class);
-                entity.addComponent(EnemyComponent.class);
-                entity.addComponent(TransformationComponent.class).setPosition(ENEMY, GROUND_Y, 1).setScale(SCALE);
-                entity.addComponent(SoundSourceComponent.class);
-            });
-            FLY_ENTITY = event.createEntityTemplate(ID, "fly", entity -> {
-                entity.addComponent(ModelComponent.class).setModel(FLY_0_MODEL);
-                entity.addComponent(AnimatedSpriteComponent.class)
-                        .addStateAndStages("any", 0.5f, FLY_0_MODEL, FLY_1_MODEL)
-                        .updateAnimation("any", 0.1f);
-                entity.addComponent(FlyComponent.class);
-                entity.addComponent(EnemyComponent.class);
-                entity.addComponent(TransformationComponent.class).setPosition(ENEMY, GROUND_Y + FLY_BASE_HEIGHT, 1).setScale(SCALE);
-                entity.addComponent(SoundSourceComponent.class);
-            });
-            GROUND_ENTITY = event.createEntityTemplate(ID, "ground", entity -> {
-                entity.addComponent(ModelComponent.class).setModel(GROUND_MODEL);
-                entity.addComponent(TransformationComponent.class).setPosition(-300, GROUND_Y - 150, -1).setScale(SCALE*4f);
-                entity.addComponent(GroundComponent.class);
-            });
-            BACKGROUND_ENTITY = event.createEntityTemplate(ID, "background", entity -> {
-                entity.addComponent(ModelComponent.class).setModel(BACKGROUND_MODEL);
-                entity.addComponent(TransformationComponent.class).setPosition(-300, 80, -2).setScale((SCALE+1)*8f);
-                entity.addComponent(BackgroundComponent.class);
-            });
-            CONFETTI_ENTITY = event.createEntityTemplate(ID, "confetti", entity -> {
-                entity.addComponent(TransformationComponent.class).setPosition(CONFETTI_SPAWN_LOCATION).setScale(CONFETTI_SCALE);
-                entity.addComponent(VelocityComponent.class);
-                entity.addComponent(ConfettiComponent.class);
-            });
-        });
-        getEventDispatcher().listenToEvent(RoutineRegistrationEvent.EVENT, e -> {
-            RoutineRegistrationEvent event = (RoutineRegistrationEvent) e;
-            DEFAULT_ROUTINE = event.registerRoutine(Routine.builder(ID, "update_duke_positions")
-                    .addStep(event.registerStep(ID, "gravity"), GravitySystem.class)
-                    .addStep(event.registerStep(ID, "acceleration"), AccelerationSystem.class)
-                    .addStep(event.registerStep(ID, "update_ground_positions"), UpdateGroundPositionsSystem.class)
-                    .addStep(event.registerStep(ID, "update_bug_positions"), UpdateEnemyPositionSystem.class)
-                    .addStep(event.registerStep(ID, "spawn_bug"), SpawnEnemySystem.class)
-                    .addStep(event.registerStep(ID, "update_background_positions"), UpdateBackgroundPositionsSystem.class)
-                    .addStep(event.registerStep(ID, "check_for_collision"), CheckForCollisionSystem.class)
-                    .addStep(event.registerStep(ID, "count_passed_bugs"), CountPassedBugsSystem.class)
-                    .addStep(event.registerStep(ID, "animate_sprites"), AnimateSpritesSystem.class)
-                    .addStep(event.registerStep(ID, "update_confetti_positions"), UpdateConfettiSystem.class)
-                    .addStep(event.registerStep(ID, "spawn_confetti"), SpawnConfettiSystem.class)
-                    .addStep(event.registerStep(ID, "movement_speed"), MovementSpeedSystem.class)
-                    .build());
-        });
         getEventDispatcher().listenToEvent(RendererRegistrationEvent.EVENT, e -> {
             RendererRegistrationEvent event = (RendererRegistrationEvent) e;
             RENDER_GRAPH = event.registerGraph(ID, "render_graph",
@@ -456,22 +471,31 @@ public class DukeGameClient extends ClientBase {
                     new ControlGroup(mouseScrollDownControl)
             ));
         });
-        getEventDispatcher().listenToEvent(GameStateRegistrationEvent.EVENT, e -> {
-            GameStateRegistrationEvent event = (GameStateRegistrationEvent) e;
-            CURRENT_SCORE = event.registerState(ID, "score", 0);
-            GAME_STATE = event.registerState(ID, "alive", GameState.MAIN_MENU);
-            PASSED_ENEMIES_THIS_ROUND = event.registerState(ID, "passed_enemies", 0);
-        });
     }
 
     public static void restart(boolean returnToMainMenu) {
         MOVEMENT_SPEED = INITIAL_SPEED;
         ClientBase.getInstance().getStateHandler().getState(DukeGameClient.PASSED_ENEMIES_THIS_ROUND).setValue(0);
         ClientBase.getInstance().getStateHandler().getState(DukeGameClient.CURRENT_SCORE).setValue(0);
-        ClientBase.getInstance().getManager().getEntitiesWith(EnemyComponent.class).forEach(Entity::free);
+        var manager = ClientBase.getInstance().getManager();
+        manager.getEntitiesWith(EnemyComponent.class).forEach(entity -> PHYSICS.free(manager, entity));
         ClientBase.getInstance().getStateHandler().getState(DukeGameClient.GAME_STATE).setValue(returnToMainMenu ? GameState.MAIN_MENU : GameState.GAME_RUNNING);
     }
 
+    private static Identifier registerTexture(ResourceRegistrationEvent event, String file) {
+        var texture = event.registerResource(CLIENT_RESOURCE_SOURCE, ResourceCategory.TEXTURE, file).getIdentifier();
+        TEXTURE_FILES.put(texture, file);
+        return texture;
+    }
+
+    //Puts a recycled enemy back where the bug and fly templates create one, the squash spin included
+    private static void resetEnemy(Entity entity, float y) {
+        var transformation = entity.getComponent(TransformationComponent.class);
+        transformation.setDefaults();
+        transformation.setPosition(ENEMY, y, 1).setScale(SCALE);
+        entity.getComponent(EnemyComponent.class).setDefaults();
+    }
+
     public static void main(String[] args) {
         DukeGameClient client = new DukeGameClient(ID, 60);
         client.start();
@@ -480,6 +504,7 @@ public class DukeGameClient extends ClientBase {
     @Override
     public void init() {
         super.init();
+        if (headless) return;
 
         //Create window properties
         WindowProperties windowProperties = new WindowProperties(800, 600, "Duke Jump Game", DEFAULT_SCENE);
@@ -504,6 +529,18 @@ public class DukeGameClient extends ClientBase {
         return DukeGameClient.getInstance().getStateHandler().getState(GAME_STATE).getValue().equals(GameState.PAUSED);
     }
 
+    public static boolean isHeadless() {
+        return ((DukeGameClient) DukeGameClient.getInstance()).headless;
+    }
+
+    //There is no audio device without a window
+    public static void playSound(Entity entity, Identifier sound) {
+        if (isHeadless()) return;
+        entity.getComponent(SoundSourceComponent.class).playSound(sound);
+    }
+
+    public record RoutineStep(String name, Class<? extends com.terminalvelocitycabbage.engine.ecs.System> system) { }
+
     public record Score(String scoreHolder, int score) implements Comparable<Score> {
 
         @Override
@@ -2,20 +2,18 @@ package com.terminalvelocitycabbage.dukejump.components;
 
 import com.terminalvelocitycabbage.dukejump.DukeGameClient;
 import com.terminalvelocitycabbage.engine.ecs.Component;
-import com.terminalvelocitycabbage.engine.util.Color;
 import org.joml.Vector3f;
 
-import java.util.Random;
-
 public class ConfettiComponent implements Component {
 
-    Color color;
-    Vector3f initialVelocity;
+    //RGBA, one byte each
+    int color;
+    final Vector3f initialVelocity = new Vector3f();
 
     @Override
     public void setDefaults() {
-        var random = new Random();
-        initialVelocity = new Vector3f(
+        var random = DukeGameClient.RANDOM;
+        initialVelocity.set(
                 random.nextFloat(DukeGameClient.CONFETTI_MAX_HORIZONTAL_VELOCITY) * (random.nextBoolean() ? 1f : -1f),
                 random.nextFloat(DukeGameClient.CONFETTI_MAX_VERTICAL_VELOCITY),
                 random.nextFloat(DukeGameClient.CONFETTI_MAX_ROTATIONAL_VELOCITY) * (random.nextBoolean() ? 1f : -1f)
@@ -23,7 +21,7 @@ public class ConfettiComponent implements Component {
         color = DukeGameClient.confettiColors[random.nextInt(DukeGameClient.confettiColors.length)];
     }
 
-    public Color getColor() {
+    public int getColor() {
         return color;
     }
 
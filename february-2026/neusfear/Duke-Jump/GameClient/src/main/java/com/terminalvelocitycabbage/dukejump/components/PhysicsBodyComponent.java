@@ -0,0 +1,44 @@
+package com.terminalvelocitycabbage.dukejump.components;
+
+import com.terminalvelocitycabbage.dukejump.pools.EntityPool;
+import com.terminalvelocitycabbage.engine.ecs.Component;
+
+public class PhysicsBodyComponent implements Component {
+
+    //Index of this entity in the arrays of the PhysicsWorld, -1 while it is not simulated
+    int slot = -1;
+    //Pool this entity goes back to instead of being freed, and whether it is waiting there
+    EntityPool pool;
+    boolean parked;
+
+    @Override
+    public void setDefaults() {
+        slot = -1;
+        pool = null;
+        parked = false;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
+    public EntityPool getPool() {
+        return pool;
+    }
+
+    public void setPool(EntityPool pool) {
+        this.pool = pool;
+    }
+
+    public boolean isParked() {
+        return parked;
+    }
+
+    public void setParked(boolean parked) {
+        this.parked = parked;
+    }
+}
@@ -1,11 +0,0 @@
-package com.terminalvelocitycabbage.dukejump.components;
-
-import com.terminalvelocitycabbage.engine.ecs.Component;
-
-public class SquashedComponent implements Component {
-
-    @Override
-    public void setDefaults() {
-
-    }
-}
@@ -0,0 +1,124 @@
+package com.terminalvelocitycabbage.dukejump.headless;
+
+import com.terminalvelocitycabbage.dukejump.DukeGameClient;
+import com.terminalvelocitycabbage.dukejump.physics.BodyKind;
+import com.terminalvelocitycabbage.dukejump.scenes.DefaultScene;
+import com.terminalvelocitycabbage.engine.ecs.Manager;
+import com.terminalvelocitycabbage.templates.ecs.components.TransformationComponent;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Runs the steps of the DEFAULT_ROUTINE without a window, GL context, sound or input, so the simulation
+ * can be load tested and profiled on machines without a GPU. The player never stays dead, every death is
+ * counted and the game carries on.
+ * <p>
+ * Arguments: {@code --ticks <n>} (default 10000), {@code --seed <n>} (default 0) and {@code --bugs <n>},
+ * a number of extra bugs kept alive on top of the normal spawns (default 0).
+ */
+public class HeadlessSimulation {
+
+    private static final int TICKS_PER_SECOND = 60;
+    private static final float DELTA_TIME = 1000f / TICKS_PER_SECOND;
+    //Distance a bug walks from spawning to being freed
+    private static final float BUG_TRACK_LENGTH = DukeGameClient.ENEMY + DukeGameClient.WORLD_HALF_WIDTH;
+
+    public static void main(String[] args) {
+        int ticks = intArgument(args, "--ticks", 10_000);
+        long seed = longArgument(args, "--seed", 0);
+        int bugs = intArgument(args, "--bugs", 0);
+        if (ticks < 1) throw new IllegalArgumentException("--ticks must be at least 1");
+
+        //Fires the registration events, a headless client creates no window
+        var client = new DukeGameClient(DukeGameClient.ID, TICKS_PER_SECOND, true);
+        client.init();
+        var manager = client.getManager();
+        var systems = createSystems();
+
+        DukeGameClient.RANDOM.setSeed(seed);
+        DefaultScene.createEntities(manager);
+        DukeGameClient.restart(false);
+        //Start with the extra bugs spread over the whole track so the load is there from the first tick
+        for (int i = 0; i < bugs; i++) {
+            spawnBug(manager, -DukeGameClient.WORLD_HALF_WIDTH);
+        }
+
+        var gameState = DukeGameClient.getInstance().getStateHandler().getState(DukeGameClient.GAME_STATE);
+        var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int deaths = 0;
+        int peakBodies = 0;
+
+        long allocatedAtStart = threadBean.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int tick = 0; tick < ticks; tick++) {
+            for (int missing = bugs - DukeGameClient.PHYSICS.count(BodyKind.BUG); missing > 0; missing--) {
+                spawnBug(manager, DukeGameClient.ENEMY);
+            }
+            for (var system : systems) {
+                system.update(manager, DELTA_TIME);
+            }
+            if (gameState.getValue().equals(DukeGameClient.GameState.DEAD)) {
+                deaths++;
+                gameState.setValue(DukeGameClient.GameState.GAME_RUNNING);
+            }
+            peakBodies = Math.max(peakBodies, DukeGameClient.PHYSICS.size());
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threadBean.getCurrentThreadAllocatedBytes() - allocatedAtStart;
+
+        report(ticks, elapsed, allocated, peakBodies, deaths);
+    }
+
+    private static List<com.terminalvelocitycabbage.engine.ecs.System> createSystems() {
+        var systems = new ArrayList<com.terminalvelocitycabbage.engine.ecs.System>();
+        for (var step : DukeGameClient.ROUTINE_STEPS) {
+            try {
+                systems.add(step.system().getDeclaredConstructor().newInstance());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Could not create the system of routine step " + step.name(), e);
+            }
+        }
+        return systems;
+    }
+
+    private static void spawnBug(Manager manager, float minX) {
+        var bug = DukeGameClient.BUG_POOL.obtain(manager);
+        float x = minX + DukeGameClient.RANDOM.nextFloat() * BUG_TRACK_LENGTH;
+        bug.getComponent(TransformationComponent.class).setPosition(x, DukeGameClient.GROUND_Y, 1);
+        DukeGameClient.PHYSICS.add(bug, BodyKind.BUG);
+    }
+
+    private static void report(int ticks, long elapsedNanoseconds, long allocatedBytes, int peakBodies, int deaths) {
+        double seconds = elapsedNanoseconds / 1e9;
+        System.out.printf(Locale.ROOT, "Simulated %d ticks in %.2f s: %.0f ticks/s, %.1f us/tick%n",
+                ticks, seconds, ticks / seconds, elapsedNanoseconds / 1e3 / ticks);
+
+        var bodies = new StringBuilder();
+        for (BodyKind kind : BodyKind.values()) {
+            bodies.append(", ").append(kind.name().toLowerCase(Locale.ROOT)).append(' ').append(DukeGameClient.PHYSICS.count(kind));
+        }
+        System.out.printf(Locale.ROOT, "Bodies at the end: %d (peak %d)%s%n", DukeGameClient.PHYSICS.size(), peakBodies, bodies);
+
+        System.out.printf(Locale.ROOT, "Allocated %.1f MB: %.1f MB/s, %d bytes/tick%n",
+                allocatedBytes / 1_048_576d, allocatedBytes / 1_048_576d / seconds, allocatedBytes / ticks);
+        System.out.printf(Locale.ROOT, "Score %s, %d deaths%n",
+                DukeGameClient.getInstance().getStateHandler().getState(DukeGameClient.CURRENT_SCORE).getValue(), deaths);
+        for (var pool : List.of(DukeGameClient.BUG_POOL, DukeGameClient.FLY_POOL, DukeGameClient.CONFETTI_POOL)) {
+            System.out.println(pool.summary());
+        }
+    }
+
+    private static int intArgument(String[] args, String name, int defaultValue) {
+        return (int) longArgument(args, name, defaultValue);
+    }
+
+    private static long longArgument(String[] args, String name, long defaultValue) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(name)) return Long.parseLong(args[i + 1]);
+        }
+        return defaultValue;
+    }
+}
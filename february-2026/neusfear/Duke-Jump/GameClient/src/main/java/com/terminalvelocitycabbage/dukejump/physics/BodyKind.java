@@ -0,0 +1,34 @@
+package com.terminalvelocitycabbage.dukejump.physics;
+
+import com.terminalvelocitycabbage.dukejump.DukeGameClient;
+
+/**
+ * How the {@link PhysicsWorld} moves a body, the half width is used to tell whether the body is in view.
+ * Colliders can be found with {@link PhysicsWorld#collidersNear}.
+ */
+public enum BodyKind {
+
+    PLAYER(DukeGameClient.INTERSECTION_RADIUS, false),
+    BUG(DukeGameClient.INTERSECTION_RADIUS, true),
+    FLY(DukeGameClient.INTERSECTION_RADIUS, true),
+    SQUASHED(DukeGameClient.INTERSECTION_RADIUS, false),
+    GROUND(DukeGameClient.SCALE * 2f, false),
+    BACKGROUND((DukeGameClient.SCALE + 1) * 4f, false),
+    CONFETTI(DukeGameClient.CONFETTI_SCALE / 2f, false);
+
+    private final float halfWidth;
+    private final boolean collider;
+
+    BodyKind(float halfWidth, boolean collider) {
+        this.halfWidth = halfWidth;
+        this.collider = collider;
+    }
+
+    public float getHalfWidth() {
+        return halfWidth;
+    }
+
+    public boolean isCollider() {
+        return collider;
+    }
+}
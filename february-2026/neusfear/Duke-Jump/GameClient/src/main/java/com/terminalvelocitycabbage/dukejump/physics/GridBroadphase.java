@@ -0,0 +1,158 @@
+package com.terminalvelocitycabbage.dukejump.physics;
+
+import java.util.Arrays;
+
+/**
+ * Buckets ids into cells along x so everything within a radius of a point is found by looking at the
+ * few cells around it instead of at every id. Ids index the position arrays handed to {@link #query}.
+ * <p>
+ * The world scrolls horizontally and barely spreads vertically, so the cells only split x. Positions
+ * outside the covered range fall into the first or last cell. An id only changes cells when {@link #update}
+ * sees it cross a cell border, which the owner calls as it moves each body.
+ */
+public class GridBroadphase {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int INITIAL_CELL_CAPACITY = 8;
+
+    private final float minX;
+    private final float cellsPerUnit;
+    private final int[][] cellIds;
+    private final int[] cellCounts;
+
+    //Cell and index within that cell of each id, -1 while the id is not in the grid
+    private int[] cellOf = filled(INITIAL_CAPACITY);
+    private int[] indexInCell = new int[INITIAL_CAPACITY];
+    private int size;
+
+    private int foundCount;
+    private int[] found = new int[16];
+
+    public GridBroadphase(float minX, float maxX, float cellSize) {
+        if (cellSize <= 0 || maxX <= minX) throw new IllegalArgumentException("The grid needs a positive cell size and range");
+        this.minX = minX;
+        this.cellsPerUnit = 1 / cellSize;
+        int cells = (int) Math.ceil((maxX - minX) / cellSize);
+        cellIds = new int[cells][];
+        cellCounts = new int[cells];
+        for (int i = 0; i < cells; i++) {
+            cellIds[i] = new int[INITIAL_CELL_CAPACITY];
+        }
+    }
+
+    public void add(int id, float x) {
+        if (contains(id)) throw new IllegalStateException("Id " + id + " is already in the grid");
+        ensureIdCapacity(id);
+        insert(id, cellIndex(x));
+        size++;
+    }
+
+    public void remove(int id) {
+        if (!contains(id)) return;
+        detach(id);
+        cellOf[id] = -1;
+        size--;
+    }
+
+    /**
+     * Moves an id to the cell of its new x, cheap when it stays in the same cell as it almost always does.
+     */
+    public void update(int id, float x) {
+        int cell = cellIndex(x);
+        if (cellOf[id] == cell) return;
+        detach(id);
+        insert(id, cell);
+    }
+
+    /**
+     * For owners that keep their ids dense by moving the last id into a freed one.
+     */
+    public void rename(int from, int to) {
+        if (!contains(from)) return;
+        if (contains(to)) throw new IllegalStateException("Id " + to + " is still in the grid");
+        ensureIdCapacity(to);
+        int cell = cellOf[from];
+        int index = indexInCell[from];
+        cellIds[cell][index] = to;
+        cellOf[to] = cell;
+        indexInCell[to] = index;
+        cellOf[from] = -1;
+    }
+
+    public boolean contains(int id) {
+        return id >= 0 && id < cellOf.length && cellOf[id] >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the ids within the radius of a point, read them with {@link #getFound} until the next query.
+     *
+     * @return how many ids were found
+     */
+    public int query(float[] x, float[] y, float centerX, float centerY, float radius) {
+        foundCount = 0;
+        float radiusSquared = radius * radius;
+        int lastCell = cellIndex(centerX + radius);
+        for (int cell = cellIndex(centerX - radius); cell <= lastCell; cell++) {
+            int[] ids = cellIds[cell];
+            for (int i = 0; i < cellCounts[cell]; i++) {
+                int id = ids[i];
+                float distanceX = x[id] - centerX;
+                float distanceY = y[id] - centerY;
+                if (distanceX * distanceX + distanceY * distanceY <= radiusSquared) {
+                    if (foundCount == found.length) found = Arrays.copyOf(found, foundCount * 2);
+                    found[foundCount++] = id;
+                }
+            }
+        }
+        return foundCount;
+    }
+
+    public int getFound(int index) {
+        return found[index];
+    }
+
+    private int cellIndex(float x) {
+        int cell = (int) ((x - minX) * cellsPerUnit);
+        return Math.max(0, Math.min(cellCounts.length - 1, cell));
+    }
+
+    private void insert(int id, int cell) {
+        int count = cellCounts[cell];
+        if (count == cellIds[cell].length) cellIds[cell] = Arrays.copyOf(cellIds[cell], count * 2);
+        cellIds[cell][count] = id;
+        cellCounts[cell] = count + 1;
+        cellOf[id] = cell;
+        indexInCell[id] = count;
+    }
+
+    //Swaps the last id of the cell into the hole
+    private void detach(int id) {
+        int cell = cellOf[id];
+        int index = indexInCell[id];
+        int last = --cellCounts[cell];
+        if (index != last) {
+            int moved = cellIds[cell][last];
+            cellIds[cell][index] = moved;
+            indexInCell[moved] = index;
+        }
+    }
+
+    private void ensureIdCapacity(int id) {
+        if (id < cellOf.length) return;
+        int oldLength = cellOf.length;
+        int length = Math.max(id + 1, oldLength * 2);
+        cellOf = Arrays.copyOf(cellOf, length);
+        indexInCell = Arrays.copyOf(indexInCell, length);
+        Arrays.fill(cellOf, oldLength, length, -1);
+    }
+
+    private static int[] filled(int length) {
+        int[] values = new int[length];
+        Arrays.fill(values, -1);
+        return values;
+    }
+}
@@ -0,0 +1,293 @@
+package com.terminalvelocitycabbage.dukejump.physics;
+
+import com.terminalvelocitycabbage.dukejump.DukeGameClient;
+import com.terminalvelocitycabbage.dukejump.components.ConfettiComponent;
+import com.terminalvelocitycabbage.dukejump.components.PhysicsBodyComponent;
+import com.terminalvelocitycabbage.engine.ecs.Entity;
+import com.terminalvelocitycabbage.engine.ecs.Manager;
+import com.terminalvelocitycabbage.templates.ecs.components.TransformationComponent;
+import com.terminalvelocitycabbage.templates.ecs.components.VelocityComponent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Positions and velocities of everything that moves, packed into arrays indexed by the slot
+ * stored in each entity's {@link PhysicsBodyComponent}. {@link #step} moves all bodies in one pass
+ * and only writes back to the {@link TransformationComponent} of bodies that are, or just were, in view.
+ * Freed bodies go back to their pool, if they came from one, and are swapped with the last slot so the
+ * arrays stay dense. Colliders are also kept in a {@link GridBroadphase} that is updated as they move.
+ */
+public class PhysicsWorld {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final float SQUASHED_SPIN = 0.6f;
+    private static final float CONFETTI_FLOOR = -300;
+
+    private int count;
+    //Time this world has been stepped, drives the fly bobbing so it does not depend on the wall clock
+    private double elapsedTime;
+    private Entity[] entities = new Entity[INITIAL_CAPACITY];
+    private BodyKind[] kinds = new BodyKind[INITIAL_CAPACITY];
+    private float[] x = new float[INITIAL_CAPACITY];
+    private float[] y = new float[INITIAL_CAPACITY];
+    private float[] z = new float[INITIAL_CAPACITY];
+    private float[] velocityX = new float[INITIAL_CAPACITY];
+    private float[] velocityY = new float[INITIAL_CAPACITY];
+    private float[] spin = new float[INITIAL_CAPACITY];
+    //Rotation not yet applied to the transformation because the body was out of view
+    private float[] pendingRotation = new float[INITIAL_CAPACITY];
+    private boolean[] inView = new boolean[INITIAL_CAPACITY];
+
+    private final GridBroadphase colliders = new GridBroadphase(
+            -DukeGameClient.WORLD_HALF_WIDTH, DukeGameClient.WORLD_HALF_WIDTH, DukeGameClient.INTERSECTION_RADIUS * 2);
+    private final List<Entity> nearbyColliders = new ArrayList<>();
+
+    /**
+     * Starts simulating an entity from its current transformation, velocity and confetti spin.
+     */
+    public void add(Entity entity, BodyKind kind) {
+        var body = entity.getComponent(PhysicsBodyComponent.class);
+        if (body.getSlot() >= 0) throw new IllegalStateException("Entity is already simulated in slot " + body.getSlot());
+        if (count == entities.length) grow();
+
+        var position = entity.getComponent(TransformationComponent.class).getPosition();
+        int slot = count++;
+        entities[slot] = entity;
+        kinds[slot] = kind;
+        x[slot] = position.x;
+        y[slot] = position.y;
+        z[slot] = position.z;
+        velocityX[slot] = 0;
+        velocityY[slot] = 0;
+        spin[slot] = 0;
+        pendingRotation[slot] = 0;
+        inView[slot] = true;
+        if (entity.hasComponent(VelocityComponent.class)) {
+            var velocity = entity.getComponent(VelocityComponent.class).getVelocity();
+            velocityX[slot] = velocity.x;
+            velocityY[slot] = velocity.y;
+        }
+        if (entity.hasComponent(ConfettiComponent.class)) {
+            spin[slot] = entity.getComponent(ConfettiComponent.class).getRotationalVelocity();
+        }
+        body.setSlot(slot);
+        if (kind.isCollider()) colliders.add(slot, x[slot]);
+    }
+
+    /**
+     * Stops simulating an entity, the entity itself is left for the caller to free.
+     */
+    public void remove(Entity entity) {
+        var body = entity.getComponent(PhysicsBodyComponent.class);
+        if (body.getSlot() < 0) return;
+        removeSlot(body.getSlot());
+    }
+
+    /**
+     * Stops simulating an entity and hands it back to its pool, or frees it when it did not come from one.
+     */
+    public void free(Manager manager, Entity entity) {
+        remove(entity);
+        release(manager, entity);
+    }
+
+    /**
+     * A squashed enemy stops walking and falls out of the world spinning.
+     */
+    public void squash(Entity entity) {
+        int slot = entity.getComponent(PhysicsBodyComponent.class).getSlot();
+        if (slot < 0) return;
+        kinds[slot] = BodyKind.SQUASHED;
+        velocityX[slot] = 0;
+        velocityY[slot] = 0;
+        colliders.remove(slot);
+    }
+
+    /**
+     * Colliders within the radius of a point. The list is reused by the next call.
+     */
+    public List<Entity> collidersNear(float centerX, float centerY, float radius) {
+        nearbyColliders.clear();
+        int found = colliders.query(x, y, centerX, centerY, radius);
+        for (int i = 0; i < found; i++) {
+            nearbyColliders.add(entities[colliders.getFound(i)]);
+        }
+        return nearbyColliders;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int count(BodyKind kind) {
+        int bodies = 0;
+        for (int i = 0; i < count; i++) {
+            if (kinds[i] == kind) bodies++;
+        }
+        return bodies;
+    }
+
+    public void step(Manager manager, float deltaTime) {
+
+        boolean paused = DukeGameClient.isPaused();
+        boolean alive = DukeGameClient.isAlive();
+        float gravity = DukeGameClient.GRAVITY * deltaTime;
+        float scroll = deltaTime * DukeGameClient.MOVEMENT_SPEED;
+        float enemyScroll = scroll * (alive ? 1 : 0.2f);
+        float backgroundScroll = scroll * DukeGameClient.BACKGROUND_SPEED_MULTIPLIER * (alive ? 1 : 0.1f);
+        elapsedTime += deltaTime;
+        float flyLift = (float) (Math.sin(elapsedTime * (DukeGameClient.FLY_HEIGHT_SPEED/10000)) * DukeGameClient.FLY_HEIGHT_VARIANCE);
+
+        //Backwards so a freed body can be replaced by the last one, which has already moved this step
+        for (int i = count - 1; i >= 0; i--) {
+            boolean free = false;
+            switch (kinds[i]) {
+                case PLAYER -> {
+                    if (paused) break;
+                    movePlayer(i, gravity, deltaTime);
+                }
+                case BUG -> {
+                    if (paused) break;
+                    x[i] += enemyScroll * DukeGameClient.BUG_SPEED_MULTIPLIER;
+                    free = isOutOfBounds(i);
+                }
+                case FLY -> {
+                    if (paused) break;
+                    x[i] += enemyScroll * DukeGameClient.FLY_SPEED_MULTIPLIER;
+                    y[i] += flyLift;
+                    free = isOutOfBounds(i);
+                }
+                case SQUASHED -> {
+                    if (paused) break;
+                    velocityY[i] -= gravity;
+                    x[i] += velocityX[i] * deltaTime;
+                    y[i] += velocityY[i] * deltaTime;
+                    pendingRotation[i] += SQUASHED_SPIN * deltaTime;
+                    free = isOutOfBounds(i);
+                }
+                case GROUND -> {
+                    if (paused || !alive) break;
+                    x[i] += scroll;
+                    if (x[i] < (-DukeGameClient.SCALE - DukeGameClient.WORLD_HALF_WIDTH))
+                        x[i] += DukeGameClient.SCALE * 4 * DukeGameClient.GROUND_PARTS;
+                }
+                case BACKGROUND -> {
+                    if (paused) break;
+                    x[i] += backgroundScroll;
+                    if (x[i] < (-DukeGameClient.SCALE - DukeGameClient.WORLD_HALF_WIDTH))
+                        x[i] += DukeGameClient.SCALE * 8 * DukeGameClient.BACKGROUND_PARTS;
+                }
+                case CONFETTI -> {
+                    velocityY[i] -= gravity;
+                    x[i] += velocityX[i] * deltaTime;
+                    y[i] += velocityY[i] * deltaTime;
+                    pendingRotation[i] += spin[i] * deltaTime;
+                    free = y[i] < CONFETTI_FLOOR;
+                }
+            }
+
+            if (free) {
+                var entity = entities[i];
+                removeSlot(i);
+                release(manager, entity);
+                continue;
+            }
+
+            if (kinds[i].isCollider()) colliders.update(i, x[i]);
+
+            boolean wasInView = inView[i];
+            inView[i] = isInView(i);
+            //One last sync after leaving the view so nothing is left drawn at the edge
+            if (inView[i] || wasInView) sync(i);
+        }
+    }
+
+    //The player is the only body whose velocity is changed from outside (jumping, stomping and squashing)
+    private void movePlayer(int i, float gravity, float deltaTime) {
+        var velocityComponent = entities[i].getComponent(VelocityComponent.class);
+        var velocity = velocityComponent.getVelocity();
+        velocityX[i] = velocity.x;
+        velocityY[i] = velocity.y;
+
+        if (y[i] < DukeGameClient.GROUND_Y) {
+            velocityX[i] = 0;
+            velocityY[i] = 0;
+            x[i] = DukeGameClient.PLAYER_POSITION_X;
+            y[i] = DukeGameClient.GROUND_Y;
+            z[i] = 0;
+        } else {
+            velocityY[i] -= gravity;
+        }
+
+        x[i] += velocityX[i] * deltaTime;
+        y[i] += velocityY[i] * deltaTime;
+        if (y[i] < DukeGameClient.GROUND_Y) y[i] = DukeGameClient.GROUND_Y;
+
+        velocityComponent.setVelocity(velocityX[i], velocityY[i], 0);
+    }
+
+    private void release(Manager manager, Entity entity) {
+        var pool = entity.getComponent(PhysicsBodyComponent.class).getPool();
+        if (pool != null) {
+            pool.release(entity);
+        } else {
+            manager.freeEntity(entity);
+        }
+    }
+
+    private boolean isOutOfBounds(int i) {
+        return x[i] < -DukeGameClient.WORLD_HALF_WIDTH || y[i] < -DukeGameClient.WORLD_HALF_WIDTH;
+    }
+
+    private boolean isInView(int i) {
+        float halfWidth = kinds[i].getHalfWidth();
+        return x[i] - halfWidth < DukeGameClient.WORLD_HALF_WIDTH && x[i] + halfWidth > -DukeGameClient.WORLD_HALF_WIDTH;
+    }
+
+    private void sync(int i) {
+        var transformation = entities[i].getComponent(TransformationComponent.class);
+        transformation.setPosition(x[i], y[i], z[i]);
+        if (pendingRotation[i] != 0) {
+            transformation.rotate(0, 0, pendingRotation[i]);
+            pendingRotation[i] = 0;
+        }
+    }
+
+    private void removeSlot(int slot) {
+        entities[slot].getComponent(PhysicsBodyComponent.class).setSlot(-1);
+        colliders.remove(slot);
+        int last = --count;
+        if (slot != last) {
+            colliders.rename(last, slot);
+            entities[slot] = entities[last];
+            kinds[slot] = kinds[last];
+            x[slot] = x[last];
+            y[slot] = y[last];
+            z[slot] = z[last];
+            velocityX[slot] = velocityX[last];
+            velocityY[slot] = velocityY[last];
+            spin[slot] = spin[last];
+            pendingRotation[slot] = pendingRotation[last];
+            inView[slot] = inView[last];
+            entities[slot].getComponent(PhysicsBodyComponent.class).setSlot(slot);
+        }
+        entities[last] = null;
+        kinds[last] = null;
+    }
+
+    private void grow() {
+        int capacity = entities.length * 2;
+        entities = Arrays.copyOf(entities, capacity);
+        kinds = Arrays.copyOf(kinds, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        z = Arrays.copyOf(z, capacity);
+        velocityX = Arrays.copyOf(velocityX, capacity);
+        velocityY = Arrays.copyOf(velocityY, capacity);
+        spin = Arrays.copyOf(spin, capacity);
+        pendingRotation = Arrays.copyOf(pendingRotation, capacity);
+        inView = Arrays.copyOf(inView, capacity);
+    }
+}
@@ -0,0 +1,107 @@
+package com.terminalvelocitycabbage.dukejump.pools;
+
+import com.terminalvelocitycabbage.dukejump.DukeGameClient;
+import com.terminalvelocitycabbage.dukejump.components.PhysicsBodyComponent;
+import com.terminalvelocitycabbage.engine.ecs.Entity;
+import com.terminalvelocitycabbage.engine.ecs.Manager;
+import com.terminalvelocitycabbage.engine.registry.Identifier;
+import com.terminalvelocitycabbage.templates.ecs.components.TransformationComponent;
+
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Keeps released entities of one template alive and hands them out again instead of creating new ones.
+ * A parked entity stays in the manager, out of view and out of the {@link com.terminalvelocitycabbage.dukejump.physics.PhysicsWorld},
+ * until the reset brings it back to the state the template creates.
+ */
+public class EntityPool {
+
+    //Far to the right, where nothing counts an enemy as passed and nothing is drawn
+    private static final float PARKED_X = DukeGameClient.WORLD_HALF_WIDTH * 10;
+
+    private final Identifier template;
+    private final Consumer<Entity> reset;
+    private final ArrayDeque<Entity> parked = new ArrayDeque<>();
+
+    private long created;
+    private long reused;
+    private long released;
+
+    public EntityPool(Identifier template, Consumer<Entity> reset) {
+        this.template = template;
+        this.reset = reset;
+    }
+
+    /**
+     * A parked entity after its reset, or a new one from the template. Add it to the physics world to bring it to life.
+     */
+    public Entity obtain(Manager manager) {
+        var entity = parked.poll();
+        if (entity == null) return create(manager);
+        entity.getComponent(PhysicsBodyComponent.class).setParked(false);
+        reset.accept(entity);
+        reused++;
+        return entity;
+    }
+
+    /**
+     * Parks an entity that is no longer simulated, releasing a parked entity again does nothing.
+     */
+    public void release(Entity entity) {
+        var body = entity.getComponent(PhysicsBodyComponent.class);
+        if (body.isParked()) return;
+        if (body.getSlot() >= 0) throw new IllegalStateException("Entity is still simulated in slot " + body.getSlot());
+        body.setParked(true);
+        entity.getComponent(TransformationComponent.class).setPosition(PARKED_X, 0, 0);
+        parked.push(entity);
+        released++;
+    }
+
+    /**
+     * Creates entities up front so the first burst does not have to.
+     */
+    public void prewarm(Manager manager, int count) {
+        while (parked.size() < count) {
+            release(create(manager));
+        }
+    }
+
+    private Entity create(Manager manager) {
+        var entity = manager.createEntityFromTemplate(template);
+        entity.getComponent(PhysicsBodyComponent.class).setPool(this);
+        created++;
+        return entity;
+    }
+
+    public static boolean isParked(Entity entity) {
+        return entity.hasComponent(PhysicsBodyComponent.class) && entity.getComponent(PhysicsBodyComponent.class).isParked();
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getReused() {
+        return reused;
+    }
+
+    public long getLive() {
+        return created + reused - released;
+    }
+
+    public int getPooled() {
+        return parked.size();
+    }
+
+    public double getHitRate() {
+        long obtained = created + reused;
+        return obtained == 0 ? 0 : (double) reused / obtained;
+    }
+
+    public String summary() {
+        return String.format(Locale.ROOT, "%s pool: %d live, %d pooled, %.1f%% hit rate (%d created, %d reused)",
+                template, getLive(), getPooled(), getHitRate() * 100, created, reused);
+    }
+}
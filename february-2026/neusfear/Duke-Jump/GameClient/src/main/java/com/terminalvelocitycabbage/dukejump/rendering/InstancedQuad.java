@@ -0,0 +1,91 @@
+package com.terminalvelocitycabbage.dukejump.rendering;
+
+import org.lwjgl.BufferUtils;
+
+import java.nio.FloatBuffer;
+
+import static org.lwjgl.opengl.GL33C.*;
+
+/**
+ * A unit quad drawn once per instance of a {@link SpriteBatch}. The quad feeds its position to attribute 0
+ * and its texture coordinate to attribute 1, the instance data goes to attributes 2 (basis), 3 (translation)
+ * and 4 (UV rect or colour), see default.vert and confetti.vert.
+ * <p>
+ * The whole batch is uploaded once a frame and the instance attributes are pointed at the start of each
+ * batch before drawing it, as GL 3.3 has no base instance.
+ */
+public class InstancedQuad {
+
+    private static final int INSTANCE_STRIDE = SpriteBatch.FLOATS_PER_INSTANCE * Float.BYTES;
+
+    private final int vertexArray;
+    private final int vertexBuffer;
+    private final int elementBuffer;
+    private final int instanceBuffer;
+    private FloatBuffer upload = BufferUtils.createFloatBuffer(64 * SpriteBatch.FLOATS_PER_INSTANCE);
+
+    public InstancedQuad() {
+        vertexArray = glGenVertexArrays();
+        glBindVertexArray(vertexArray);
+
+        //x, y, u, v with v = 0 at the top of the sprite
+        vertexBuffer = glGenBuffers();
+        glBindBuffer(GL_ARRAY_BUFFER, vertexBuffer);
+        glBufferData(GL_ARRAY_BUFFER, new float[] {
+                -0.5f, 0.5f, 0f, 0f,
+                -0.5f, -0.5f, 0f, 1f,
+                0.5f, -0.5f, 1f, 1f,
+                0.5f, 0.5f, 1f, 0f
+        }, GL_STATIC_DRAW);
+        glEnableVertexAttribArray(0);
+        glVertexAttribPointer(0, 2, GL_FLOAT, false, 4 * Float.BYTES, 0);
+        glEnableVertexAttribArray(1);
+        glVertexAttribPointer(1, 2, GL_FLOAT, false, 4 * Float.BYTES, 2 * Float.BYTES);
+
+        elementBuffer = glGenBuffers();
+        glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, elementBuffer);
+        glBufferData(GL_ELEMENT_ARRAY_BUFFER, new int[] {0, 1, 3, 3, 1, 2}, GL_STATIC_DRAW);
+
+        instanceBuffer = glGenBuffers();
+        glBindBuffer(GL_ARRAY_BUFFER, instanceBuffer);
+        for (int attribute = 2; attribute <= 4; attribute++) {
+            glEnableVertexAttribArray(attribute);
+            glVertexAttribDivisor(attribute, 1);
+        }
+
+        glBindVertexArray(0);
+    }
+
+    /**
+     * Uploads the instance data of a built batch, call once before drawing its batches.
+     */
+    public void upload(SpriteBatch batch) {
+        int floats = batch.size() * SpriteBatch.FLOATS_PER_INSTANCE;
+        if (upload.capacity() < floats) upload = BufferUtils.createFloatBuffer(Math.max(floats, upload.capacity() * 2));
+        upload.clear();
+        upload.put(batch.getInstances(), 0, floats).flip();
+        glBindBuffer(GL_ARRAY_BUFFER, instanceBuffer);
+        glBufferData(GL_ARRAY_BUFFER, upload, GL_STREAM_DRAW);
+    }
+
+    /**
+     * Draws one batch of the last upload with whatever shader and texture are bound.
+     */
+    public void draw(SpriteBatch batch, int index) {
+        long offset = (long) batch.getBatchStart(index) * INSTANCE_STRIDE;
+        glBindVertexArray(vertexArray);
+        glBindBuffer(GL_ARRAY_BUFFER, instanceBuffer);
+        glVertexAttribPointer(2, 4, GL_FLOAT, false, INSTANCE_STRIDE, offset);
+        glVertexAttribPointer(3, 4, GL_FLOAT, false, INSTANCE_STRIDE, offset + 4 * Float.BYTES);
+        glVertexAttribPointer(4, 4, GL_FLOAT, false, INSTANCE_STRIDE, offset + 8 * Float.BYTES);
+        glDrawElementsInstanced(GL_TRIANGLES, 6, GL_UNSIGNED_INT, 0, batch.getBatchSize(index));
+        glBindVertexArray(0);
+    }
+
+    public void cleanup() {
+        glDeleteVertexArrays(vertexArray);
+        glDeleteBuffers(vertexBuffer);
+        glDeleteBuffers(elementBuffer);
+        glDeleteBuffers(instanceBuffer);
+    }
+}
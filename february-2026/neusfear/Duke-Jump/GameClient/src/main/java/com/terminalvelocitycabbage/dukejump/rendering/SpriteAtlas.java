@@ -0,0 +1,122 @@
+package com.terminalvelocitycabbage.dukejump.rendering;
+
+import com.terminalvelocitycabbage.engine.registry.Identifier;
+import org.lwjgl.BufferUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.lwjgl.opengl.GL33C.*;
+
+/**
+ * The game's sprite textures packed into one GL texture, with the UV rect of each, so every sprite can be
+ * drawn in the same instanced batch. Sprites are packed into rows from the tallest down with a pixel of
+ * transparent padding around each, the rects have v = 0 at the top of the sprite.
+ */
+public class SpriteAtlas {
+
+    private static final String TEXTURE_PATH = "/assets/dukejump/textures/";
+    private static final int WIDTH = 256;
+    private static final int PADDING = 1;
+
+    private final int texture;
+    private final Map<Identifier, float[]> rects = new HashMap<>();
+
+    /**
+     * Loads the texture files from the classpath, keyed by the identifiers models refer to them by.
+     */
+    public SpriteAtlas(Map<Identifier, String> textureFiles) {
+        var sprites = new ArrayList<Map.Entry<Identifier, BufferedImage>>();
+        textureFiles.forEach((identifier, file) -> sprites.add(Map.entry(identifier, read(file))));
+        sprites.sort(Comparator.comparingInt((Map.Entry<Identifier, BufferedImage> sprite) -> sprite.getValue().getHeight()).reversed());
+
+        var positions = new ArrayList<int[]>(sprites.size());
+        int height = pack(sprites, positions);
+        var pixels = BufferUtils.createByteBuffer(WIDTH * height * 4);
+        for (int i = 0; i < sprites.size(); i++) {
+            var image = sprites.get(i).getValue();
+            int[] position = positions.get(i);
+            for (int y = 0; y < image.getHeight(); y++) {
+                for (int x = 0; x < image.getWidth(); x++) {
+                    int argb = image.getRGB(x, y);
+                    int offset = ((position[1] + y) * WIDTH + position[0] + x) * 4;
+                    pixels.put(offset, (byte) (argb >> 16));
+                    pixels.put(offset + 1, (byte) (argb >> 8));
+                    pixels.put(offset + 2, (byte) argb);
+                    pixels.put(offset + 3, (byte) (argb >>> 24));
+                }
+            }
+            rects.put(sprites.get(i).getKey(), new float[] {
+                    (float) position[0] / WIDTH,
+                    (float) position[1] / height,
+                    (float) (position[0] + image.getWidth()) / WIDTH,
+                    (float) (position[1] + image.getHeight()) / height
+            });
+        }
+
+        texture = glGenTextures();
+        glBindTexture(GL_TEXTURE_2D, texture);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+        glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA8, WIDTH, height, 0, GL_RGBA, GL_UNSIGNED_BYTE, pixels);
+        glBindTexture(GL_TEXTURE_2D, 0);
+    }
+
+    public int getTexture() {
+        return texture;
+    }
+
+    /**
+     * The UV rect (u0, v0, u1, v1) of a texture, or null when it is not in this atlas.
+     */
+    public float[] getRect(Identifier texture) {
+        return rects.get(texture);
+    }
+
+    public void bind() {
+        glActiveTexture(GL_TEXTURE0);
+        glBindTexture(GL_TEXTURE_2D, texture);
+    }
+
+    public void cleanup() {
+        glDeleteTextures(texture);
+    }
+
+    //Places the sprites row by row and returns the height of the atlas, rounded up to a power of two
+    private static int pack(List<Map.Entry<Identifier, BufferedImage>> sprites, List<int[]> positions) {
+        int x = PADDING;
+        int y = PADDING;
+        int rowHeight = 0;
+        for (var sprite : sprites) {
+            var image = sprite.getValue();
+            if (image.getWidth() + 2 * PADDING > WIDTH) throw new IllegalArgumentException(sprite.getKey() + " is wider than the atlas");
+            if (x + image.getWidth() + PADDING > WIDTH) {
+                x = PADDING;
+                y += rowHeight + PADDING;
+                rowHeight = 0;
+            }
+            positions.add(new int[] {x, y});
+            x += image.getWidth() + PADDING;
+            rowHeight = Math.max(rowHeight, image.getHeight());
+        }
+        return Integer.highestOneBit(y + rowHeight + PADDING - 1) << 1;
+    }
+
+    private static BufferedImage read(String file) {
+        try (var stream = SpriteAtlas.class.getResourceAsStream(TEXTURE_PATH + file)) {
+            if (stream == null) throw new IllegalStateException("Missing texture " + TEXTURE_PATH + file);
+            return ImageIO.read(stream);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read texture " + file, e);
+        }
+    }
+}
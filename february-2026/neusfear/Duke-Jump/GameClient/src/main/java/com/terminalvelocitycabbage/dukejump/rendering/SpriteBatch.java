@@ -0,0 +1,198 @@
+package com.terminalvelocitycabbage.dukejump.rendering;
+
+import org.joml.Matrix4fc;
+
+import java.util.Arrays;
+
+/**
+ * Collects the quads of one frame and sorts them into batches that share a shader and a texture, so each
+ * batch can be drawn with a single instanced draw call. Within a batch quads are ordered back to front by z.
+ * <p>
+ * Every quad becomes {@link #FLOATS_PER_INSTANCE} floats of instance data: the 2D basis of its transformation
+ * (m00, m01, m10, m11), its translation (x, y, z and an unused w) and four floats for the shader, the UV rect
+ * of a sprite or the colour of a confetti. Nothing here touches the GPU, see {@link InstancedQuad} for that.
+ */
+public class SpriteBatch {
+
+    public static final int FLOATS_PER_INSTANCE = 12;
+    public static final int MAX_SHADERS = 1 << 11;
+    public static final int MAX_TEXTURES = 1 << 20;
+    public static final int MAX_INSTANCES = 1 << 20;
+
+    //Sort keys are shader, texture, depth and the index the quad was added at, from the highest bits down
+    private static final int INDEX_BITS = 20;
+    private static final int DEPTH_BITS = 12;
+    private static final int TEXTURE_BITS = 20;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+    private static final int BATCH_SHIFT = INDEX_BITS + DEPTH_BITS;
+    //Depth is z in steps of 1/16 between -128 and 128, the game only uses a handful of layers
+    private static final float DEPTH_STEPS_PER_UNIT = 16;
+    private static final float MIN_DEPTH = -128;
+    private static final int MAX_DEPTH = (1 << DEPTH_BITS) - 1;
+
+    //The sort only looks at the bits above the index, the quads arrive in index order and the sort is stable
+    private static final int DIGIT_BITS = 11;
+    private static final int DIGITS = 1 << DIGIT_BITS;
+    private static final int SORTED_BITS = 63 - INDEX_BITS;
+    private static final int SMALL_SORT = 256;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int count;
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private long[] sortBuffer = new long[INITIAL_CAPACITY];
+    private final int[] digitCounts = new int[DIGITS];
+    private float[] added = new float[INITIAL_CAPACITY * FLOATS_PER_INSTANCE];
+    private float[] instances = new float[INITIAL_CAPACITY * FLOATS_PER_INSTANCE];
+
+    private int batchCount;
+    private int[] batchShaders = new int[8];
+    private int[] batchTextures = new int[8];
+    private int[] batchStarts = new int[8];
+    private int[] batchSizes = new int[8];
+
+    public void clear() {
+        count = 0;
+        batchCount = 0;
+    }
+
+    /**
+     * Adds a quad, a unit square centered on the origin before the transformation is applied.
+     * The data is read by the shader, the UV rect (u0, v0, u1, v1) of a sprite or the RGBA colour of a confetti.
+     */
+    public void add(int shader, int texture, Matrix4fc transformation, float data0, float data1, float data2, float data3) {
+        if (shader < 0 || shader >= MAX_SHADERS) throw new IllegalArgumentException("Shader " + shader + " does not fit in a sort key");
+        if (texture < 0 || texture >= MAX_TEXTURES) throw new IllegalArgumentException("Texture " + texture + " does not fit in a sort key");
+        if (count == MAX_INSTANCES) throw new IllegalStateException("A batch holds at most " + MAX_INSTANCES + " quads");
+        if (count == keys.length) grow();
+
+        float z = transformation.m32();
+        int depth = Math.max(0, Math.min(MAX_DEPTH, (int) ((z - MIN_DEPTH) * DEPTH_STEPS_PER_UNIT)));
+        long batch = ((long) shader << TEXTURE_BITS) | texture;
+        keys[count] = (batch << BATCH_SHIFT) | ((long) depth << INDEX_BITS) | count;
+
+        int offset = count * FLOATS_PER_INSTANCE;
+        added[offset] = transformation.m00();
+        added[offset + 1] = transformation.m01();
+        added[offset + 2] = transformation.m10();
+        added[offset + 3] = transformation.m11();
+        added[offset + 4] = transformation.m30();
+        added[offset + 5] = transformation.m31();
+        added[offset + 6] = z;
+        added[offset + 7] = 1;
+        added[offset + 8] = data0;
+        added[offset + 9] = data1;
+        added[offset + 10] = data2;
+        added[offset + 11] = data3;
+        count++;
+    }
+
+    /**
+     * Sorts the quads added since the last {@link #clear} into {@link #getInstances} and splits them into batches.
+     */
+    public void build() {
+        sort();
+        batchCount = 0;
+        long currentBatch = -1;
+        for (int i = 0; i < count; i++) {
+            long key = keys[i];
+            int index = (int) (key & INDEX_MASK);
+            System.arraycopy(added, index * FLOATS_PER_INSTANCE, instances, i * FLOATS_PER_INSTANCE, FLOATS_PER_INSTANCE);
+
+            long batch = key >>> BATCH_SHIFT;
+            if (batch != currentBatch) {
+                currentBatch = batch;
+                startBatch((int) (batch >>> TEXTURE_BITS), (int) (batch & (MAX_TEXTURES - 1)), i);
+            }
+            batchSizes[batchCount - 1]++;
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * The instance data of all quads in batch order, valid after {@link #build}. Only the first
+     * {@link #size} quads are in use.
+     */
+    public float[] getInstances() {
+        return instances;
+    }
+
+    public int getBatchCount() {
+        return batchCount;
+    }
+
+    public int getBatchShader(int batch) {
+        return batchShaders[batch];
+    }
+
+    public int getBatchTexture(int batch) {
+        return batchTextures[batch];
+    }
+
+    /**
+     * The first quad of the batch in {@link #getInstances}.
+     */
+    public int getBatchStart(int batch) {
+        return batchStarts[batch];
+    }
+
+    public int getBatchSize(int batch) {
+        return batchSizes[batch];
+    }
+
+    //Radix sort from the lowest digit up, skipping digits that are the same for every quad.
+    //A few hundred quads are sorted faster whole, their index keeps the order the same
+    private void sort() {
+        if (count < SMALL_SORT) {
+            Arrays.sort(keys, 0, count);
+            return;
+        }
+        for (int shift = INDEX_BITS; shift < INDEX_BITS + SORTED_BITS; shift += DIGIT_BITS) {
+            Arrays.fill(digitCounts, 0);
+            for (int i = 0; i < count; i++) {
+                digitCounts[(int) (keys[i] >>> shift) & (DIGITS - 1)]++;
+            }
+            if (count == 0 || digitCounts[(int) (keys[0] >>> shift) & (DIGITS - 1)] == count) continue;
+
+            int start = 0;
+            for (int digit = 0; digit < DIGITS; digit++) {
+                int digitCount = digitCounts[digit];
+                digitCounts[digit] = start;
+                start += digitCount;
+            }
+            for (int i = 0; i < count; i++) {
+                long key = keys[i];
+                sortBuffer[digitCounts[(int) (key >>> shift) & (DIGITS - 1)]++] = key;
+            }
+            long[] sorted = sortBuffer;
+            sortBuffer = keys;
+            keys = sorted;
+        }
+    }
+
+    private void startBatch(int shader, int texture, int start) {
+        if (batchCount == batchStarts.length) {
+            int capacity = batchCount * 2;
+            batchShaders = Arrays.copyOf(batchShaders, capacity);
+            batchTextures = Arrays.copyOf(batchTextures, capacity);
+            batchStarts = Arrays.copyOf(batchStarts, capacity);
+            batchSizes = Arrays.copyOf(batchSizes, capacity);
+        }
+        batchShaders[batchCount] = shader;
+        batchTextures[batchCount] = texture;
+        batchStarts[batchCount] = start;
+        batchSizes[batchCount] = 0;
+        batchCount++;
+    }
+
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        sortBuffer = new long[capacity];
+        added = Arrays.copyOf(added, capacity * FLOATS_PER_INSTANCE);
+        instances = Arrays.copyOf(instances, capacity * FLOATS_PER_INSTANCE);
+    }
+}
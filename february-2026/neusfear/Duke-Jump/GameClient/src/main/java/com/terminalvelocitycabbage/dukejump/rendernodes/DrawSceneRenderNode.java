@@ -1,20 +1,35 @@
 package com.terminalvelocitycabbage.dukejump.rendernodes;
 
 import com.terminalvelocitycabbage.dukejump.DukeGameClient;
+import com.terminalvelocitycabbage.dukejump.pools.EntityPool;
+import com.terminalvelocitycabbage.dukejump.rendering.SpriteAtlas;
+import com.terminalvelocitycabbage.dukejump.rendering.SpriteBatch;
+import com.terminalvelocitycabbage.dukejump.scenes.DefaultScene;
+import com.terminalvelocitycabbage.engine.client.ClientBase;
 import com.terminalvelocitycabbage.engine.client.renderer.shader.ShaderProgramConfig;
 import com.terminalvelocitycabbage.engine.client.scene.Scene;
 import com.terminalvelocitycabbage.engine.client.window.WindowProperties;
 import com.terminalvelocitycabbage.engine.ecs.Entity;
 import com.terminalvelocitycabbage.engine.graph.RenderNode;
+import com.terminalvelocitycabbage.engine.registry.Identifier;
 import com.terminalvelocitycabbage.engine.util.HeterogeneousMap;
 import com.terminalvelocitycabbage.templates.ecs.components.FixedOrthoCameraComponent;
 import com.terminalvelocitycabbage.templates.ecs.components.ModelComponent;
 import com.terminalvelocitycabbage.templates.ecs.components.TransformationComponent;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.lwjgl.opengl.GL11C.glClearColor;
 
 public class DrawSceneRenderNode extends RenderNode {
 
+    //Sort key of the only shader this node draws with
+    private static final int SHADER = 0;
+
+    SpriteBatch batch = new SpriteBatch();
+    Map<Identifier, float[]> rectOfModel = new HashMap<>();
+
     public DrawSceneRenderNode(ShaderProgramConfig shaderProgramConfig) {
         super(shaderProgramConfig);
     }
@@ -32,26 +47,42 @@ public class DrawSceneRenderNode extends RenderNode {
             camera.updateProjectionMatrix(properties.getWidth(), properties.getHeight());
         }
 
+        //Owned by the scene, which releases them on cleanup
+        var atlas = ((DefaultScene) scene).getSpriteAtlas();
+        var quad = ((DefaultScene) scene).getInstancedQuad();
+
+        batch.clear();
+        for (Entity entity : client.getManager().getEntitiesWith(ModelComponent.class, TransformationComponent.class)) {
+            if (EntityPool.isParked(entity)) continue;
+            var rect = getRect(client, atlas, entity.getComponent(ModelComponent.class).getModel());
+            var transformationMatrix = entity.getComponent(TransformationComponent.class).getTransformationMatrix();
+            batch.add(SHADER, atlas.getTexture(), transformationMatrix, rect[0], rect[1], rect[2], rect[3]);
+        }
+        batch.build();
+
         shaderProgram.bind();
         shaderProgram.getUniform("textureSampler").setUniform(0);
         shaderProgram.getUniform("projectionMatrix").setUniform(camera.getProjectionMatrix());
         shaderProgram.getUniform("viewMatrix").setUniform(camera.getViewMatrix(transformation));
 
-        var entities = client.getManager().getEntitiesWith(ModelComponent.class, TransformationComponent.class);
-
-        //Render entities
-        for (Entity entity : entities) {
-            var modelIdentifier = entity.getComponent(ModelComponent.class).getModel();
-            var model = client.getModelRegistry().get(modelIdentifier);
-            var mesh = scene.getMeshCache().getMesh(modelIdentifier);
-            var texture = client.getTextureCache().getTexture(model.getTextureIdentifier());
-            var transformationComponent = entity.getComponent(TransformationComponent.class);
-
-            texture.bind();
-            shaderProgram.getUniform("modelMatrix").setUniform(transformationComponent.getTransformationMatrix());
-            if (mesh.getFormat().equals(shaderProgram.getConfig().getVertexFormat())) mesh.render();
+        //Every sprite is in the atlas, so all batches share its texture
+        atlas.bind();
+        quad.upload(batch);
+        for (int i = 0; i < batch.getBatchCount(); i++) {
+            quad.draw(batch, i);
         }
 
         shaderProgram.unbind();
     }
+
+    private float[] getRect(ClientBase client, SpriteAtlas atlas, Identifier model) {
+        var rect = rectOfModel.get(model);
+        if (rect == null) {
+            var texture = client.getModelRegistry().get(model).getTextureIdentifier();
+            rect = atlas.getRect(texture);
+            if (rect == null) throw new IllegalStateException("Texture " + texture + " of model " + model + " is not in the sprite atlas");
+            rectOfModel.put(model, rect);
+        }
+        return rect;
+    }
 }
@@ -1,8 +1,11 @@
 package com.terminalvelocitycabbage.dukejump.scenes;
 
 import com.terminalvelocitycabbage.dukejump.DukeGameClient;
-import com.terminalvelocitycabbage.engine.client.renderer.model.MeshCache;
+import com.terminalvelocitycabbage.dukejump.physics.BodyKind;
+import com.terminalvelocitycabbage.dukejump.rendering.InstancedQuad;
+import com.terminalvelocitycabbage.dukejump.rendering.SpriteAtlas;
 import com.terminalvelocitycabbage.engine.client.scene.Scene;
+import com.terminalvelocitycabbage.engine.ecs.Manager;
 import com.terminalvelocitycabbage.engine.graph.Routine;
 import com.terminalvelocitycabbage.engine.registry.Identifier;
 import com.terminalvelocitycabbage.templates.ecs.components.TransformationComponent;
@@ -11,32 +14,51 @@ import java.util.List;
 
 public class DefaultScene extends Scene {
 
+    //Every sprite is drawn from this atlas, so the engine's texture atlas and mesh cache are not generated
+    private SpriteAtlas spriteAtlas;
+    //Shared by the scene and confetti render nodes, each uploads its own batch before drawing it
+    private InstancedQuad instancedQuad;
+
     public DefaultScene(Identifier renderGraph, List<Routine> routines) {
         super(renderGraph, routines);
     }
 
     @Override
     public void init() {
-        var client = DukeGameClient.getInstance();
-        var manager = client.getManager();
-
-        client.getTextureCache().generateAtlas(DukeGameClient.TEXTURE_ATLAS);
-        setMeshCache(new MeshCache(client.getModelRegistry(), client.getMeshRegistry(), client.getTextureCache()));
+        spriteAtlas = new SpriteAtlas(DukeGameClient.TEXTURE_FILES);
+        instancedQuad = new InstancedQuad();
+        createEntities(DukeGameClient.getInstance().getManager());
+    }
 
+    //Also used by the headless simulation, which has no textures or meshes to set up
+    public static void createEntities(Manager manager) {
         for (int i = 0; i < DukeGameClient.BACKGROUND_PARTS; i++) {
-            manager.createEntityFromTemplate(DukeGameClient.BACKGROUND_ENTITY).getComponent(TransformationComponent.class).translate(DukeGameClient.SCALE * 8 * i, 0, 0);
+            var background = manager.createEntityFromTemplate(DukeGameClient.BACKGROUND_ENTITY);
+            background.getComponent(TransformationComponent.class).translate(DukeGameClient.SCALE * 8 * i, 0, 0);
+            DukeGameClient.PHYSICS.add(background, BodyKind.BACKGROUND);
         }
-        manager.createEntityFromTemplate(DukeGameClient.DUKE_ENTITY);
+        DukeGameClient.PHYSICS.add(manager.createEntityFromTemplate(DukeGameClient.DUKE_ENTITY), BodyKind.PLAYER);
         manager.createEntityFromTemplate(DukeGameClient.PLAYER_CAMERA_ENTITY);
         for (int i = 0; i < DukeGameClient.GROUND_PARTS; i++) {
-            manager.createEntityFromTemplate(DukeGameClient.GROUND_ENTITY).getComponent(TransformationComponent.class).translate(DukeGameClient.SCALE * 4 * i, 0, 0);
+            var ground = manager.createEntityFromTemplate(DukeGameClient.GROUND_ENTITY);
+            ground.getComponent(TransformationComponent.class).translate(DukeGameClient.SCALE * 4 * i, 0, 0);
+            DukeGameClient.PHYSICS.add(ground, BodyKind.GROUND);
         }
+        //A high score burst then reuses these instead of creating them all at once
+        DukeGameClient.CONFETTI_POOL.prewarm(manager, DukeGameClient.CONFETTI_COUNT);
+    }
+
+    public SpriteAtlas getSpriteAtlas() {
+        return spriteAtlas;
+    }
+
+    public InstancedQuad getInstancedQuad() {
+        return instancedQuad;
     }
 
     @Override
     public void cleanup() {
-        var client = DukeGameClient.getInstance();
-        client.getTextureCache().cleanupAtlas(DukeGameClient.TEXTURE_ATLAS);
-        getMeshCache().cleanup();
+        spriteAtlas.cleanup();
+        instancedQuad.cleanup();
     }
 }
@@ -8,10 +8,8 @@ import com.terminalvelocitycabbage.engine.ecs.Entity;
 import com.terminalvelocitycabbage.engine.ecs.Manager;
 import com.terminalvelocitycabbage.engine.ecs.System;
 import com.terminalvelocitycabbage.engine.util.touples.Pair;
-import com.terminalvelocitycabbage.templates.ecs.components.SoundSourceComponent;
 import com.terminalvelocitycabbage.templates.ecs.components.TransformationComponent;
 import com.terminalvelocitycabbage.templates.ecs.components.VelocityComponent;
-import org.joml.Vector2f;
 
 public class CheckForCollisionSystem extends System {
 
@@ -25,30 +23,21 @@ public class CheckForCollisionSystem extends System {
         var playerX = transformation.getPosition().x;
         var playerY = transformation.getPosition().y;
 
-        for (Entity enemy : manager.getEntitiesWith(EnemyComponent.class)) {
-            if (enemy.hasComponent(SquashedComponent.class)) continue;
-            var entityTransformation = enemy.getComponent(TransformationComponent.class);
-            var bugX = entityTransformation.getPosition().x;
-            var bugY = entityTransformation.getPosition().y;
-            if (intersects(playerX, playerY, bugX, bugY)) {
-                if (!enemy.hasComponent(SquashedComponent.class) && playerY - bugY > DukeGameClient.SQUASH_OFFSET) {
-                    enemy.addComponent(SquashedComponent.class);
-                    enemy.addComponent(VelocityComponent.class);
-                    var points = (enemy.hasComponent(FlyComponent.class)) ? 50 : 10;
-                    ClientBase.getInstance().getStateHandler()
-                            .updateState(DukeGameClient.CURRENT_SCORE,
-                                    ((int) ClientBase.getInstance().getStateHandler().getState(DukeGameClient.CURRENT_SCORE).getValue()) + points);
-                    enemy.getComponent(SoundSourceComponent.class).playSound(DukeGameClient.SOUND_SQUASH);
-                    player.getComponent(VelocityComponent.class).addVelocity(0, DukeGameClient.SQUASH_UPFORCE, 0);
-                } else {
-                    DukeGameClient.getInstance().getStateHandler().getState(DukeGameClient.GAME_STATE).setValue(DukeGameClient.GameState.DEAD);
-                    player.getComponent(SoundSourceComponent.class).playSound(DukeGameClient.SOUND_DEATH);
-                }
+        //Only enemies that are not squashed are colliders, and squashing one does not change the list
+        for (Entity enemy : DukeGameClient.PHYSICS.collidersNear(playerX, playerY, DukeGameClient.INTERSECTION_RADIUS)) {
+            var bugY = enemy.getComponent(TransformationComponent.class).getPosition().y;
+            if (playerY - bugY > DukeGameClient.SQUASH_OFFSET) {
+                DukeGameClient.PHYSICS.squash(enemy);
+                var points = (enemy.hasComponent(FlyComponent.class)) ? 50 : 10;
+                ClientBase.getInstance().getStateHandler()
+                        .updateState(DukeGameClient.CURRENT_SCORE,
+                                ((int) ClientBase.getInstance().getStateHandler().getState(DukeGameClient.CURRENT_SCORE).getValue()) + points);
+                DukeGameClient.playSound(enemy, DukeGameClient.SOUND_SQUASH);
+                player.getComponent(VelocityComponent.class).addVelocity(0, DukeGameClient.SQUASH_UPFORCE, 0);
+            } else {
+                DukeGameClient.getInstance().getStateHandler().getState(DukeGameClient.GAME_STATE).setValue(DukeGameClient.GameState.DEAD);
+                DukeGameClient.playSound(player, DukeGameClient.SOUND_DEATH);
             }
         }
     }
-
-    private boolean intersects(float playerX, float playerY, float bugX, float bugY) {
-        return Vector2f.distanceSquared(playerX, playerY, bugX, bugY) <= (DukeGameClient.INTERSECTION_RADIUS * DukeGameClient.INTERSECTION_RADIUS);
-    }
 }
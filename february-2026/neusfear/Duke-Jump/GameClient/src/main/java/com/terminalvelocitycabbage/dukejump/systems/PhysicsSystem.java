@@ -0,0 +1,13 @@
+package com.terminalvelocitycabbage.dukejump.systems;
+
+import com.terminalvelocitycabbage.dukejump.DukeGameClient;
+import com.terminalvelocitycabbage.engine.ecs.Manager;
+import com.terminalvelocitycabbage.engine.ecs.System;
+
+public class PhysicsSystem extends System {
+
+    @Override
+    public void update(Manager manager, float deltaTime) {
+        DukeGameClient.PHYSICS.step(manager, deltaTime);
+    }
+}
@@ -2,9 +2,9 @@ package com.terminalvelocitycabbage.dukejump.systems;
 
 import com.terminalvelocitycabbage.dukejump.DukeGameClient;
 import com.terminalvelocitycabbage.dukejump.components.ConfettiComponent;
+import com.terminalvelocitycabbage.dukejump.physics.BodyKind;
 import com.terminalvelocitycabbage.engine.ecs.Manager;
 import com.terminalvelocitycabbage.engine.ecs.System;
-import com.terminalvelocitycabbage.templates.ecs.components.TransformationComponent;
 import com.terminalvelocitycabbage.templates.ecs.components.VelocityComponent;
 
 public class SpawnConfettiSystem extends System {
@@ -37,11 +37,11 @@ public class SpawnConfettiSystem extends System {
             int targetRemaining = (int) (DukeGameClient.CONFETTI_COUNT * (1.0f - percentDone));
 
             while (remainingConfetti > targetRemaining) {
-                var entity = manager.createEntityFromTemplate(DukeGameClient.CONFETTI_ENTITY);
+                var entity = DukeGameClient.CONFETTI_POOL.obtain(manager);
                 var confettiComponent = entity.getComponent(ConfettiComponent.class);
                 var velocityComponent = entity.getComponent(VelocityComponent.class);
-                entity.getComponent(TransformationComponent.class).setPosition(DukeGameClient.CONFETTI_SPAWN_LOCATION);
                 velocityComponent.setVelocity(confettiComponent.getHorizontalVelocity(), confettiComponent.getVerticalVelocity(), 0);
+                DukeGameClient.PHYSICS.add(entity, BodyKind.CONFETTI);
                 remainingConfetti--;
             }
         }
@@ -1,6 +1,7 @@
 package com.terminalvelocitycabbage.dukejump.systems;
 
 import com.terminalvelocitycabbage.dukejump.DukeGameClient;
+import com.terminalvelocitycabbage.dukejump.physics.BodyKind;
 import com.terminalvelocitycabbage.engine.debug.Log;
 import com.terminalvelocitycabbage.engine.ecs.Manager;
 import com.terminalvelocitycabbage.engine.ecs.System;
@@ -17,13 +18,13 @@ public class SpawnEnemySystem extends System {
 
         if (duration > (DukeGameClient.BUG_FREQUENCY + variation)) {
             duration -= DukeGameClient.BUG_FREQUENCY;
-            var random = Math.random();
+            var random = DukeGameClient.RANDOM.nextDouble();
             variation = (int) (random * DukeGameClient.BUG_FREQUENCY_VARIANCE);
             int passedEntities = (int) DukeGameClient.getInstance().getStateHandler().getState(DukeGameClient.PASSED_ENEMIES_THIS_ROUND).getValue();
             if ((random < DukeGameClient.FLY_CHANCE) && passedEntities > DukeGameClient.FLY_WAIT) {
-                manager.createEntityFromTemplate(DukeGameClient.FLY_ENTITY);
+                DukeGameClient.PHYSICS.add(DukeGameClient.FLY_POOL.obtain(manager), BodyKind.FLY);
             } else {
-                manager.createEntityFromTemplate(DukeGameClient.BUG_ENTITY);
+                DukeGameClient.PHYSICS.add(DukeGameClient.BUG_POOL.obtain(manager), BodyKind.BUG);
             }
             DukeGameClient.getInstance().getStateHandler().getState(DukeGameClient.PASSED_ENEMIES_THIS_ROUND).setValue(passedEntities + 1);
         }
@@ -1,16 +1,18 @@
 #version 330
 
-layout (location=0) in vec3 position;
+layout (location=0) in vec2 position;
+layout (location=2) in vec4 instanceBasis;
+layout (location=3) in vec4 instanceTranslation;
+layout (location=4) in vec4 instanceColor;
 
 out vec4 outColor;
 
 uniform mat4 projectionMatrix;
-uniform mat4 modelMatrix;
 uniform mat4 viewMatrix;
-uniform vec4 color;
 
 void main()
 {
-    outColor = color;
-    gl_Position = projectionMatrix * viewMatrix * modelMatrix * vec4(position, 1.0);
-}
\ No newline at end of file
+    outColor = instanceColor;
+    vec2 worldPosition = instanceBasis.xy * position.x + instanceBasis.zw * position.y + instanceTranslation.xy;
+    gl_Position = projectionMatrix * viewMatrix * vec4(worldPosition, instanceTranslation.z, 1.0);
+}
@@ -1,16 +1,19 @@
 #version 330
 
-layout (location=0) in vec3 position;
+layout (location=0) in vec2 position;
 layout (location=1) in vec2 textureCoord;
+layout (location=2) in vec4 instanceBasis;
+layout (location=3) in vec4 instanceTranslation;
+layout (location=4) in vec4 instanceRect;
 
 out vec2 outTextureCoord;
 
 uniform mat4 projectionMatrix;
-uniform mat4 modelMatrix;
 uniform mat4 viewMatrix;
 
 void main()
 {
-    gl_Position = projectionMatrix * viewMatrix * modelMatrix * vec4(position, 1.0);
-    outTextureCoord = textureCoord;
-}
\ No newline at end of file
+    vec2 worldPosition = instanceBasis.xy * position.x + instanceBasis.zw * position.y + instanceTranslation.xy;
+    gl_Position = projectionMatrix * viewMatrix * vec4(worldPosition, instanceTranslation.z, 1.0);
+    outTextureCoord = mix(instanceRect.xy, instanceRect.zw, textureCoord);
+}
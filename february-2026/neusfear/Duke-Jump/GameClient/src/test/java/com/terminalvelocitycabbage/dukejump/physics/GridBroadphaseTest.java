@@ -0,0 +1,160 @@
+package com.terminalvelocitycabbage.dukejump.physics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GridBroadphaseTest {
+
+    private static final float MIN_X = -20;
+    private static final float MAX_X = 100;
+    private static final float CELL_SIZE = 8;
+    //More ids than the grid starts with room for, so its id arrays grow
+    private static final int IDS = 150;
+
+    @Test
+    void queryMatchesBruteForceAfterRandomChanges() {
+        var random = new Random(42);
+        var grid = new GridBroadphase(MIN_X, MAX_X, CELL_SIZE);
+        var x = new float[IDS];
+        var y = new float[IDS];
+        var present = new boolean[IDS];
+        int size = 0;
+
+        for (int step = 0; step < 5000; step++) {
+            int id = random.nextInt(IDS);
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    if (present[id]) break;
+                    x[id] = randomX(random);
+                    y[id] = random.nextFloat() * 20 - 10;
+                    grid.add(id, x[id]);
+                    present[id] = true;
+                    size++;
+                }
+                case 1 -> {
+                    if (!present[id]) break;
+                    //Mostly small steps within a cell, sometimes a jump across the grid
+                    x[id] = random.nextInt(4) == 0 ? randomX(random) : x[id] + random.nextFloat() * 2 - 1;
+                    grid.update(id, x[id]);
+                }
+                case 2 -> {
+                    grid.remove(id);
+                    if (present[id]) size--;
+                    present[id] = false;
+                }
+                default -> {
+                    int to = random.nextInt(IDS);
+                    if (!present[id] || present[to]) break;
+                    grid.rename(id, to);
+                    x[to] = x[id];
+                    y[to] = y[id];
+                    present[to] = true;
+                    present[id] = false;
+                }
+            }
+
+            assertEquals(size, grid.size(), "size after step " + step);
+            float centerX = randomX(random);
+            float centerY = random.nextFloat() * 20 - 10;
+            float radius = random.nextFloat() * 30;
+            assertEquals(bruteForce(x, y, present, centerX, centerY, radius), query(grid, x, y, centerX, centerY, radius),
+                    "query after step " + step);
+        }
+
+        for (int id = 0; id < IDS; id++) {
+            assertEquals(present[id], grid.contains(id), "contains " + id);
+        }
+    }
+
+    @Test
+    void positionsOutsideTheRangeAreClampedIntoTheEdgeCells() {
+        var grid = new GridBroadphase(0, 100, 10);
+        var x = new float[] {-500, 1000, 5, 95};
+        var y = new float[4];
+        for (int id = 0; id < x.length; id++) {
+            grid.add(id, x[id]);
+        }
+
+        assertEquals(Set.of(0), query(grid, x, y, -500, 0, 1));
+        assertEquals(Set.of(1), query(grid, x, y, 1000, 0, 1));
+        //Sharing an edge cell is not enough, the radius still applies
+        assertEquals(Set.of(2), query(grid, x, y, 5, 0, 1));
+        assertEquals(Set.of(3), query(grid, x, y, 95, 0, 1));
+
+        //Moving further out stays in the edge cell, moving back in leaves it
+        x[0] = -900;
+        grid.update(0, x[0]);
+        assertEquals(Set.of(0), query(grid, x, y, -900, 0, 1));
+        x[0] = 50;
+        grid.update(0, x[0]);
+        assertEquals(Set.of(0), query(grid, x, y, 50, 0, 1));
+        assertEquals(Set.of(), query(grid, x, y, -900, 0, 1));
+    }
+
+    @Test
+    void renameOntoAPresentIdThrows() {
+        var grid = new GridBroadphase(0, 100, 10);
+        grid.add(0, 5);
+        grid.add(1, 5);
+
+        assertThrows(IllegalStateException.class, () -> grid.rename(0, 1));
+        assertTrue(grid.contains(0));
+        assertTrue(grid.contains(1));
+        assertEquals(2, grid.size());
+    }
+
+    @Test
+    void sizeCountsIdsInTheGrid() {
+        var grid = new GridBroadphase(0, 100, 10);
+        assertEquals(0, grid.size());
+        grid.add(0, 5);
+        grid.add(3, 50);
+        grid.add(200, 99);
+        assertEquals(3, grid.size());
+
+        assertThrows(IllegalStateException.class, () -> grid.add(3, 10));
+        grid.remove(7);
+        assertEquals(3, grid.size());
+
+        grid.rename(200, 1);
+        assertEquals(3, grid.size());
+        assertFalse(grid.contains(200));
+        assertTrue(grid.contains(1));
+
+        grid.remove(0);
+        grid.remove(0);
+        assertEquals(2, grid.size());
+    }
+
+    private static float randomX(Random random) {
+        //A third of the positions lie outside the covered range
+        return MIN_X - 30 + random.nextFloat() * (MAX_X - MIN_X + 60);
+    }
+
+    private static Set<Integer> query(GridBroadphase grid, float[] x, float[] y, float centerX, float centerY, float radius) {
+        var found = new TreeSet<Integer>();
+        int count = grid.query(x, y, centerX, centerY, radius);
+        for (int i = 0; i < count; i++) {
+            assertTrue(found.add(grid.getFound(i)), "id " + grid.getFound(i) + " found twice");
+        }
+        return found;
+    }
+
+    private static Set<Integer> bruteForce(float[] x, float[] y, boolean[] present, float centerX, float centerY, float radius) {
+        var found = new TreeSet<Integer>();
+        for (int id = 0; id < present.length; id++) {
+            float distanceX = x[id] - centerX;
+            float distanceY = y[id] - centerY;
+            if (present[id] && distanceX * distanceX + distanceY * distanceY <= radius * radius) found.add(id);
+        }
+        return found;
+    }
+}
@@ -0,0 +1,152 @@
+package com.terminalvelocitycabbage.dukejump.rendering;
+
+import org.joml.Matrix4f;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SpriteBatchTest {
+
+    private static final float[] LAYERS = {-2, -1, 0, 0.5f, 1};
+
+    //The data of every quad is the order it was added in, its shader and its texture
+    private record Quad(int index, int shader, int texture, float z) { }
+
+    @Test
+    void sortsByShaderThenTextureThenDepth() {
+        var batch = new SpriteBatch();
+        add(batch, new Quad(0, 1, 2, 0));
+        add(batch, new Quad(1, 0, 3, 1));
+        add(batch, new Quad(2, 0, 3, -1));
+        add(batch, new Quad(3, 1, 1, 0));
+        add(batch, new Quad(4, 0, 2, 0));
+        batch.build();
+
+        assertOrder(batch, 4, 2, 1, 3, 0);
+    }
+
+    @Test
+    void keepsTheOrderOfQuadsWithTheSameKey() {
+        var batch = new SpriteBatch();
+        for (int i = 0; i < 10; i++) {
+            add(batch, new Quad(i, 0, 1, i % 2 == 0 ? 0 : -1));
+        }
+        batch.build();
+
+        assertOrder(batch, 1, 3, 5, 7, 9, 0, 2, 4, 6, 8);
+    }
+
+    @Test
+    void splitsBatchesWhereShaderOrTextureChanges() {
+        var batch = new SpriteBatch();
+        add(batch, new Quad(0, 0, 1, 0));
+        add(batch, new Quad(1, 1, 1, 0));
+        add(batch, new Quad(2, 0, 1, -1));
+        add(batch, new Quad(3, 0, 2, 0));
+        add(batch, new Quad(4, 1, 1, 1));
+        batch.build();
+
+        assertEquals(3, batch.getBatchCount());
+        assertBatch(batch, 0, 0, 1, 0, 2);
+        assertBatch(batch, 1, 0, 2, 2, 1);
+        assertBatch(batch, 2, 1, 1, 3, 2);
+    }
+
+    //Below a few hundred quads the keys are sorted whole, above that by radix, both must give the same order
+    @Test
+    void smallAndLargeBatchesMatchAStableSort() {
+        for (int count : new int[] {0, 1, 100, 255, 256, 5_000}) {
+            var random = new Random(count);
+            var quads = new ArrayList<Quad>();
+            for (int i = 0; i < count; i++) {
+                quads.add(new Quad(i, random.nextInt(3), random.nextInt(4), LAYERS[random.nextInt(LAYERS.length)]));
+            }
+
+            var batch = new SpriteBatch();
+            quads.forEach(quad -> add(batch, quad));
+            batch.build();
+
+            var expected = new ArrayList<>(quads);
+            expected.sort(Comparator.comparingInt(Quad::shader).thenComparingInt(Quad::texture).thenComparingDouble(Quad::z));
+            assertOrder(batch, expected.stream().mapToInt(Quad::index).toArray());
+            assertBatchesCover(batch, expected);
+        }
+    }
+
+    @Test
+    void clearStartsANewFrame() {
+        var batch = new SpriteBatch();
+        add(batch, new Quad(0, 1, 1, 0));
+        batch.build();
+        batch.clear();
+        add(batch, new Quad(0, 0, 2, 0));
+        batch.build();
+
+        assertEquals(1, batch.size());
+        assertEquals(1, batch.getBatchCount());
+        assertBatch(batch, 0, 0, 2, 0, 1);
+    }
+
+    @Test
+    void copiesTheTransformationAndData() {
+        var batch = new SpriteBatch();
+        batch.add(0, 1, new Matrix4f().translate(3, 4, 0.5f).scale(2), 0.1f, 0.2f, 0.3f, 0.4f);
+        batch.build();
+
+        float[] instance = new float[SpriteBatch.FLOATS_PER_INSTANCE];
+        System.arraycopy(batch.getInstances(), 0, instance, 0, instance.length);
+        float[] expected = {2, 0, 0, 2, 3, 4, 0.5f, 1, 0.1f, 0.2f, 0.3f, 0.4f};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], instance[i], 1e-6f, "float " + i);
+        }
+    }
+
+    @Test
+    void rejectsShadersAndTexturesOutsideTheSortKey() {
+        var batch = new SpriteBatch();
+        var transformation = new Matrix4f();
+        assertThrows(IllegalArgumentException.class, () -> batch.add(SpriteBatch.MAX_SHADERS, 0, transformation, 0, 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> batch.add(0, SpriteBatch.MAX_TEXTURES, transformation, 0, 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> batch.add(-1, 0, transformation, 0, 0, 0, 0));
+    }
+
+    private static void add(SpriteBatch batch, Quad quad) {
+        batch.add(quad.shader(), quad.texture(), new Matrix4f().translate(0, 0, quad.z()), quad.index(), quad.shader(), quad.texture(), 0);
+    }
+
+    private static void assertOrder(SpriteBatch batch, int... indices) {
+        assertEquals(indices.length, batch.size());
+        float[] instances = batch.getInstances();
+        for (int i = 0; i < indices.length; i++) {
+            assertEquals(indices[i], (int) instances[i * SpriteBatch.FLOATS_PER_INSTANCE + 8], "quad " + i);
+        }
+    }
+
+    private static void assertBatch(SpriteBatch batch, int index, int shader, int texture, int start, int size) {
+        assertEquals(shader, batch.getBatchShader(index), "shader of batch " + index);
+        assertEquals(texture, batch.getBatchTexture(index), "texture of batch " + index);
+        assertEquals(start, batch.getBatchStart(index), "start of batch " + index);
+        assertEquals(size, batch.getBatchSize(index), "size of batch " + index);
+    }
+
+    //Every batch starts where the one before ended and holds exactly the quads of its shader and texture
+    private static void assertBatchesCover(SpriteBatch batch, List<Quad> sorted) {
+        int start = 0;
+        for (int b = 0; b < batch.getBatchCount(); b++) {
+            assertEquals(start, batch.getBatchStart(b), "start of batch " + b);
+            int shader = sorted.get(start).shader();
+            int texture = sorted.get(start).texture();
+            int end = start;
+            while (end < sorted.size() && sorted.get(end).shader() == shader && sorted.get(end).texture() == texture) end++;
+            assertBatch(batch, b, shader, texture, start, end - start);
+            start = end;
+        }
+        assertEquals(sorted.size(), start);
+    }
+}
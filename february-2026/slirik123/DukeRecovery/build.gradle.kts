@@ -2,6 +2,7 @@ plugins {
     id("java")
     id("io.freefair.lombok") version "9.2.0"
     id("com.gradleup.shadow") version "9.3.1"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com.solutiongameofficial"
@@ -25,6 +26,35 @@ dependencies {
 
 tasks.test {
     useJUnitPlatform()
+    systemProperty("java.awt.headless", "true")
+}
+
+// The wireframe projection has an optional SIMD kernel, without the module at runtime the scalar kernel is used.
+// Every compile that adds an incubator module warns about it and javac has no lint key for just that warning, so
+// the kernel is compiled in its own source set, the only one built with the module and with warnings turned off.
+val vectorModuleArgument = "--add-modules=jdk.incubator.vector"
+
+val vector by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+}
+
+sourceSets.main {
+    runtimeClasspath += vector.output
+}
+
+tasks.named<JavaCompile>(vector.compileJavaTaskName) {
+    options.compilerArgs.addAll(listOf(vectorModuleArgument, "-Xlint:none"))
+}
+
+dependencies {
+    "jmhRuntimeOnly"(vector.output)
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+    jvmArgsAppend.add(vectorModuleArgument)
 }
 
 tasks.jar {
@@ -38,6 +68,7 @@ tasks.build {
 tasks.register<JavaExec>("runStandalone") {
     classpath = sourceSets.main.get().runtimeClasspath
     mainClass.set("com.solutiongameofficial.Main")
+    jvmArgs(vectorModuleArgument)
 
     environment("APP_NAME", "SolutionWCMD - Duke Recovery")
 }
@@ -45,6 +76,7 @@ tasks.register<JavaExec>("runStandalone") {
 tasks.register<JavaExec>("runHeadless") {
     classpath = sourceSets.main.get().runtimeClasspath
     mainClass.set("com.solutiongameofficial.Main")
+    jvmArgs(vectorModuleArgument)
 
     args("--headless")
 }
@@ -55,6 +87,7 @@ tasks.register<JavaExec>("convertRawToAscii") {
 }
 
 tasks.shadowJar {
+    from(vector.output)
     archiveClassifier.set("")
     manifest {
         attributes("Main-Class" to "com.solutiongameofficial.Main")
@@ -0,0 +1,64 @@
+package com.solutiongameofficial;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic 1920x1080 inputs shared by the benchmarks, so runs on different commits see the same pixels.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BenchmarkImages {
+
+    public static final int FRAME_WIDTH = 1920;
+    public static final int FRAME_HEIGHT = 1080;
+    public static final long SEED = 1337L;
+
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.BOLD, 28);
+
+    /**
+     * Opaque frame resembling a phase screen: dark background, blocks of colour and monospaced text.
+     */
+    public static BufferedImage scene(int width, int height, long seed) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        SplittableRandom random = new SplittableRandom(seed);
+
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.BLACK);
+        graphics.fillRect(0, 0, width, height);
+
+        for (int i = 0; i < 300; i++) {
+            graphics.setColor(new Color(random.nextInt(0x1000000)));
+            graphics.fillRect(random.nextInt(width), random.nextInt(height), 8 + random.nextInt(160), 8 + random.nextInt(90));
+        }
+
+        graphics.setFont(FONT);
+        for (int i = 0; i < 120; i++) {
+            graphics.setColor(new Color(random.nextInt(0x1000000)));
+            graphics.drawString(Long.toHexString(random.nextLong()), random.nextInt(width), random.nextInt(height));
+        }
+
+        graphics.dispose();
+        return image;
+    }
+
+    /**
+     * Mostly transparent overlay resembling the HUD layer.
+     */
+    public static BufferedImage overlay(int width, int height, long seed) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        SplittableRandom random = new SplittableRandom(seed);
+
+        Graphics2D graphics = image.createGraphics();
+        graphics.setStroke(new BasicStroke(2f));
+        for (int i = 0; i < 40; i++) {
+            graphics.setColor(new Color(random.nextInt(0x1000000) | 0x80000000, true));
+            graphics.drawRect(random.nextInt(width), random.nextInt(height), 20 + random.nextInt(400), 20 + random.nextInt(120));
+        }
+        graphics.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,162 @@
+package com.solutiongameofficial.collections;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the primitive collections with the boxed JDK collections on the workloads the mesh code has:
+ * filling a set of packed edges, mapping quantized cells to vertex indices and walking the result.
+ * Keys repeat roughly every third insert, like shared edges of neighbouring triangles.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PrimitiveCollectionsBenchmark {
+
+    @Param({"30000"})
+    public int size;
+
+    private long[] keys;
+
+    private final LongHashSet primitiveSet = new LongHashSet(16);
+    private final Set<Long> boxedSet = new HashSet<>();
+    private final LongIntHashMap primitiveMap = new LongIntHashMap(16);
+    private final Map<Long, Integer> boxedMap = new HashMap<>();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1337);
+        keys = new long[size];
+        for (int index = 0; index < size; index++) {
+            keys[index] = EdgeList.pack(random.nextInt(size / 3), random.nextInt(size));
+        }
+
+        for (long key : keys) {
+            primitiveSet.add(key);
+            boxedSet.add(key);
+            primitiveMap.getOrPut(key, primitiveMap.size());
+            boxedMap.putIfAbsent(key, boxedMap.size());
+        }
+    }
+
+    @Benchmark
+    public int fillLongHashSet() {
+        LongHashSet set = new LongHashSet(16);
+        for (long key : keys) {
+            set.add(key);
+        }
+        return set.size();
+    }
+
+    @Benchmark
+    public int fillBoxedHashSet() {
+        Set<Long> set = new HashSet<>();
+        for (long key : keys) {
+            set.add(key);
+        }
+        return set.size();
+    }
+
+    @Benchmark
+    public int fillLongIntHashMap() {
+        LongIntHashMap map = new LongIntHashMap(16);
+        int sum = 0;
+        for (long key : keys) {
+            sum += map.getOrPut(key, map.size());
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int fillBoxedHashMap() {
+        Map<Long, Integer> map = new HashMap<>();
+        int sum = 0;
+        for (long key : keys) {
+            Integer existing = map.putIfAbsent(key, map.size());
+            sum += existing == null ? map.size() - 1 : existing;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int lookupLongIntHashMap() {
+        int sum = 0;
+        for (long key : keys) {
+            sum += primitiveMap.get(key + 1, 0);
+            sum += primitiveMap.get(key, 0);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int lookupBoxedHashMap() {
+        int sum = 0;
+        for (long key : keys) {
+            sum += boxedMap.getOrDefault(key + 1, 0);
+            sum += boxedMap.getOrDefault(key, 0);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long iterateLongHashSet() {
+        long sum = 0;
+        LongHashSet.Cursor cursor = primitiveSet.cursor();
+        while (cursor.advance()) {
+            sum += cursor.key();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long iterateBoxedHashSet() {
+        long sum = 0;
+        for (long key : boxedSet) {
+            sum += key;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int[] fillEdgeList() {
+        EdgeList edges = new EdgeList(16);
+        for (long key : keys) {
+            edges.addPacked(key);
+        }
+        return edges.copyEdgeA();
+    }
+
+    @Benchmark
+    public int[] fillIntArrayList() {
+        IntArrayList list = new IntArrayList(16);
+        for (long key : keys) {
+            list.add(EdgeList.vertexA(key));
+        }
+        return list.toArray();
+    }
+
+    @Benchmark
+    public int[] fillBoxedArrayList() {
+        List<Integer> list = new ArrayList<>();
+        for (long key : keys) {
+            list.add(EdgeList.vertexA(key));
+        }
+
+        int[] values = new int[list.size()];
+        for (int index = 0; index < values.length; index++) {
+            values[index] = list.get(index);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,28 @@
+package com.solutiongameofficial.game.hud;
+
+import com.solutiongameofficial.io.ResourceLoader;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HudBloomBenchmark {
+
+    private BufferedImage sourceWireframe;
+
+    @Setup
+    public void setUp() {
+        sourceWireframe = ResourceLoader.loadImage("hud/Objective.png");
+    }
+
+    @Benchmark
+    public BufferedImage buildBloomLayer() {
+        return HudBloom.buildBloomLayer(sourceWireframe, HudConfig.WIREFRAME_TINT);
+    }
+}
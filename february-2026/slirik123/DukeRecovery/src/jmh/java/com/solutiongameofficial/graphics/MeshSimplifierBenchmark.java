@@ -0,0 +1,39 @@
+package com.solutiongameofficial.graphics;
+
+import com.solutiongameofficial.io.StlLoader;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MeshSimplifierBenchmark {
+
+    private WireMesh rawMesh;
+    private double cellSize;
+    private double[] levelOfDetailCellSizes;
+
+    @Setup
+    public void setUp() {
+        rawMesh = StlLoader.loadFromResource("/stl/duke.stl");
+
+        MeshBounds bounds = MeshBounds.from(rawMesh);
+        // same cell size MemoryDefragRenderer derives from the raw mesh
+        cellSize = Math.max(bounds.sizeX(), Math.max(bounds.sizeY(), bounds.sizeZ())) * 0.012;
+        levelOfDetailCellSizes = new double[] {cellSize, cellSize * 2, cellSize * 4};
+    }
+
+    @Benchmark
+    public WireMesh quantizeAndRebuild() {
+        return MeshSimplifier.quantizeAndRebuild(rawMesh, cellSize);
+    }
+
+    @Benchmark
+    public WireMesh[] buildLevelsOfDetail() {
+        return MeshSimplifier.buildLevelsOfDetail(rawMesh, levelOfDetailCellSizes);
+    }
+}
@@ -0,0 +1,37 @@
+package com.solutiongameofficial.graphics;
+
+import com.solutiongameofficial.BenchmarkImages;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ScreenCompositorBenchmark {
+
+    // 1000x1000 is the checksum phase canvas and gets letterboxed, 1920x1080 is drawn 1:1
+    @Param({"1000x1000", "1920x1080"})
+    public String phaseSize;
+
+    private ScreenCompositor compositor;
+    private BufferedImage phaseImage;
+    private BufferedImage hudImage;
+
+    @Setup
+    public void setUp() {
+        String[] size = phaseSize.split("x");
+        compositor = new ScreenCompositor(BenchmarkImages.FRAME_WIDTH, BenchmarkImages.FRAME_HEIGHT, ScreenCompositor.FitMode.FIT_LETTERBOX);
+        phaseImage = BenchmarkImages.scene(Integer.parseInt(size[0]), Integer.parseInt(size[1]), BenchmarkImages.SEED);
+        hudImage = BenchmarkImages.overlay(BenchmarkImages.FRAME_WIDTH, BenchmarkImages.FRAME_HEIGHT, BenchmarkImages.SEED);
+    }
+
+    @Benchmark
+    public BufferedImage compose() {
+        return compositor.compose(phaseImage, hudImage);
+    }
+}
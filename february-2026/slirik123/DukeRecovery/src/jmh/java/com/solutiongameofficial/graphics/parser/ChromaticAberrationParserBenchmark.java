@@ -0,0 +1,31 @@
+package com.solutiongameofficial.graphics.parser;
+
+import com.solutiongameofficial.BenchmarkImages;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ChromaticAberrationParserBenchmark {
+
+    private BufferedImage frame;
+    private ChromaticAberrationParser parser;
+
+    @Setup
+    public void setUp() {
+        frame = BenchmarkImages.scene(BenchmarkImages.FRAME_WIDTH, BenchmarkImages.FRAME_HEIGHT, BenchmarkImages.SEED);
+        // same parameters PostProcessor uses
+        parser = new ChromaticAberrationParser(1, 2);
+    }
+
+    @Benchmark
+    public BufferedImage parse() {
+        return parser.parse(frame);
+    }
+}
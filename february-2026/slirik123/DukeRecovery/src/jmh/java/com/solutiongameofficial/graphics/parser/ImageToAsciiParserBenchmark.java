@@ -0,0 +1,59 @@
+package com.solutiongameofficial.graphics.parser;
+
+import com.solutiongameofficial.BenchmarkImages;
+import com.solutiongameofficial.graphics.AsciiColorMode;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ImageToAsciiParserBenchmark {
+
+    // 4 is what the checksum and Duke phases use, 6 is the parser default used by the maze
+    @Param({"4", "6"})
+    public int cellSize;
+
+    @Param({"MONOCHROME", "KEEP_COLORS"})
+    public AsciiColorMode colorMode;
+
+    private BufferedImage frame;
+    private ImageToAsciiParser parser;
+
+    private Graphics2D frameGraphics;
+    private int frameCounter;
+
+    @Setup
+    public void setUp() {
+        frame = BenchmarkImages.scene(BenchmarkImages.FRAME_WIDTH, BenchmarkImages.FRAME_HEIGHT, BenchmarkImages.SEED);
+        parser = new ImageToAsciiParser();
+        frameGraphics = frame.createGraphics();
+    }
+
+    @TearDown
+    public void tearDown() {
+        frameGraphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage parse() {
+        return parser.parse(frame, cellSize, colorMode);
+    }
+
+    /**
+     * Mostly static screen: a 64x64 square changes between refreshes, like a spinner or a scrolling column.
+     */
+    @Benchmark
+    public BufferedImage parseIncrementalSmallChange() {
+        frameCounter++;
+        frameGraphics.setColor((frameCounter & 1) == 0 ? Color.WHITE : Color.DARK_GRAY);
+        frameGraphics.fillRect(928, 508, 64, 64);
+        return parser.parseIncremental(frame, cellSize, colorMode);
+    }
+}
@@ -0,0 +1,47 @@
+package com.solutiongameofficial.graphics.projection;
+
+import com.solutiongameofficial.graphics.MeshBounds;
+import com.solutiongameofficial.graphics.WireMesh;
+import com.solutiongameofficial.io.StlLoader;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Projects the full resolution duke.stl (no simplification, three vertices per triangle) once per invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class WireframeProjectorBenchmark {
+
+    @Param({"scalar", "vector"})
+    public String kernel;
+
+    private WireMesh mesh;
+    private MeshBounds bounds;
+    private WireframeProjector projector;
+    private double rotationY;
+
+    @Setup
+    public void setUp() {
+        mesh = StlLoader.loadFromResource("/stl/duke.stl");
+        bounds = MeshBounds.from(mesh);
+        ProjectionKernel projectionKernel = kernel.equals("vector") ? ProjectionKernel.vector() : new ScalarProjectionKernel();
+        if (projectionKernel == null) {
+            throw new IllegalStateException("Vector kernel unavailable, it needs the incubator module and more than one double lane");
+        }
+        projector = new WireframeProjector(projectionKernel);
+    }
+
+    @Benchmark
+    public int[] project() {
+        rotationY += 0.01;
+        double size = Math.max(bounds.sizeX(), Math.max(bounds.sizeY(), bounds.sizeZ()));
+        projector.project(mesh, bounds, 420.0 / size, -1, rotationY, 0, 420.0 * 2.5, 900.0, 950, 500);
+        return projector.screenX();
+    }
+}
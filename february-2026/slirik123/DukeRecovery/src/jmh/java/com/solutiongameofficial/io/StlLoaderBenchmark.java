@@ -0,0 +1,20 @@
+package com.solutiongameofficial.io;
+
+import com.solutiongameofficial.graphics.WireMesh;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StlLoaderBenchmark {
+
+    @Benchmark
+    public WireMesh loadDuke() {
+        return StlLoader.loadFromResource("/stl/duke.stl");
+    }
+}
@@ -0,0 +1,88 @@
+package com.solutiongameofficial.phase;
+
+import com.solutiongameofficial.BenchmarkImages;
+import com.solutiongameofficial.graphics.parser.ImageToAsciiParser;
+import com.solutiongameofficial.phase.checksum.AsciiPresenter;
+import com.solutiongameofficial.phase.checksum.ChecksumRenderer;
+import com.solutiongameofficial.phase.checksum.ChecksumState;
+import com.solutiongameofficial.phase.loading.LoadingRenderer;
+import com.solutiongameofficial.phase.loading.LoadingState;
+import com.solutiongameofficial.phase.maze.MazeRenderer;
+import com.solutiongameofficial.phase.maze.MazeState;
+import com.solutiongameofficial.phase.success.GameEndedRenderer;
+import com.solutiongameofficial.phase.success.GameEndedState;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady state frames of the 2D phases. Run with {@code -prof gc}, gc.alloc.rate.norm is the allocation per frame.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PhaseRendererBenchmark {
+
+    private static final double FIXED_DELTA_TIME = 1d / 60d;
+
+    private MazeRenderer mazeRenderer;
+    private MazeState mazeState;
+
+    private ChecksumRenderer checksumRenderer;
+    private ChecksumState checksumState;
+    private AsciiPresenter checksumPresenter;
+
+    private LoadingRenderer loadingRenderer;
+    private LoadingState loadingState;
+
+    private GameEndedRenderer gameEndedRenderer;
+    private GameEndedState gameEndedState;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        mazeRenderer = new MazeRenderer(new ImageToAsciiParser());
+        mazeState = new MazeState(9, 9, new Random(BenchmarkImages.SEED));
+
+        checksumRenderer = new ChecksumRenderer();
+        checksumRenderer.initialize();
+        checksumState = new ChecksumState();
+        checksumPresenter = new AsciiPresenter(new ImageToAsciiParser());
+        checksumPresenter.initialize();
+
+        loadingRenderer = new LoadingRenderer();
+        loadingState = new LoadingState(Double.MAX_VALUE);
+
+        gameEndedRenderer = new GameEndedRenderer();
+        gameEndedState = new GameEndedState(Double.MAX_VALUE);
+    }
+
+    @Benchmark
+    public BufferedImage maze() {
+        return mazeRenderer.render(mazeState, false, 0.0, 3, null);
+    }
+
+    @Benchmark
+    public BufferedImage checksum() {
+        checksumState.update(FIXED_DELTA_TIME);
+        checksumPresenter.update(FIXED_DELTA_TIME, false);
+        BufferedImage normalLayer = checksumRenderer.render(checksumState);
+        return checksumPresenter.get(normalLayer, checksumRenderer.dirtyRegion(checksumState));
+    }
+
+    @Benchmark
+    public BufferedImage loading() {
+        loadingState.update(FIXED_DELTA_TIME);
+        return loadingRenderer.render(loadingState);
+    }
+
+    @Benchmark
+    public BufferedImage gameEnded() {
+        gameEndedState.update(FIXED_DELTA_TIME);
+        return gameEndedRenderer.render(gameEndedState);
+    }
+}
@@ -0,0 +1,37 @@
+package com.solutiongameofficial.phase.duke;
+
+import com.solutiongameofficial.BenchmarkImages;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MemoryDefragRendererBenchmark {
+
+    private static final double FIXED_DELTA_TIME = 1d / 60d;
+
+    private MemoryDefragRenderer renderer;
+    private MemoryDefragState state;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        renderer = new MemoryDefragRenderer();
+        renderer.initialize();
+
+        state = new MemoryDefragState(BenchmarkImages.SEED);
+        state.initialize(renderer.getMeshBounds());
+    }
+
+    @Benchmark
+    public BufferedImage render() {
+        // keeps the rotation and corruption moving like the running phase does
+        state.update(FIXED_DELTA_TIME);
+        return renderer.render(state);
+    }
+}
@@ -1,7 +1,17 @@
 package com.solutiongameofficial;
 
 import com.solutiongameofficial.game.GameLoopRunner;
+import com.solutiongameofficial.game.GameSimulation;
+import com.solutiongameofficial.game.GameThreads;
+import com.solutiongameofficial.game.RandomRegistry;
+import com.solutiongameofficial.game.SimulationRunner;
+import com.solutiongameofficial.game.profiler.FrameProfiler;
+import com.solutiongameofficial.graphics.Renderer;
+import com.solutiongameofficial.io.FrameFormat;
+import com.solutiongameofficial.io.FrameStreamRenderer;
 import com.solutiongameofficial.io.InputFacade;
+import com.solutiongameofficial.io.InputRecorder;
+import com.solutiongameofficial.io.InputRecording;
 import com.solutiongameofficial.io.PngStreamRenderer;
 import com.solutiongameofficial.io.StdioInputAdapter;
 import com.solutiongameofficial.phase.Phase;
@@ -10,48 +20,158 @@ import com.solutiongameofficial.phase.intro.IntroPhase;
 import com.solutiongameofficial.phase.loading.LoadingPhase;
 import com.solutiongameofficial.phase.maze.MazePhase;
 import com.solutiongameofficial.phase.success.GameEndedPhase;
+import com.solutiongameofficial.server.HostAddress;
+import com.solutiongameofficial.server.SessionHost;
+import com.solutiongameofficial.swing.BufferStrategyRenderer;
+import com.solutiongameofficial.swing.CanvasFrame;
 import com.solutiongameofficial.swing.Frame;
+import com.solutiongameofficial.swing.RenderPath;
 import com.solutiongameofficial.swing.SwingInputAdapter;
 import com.solutiongameofficial.swing.SwingRenderer;
 
 import javax.swing.*;
 import java.awt.*;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
 
 public class Main {
     public static void main(String[] arguments) {
-        boolean headless = GraphicsEnvironment.isHeadless() || hasArguments(arguments,"--headless");
+        FrameProfiler profiler = createProfiler(argumentValue(arguments, "--profile-output", null));
 
-        InputFacade input = new InputFacade();
-        Phase[] phases = {
-                new LoadingPhase(),
-                new IntroPhase(),
-                new ChecksumPhase(),
-                new MazePhase(),
-                new GameEndedPhase()
-        };
+        String replayFile = argumentValue(arguments, "--replay", null);
+        if (replayFile != null) {
+            int renderInterval = Integer.parseInt(argumentValue(arguments, "--render-every", "0"));
+            replay(InputRecording.read(Path.of(replayFile)), renderInterval, argumentValue(arguments, "--expect-digest", null), profiler);
+            return;
+        }
+
+        String seed = argumentValue(arguments, "--seed", null);
+        RandomRegistry randoms = seed != null ? new RandomRegistry(Long.parseLong(seed)) : RandomRegistry.unseeded();
 
         boolean postProcessingEnabled = !hasArguments(arguments,"--post-processing-disabled");
+        int keyframeInterval = Integer.parseInt(argumentValue(arguments, "--keyframe-interval",
+                String.valueOf(FrameStreamRenderer.DEFAULT_KEYFRAME_INTERVAL)));
+
+        String hostAddress = argumentValue(arguments, "--serve", null);
+        if (hostAddress != null) {
+            SessionHost.Settings settings = new SessionHost.Settings(
+                    FrameFormat.fromArgument(argumentValue(arguments, "--stream-format", "rle-delta")),
+                    keyframeInterval,
+                    postProcessingEnabled,
+                    Integer.parseInt(argumentValue(arguments, "--max-sessions", "64")),
+                    Duration.ofSeconds(Long.parseLong(argumentValue(arguments, "--metrics-interval", "10")))
+            );
+            serve(HostAddress.fromArgument(hostAddress), settings, randoms);
+            return;
+        }
+
+        String recordFile = argumentValue(arguments, "--record-input", null);
+
+        InputFacade input = new InputFacade();
+        Supplier<GameSimulation> simulation = () -> new GameSimulation(
+                createPhases(randoms),
+                randoms,
+                recordFile != null ? InputRecorder.open(Path.of(recordFile), randoms.getSeed()) : InputRecorder.disabled(),
+                GameThreads.platform()
+        );
+
+        boolean headless = GraphicsEnvironment.isHeadless() || hasArguments(arguments,"--headless");
         if (headless) {
-            runHeadless(input, phases, postProcessingEnabled);
+            FrameFormat streamFormat = FrameFormat.fromArgument(argumentValue(arguments, "--stream-format", "png"));
+            runHeadless(input, simulation, postProcessingEnabled, profiler, streamFormat, keyframeInterval);
         } else {
-            runSwing(input, phases, postProcessingEnabled);
+            RenderPath renderPath = RenderPath.fromArgument(argumentValue(arguments, "--render-path", "swing"));
+            runSwing(input, simulation, postProcessingEnabled, profiler, renderPath);
+        }
+    }
+
+    // phases are created lazily, each one is built in the background while the previous phase runs
+    private static List<Supplier<Phase>> createPhases(RandomRegistry randoms) {
+        return List.of(
+                LoadingPhase::new,
+                IntroPhase::new,
+                ChecksumPhase::new,
+                () -> new MazePhase(randoms.nextSeed("maze")),
+                GameEndedPhase::new
+        );
+    }
+
+    /**
+     * Runs the recorded session at full speed without a window or frame stream, exits with 1 when the digest of the
+     * rendered frames is not the expected one.
+     */
+    private static void replay(InputRecording recording, int renderInterval, String expectedDigest, FrameProfiler profiler) {
+        RandomRegistry randoms = new RandomRegistry(recording.seed());
+        GameSimulation simulation = new GameSimulation(createPhases(randoms), randoms, InputRecorder.disabled(), GameThreads.platform());
+
+        SimulationRunner.Result result = new SimulationRunner(simulation, recording, renderInterval, profiler).run();
+        System.out.println(result.summary());
+
+        if (expectedDigest != null && !expectedDigest.equalsIgnoreCase(result.frameDigestHex())) {
+            System.out.println("Digest mismatch, expected " + expectedDigest);
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Hosts a game for every connection until the process is stopped, stopping it lets every session finish its stream.
+     */
+    private static void serve(HostAddress address, SessionHost.Settings settings, RandomRegistry randoms) {
+        SessionHost host = new SessionHost(address, settings, Main::createPhases, randoms);
+        Runtime.getRuntime().addShutdownHook(new Thread(host::close, "session-host-shutdown"));
+        host.run();
+    }
+
+    /**
+     * The profile is written on shutdown, so it also covers runs that end through System.exit.
+     */
+    private static FrameProfiler createProfiler(String profileOutput) {
+        FrameProfiler profiler = new FrameProfiler();
+        if (profileOutput != null) {
+            Path profileFile = Path.of(profileOutput);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> profiler.writeJson(profileFile), "profile-writer"));
         }
+        return profiler;
     }
 
-    private static void runHeadless(InputFacade input, Phase[] phases, boolean postProcessingEnabled) {
-        try (StdioInputAdapter stdio = new StdioInputAdapter(input, System.in, System.out)) {
+    private static void runHeadless(InputFacade input, Supplier<GameSimulation> simulation, boolean postProcessingEnabled,
+                                    FrameProfiler profiler, FrameFormat streamFormat, int keyframeInterval) {
+        try (StdioInputAdapter stdio = new StdioInputAdapter(input, System.in, System.out, GameThreads.platform())) {
             stdio.start();
-            new GameLoopRunner(input, phases, new PngStreamRenderer(System.out), postProcessingEnabled).run();
+
+            Renderer renderer = streamFormat == FrameFormat.PNG
+                    ? new PngStreamRenderer(System.out)
+                    : new FrameStreamRenderer(System.out, streamFormat, keyframeInterval);
+            try {
+                new GameLoopRunner(input, simulation.get(), renderer, postProcessingEnabled, profiler, GameThreads.platform()).run();
+            } finally {
+                renderer.close();
+            }
         }
+        System.exit(0);
     }
 
-    private static void runSwing(InputFacade input, Phase[] phases, boolean postProcessingEnabled) {
+    private static void runSwing(InputFacade input, Supplier<GameSimulation> simulation, boolean postProcessingEnabled,
+                                 FrameProfiler profiler, RenderPath renderPath) {
         SwingUtilities.invokeLater(() -> {
-            Frame frame = new Frame((graphics2D, scaleX, scaleY) -> {});
-
-            new SwingInputAdapter(input).bind(frame.getRootPane());
+            Renderer renderer;
+            if (renderPath == RenderPath.BUFFER_STRATEGY) {
+                CanvasFrame frame = new CanvasFrame();
+                new SwingInputAdapter(input).bind(frame.getRootPane());
+                renderer = new BufferStrategyRenderer(frame);
+            } else {
+                Frame frame = new Frame((graphics2D, scaleX, scaleY) -> {});
+                new SwingInputAdapter(input).bind(frame.getRootPane());
+                renderer = new SwingRenderer(frame);
+            }
 
-            new Thread(() -> new GameLoopRunner(input, phases, new SwingRenderer(frame), postProcessingEnabled).run(), "game-loop").start();
+            new Thread(() -> {
+                new GameLoopRunner(input, simulation.get(), renderer, postProcessingEnabled, profiler, GameThreads.platform()).run();
+                System.exit(0);
+            }, "game-loop").start();
         });
     }
 
@@ -63,4 +183,14 @@ public class Main {
         }
         return false;
     }
+
+    private static String argumentValue(String[] arguments, String name, String defaultValue) {
+        String prefix = name + "=";
+        for (String argument : arguments) {
+            if (argument.startsWith(prefix)) {
+                return argument.substring(prefix.length());
+            }
+        }
+        return defaultValue;
+    }
 }
\ No newline at end of file
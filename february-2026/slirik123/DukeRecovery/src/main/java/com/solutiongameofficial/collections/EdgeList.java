@@ -0,0 +1,83 @@
+package com.solutiongameofficial.collections;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Growable list of edges between two vertex indices, each edge packed into a single long.
+ * The packed form doubles as a {@link LongHashSet} key, see {@link #pack(int, int)}.
+ */
+public final class EdgeList {
+
+    private long[] packedEdges;
+    private int size;
+
+    public EdgeList(int expectedSize) {
+        packedEdges = new long[Math.max(4, expectedSize)];
+    }
+
+    /**
+     * Vertex A goes into the high and vertex B into the low 32 bits.
+     */
+    public static long pack(int vertexIndexA, int vertexIndexB) {
+        return (((long) vertexIndexA) << 32) | (vertexIndexB & 0xFFFFFFFFL);
+    }
+
+    public static int vertexA(long packedEdge) {
+        return (int) (packedEdge >>> 32);
+    }
+
+    public static int vertexB(long packedEdge) {
+        return (int) (packedEdge & 0xFFFFFFFFL);
+    }
+
+    public void add(int vertexIndexA, int vertexIndexB) {
+        addPacked(pack(vertexIndexA, vertexIndexB));
+    }
+
+    public void addPacked(long packedEdge) {
+        if (size == packedEdges.length) {
+            packedEdges = Arrays.copyOf(packedEdges, size * 2);
+        }
+        packedEdges[size++] = packedEdge;
+    }
+
+    public int edgeA(int edgeIndex) {
+        return vertexA(packedEdges[Objects.checkIndex(edgeIndex, size)]);
+    }
+
+    public int edgeB(int edgeIndex) {
+        return vertexB(packedEdges[Objects.checkIndex(edgeIndex, size)]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Keeps the backing array, so refilling the list allocates nothing.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public int[] copyEdgeA() {
+        int[] edgeA = new int[size];
+        for (int edgeIndex = 0; edgeIndex < size; edgeIndex++) {
+            edgeA[edgeIndex] = vertexA(packedEdges[edgeIndex]);
+        }
+        return edgeA;
+    }
+
+    public int[] copyEdgeB() {
+        int[] edgeB = new int[size];
+        for (int edgeIndex = 0; edgeIndex < size; edgeIndex++) {
+            edgeB[edgeIndex] = vertexB(packedEdges[edgeIndex]);
+        }
+        return edgeB;
+    }
+}
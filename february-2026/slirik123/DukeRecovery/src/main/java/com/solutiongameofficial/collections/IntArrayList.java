@@ -0,0 +1,51 @@
+package com.solutiongameofficial.collections;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Growable list of primitive ints, iterate it by index.
+ */
+public final class IntArrayList {
+
+    private int[] elements;
+    private int size;
+
+    public IntArrayList(int expectedSize) {
+        elements = new int[Math.max(4, expectedSize)];
+    }
+
+    public void add(int value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        elements[size++] = value;
+    }
+
+    public int get(int index) {
+        return elements[Objects.checkIndex(index, size)];
+    }
+
+    public void set(int index, int value) {
+        elements[Objects.checkIndex(index, size)] = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Keeps the backing array, so refilling the list allocates nothing.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+}
@@ -0,0 +1,179 @@
+package com.solutiongameofficial.collections;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing set of primitive longs. Free slots hold {@link #EMPTY}, and the one key equal to the sentinel
+ * is tracked on the side, so there is no boxing and no separate occupancy array.
+ */
+public final class LongHashSet {
+
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private int mask;
+    private int occupiedSlots;
+    private boolean containsEmptyKey;
+    private final Cursor cursor = new Cursor();
+
+    public LongHashSet(int expectedSize) {
+        keys = new long[PrimitiveHashing.tableCapacity(expectedSize)];
+        mask = keys.length - 1;
+    }
+
+    /**
+     * @return true if the key was not in the set yet
+     */
+    public boolean add(long key) {
+        if (key == EMPTY) {
+            boolean added = !containsEmptyKey;
+            containsEmptyKey = true;
+            return added;
+        }
+
+        int slot = PrimitiveHashing.mix(key) & mask;
+        long existing;
+        while ((existing = keys[slot]) != EMPTY) {
+            if (existing == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        if (++occupiedSlots * 2 > keys.length) {
+            rehash(keys.length << 1);
+        }
+        return true;
+    }
+
+    public boolean contains(long key) {
+        if (key == EMPTY) {
+            return containsEmptyKey;
+        }
+        return slotOf(key) >= 0;
+    }
+
+    /**
+     * @return true if the key was in the set
+     */
+    public boolean remove(long key) {
+        if (key == EMPTY) {
+            boolean removed = containsEmptyKey;
+            containsEmptyKey = false;
+            return removed;
+        }
+
+        int slot = slotOf(key);
+        if (slot < 0) {
+            return false;
+        }
+
+        shiftKeysBack(slot);
+        occupiedSlots--;
+        return true;
+    }
+
+    public int size() {
+        return occupiedSlots + (containsEmptyKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Keeps the table, so refilling the set to a similar size allocates nothing.
+     */
+    public void clear() {
+        if (occupiedSlots > 0) {
+            Arrays.fill(keys, EMPTY);
+            occupiedSlots = 0;
+        }
+        containsEmptyKey = false;
+    }
+
+    /**
+     * The set owns a single cursor, calling this again restarts it. Adding or removing keys while iterating
+     * invalidates the cursor.
+     */
+    public Cursor cursor() {
+        cursor.slot = -1;
+        return cursor;
+    }
+
+    private int slotOf(long key) {
+        int slot = PrimitiveHashing.mix(key) & mask;
+        long existing;
+        while ((existing = keys[slot]) != EMPTY) {
+            if (existing == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void shiftKeysBack(int freedSlot) {
+        int slot = freedSlot;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long key = keys[slot];
+            if (key == EMPTY) {
+                break;
+            }
+
+            if (PrimitiveHashing.canFill(freedSlot, slot, PrimitiveHashing.mix(key) & mask, mask)) {
+                keys[freedSlot] = key;
+                freedSlot = slot;
+            }
+        }
+        keys[freedSlot] = EMPTY;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        keys = new long[capacity];
+        mask = capacity - 1;
+
+        for (long key : oldKeys) {
+            if (key == EMPTY) {
+                continue;
+            }
+
+            int slot = PrimitiveHashing.mix(key) & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+        }
+    }
+
+    public final class Cursor {
+
+        private int slot;
+        private long key;
+
+        private Cursor() {}
+
+        public boolean advance() {
+            while (++slot < keys.length) {
+                if (keys[slot] != EMPTY) {
+                    key = keys[slot];
+                    return true;
+                }
+            }
+
+            // the sentinel key comes last, in the slot just past the table
+            if (slot == keys.length && containsEmptyKey) {
+                key = EMPTY;
+                return true;
+            }
+            return false;
+        }
+
+        public long key() {
+            return key;
+        }
+    }
+}
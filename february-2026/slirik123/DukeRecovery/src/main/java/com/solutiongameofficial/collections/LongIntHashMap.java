@@ -0,0 +1,231 @@
+package com.solutiongameofficial.collections;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing map from primitive long to primitive int, laid out like {@link LongHashSet}
+ * with the values in a parallel array.
+ */
+public final class LongIntHashMap {
+
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int occupiedSlots;
+    private boolean containsEmptyKey;
+    private int emptyKeyValue;
+    private final Cursor cursor = new Cursor();
+
+    public LongIntHashMap(int expectedSize) {
+        int capacity = PrimitiveHashing.tableCapacity(expectedSize);
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    public int get(long key, int missingValue) {
+        if (key == EMPTY) {
+            return containsEmptyKey ? emptyKeyValue : missingValue;
+        }
+
+        int slot = slotOf(key);
+        return slot >= 0 ? values[slot] : missingValue;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == EMPTY) {
+            return containsEmptyKey;
+        }
+        return slotOf(key) >= 0;
+    }
+
+    public void put(long key, int value) {
+        if (key == EMPTY) {
+            containsEmptyKey = true;
+            emptyKeyValue = value;
+            return;
+        }
+
+        int slot = PrimitiveHashing.mix(key) & mask;
+        long existing;
+        while ((existing = keys[slot]) != EMPTY) {
+            if (existing == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        insert(slot, key, value);
+    }
+
+    /**
+     * @return the value already stored for the key, or the given value after storing it
+     */
+    public int getOrPut(long key, int value) {
+        if (key == EMPTY) {
+            if (!containsEmptyKey) {
+                containsEmptyKey = true;
+                emptyKeyValue = value;
+            }
+            return emptyKeyValue;
+        }
+
+        int slot = PrimitiveHashing.mix(key) & mask;
+        long existing;
+        while ((existing = keys[slot]) != EMPTY) {
+            if (existing == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        insert(slot, key, value);
+        return value;
+    }
+
+    /**
+     * @return true if the key was in the map
+     */
+    public boolean remove(long key) {
+        if (key == EMPTY) {
+            boolean removed = containsEmptyKey;
+            containsEmptyKey = false;
+            return removed;
+        }
+
+        int slot = slotOf(key);
+        if (slot < 0) {
+            return false;
+        }
+
+        shiftEntriesBack(slot);
+        occupiedSlots--;
+        return true;
+    }
+
+    public int size() {
+        return occupiedSlots + (containsEmptyKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Keeps the table, so refilling the map to a similar size allocates nothing.
+     */
+    public void clear() {
+        if (occupiedSlots > 0) {
+            Arrays.fill(keys, EMPTY);
+            occupiedSlots = 0;
+        }
+        containsEmptyKey = false;
+    }
+
+    /**
+     * The map owns a single cursor, calling this again restarts it. Adding or removing keys while iterating
+     * invalidates the cursor.
+     */
+    public Cursor cursor() {
+        cursor.slot = -1;
+        return cursor;
+    }
+
+    private void insert(int slot, long key, int value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (++occupiedSlots * 2 > keys.length) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    private int slotOf(long key) {
+        int slot = PrimitiveHashing.mix(key) & mask;
+        long existing;
+        while ((existing = keys[slot]) != EMPTY) {
+            if (existing == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void shiftEntriesBack(int freedSlot) {
+        int slot = freedSlot;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long key = keys[slot];
+            if (key == EMPTY) {
+                break;
+            }
+
+            if (PrimitiveHashing.canFill(freedSlot, slot, PrimitiveHashing.mix(key) & mask, mask)) {
+                keys[freedSlot] = key;
+                values[freedSlot] = values[slot];
+                freedSlot = slot;
+            }
+        }
+        keys[freedSlot] = EMPTY;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+
+        for (int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+            long key = oldKeys[oldSlot];
+            if (key == EMPTY) {
+                continue;
+            }
+
+            int slot = PrimitiveHashing.mix(key) & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = oldValues[oldSlot];
+        }
+    }
+
+    public final class Cursor {
+
+        private int slot;
+        private long key;
+        private int value;
+
+        private Cursor() {}
+
+        public boolean advance() {
+            while (++slot < keys.length) {
+                if (keys[slot] != EMPTY) {
+                    key = keys[slot];
+                    value = values[slot];
+                    return true;
+                }
+            }
+
+            // the sentinel key comes last, in the slot just past the table
+            if (slot == keys.length && containsEmptyKey) {
+                key = EMPTY;
+                value = emptyKeyValue;
+                return true;
+            }
+            return false;
+        }
+
+        public long key() {
+            return key;
+        }
+
+        public int value() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.solutiongameofficial.collections;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class PrimitiveHashing {
+
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * Tables are kept at most half full, so linear probing stays short.
+     */
+    static int tableCapacity(int expectedSize) {
+        int capacity = 2;
+        while (capacity < expectedSize * 2 && capacity < MAXIMUM_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    static int mix(long key) {
+        key ^= (key >>> 33);
+        key *= 0xff51afd7ed558ccdL;
+        key ^= (key >>> 33);
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= (key >>> 33);
+        return (int) key;
+    }
+
+    /**
+     * Linear probing backward shift: a key may fill the freed slot only if the slot lies on its probe path.
+     */
+    static boolean canFill(int freedSlot, int slot, int homeSlot, int mask) {
+        return ((slot - homeSlot) & mask) >= ((slot - freedSlot) & mask);
+    }
+}
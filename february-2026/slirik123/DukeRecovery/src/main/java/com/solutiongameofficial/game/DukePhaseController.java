@@ -7,13 +7,33 @@ import com.solutiongameofficial.phase.transition.DukePhaseIntroPhase;
 import com.solutiongameofficial.phase.transition.DukePhaseOutroPhase;
 import com.solutiongameofficial.phase.transition.IntroOutroFrames;
 
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Keeps the next {@link DukePhase} and {@link FailedPhase} built in the background,
+ * so the Duke phase can interrupt the game at any time without loading anything on the game loop.
+ */
 public final class DukePhaseController {
 
-    private final IntroOutroFrames introOutroFrames = new IntroOutroFrames();
+    private final PhasePreloader preloader;
+    private final RandomRegistry randoms;
+    private final Random delayRandom;
+    private final CompletableFuture<IntroOutroFrames> introOutroFrames;
+    private CompletableFuture<DukePhase> nextDukePhase;
+    private CompletableFuture<FailedPhase> nextFailedPhase;
 
-    private double secondsUntilDukePhase = randomDukePhaseDelaySeconds();
+    private double secondsUntilDukePhase;
+
+    public DukePhaseController(PhasePreloader preloader, RandomRegistry randoms) {
+        this.preloader = preloader;
+        this.randoms = randoms;
+        this.delayRandom = randoms.random("duke-delay");
+        this.secondsUntilDukePhase = randomDukePhaseDelaySeconds();
+        this.introOutroFrames = preloader.prepare(IntroOutroFrames::shared);
+        this.nextDukePhase = prepareDukePhase();
+        this.nextFailedPhase = preloader.prepare(FailedPhase::new);
+    }
 
     public boolean tickCountdown(double fixedDeltaSeconds) {
         secondsUntilDukePhase -= fixedDeltaSeconds;
@@ -25,26 +45,36 @@ public final class DukePhaseController {
     }
 
     public Phase initialPhase() {
-        return new DukePhaseIntroPhase(introOutroFrames);
+        return new DukePhaseIntroPhase(PhasePreloader.await(introOutroFrames));
     }
 
     public Phase next(Phase current) {
         if (current instanceof DukePhaseIntroPhase || current instanceof FailedPhase) {
-            return new DukePhase();
+            DukePhase dukePhase = PhasePreloader.await(nextDukePhase);
+            nextDukePhase = prepareDukePhase();
+            return dukePhase;
         }
 
         if (current.isFailed()) {
-            return new FailedPhase();
+            FailedPhase failedPhase = PhasePreloader.await(nextFailedPhase);
+            nextFailedPhase = preloader.prepare(FailedPhase::new);
+            return failedPhase;
         }
 
         if (current instanceof DukePhase) {
-            return new DukePhaseOutroPhase(introOutroFrames);
+            return new DukePhaseOutroPhase(PhasePreloader.await(introOutroFrames));
         }
 
         return null;
     }
 
-    private static double randomDukePhaseDelaySeconds() {
-        return ThreadLocalRandom.current().nextDouble(30d, 60d);
+    // the seed is taken here and not in the preloader, so the n-th Duke phase of a seed is always the same
+    private CompletableFuture<DukePhase> prepareDukePhase() {
+        long seed = randoms.nextSeed("duke");
+        return preloader.prepare(() -> new DukePhase(seed));
+    }
+
+    private double randomDukePhaseDelaySeconds() {
+        return delayRandom.nextDouble(30d, 60d);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,204 @@
+package com.solutiongameofficial.game;
+
+import com.solutiongameofficial.game.profiler.FrameProfiler;
+import com.solutiongameofficial.game.profiler.FrameStage;
+import com.solutiongameofficial.game.profiler.ProfilerOverlay;
+import com.solutiongameofficial.graphics.Renderer;
+import com.solutiongameofficial.graphics.ScreenCompositor;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Takes rendered phase images off the game loop. A render thread composes them with the HUD and post-processes them,
+ * a present thread hands the result to the {@link Renderer}. Both handoffs are {@link TripleBuffer}s, so a slow stage
+ * drops frames instead of holding up the stages before it, and the game loop never waits on presentation.
+ */
+public final class FramePipeline implements AutoCloseable {
+
+    private final ScreenCompositor compositor;
+    private final PostProcessor postProcessor;
+    private final ProfilerOverlay profilerOverlay;
+    private final Renderer renderer;
+    private final FrameProfiler profiler;
+    private final Supplier<BufferedImage> hudImages;
+
+    private final TripleBuffer<FrameSlot> phaseFrames = new TripleBuffer<>(FrameSlot::new);
+    private final TripleBuffer<FrameSlot> presentFrames = new TripleBuffer<>(FrameSlot::new);
+
+    private final Thread renderThread;
+    private final Thread presentThread;
+
+    private volatile boolean running = true;
+    private volatile Throwable failure;
+
+    public FramePipeline(ScreenCompositor compositor,
+                         PostProcessor postProcessor,
+                         ProfilerOverlay profilerOverlay,
+                         Renderer renderer,
+                         FrameProfiler profiler,
+                         Supplier<BufferedImage> hudImages,
+                         GameThreads threads)
+    {
+        this.compositor = compositor;
+        this.postProcessor = postProcessor;
+        this.profilerOverlay = profilerOverlay;
+        this.renderer = renderer;
+        this.profiler = profiler;
+        this.hudImages = hudImages;
+
+        this.renderThread = threads.unstarted("frame-render", () -> runStage(phaseFrames, this::render));
+        this.presentThread = threads.unstarted("frame-present", () -> runStage(presentFrames, this::present));
+    }
+
+    public void start() {
+        renderThread.start();
+        presentThread.start();
+    }
+
+    /**
+     * Copies the phase image, so the phase can render its next frame into the same image right away.
+     * Rethrows the first failure of the render or present thread.
+     */
+    public void submit(BufferedImage phaseImage, long frameStartNanoseconds) {
+        Throwable stageFailure = failure;
+        if (stageFailure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (stageFailure instanceof Error error) {
+            throw error;
+        }
+        if (stageFailure != null) {
+            throw new IllegalStateException("Frame pipeline stage failed", stageFailure);
+        }
+
+        FrameSlot frame = phaseFrames.back();
+        frame.copyFrom(phaseImage);
+        frame.frameStartNanoseconds = frameStartNanoseconds;
+        phaseFrames.publish();
+        LockSupport.unpark(renderThread);
+    }
+
+    /**
+     * Interrupts both threads and waits until they have ended, so the renderer can be closed right after
+     * without a present still running on it. The interrupt also ends a present that blocks, e.g. on a slow client.
+     */
+    @Override
+    public void close() {
+        running = false;
+        renderThread.interrupt();
+        presentThread.interrupt();
+
+        boolean interrupted = joinFully(renderThread);
+        interrupted |= joinFully(presentThread);
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void render(FrameSlot frame) {
+        long stageStartNanoseconds = System.nanoTime();
+        BufferedImage hudImage = hudImages.get();
+        stageStartNanoseconds = profiler.record(FrameStage.HUD_WAIT, stageStartNanoseconds);
+
+        BufferedImage composed = compositor.compose(frame.image, hudImage);
+        profiler.record(FrameStage.COMPOSE, stageStartNanoseconds);
+
+        // the overlay itself is left out of the stage timings, it only shows up in the frame total
+        profilerOverlay.draw(composed);
+
+        stageStartNanoseconds = System.nanoTime();
+        BufferedImage processed = postProcessor.apply(composed);
+
+        FrameSlot presentFrame = presentFrames.back();
+        presentFrame.copyFrom(processed);
+        presentFrame.frameStartNanoseconds = frame.frameStartNanoseconds;
+        profiler.record(FrameStage.POST_PROCESS, stageStartNanoseconds);
+
+        presentFrames.publish();
+        LockSupport.unpark(presentThread);
+    }
+
+    private void present(FrameSlot frame) {
+        long stageStartNanoseconds = System.nanoTime();
+        renderer.present(frame.image);
+        profiler.record(FrameStage.PRESENT, stageStartNanoseconds);
+        profiler.record(FrameStage.FRAME, frame.frameStartNanoseconds);
+    }
+
+    private <T> void runStage(TripleBuffer<T> input, Consumer<T> stage) {
+        try {
+            while (running) {
+                T frame = input.takeLatest();
+                if (frame == null) {
+                    // the producer unparks after every publish, a publish before this park leaves the permit set
+                    LockSupport.park(this);
+                    continue;
+                }
+                stage.accept(frame);
+            }
+        } catch (Throwable throwable) {
+            // once close() interrupted the stage, whatever the interrupt broke is no failure of the game
+            if (running && failure == null) {
+                failure = throwable;
+            }
+        }
+    }
+
+    /**
+     * @return true if the calling thread was interrupted while waiting
+     */
+    private static boolean joinFully(Thread thread) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                thread.join();
+                return interrupted;
+            } catch (InterruptedException exception) {
+                interrupted = true;
+            }
+        }
+    }
+
+    private static final class FrameSlot {
+
+        BufferedImage image;
+        long frameStartNanoseconds;
+
+        /**
+         * Int rasters are copied as they are, anything else is converted to ARGB.
+         */
+        void copyFrom(BufferedImage source) {
+            int width = source.getWidth();
+            int height = source.getHeight();
+            boolean intRaster = source.getRaster().getDataBuffer() instanceof DataBufferInt
+                    && (source.getType() == BufferedImage.TYPE_INT_ARGB || source.getType() == BufferedImage.TYPE_INT_RGB);
+            int type = intRaster ? source.getType() : BufferedImage.TYPE_INT_ARGB;
+
+            if (image == null || image.getWidth() != width || image.getHeight() != height || image.getType() != type) {
+                image = new BufferedImage(width, height, type);
+            }
+
+            if (intRaster && source.getRaster().getParent() == null) {
+                int[] sourcePixels = ((DataBufferInt) source.getRaster().getDataBuffer()).getData();
+                int[] targetPixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+                if (sourcePixels.length == targetPixels.length) {
+                    System.arraycopy(sourcePixels, 0, targetPixels, 0, targetPixels.length);
+                    return;
+                }
+            }
+
+            Graphics2D graphics2D = image.createGraphics();
+            try {
+                graphics2D.setComposite(AlphaComposite.Src);
+                graphics2D.drawImage(source, 0, 0, null);
+            } finally {
+                graphics2D.dispose();
+            }
+        }
+    }
+}
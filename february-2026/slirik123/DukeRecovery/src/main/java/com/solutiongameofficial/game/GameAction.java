@@ -5,5 +5,6 @@ public enum GameAction {
     MOVE_DOWN,
     MOVE_RIGHT,
     MOVE_LEFT,
+    TOGGLE_PROFILER,
     QUIT
 }
@@ -1,106 +1,116 @@
 package com.solutiongameofficial.game;
 
-import com.solutiongameofficial.game.hud.Hud;
 import com.solutiongameofficial.game.hud.HudSnapshot;
+import com.solutiongameofficial.game.profiler.FrameProfiler;
+import com.solutiongameofficial.game.profiler.FrameStage;
+import com.solutiongameofficial.game.profiler.ProfilerOverlay;
 import com.solutiongameofficial.graphics.Renderer;
 import com.solutiongameofficial.graphics.ScreenCompositor;
 import com.solutiongameofficial.io.InputFacade;
-import com.solutiongameofficial.phase.Phase;
-import com.solutiongameofficial.phase.intro.IntroPhase;
-import com.solutiongameofficial.phase.loading.LoadingPhase;
 import lombok.NonNull;
 
 import java.awt.image.BufferedImage;
 
 public final class GameLoopRunner {
 
-    private static final double FIXED_DELTA_TIME = 1d / 60d;
     private static final long FRAME_NANOSECONDS = 1_000_000_000L / 60L;
     private static final double MAXIMUM_DELTA_TIME = 0.25;
 
     private final InputFacade input;
-    private final Renderer renderer;
-    private final ScreenCompositor compositor;
-    private final Hud hud;
-
-    private final PhaseFlow phaseFlow;
+    private final GameSimulation simulation;
     private final HudRenderWorker hudWorker;
     private final FramePacer pacer;
-    private final PostProcessor postProcessor;
+    private final FrameProfiler profiler;
+    private final ProfilerOverlay profilerOverlay;
+    private final FramePipeline framePipeline;
 
-    private boolean running = true;
     private double accumulatorSeconds = 0d;
 
+    // the loop can spin several times per frame, input and simulation are summed up until the frame is presented
+    private long frameStartNanoseconds = -1L;
+    private long inputNanosecondsThisFrame;
+    private long simulationNanosecondsThisFrame;
+
     public GameLoopRunner(@NonNull InputFacade input,
-                          @NonNull Phase[] phases,
+                          @NonNull GameSimulation simulation,
                           @NonNull Renderer renderer,
-                          boolean postProcessingEnabled)
+                          boolean postProcessingEnabled,
+                          @NonNull FrameProfiler profiler,
+                          @NonNull GameThreads threads)
     {
         this.input = input;
-        this.renderer = renderer;
-
-        this.compositor = new ScreenCompositor(1920, 1080, ScreenCompositor.FitMode.FIT_LETTERBOX);
-        this.hud = new Hud();
-
-        this.phaseFlow = new PhaseFlow(phases, new DukePhaseController());
-        this.hudWorker = new HudRenderWorker();
+        this.simulation = simulation;
+        this.hudWorker = new HudRenderWorker(threads);
         this.pacer = new FramePacer(FRAME_NANOSECONDS, MAXIMUM_DELTA_TIME);
-        this.postProcessor = new PostProcessor(postProcessingEnabled);
+        this.profiler = profiler;
+        this.profilerOverlay = new ProfilerOverlay(profiler);
+        this.framePipeline = new FramePipeline(
+                new ScreenCompositor(1920, 1080, ScreenCompositor.FitMode.FIT_LETTERBOX),
+                new PostProcessor(postProcessingEnabled),
+                profilerOverlay,
+                renderer,
+                profiler,
+                hudWorker::latestImageOrFallback,
+                threads
+        );
     }
 
+    /**
+     * Runs until the game ends or quits. The threads of the game are stopped either way,
+     * also when a pipeline thread failed and its failure is rethrown here.
+     */
     public void run() {
         hudWorker.start();
-        submitHudSnapshot();
+        framePipeline.start();
+        try {
+            submitHudSnapshot();
 
-        while (running) {
-            accumulatorSeconds += pacer.consumeDeltaSeconds();
+            while (!simulation.isFinished()) {
+                accumulatorSeconds += pacer.consumeDeltaSeconds();
 
-            handleInputActions();
-            stepSimulation();
-            renderIfDue();
-            pacer.sleepUntilNextFrame();
-        }
+                long inputStartNanoseconds = System.nanoTime();
+                if (frameStartNanoseconds < 0L) {
+                    frameStartNanoseconds = inputStartNanoseconds;
+                }
 
-        hudWorker.shutdown();
+                handleInputActions();
+                long simulationStartNanoseconds = System.nanoTime();
+                inputNanosecondsThisFrame += simulationStartNanoseconds - inputStartNanoseconds;
+
+                stepSimulation();
+                simulationNanosecondsThisFrame += System.nanoTime() - simulationStartNanoseconds;
+
+                renderIfDue();
+                pacer.sleepUntilNextFrame();
+            }
+        } finally {
+            framePipeline.close();
+            hudWorker.shutdown();
+            simulation.close();
+        }
     }
 
     private void handleInputActions() {
         GameAction action;
-        while ((action = input.poll().orElse(null)) != null) {
-            if (action == GameAction.QUIT) {
-                running = false;
-                return;
+        while (!simulation.isFinished() && (action = input.poll().orElse(null)) != null) {
+            // the overlay is no game state, it is left out of recordings
+            if (action == GameAction.TOGGLE_PROFILER) {
+                profilerOverlay.toggle();
+                continue;
             }
 
-            if (phaseFlow.currentPhase().update(action, 0d)) {
-                if (phaseFlow.advance()) {
-                    running = false;
-                    return;
-                }
-                updateHudObjectiveText();
-            }
+            simulation.apply(action);
         }
     }
 
     private void stepSimulation() {
         boolean hudDirty = false;
 
-        while (accumulatorSeconds >= FIXED_DELTA_TIME && running) {
-            hud.update(FIXED_DELTA_TIME);
-
-            phaseFlow.tick(FIXED_DELTA_TIME);
-
+        while (accumulatorSeconds >= GameSimulation.FIXED_DELTA_TIME && !simulation.isFinished()) {
+            simulation.step();
             hudDirty = true;
 
-            if (phaseFlow.currentPhase().update(null, FIXED_DELTA_TIME)) {
-                if (phaseFlow.advance()) {
-                    running = false;
-                    return;
-                }
-                updateHudObjectiveText();
-            }
-
-            accumulatorSeconds -= FIXED_DELTA_TIME;
+            accumulatorSeconds -= GameSimulation.FIXED_DELTA_TIME;
         }
 
         if (hudDirty) {
@@ -108,39 +118,31 @@ public final class GameLoopRunner {
         }
     }
 
-    private void updateHudObjectiveText() {
-        if (phaseFlow.isInDukePhase()) {
-            hud.setObjectiveText("Internal System Error 500");
-            return;
-        }
-
-        Phase current = phaseFlow.currentPhase();
-        String name = current.getClass().getSimpleName().replace("Phase", "");
-        hud.setObjectiveText("Solve the " + name);
-    }
-
     private void renderIfDue() {
-        if (!running || !pacer.isFrameDue()) {
+        if (simulation.isFinished() || !pacer.isFrameDue()) {
             return;
         }
 
-        BufferedImage phaseImage = phaseFlow.currentPhase().content();
+        profiler.recordDuration(FrameStage.INPUT, inputNanosecondsThisFrame);
+        profiler.recordDuration(FrameStage.SIMULATION, simulationNanosecondsThisFrame);
 
-        BufferedImage hudImage = hudWorker.latestImageOrFallback();
-        BufferedImage composed = compositor.compose(phaseImage, hudImage);
+        long stageStartNanoseconds = System.nanoTime();
+        BufferedImage phaseImage = simulation.currentPhase().content();
+        stageStartNanoseconds = profiler.record(FrameStage.PHASE_CONTENT, stageStartNanoseconds);
 
-        renderer.present(postProcessor.apply(composed));
+        // composition, post-processing and presenting continue on the pipeline threads
+        framePipeline.submit(phaseImage, frameStartNanoseconds);
+        profiler.record(FrameStage.PHASE_SNAPSHOT, stageStartNanoseconds);
+
+        frameStartNanoseconds = -1L;
+        inputNanosecondsThisFrame = 0L;
+        simulationNanosecondsThisFrame = 0L;
 
         pacer.markFramePresented();
     }
 
     private void submitHudSnapshot() {
-        HudSnapshot snapshot = hud.snapshot();
+        HudSnapshot snapshot = simulation.getHud().snapshot();
         hudWorker.submit(snapshot);
     }
-
-    // Used by PhaseFlow to avoid Duke phase in Intro
-    static boolean isIntroOrLoadingPhase(Phase phase) {
-        return phase instanceof IntroPhase || phase instanceof LoadingPhase;
-    }
 }
\ No newline at end of file
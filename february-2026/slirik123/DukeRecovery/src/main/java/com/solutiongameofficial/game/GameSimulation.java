@@ -0,0 +1,109 @@
+package com.solutiongameofficial.game;
+
+import com.solutiongameofficial.game.hud.Hud;
+import com.solutiongameofficial.io.InputRecorder;
+import com.solutiongameofficial.phase.Phase;
+import com.solutiongameofficial.phase.intro.IntroPhase;
+import com.solutiongameofficial.phase.loading.LoadingPhase;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The game state stepped in fixed ticks, without any clock or rendering. The game loop runs it in real time and the
+ * {@link SimulationRunner} as fast as it can, given the same seed and the same actions at the same ticks both end up
+ * in the same state.
+ */
+public final class GameSimulation implements AutoCloseable {
+
+    public static final double FIXED_DELTA_TIME = 1d / 60d;
+
+    @Getter
+    private final Hud hud = new Hud();
+    private final PhaseFlow phaseFlow;
+    private final InputRecorder recorder;
+
+    @Getter
+    private long tick;
+    @Getter
+    private boolean finished;
+
+    public GameSimulation(@NonNull List<Supplier<Phase>> phases,
+                          @NonNull RandomRegistry randoms,
+                          @NonNull InputRecorder recorder,
+                          @NonNull GameThreads threads)
+    {
+        PhasePreloader preloader = new PhasePreloader(threads);
+        this.phaseFlow = new PhaseFlow(phases, new DukePhaseController(preloader, randoms), preloader);
+        this.recorder = recorder;
+    }
+
+    public Phase currentPhase() {
+        return phaseFlow.currentPhase();
+    }
+
+    /**
+     * Applies an action between two ticks, it is recorded with the tick that runs next.
+     */
+    public void apply(GameAction action) {
+        if (finished) {
+            return;
+        }
+
+        recorder.record(tick, action);
+        if (action == GameAction.QUIT) {
+            finished = true;
+            return;
+        }
+
+        if (phaseFlow.currentPhase().update(action, 0d)) {
+            advancePhase();
+        }
+    }
+
+    public void step() {
+        if (finished) {
+            return;
+        }
+
+        hud.update(FIXED_DELTA_TIME);
+        phaseFlow.tick(FIXED_DELTA_TIME);
+
+        if (phaseFlow.currentPhase().update(null, FIXED_DELTA_TIME)) {
+            advancePhase();
+        }
+        tick++;
+    }
+
+    @Override
+    public void close() {
+        recorder.close(tick);
+        phaseFlow.close();
+    }
+
+    private void advancePhase() {
+        if (phaseFlow.advance()) {
+            finished = true;
+            return;
+        }
+        updateHudObjectiveText();
+    }
+
+    private void updateHudObjectiveText() {
+        if (phaseFlow.isInDukePhase()) {
+            hud.setObjectiveText("Internal System Error 500");
+            return;
+        }
+
+        Phase current = phaseFlow.currentPhase();
+        String name = current.getClass().getSimpleName().replace("Phase", "");
+        hud.setObjectiveText("Solve the " + name);
+    }
+
+    // Used by PhaseFlow to avoid Duke phase in Intro
+    static boolean isIntroOrLoadingPhase(Phase phase) {
+        return phase instanceof IntroPhase || phase instanceof LoadingPhase;
+    }
+}
@@ -0,0 +1,31 @@
+package com.solutiongameofficial.game;
+
+/**
+ * Creates the threads of one game. A standalone game runs on named platform daemon threads, a hosted session runs on
+ * virtual threads named after the session, so one process can host many games and still tell their threads apart.
+ */
+public final class GameThreads {
+
+    private final String namePrefix;
+    private final boolean virtual;
+
+    private GameThreads(String namePrefix, boolean virtual) {
+        this.namePrefix = namePrefix;
+        this.virtual = virtual;
+    }
+
+    public static GameThreads platform() {
+        return new GameThreads("", false);
+    }
+
+    public static GameThreads virtual(String sessionName) {
+        return new GameThreads(sessionName + "-", true);
+    }
+
+    public Thread unstarted(String name, Runnable task) {
+        if (virtual) {
+            return Thread.ofVirtual().name(namePrefix + name).unstarted(task);
+        }
+        return Thread.ofPlatform().name(namePrefix + name).daemon().unstarted(task);
+    }
+}
@@ -15,9 +15,8 @@ public final class HudRenderWorker {
 
     private final Thread thread;
 
-    public HudRenderWorker() {
-        this.thread = new Thread(this::run, "Hud-Renderer");
-        this.thread.setDaemon(true);
+    public HudRenderWorker(GameThreads threads) {
+        this.thread = threads.unstarted("Hud-Renderer", this::run);
     }
 
     public void start() {
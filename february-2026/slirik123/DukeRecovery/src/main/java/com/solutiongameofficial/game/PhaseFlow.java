@@ -3,31 +3,45 @@ package com.solutiongameofficial.game;
 import com.solutiongameofficial.phase.Phase;
 import lombok.Getter;
 
-public final class PhaseFlow {
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
-    private final Phase[] phases;
+public final class PhaseFlow implements AutoCloseable {
+
+    private final List<Supplier<Phase>> phases;
     private final DukePhaseController duke;
+    private final PhasePreloader preloader;
 
     @Getter
     private boolean inDukePhase = false;
     private Phase currentDukePhase;
     private int phaseIndex = 0;
+    private Phase currentMainPhase;
+    private CompletableFuture<Phase> nextMainPhase;
 
-    public PhaseFlow(Phase[] phases, DukePhaseController duke) {
+    public PhaseFlow(List<Supplier<Phase>> phases, DukePhaseController duke, PhasePreloader preloader) {
+        if (phases.isEmpty()) {
+            throw new IllegalArgumentException("At least one phase is required");
+        }
         this.phases = phases;
         this.duke = duke;
-        this.currentDukePhase = duke.initialPhase();
+        this.preloader = preloader;
+
+        // the first phase is shown right away, everything after it is built while the previous one runs
+        this.currentMainPhase = phases.getFirst().get();
+        prepareNextMainPhase();
     }
 
     public Phase currentPhase() {
         if (inDukePhase) {
             return currentDukePhase;
         }
-        return phases[phaseIndex];
+        return currentMainPhase;
     }
 
     public void tick(double fixedDeltaSeconds) {
-        if (!inDukePhase && !GameLoopRunner.isIntroOrLoadingPhase(phases[phaseIndex])) {
+        if (!inDukePhase && !GameSimulation.isIntroOrLoadingPhase(currentMainPhase)) {
             if (duke.tickCountdown(fixedDeltaSeconds)) {
                 startDukePhase();
             }
@@ -44,7 +58,23 @@ public final class PhaseFlow {
         }
 
         phaseIndex++;
-        return phaseIndex >= phases.length;
+        if (phaseIndex >= phases.size()) {
+            return true;
+        }
+
+        currentMainPhase = PhasePreloader.await(nextMainPhase);
+        prepareNextMainPhase();
+        return false;
+    }
+
+    @Override
+    public void close() {
+        preloader.close();
+    }
+
+    private void prepareNextMainPhase() {
+        int nextIndex = phaseIndex + 1;
+        nextMainPhase = nextIndex < phases.size() ? preloader.prepare(phases.get(nextIndex)) : null;
     }
 
     private void startDukePhase() {
@@ -52,4 +82,4 @@ public final class PhaseFlow {
         currentDukePhase = duke.initialPhase();
         duke.resetCountdown();
     }
-}
\ No newline at end of file
+}
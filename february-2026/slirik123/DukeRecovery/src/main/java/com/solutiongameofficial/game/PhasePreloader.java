@@ -0,0 +1,51 @@
+package com.solutiongameofficial.game;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Builds phases and their assets on a low priority background thread while the current phase is running,
+ * so switching phases only has to pick up an already constructed object.
+ */
+public final class PhasePreloader implements AutoCloseable {
+
+    private final ExecutorService executor;
+
+    public PhasePreloader(GameThreads threads) {
+        // virtual threads ignore the priority
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = threads.unstarted("phase-preloader", runnable);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    public <T> CompletableFuture<T> prepare(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, executor);
+    }
+
+    /**
+     * Blocks only if preparation has not finished yet and rethrows whatever the supplier threw.
+     */
+    public static <T> T await(CompletableFuture<T> prepared) {
+        try {
+            return prepared.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (exception.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw exception;
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
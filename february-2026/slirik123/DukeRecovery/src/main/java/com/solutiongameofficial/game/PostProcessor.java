@@ -2,17 +2,23 @@ package com.solutiongameofficial.game;
 
 import com.solutiongameofficial.graphics.parser.ChromaticAberrationParser;
 import com.solutiongameofficial.graphics.parser.Parser;
+import lombok.RequiredArgsConstructor;
 
 import java.awt.image.BufferedImage;
 
-public record PostProcessor(boolean enabled) {
+@RequiredArgsConstructor
+public final class PostProcessor {
+
+    private final boolean enabled;
+
+    // kept across frames so the parser can reuse its displacement tables and output buffers
+    private final Parser parser = new ChromaticAberrationParser(1, 2);
 
     public BufferedImage apply(BufferedImage image) {
         if (!enabled) {
             return image;
         }
 
-        Parser parser = new ChromaticAberrationParser(1, 2);
         return parser.parse(image);
     }
-}
\ No newline at end of file
+}
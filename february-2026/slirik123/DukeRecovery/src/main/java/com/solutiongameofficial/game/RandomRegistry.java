@@ -0,0 +1,44 @@
+package com.solutiongameofficial.game;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Derives every random stream of a session from one seed. A stream depends on the seed, its name and how many streams
+ * of that name were taken before, not on the thread or the order in which the phases are built,
+ * so the same seed and the same input always play the same game.
+ */
+public final class RandomRegistry {
+
+    @Getter
+    private final long seed;
+    private final Map<String, Integer> takenByName = new HashMap<>();
+
+    public RandomRegistry(long seed) {
+        this.seed = seed;
+    }
+
+    public static RandomRegistry unseeded() {
+        return new RandomRegistry(new SplittableRandom().nextLong());
+    }
+
+    public synchronized long nextSeed(String name) {
+        int index = takenByName.merge(name, 1, Integer::sum) - 1;
+        return mix(seed + mix(((long) name.hashCode() << 32) ^ index));
+    }
+
+    public Random random(String name) {
+        return new Random(nextSeed(name));
+    }
+
+    // SplitMix64 finalizer, neighbouring indices end up with unrelated seeds
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,118 @@
+package com.solutiongameofficial.game;
+
+import com.solutiongameofficial.game.profiler.FrameProfiler;
+import com.solutiongameofficial.game.profiler.FrameStage;
+import com.solutiongameofficial.io.InputRecording;
+import lombok.NonNull;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Replays a recording on a {@link GameSimulation} as fast as the CPU allows, for load tests and phase regressions.
+ * Phases are only rendered every {@code renderInterval} ticks (never for 0) and every rendered frame goes into a digest,
+ * replaying the same recording on the same build always ends with the same digest.
+ */
+public final class SimulationRunner {
+
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private final GameSimulation simulation;
+    private final InputRecording recording;
+    private final int renderInterval;
+    private final FrameProfiler profiler;
+
+    private int[] rowPixels = new int[0];
+
+    public SimulationRunner(@NonNull GameSimulation simulation,
+                            @NonNull InputRecording recording,
+                            int renderInterval,
+                            @NonNull FrameProfiler profiler)
+    {
+        if (renderInterval < 0) {
+            throw new IllegalArgumentException("Render interval must not be negative: " + renderInterval);
+        }
+        this.simulation = simulation;
+        this.recording = recording;
+        this.renderInterval = renderInterval;
+        this.profiler = profiler;
+    }
+
+    public Result run() {
+        List<InputRecording.Action> actions = recording.actions();
+        int nextAction = 0;
+        int renderedFrames = 0;
+        long frameDigest = FNV_OFFSET_BASIS;
+
+        long startNanoseconds = System.nanoTime();
+        try (simulation) {
+            while (!simulation.isFinished()) {
+                long tick = simulation.getTick();
+                while (nextAction < actions.size() && actions.get(nextAction).tick() == tick) {
+                    simulation.apply(actions.get(nextAction++).action());
+                }
+                if (tick >= recording.endTick()) {
+                    break;
+                }
+
+                long stageStartNanoseconds = System.nanoTime();
+                simulation.step();
+                stageStartNanoseconds = profiler.record(FrameStage.SIMULATION, stageStartNanoseconds);
+
+                if (renderInterval > 0 && simulation.getTick() % renderInterval == 0) {
+                    BufferedImage image = simulation.currentPhase().content();
+                    profiler.record(FrameStage.PHASE_CONTENT, stageStartNanoseconds);
+
+                    frameDigest = digest(frameDigest, image);
+                    renderedFrames++;
+                }
+            }
+        }
+        long elapsedNanoseconds = System.nanoTime() - startNanoseconds;
+
+        return new Result(simulation.getTick(), elapsedNanoseconds, renderedFrames, frameDigest,
+                simulation.currentPhase().getClass().getSimpleName());
+    }
+
+    private long digest(long digest, BufferedImage image) {
+        int width = image.getWidth();
+        if (rowPixels.length < width) {
+            rowPixels = new int[width];
+        }
+
+        digest = (digest ^ width) * FNV_PRIME;
+        digest = (digest ^ image.getHeight()) * FNV_PRIME;
+        for (int y = 0; y < image.getHeight(); y++) {
+            image.getRGB(0, y, width, 1, rowPixels, 0, width);
+            for (int x = 0; x < width; x++) {
+                digest = (digest ^ rowPixels[x]) * FNV_PRIME;
+            }
+        }
+        return digest;
+    }
+
+    public record Result(long ticks, long elapsedNanoseconds, int renderedFrames, long frameDigest, String finalPhase) {
+
+        public double ticksPerSecond() {
+            return ticks / Math.max(elapsedNanoseconds / 1e9, 1e-9);
+        }
+
+        public String frameDigestHex() {
+            return String.format(Locale.ROOT, "%016x", frameDigest);
+        }
+
+        public String summary() {
+            return String.format(Locale.ROOT,
+                    "Replayed %d ticks (%.1f s of game time) in %.2f s, %.0f ticks/s, %d frames rendered, digest %s, ended in %s",
+                    ticks,
+                    ticks * GameSimulation.FIXED_DELTA_TIME,
+                    elapsedNanoseconds / 1e9,
+                    ticksPerSecond(),
+                    renderedFrames,
+                    frameDigestHex(),
+                    finalPhase);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.solutiongameofficial.game;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free handoff between one producer and one consumer thread. The producer fills its back slot and publishes it,
+ * the consumer takes whatever was published last. Neither side ever waits on the other: a slot published before the
+ * consumer took it is dropped in favour of the newer one.
+ */
+public final class TripleBuffer<T> {
+
+    private static final int INDEX_MASK = 0b011;
+    private static final int FRESH = 0b100;
+
+    private final Object[] slots = new Object[3];
+
+    // slot index in the low bits, FRESH while the consumer has not taken it yet
+    private final AtomicInteger published = new AtomicInteger(2);
+
+    private int backIndex = 0;
+    private int frontIndex = 1;
+
+    public TripleBuffer(Supplier<T> slotFactory) {
+        for (int index = 0; index < slots.length; index++) {
+            slots[index] = slotFactory.get();
+        }
+    }
+
+    /**
+     * Producer only, the slot stays owned by the producer until {@link #publish()}.
+     */
+    @SuppressWarnings("unchecked")
+    public T back() {
+        return (T) slots[backIndex];
+    }
+
+    /**
+     * Producer only.
+     */
+    public void publish() {
+        backIndex = published.getAndSet(backIndex | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Consumer only, the returned slot stays owned by the consumer until the next call.
+     *
+     * @return the most recently published slot, or null if nothing was published since the last call
+     */
+    @SuppressWarnings("unchecked")
+    public T takeLatest() {
+        if ((published.get() & FRESH) == 0) {
+            return null;
+        }
+
+        frontIndex = published.getAndSet(frontIndex) & INDEX_MASK;
+        return (T) slots[frontIndex];
+    }
+}
@@ -1,13 +1,14 @@
 package com.solutiongameofficial.game.hud;
 
+import com.solutiongameofficial.io.DerivedImageCache;
+
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 public final class HudElement {
 
-    private static final Map<BloomKey, BufferedImage> BLOOM_CACHE = new ConcurrentHashMap<>();
+    // bump whenever HudTint or HudBloom change their output, so stale disk cache entries are not reused
+    private static final int DERIVATION_VERSION = 1;
 
     public final BufferedImage sourceWireframeImage;
     public final BufferedImage tintedWireframeImage;
@@ -18,21 +19,23 @@ public final class HudElement {
         this.sourceWireframeImage = sourceWireframeImage;
         this.tintColor = tintColor;
 
-        tintedWireframeImage = HudTint.tintWhiteWireframe(
+        tintedWireframeImage = DerivedImageCache.get(
+                "hud-tint:v" + DERIVATION_VERSION
+                        + ":" + Integer.toHexString(tintColor.getRGB())
+                        + ":" + HudConfig.WIREFRAME_TINT_STRENGTH,
                 sourceWireframeImage,
-                tintColor,
-                HudConfig.WIREFRAME_TINT_STRENGTH
+                source -> HudTint.tintWhiteWireframe(source, tintColor, HudConfig.WIREFRAME_TINT_STRENGTH)
         );
 
-        BloomKey key = new BloomKey(sourceWireframeImage, tintColor, HudConfig.BLOOM_BLUR_RADIUS, HudConfig.BLOOM_LEVELS, HudConfig.BLOOM_THRESHOLD_ALPHA);
-        bloomImage = BLOOM_CACHE.computeIfAbsent(key, k -> HudBloom.buildBloomLayer(sourceWireframeImage, tintColor));
+        bloomImage = DerivedImageCache.get(
+                "hud-bloom:v" + DERIVATION_VERSION
+                        + ":" + Integer.toHexString(tintColor.getRGB())
+                        + ":" + HudConfig.BLOOM_BLUR_RADIUS
+                        + ":" + HudConfig.BLOOM_LEVELS
+                        + ":" + HudConfig.BLOOM_THRESHOLD_ALPHA
+                        + ":" + HudConfig.BLOOM_INTENSITY,
+                sourceWireframeImage,
+                source -> HudBloom.buildBloomLayer(source, tintColor)
+        );
     }
-
-    private record BloomKey(
-            BufferedImage sourceIdentity,
-            Color tintColor,
-            int blurRadius,
-            int levels,
-            int alphaThreshold
-    ) { }
-}
\ No newline at end of file
+}
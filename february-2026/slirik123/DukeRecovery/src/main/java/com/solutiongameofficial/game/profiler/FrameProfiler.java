@@ -0,0 +1,120 @@
+package com.solutiongameofficial.game.profiler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Times every {@link FrameStage} into lock-free histograms. The session histograms cover the whole run and are what
+ * {@link #writeJson(Path)} exports, the window histograms restart every time the overlay summarizes them.
+ * While a JFR recording has it enabled, every stage is also committed as a {@code com.solutiongameofficial.FrameStage} event.
+ */
+public final class FrameProfiler {
+
+    public static final long FRAME_BUDGET_NANOSECONDS = 1_000_000_000L / 60L;
+
+    private final LatencyHistogram[] sessionHistograms = newHistograms();
+    private final LatencyHistogram[] windowHistograms = newHistograms();
+    private final LongAdder[] totalNanoseconds = newTotals();
+
+    /**
+     * @return the current time, which is where the next stage starts
+     */
+    public long record(FrameStage stage, long startNanoseconds) {
+        long now = System.nanoTime();
+        recordDuration(stage, now - startNanoseconds);
+        return now;
+    }
+
+    public void recordDuration(FrameStage stage, long nanoseconds) {
+        sessionHistograms[stage.ordinal()].record(nanoseconds);
+        windowHistograms[stage.ordinal()].record(nanoseconds);
+        totalNanoseconds[stage.ordinal()].add(nanoseconds);
+
+        FrameStageEvent event = new FrameStageEvent();
+        if (event.isEnabled()) {
+            event.stage = stage.getLabel();
+            event.stageDuration = nanoseconds;
+            event.commit();
+        }
+    }
+
+    /**
+     * Time spent in the stage over the whole run.
+     */
+    public long totalNanoseconds(FrameStage stage) {
+        return totalNanoseconds[stage.ordinal()].sum();
+    }
+
+    public Map<FrameStage, LatencySummary> sessionSummary() {
+        Map<FrameStage, LatencySummary> summaries = new EnumMap<>(FrameStage.class);
+        for (FrameStage stage : FrameStage.values()) {
+            summaries.put(stage, sessionHistograms[stage.ordinal()].summarize());
+        }
+        return summaries;
+    }
+
+    public Map<FrameStage, LatencySummary> windowSummaryAndReset() {
+        Map<FrameStage, LatencySummary> summaries = new EnumMap<>(FrameStage.class);
+        for (FrameStage stage : FrameStage.values()) {
+            summaries.put(stage, windowHistograms[stage.ordinal()].summarizeAndReset());
+        }
+        return summaries;
+    }
+
+    public void writeJson(Path file) {
+        try {
+            Files.writeString(file, toJson());
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to write frame profile: " + file, exception);
+        }
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"frameBudgetMilliseconds\": ").append(milliseconds(FRAME_BUDGET_NANOSECONDS)).append(",\n");
+        json.append("  \"stages\": {\n");
+
+        FrameStage[] stages = FrameStage.values();
+        Map<FrameStage, LatencySummary> summaries = sessionSummary();
+        for (int index = 0; index < stages.length; index++) {
+            LatencySummary summary = summaries.get(stages[index]);
+            json.append("    \"").append(stages[index].getLabel()).append("\": {")
+                    .append("\"count\": ").append(summary.count())
+                    .append(", \"p50Milliseconds\": ").append(milliseconds(summary.p50Nanoseconds()))
+                    .append(", \"p99Milliseconds\": ").append(milliseconds(summary.p99Nanoseconds()))
+                    .append(", \"maxMilliseconds\": ").append(milliseconds(summary.maximumNanoseconds()))
+                    .append(index + 1 < stages.length ? "},\n" : "}\n");
+        }
+
+        json.append("  }\n");
+        json.append("}\n");
+        return json.toString();
+    }
+
+    private static String milliseconds(long nanoseconds) {
+        return String.format(Locale.ROOT, "%.3f", LatencySummary.milliseconds(nanoseconds));
+    }
+
+    private static LongAdder[] newTotals() {
+        LongAdder[] totals = new LongAdder[FrameStage.values().length];
+        for (int index = 0; index < totals.length; index++) {
+            totals[index] = new LongAdder();
+        }
+        return totals;
+    }
+
+    private static LatencyHistogram[] newHistograms() {
+        LatencyHistogram[] histograms = new LatencyHistogram[FrameStage.values().length];
+        for (int index = 0; index < histograms.length; index++) {
+            histograms[index] = new LatencyHistogram();
+        }
+        return histograms;
+    }
+}
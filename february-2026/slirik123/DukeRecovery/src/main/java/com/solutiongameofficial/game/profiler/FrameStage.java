@@ -0,0 +1,25 @@
+package com.solutiongameofficial.game.profiler;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The stages of one rendered frame, in the order they run. Input up to the phase snapshot run on the game loop,
+ * the rest on the threads of {@link com.solutiongameofficial.game.FramePipeline}.
+ * {@link #FRAME} is the whole frame, from the input drain up to the end of the present.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum FrameStage {
+    INPUT("input"),
+    SIMULATION("simulation"),
+    PHASE_CONTENT("phase content"),
+    PHASE_SNAPSHOT("phase snapshot"),
+    HUD_WAIT("hud wait"),
+    COMPOSE("compose"),
+    POST_PROCESS("post process"),
+    PRESENT("present"),
+    FRAME("frame");
+
+    private final String label;
+}
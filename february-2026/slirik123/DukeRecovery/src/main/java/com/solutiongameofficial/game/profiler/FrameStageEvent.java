@@ -0,0 +1,24 @@
+package com.solutiongameofficial.game.profiler;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.solutiongameofficial.FrameStage")
+@Label("Frame Stage")
+@Description("Time one stage of a rendered frame took")
+@Category({"Duke Recovery", "Frame"})
+@StackTrace(false)
+final class FrameStageEvent extends Event {
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Stage Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long stageDuration;
+}
@@ -0,0 +1,89 @@
+package com.solutiongameofficial.game.profiler;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-linear histogram of durations that any number of threads record into without locking.
+ * Durations are bucketed at microsecond resolution with 32 buckets per power of two,
+ * so percentiles are reported within about 3% of the recorded durations.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    // durations from 2^40 microseconds (about 12 days) on share the last bucket
+    private static final int MAXIMUM_SHIFT = 35;
+    private static final int BUCKET_COUNT = (MAXIMUM_SHIFT + 2) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong maximumNanoseconds = new AtomicLong();
+
+    public void record(long nanoseconds) {
+        long duration = Math.max(0L, nanoseconds);
+        counts.incrementAndGet(bucketOf(duration / 1_000L));
+
+        long maximum;
+        while (duration > (maximum = maximumNanoseconds.get()) && !maximumNanoseconds.compareAndSet(maximum, duration)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    public LatencySummary summarize() {
+        return summarize(false);
+    }
+
+    /**
+     * Every recorded duration ends up in exactly one summary, even while other threads keep recording.
+     */
+    public LatencySummary summarizeAndReset() {
+        return summarize(true);
+    }
+
+    private LatencySummary summarize(boolean reset) {
+        long[] bucketCounts = new long[BUCKET_COUNT];
+        long count = 0L;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            bucketCounts[bucket] = reset ? counts.getAndSet(bucket, 0L) : counts.get(bucket);
+            count += bucketCounts[bucket];
+        }
+        long maximum = reset ? maximumNanoseconds.getAndSet(0L) : maximumNanoseconds.get();
+
+        return new LatencySummary(
+                count,
+                percentileNanoseconds(bucketCounts, count, 0.50, maximum),
+                percentileNanoseconds(bucketCounts, count, 0.99, maximum),
+                maximum
+        );
+    }
+
+    private static long percentileNanoseconds(long[] bucketCounts, long count, double percentile, long maximum) {
+        if (count == 0L) {
+            return 0L;
+        }
+
+        long rank = Math.max(1L, (long) Math.ceil(count * percentile));
+        long seen = 0L;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += bucketCounts[bucket];
+            if (seen >= rank) {
+                return Math.min(maximum, highestMicrosecondsIn(bucket) * 1_000L + 999L);
+            }
+        }
+        return maximum;
+    }
+
+    private static int bucketOf(long microseconds) {
+        int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(microseconds) - SUB_BUCKET_BITS);
+        if (shift > MAXIMUM_SHIFT) {
+            return BUCKET_COUNT - 1;
+        }
+        return (shift << SUB_BUCKET_BITS) + (int) (microseconds >>> shift);
+    }
+
+    private static long highestMicrosecondsIn(int bucket) {
+        int shift = Math.max(0, (bucket >>> SUB_BUCKET_BITS) - 1);
+        long subBucket = bucket - ((long) shift << SUB_BUCKET_BITS);
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
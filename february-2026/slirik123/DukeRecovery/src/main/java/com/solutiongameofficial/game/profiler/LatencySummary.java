@@ -0,0 +1,8 @@
+package com.solutiongameofficial.game.profiler;
+
+public record LatencySummary(long count, long p50Nanoseconds, long p99Nanoseconds, long maximumNanoseconds) {
+
+    public static double milliseconds(long nanoseconds) {
+        return nanoseconds / 1_000_000d;
+    }
+}
@@ -0,0 +1,110 @@
+package com.solutiongameofficial.game.profiler;
+
+import lombok.Getter;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Table of frame stage timings drawn over the composed frame, toggled with F3 or the {@code PROFILER} stdin command.
+ * The table is only redrawn twice a second from the profiler's window histograms, every other frame just draws the panel.
+ * Toggled from the game loop, drawn on the render thread.
+ */
+public final class ProfilerOverlay {
+
+    private static final long REFRESH_NANOSECONDS = 500_000_000L;
+
+    private static final int PANEL_WIDTH = 560;
+    private static final int PADDING = 12;
+    private static final int LINE_HEIGHT = 22;
+    private static final int MARGIN = 24;
+
+    private static final Color BACKGROUND = new Color(0, 0, 0, 190);
+    private static final Color TEXT = new Color(255, 176, 92);
+    private static final Color OVER_BUDGET = new Color(255, 72, 72);
+
+    private final FrameProfiler profiler;
+    private final Font font = new Font("Monospaced", Font.PLAIN, 18);
+    private final BufferedImage panel;
+
+    @Getter
+    private volatile boolean visible;
+    private volatile boolean windowRestartPending;
+    private long nextRefreshNanoseconds;
+
+    public ProfilerOverlay(FrameProfiler profiler) {
+        this.profiler = profiler;
+
+        int lineCount = FrameStage.values().length + 2;
+        this.panel = new BufferedImage(PANEL_WIDTH, lineCount * LINE_HEIGHT + PADDING * 2, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    public void toggle() {
+        // start from a fresh window instead of everything recorded while hidden
+        windowRestartPending = true;
+        visible = !visible;
+    }
+
+    public void draw(BufferedImage target) {
+        if (!visible) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        if (windowRestartPending) {
+            windowRestartPending = false;
+            redraw(profiler.windowSummaryAndReset(), false);
+            nextRefreshNanoseconds = now + REFRESH_NANOSECONDS;
+        } else if (now >= nextRefreshNanoseconds) {
+            redraw(profiler.windowSummaryAndReset(), true);
+            nextRefreshNanoseconds = now + REFRESH_NANOSECONDS;
+        }
+
+        Graphics2D graphics2D = target.createGraphics();
+        try {
+            graphics2D.drawImage(panel, target.getWidth() - PANEL_WIDTH - MARGIN, target.getHeight() - panel.getHeight() - MARGIN, null);
+        } finally {
+            graphics2D.dispose();
+        }
+    }
+
+    private void redraw(Map<FrameStage, LatencySummary> summaries, boolean showTimings) {
+        Graphics2D graphics2D = panel.createGraphics();
+        try {
+            graphics2D.setComposite(AlphaComposite.Src);
+            graphics2D.setColor(BACKGROUND);
+            graphics2D.fillRect(0, 0, panel.getWidth(), panel.getHeight());
+
+            graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+            graphics2D.setFont(font);
+            graphics2D.setColor(TEXT);
+
+            int y = PADDING + LINE_HEIGHT - 6;
+            graphics2D.drawString(String.format(Locale.ROOT, "frame budget %.1f ms", LatencySummary.milliseconds(FrameProfiler.FRAME_BUDGET_NANOSECONDS)), PADDING, y);
+            y += LINE_HEIGHT;
+            graphics2D.drawString(String.format(Locale.ROOT, "%-14s %9s %9s %9s", "stage ms", "p50", "p99", "max"), PADDING, y);
+
+            for (FrameStage stage : FrameStage.values()) {
+                y += LINE_HEIGHT;
+                LatencySummary summary = summaries.get(stage);
+                if (!showTimings || summary.count() == 0L) {
+                    graphics2D.setColor(TEXT);
+                    graphics2D.drawString(String.format(Locale.ROOT, "%-14s %9s %9s %9s", stage.getLabel(), "-", "-", "-"), PADDING, y);
+                    continue;
+                }
+
+                graphics2D.setColor(summary.p99Nanoseconds() > FrameProfiler.FRAME_BUDGET_NANOSECONDS ? OVER_BUDGET : TEXT);
+                graphics2D.drawString(String.format(Locale.ROOT, "%-14s %9.2f %9.2f %9.2f",
+                        stage.getLabel(),
+                        LatencySummary.milliseconds(summary.p50Nanoseconds()),
+                        LatencySummary.milliseconds(summary.p99Nanoseconds()),
+                        LatencySummary.milliseconds(summary.maximumNanoseconds())
+                ), PADDING, y);
+            }
+        } finally {
+            graphics2D.dispose();
+        }
+    }
+}
@@ -2,7 +2,9 @@ package com.solutiongameofficial.graphics;
 
 import java.awt.*;
 import java.awt.image.ColorModel;
+import java.awt.image.DataBufferInt;
 import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
 import java.awt.image.WritableRaster;
 
 public record AdditiveComposite(int alpha) implements Composite {
@@ -38,6 +40,49 @@ public record AdditiveComposite(int alpha) implements Composite {
                 int width = Math.min(src.getWidth(), dstIn.getWidth());
                 int height = Math.min(src.getHeight(), dstIn.getHeight());
 
+                if (isPackedArgb(src) && isPackedArgb(dstIn) && isPackedArgb(dstOut)) {
+                    composePackedArgb(src, dstIn, dstOut, width, height);
+                } else {
+                    composePerPixel(src, dstIn, dstOut, width, height);
+                }
+            }
+
+            // Same arithmetic as composePerPixel, on whole scanlines of packed ARGB ints without per pixel allocations
+            private void composePackedArgb(Raster src, Raster dstIn, WritableRaster dstOut, int width, int height) {
+                int[] source = ((DataBufferInt) src.getDataBuffer()).getData();
+                int[] destinationIn = ((DataBufferInt) dstIn.getDataBuffer()).getData();
+                int[] destinationOut = ((DataBufferInt) dstOut.getDataBuffer()).getData();
+
+                int sourceStride = scanlineStride(src);
+                int destinationInStride = scanlineStride(dstIn);
+                int destinationOutStride = scanlineStride(dstOut);
+
+                for (int y = 0; y < height; y++) {
+                    int sourceIndex = pixelOffset(src, y, sourceStride);
+                    int destinationInIndex = pixelOffset(dstIn, y, destinationInStride);
+                    int destinationOutIndex = pixelOffset(dstOut, y, destinationOutStride);
+
+                    for (int x = 0; x < width; x++) {
+                        int sourcePixel = source[sourceIndex + x];
+                        int destinationPixel = destinationIn[destinationInIndex + x];
+
+                        int sa = ((sourcePixel >>> 24) * alpha255) / 255;
+                        if (sa <= 0) {
+                            destinationOut[destinationOutIndex + x] = destinationPixel;
+                            continue;
+                        }
+
+                        int red = clamp255(((destinationPixel >> 16) & 0xFF) + (((sourcePixel >> 16) & 0xFF) * sa) / 255);
+                        int green = clamp255(((destinationPixel >> 8) & 0xFF) + (((sourcePixel >> 8) & 0xFF) * sa) / 255);
+                        int blue = clamp255((destinationPixel & 0xFF) + ((sourcePixel & 0xFF) * sa) / 255);
+                        int alpha = Math.max(destinationPixel >>> 24, sa);
+
+                        destinationOut[destinationOutIndex + x] = (alpha << 24) | (red << 16) | (green << 8) | blue;
+                    }
+                }
+            }
+
+            private void composePerPixel(Raster src, Raster dstIn, WritableRaster dstOut, int width, int height) {
                 int[] source = new int[4];
                 int[] destination = new int[4];
 
@@ -62,6 +107,33 @@ public record AdditiveComposite(int alpha) implements Composite {
                 }
             }
 
+            private static boolean isPackedArgb(Raster raster) {
+                if (!(raster.getDataBuffer() instanceof DataBufferInt dataBuffer) || dataBuffer.getNumBanks() != 1) {
+                    return false;
+                }
+                if (!(raster.getSampleModel() instanceof SinglePixelPackedSampleModel sampleModel)) {
+                    return false;
+                }
+
+                int[] masks = sampleModel.getBitMasks();
+                return masks.length == 4
+                        && masks[0] == 0x00FF0000
+                        && masks[1] == 0x0000FF00
+                        && masks[2] == 0x000000FF
+                        && masks[3] == 0xFF000000;
+            }
+
+            private static int scanlineStride(Raster raster) {
+                return ((SinglePixelPackedSampleModel) raster.getSampleModel()).getScanlineStride();
+            }
+
+            // Index of pixel (0, y) in the backing array, matching the coordinates getPixel(x, y) resolves
+            private static int pixelOffset(Raster raster, int y, int scanlineStride) {
+                return raster.getDataBuffer().getOffset()
+                        + (y - raster.getSampleModelTranslateY()) * scanlineStride
+                        - raster.getSampleModelTranslateX();
+            }
+
             private static int clamp255(int v) {
                 if (v < 0) {
                     return 0;
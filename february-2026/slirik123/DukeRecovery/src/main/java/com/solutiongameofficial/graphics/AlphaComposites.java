@@ -0,0 +1,30 @@
+package com.solutiongameofficial.graphics;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.awt.AlphaComposite;
+
+/**
+ * SRC_OVER composites for every 8-bit alpha, so renderers can fade things every frame without allocating.
+ * The software loops round extra alpha to 8 bits anyway, so snapping to the nearest level draws the same pixels.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class AlphaComposites {
+
+    private static final AlphaComposite[] SRC_OVER_BY_ALPHA_255 = new AlphaComposite[256];
+
+    static {
+        for (int alpha = 0; alpha < 256; alpha++) {
+            SRC_OVER_BY_ALPHA_255[alpha] = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha / 255f);
+        }
+    }
+
+    public static AlphaComposite srcOver(float alpha) {
+        return srcOver255(Math.round(alpha * 255f));
+    }
+
+    public static AlphaComposite srcOver255(int alpha255) {
+        return SRC_OVER_BY_ALPHA_255[Math.clamp(alpha255, 0, 255)];
+    }
+}
@@ -32,21 +32,21 @@ public record MeshBounds(double minX, double minY, double minZ,
             return new MeshBounds(0, 0, 0, 1, 1, 1);
         }
 
-        Vector3 vectorZero = mesh.vertex(0);
+        double[] vertexX = mesh.vertexX();
+        double[] vertexY = mesh.vertexY();
+        double[] vertexZ = mesh.vertexZ();
 
-        double minX = vectorZero.x(), minY = vectorZero.y(), minZ = vectorZero.z();
-        double maxX = vectorZero.x(), maxY = vectorZero.y(), maxZ = vectorZero.z();
+        double minX = vertexX[0], minY = vertexY[0], minZ = vertexZ[0];
+        double maxX = vertexX[0], maxY = vertexY[0], maxZ = vertexZ[0];
 
-        for (int index = 1; index < mesh.vertexCount(); index++) {
-            Vector3 vector = mesh.vertex(index);
+        for (int index = 1; index < vertexX.length; index++) {
+            minX = Math.min(minX, vertexX[index]);
+            minY = Math.min(minY, vertexY[index]);
+            minZ = Math.min(minZ, vertexZ[index]);
 
-            minX = Math.min(minX, vector.x());
-            minY = Math.min(minY, vector.y());
-            minZ = Math.min(minZ, vector.z());
-
-            maxX = Math.max(maxX, vector.x());
-            maxY = Math.max(maxY, vector.y());
-            maxZ = Math.max(maxZ, vector.z());
+            maxX = Math.max(maxX, vertexX[index]);
+            maxY = Math.max(maxY, vertexY[index]);
+            maxZ = Math.max(maxZ, vertexZ[index]);
         }
 
         return new MeshBounds(minX, minY, minZ, maxX, maxY, maxZ);
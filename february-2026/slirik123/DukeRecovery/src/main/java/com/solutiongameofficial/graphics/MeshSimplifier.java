@@ -1,91 +1,230 @@
 package com.solutiongameofficial.graphics;
 
-import com.solutiongameofficial.phase.duke.LongHashSet;
+import com.solutiongameofficial.collections.EdgeList;
+import com.solutiongameofficial.collections.LongHashSet;
+import com.solutiongameofficial.collections.LongIntHashMap;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class MeshSimplifier {
 
+    // below this the fork/join overhead costs more than the quantization itself
+    private static final int PARALLEL_VERTEX_THRESHOLD = 32_768;
+    private static final int CHUNK_SIZE = 8_192;
+    // pack() of two non-negative vertex indices is never negative
+    private static final long COLLAPSED_EDGE = -1L;
+
     public static WireMesh quantizeAndRebuild(WireMesh inputMesh, double cellSize) {
-        if (cellSize <= 0.0) {
-            return inputMesh;
+        return buildLevelsOfDetail(inputMesh, cellSize)[0];
+    }
+
+    /**
+     * Simplifies the mesh for every cell size at once, level i is exactly what
+     * {@code quantizeAndRebuild(inputMesh, cellSizes[i])} returns. Cell sizes of 0 or less return the input mesh.
+     */
+    public static WireMesh[] buildLevelsOfDetail(WireMesh inputMesh, double... cellSizes) {
+        int inputVertexCount = inputMesh.vertexCount();
+        boolean parallel = inputVertexCount >= PARALLEL_VERTEX_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1;
+
+        // one pass over the vertices quantizes them for every level
+        long[][] quantizedKeysByLevel = new long[cellSizes.length][inputVertexCount];
+        forEachChunk(inputVertexCount, parallel, (fromVertex, toVertex) ->
+                quantize(inputMesh, cellSizes, quantizedKeysByLevel, fromVertex, toVertex));
+
+        WireMesh[] levels = new WireMesh[cellSizes.length];
+        for (int level = 0; level < cellSizes.length; level++) {
+            levels[level] = cellSizes[level] <= 0.0
+                    ? inputMesh
+                    : rebuild(inputMesh, cellSizes[level], quantizedKeysByLevel[level], parallel);
+        }
+        return levels;
+    }
+
+    private static void quantize(WireMesh inputMesh, double[] cellSizes, long[][] quantizedKeysByLevel, int fromVertex, int toVertex) {
+        double[] inputVertexX = inputMesh.vertexX();
+        double[] inputVertexY = inputMesh.vertexY();
+        double[] inputVertexZ = inputMesh.vertexZ();
+
+        for (int inputVertexIndex = fromVertex; inputVertexIndex < toVertex; inputVertexIndex++) {
+            double x = inputVertexX[inputVertexIndex];
+            double y = inputVertexY[inputVertexIndex];
+            double z = inputVertexZ[inputVertexIndex];
+
+            for (int level = 0; level < cellSizes.length; level++) {
+                double cellSize = cellSizes[level];
+                if (cellSize <= 0.0) {
+                    continue;
+                }
+
+                quantizedKeysByLevel[level][inputVertexIndex] = pack3QuantizedInts(
+                        quantizeToCell(x, cellSize),
+                        quantizeToCell(y, cellSize),
+                        quantizeToCell(z, cellSize)
+                );
+            }
         }
+    }
 
+    private static WireMesh rebuild(WireMesh inputMesh, double cellSize, long[] quantizedKeys, boolean parallel) {
         int inputVertexCount = inputMesh.vertexCount();
 
-        Map<Long, Integer> quantizedKeyToNewVertexIndex = new HashMap<>(inputVertexCount * 2);
-        List<Vector3> rebuiltVertices = new ArrayList<>(inputVertexCount / 2);
+        // Every vertex finds the first vertex that fell into the same cell
+        int[] firstVertexInCell = firstIndexOfEachKey(quantizedKeys, parallel);
 
+        // Numbering in input order keeps the output identical to a single threaded rebuild
         int[] inputVertexIndexToRebuiltVertexIndex = new int[inputVertexCount];
-
+        int rebuiltVertexCount = 0;
         for (int inputVertexIndex = 0; inputVertexIndex < inputVertexCount; inputVertexIndex++) {
-            Vector3 inputVertex = inputMesh.vertex(inputVertexIndex);
-
-            int quantizedX = quantizeToCell(inputVertex.x(), cellSize);
-            int quantizedY = quantizeToCell(inputVertex.y(), cellSize);
-            int quantizedZ = quantizeToCell(inputVertex.z(), cellSize);
-
-            long quantizedKey = pack3QuantizedInts(quantizedX, quantizedY, quantizedZ);
+            int firstVertex = firstVertexInCell[inputVertexIndex];
+            inputVertexIndexToRebuiltVertexIndex[inputVertexIndex] = firstVertex == inputVertexIndex
+                    ? rebuiltVertexCount++
+                    : inputVertexIndexToRebuiltVertexIndex[firstVertex];
+        }
 
-            Integer existingRebuiltVertexIndex = quantizedKeyToNewVertexIndex.get(quantizedKey);
-            if (existingRebuiltVertexIndex == null) {
-                int rebuiltVertexIndex = rebuiltVertices.size();
-                quantizedKeyToNewVertexIndex.put(quantizedKey, rebuiltVertexIndex);
+        double[] rebuiltVertexX = new double[rebuiltVertexCount];
+        double[] rebuiltVertexY = new double[rebuiltVertexCount];
+        double[] rebuiltVertexZ = new double[rebuiltVertexCount];
+        forEachChunk(inputVertexCount, parallel, (fromVertex, toVertex) -> {
+            for (int inputVertexIndex = fromVertex; inputVertexIndex < toVertex; inputVertexIndex++) {
+                if (firstVertexInCell[inputVertexIndex] != inputVertexIndex) {
+                    continue;
+                }
 
                 // Snapped coordinates so it looks stylized
-                rebuiltVertices.add(new Vector3(
-                        quantizedX * cellSize,
-                        quantizedY * cellSize,
-                        quantizedZ * cellSize
-                ));
-
-                inputVertexIndexToRebuiltVertexIndex[inputVertexIndex] = rebuiltVertexIndex;
-            } else {
-                inputVertexIndexToRebuiltVertexIndex[inputVertexIndex] = existingRebuiltVertexIndex;
+                int rebuiltVertexIndex = inputVertexIndexToRebuiltVertexIndex[inputVertexIndex];
+                rebuiltVertexX[rebuiltVertexIndex] = quantizeToCell(inputMesh.vertexX()[inputVertexIndex], cellSize) * cellSize;
+                rebuiltVertexY[rebuiltVertexIndex] = quantizeToCell(inputMesh.vertexY()[inputVertexIndex], cellSize) * cellSize;
+                rebuiltVertexZ[rebuiltVertexIndex] = quantizeToCell(inputMesh.vertexZ()[inputVertexIndex], cellSize) * cellSize;
             }
-        }
+        });
 
         // Rebuild edges with remapped indices, keep unique
-        LongHashSet uniqueEdges = getLongHashSet(inputMesh, inputVertexIndexToRebuiltVertexIndex);
+        EdgeList uniqueEdges = rebuildUniqueEdges(inputMesh, inputVertexIndexToRebuiltVertexIndex, parallel);
 
-        int[] rebuiltEdgeA = new int[uniqueEdges.size()];
-        int[] rebuiltEdgeB = new int[uniqueEdges.size()];
+        return new WireMesh(rebuiltVertexX, rebuiltVertexY, rebuiltVertexZ, uniqueEdges.copyEdgeA(), uniqueEdges.copyEdgeB());
+    }
 
-        int rebuiltEdgeIndex = 0;
-        for (long packedEdgeKey : uniqueEdges.values()) {
-            rebuiltEdgeA[rebuiltEdgeIndex] = (int) (packedEdgeKey >>> 32);
-            rebuiltEdgeB[rebuiltEdgeIndex] = (int) (packedEdgeKey & 0xFFFFFFFFL);
-            rebuiltEdgeIndex++;
+    /**
+     * For every index the first index that holds the same key. Keys are split into disjoint partitions by hash,
+     * so every partition owns its own map and no two threads ever touch the same key. A counting pass groups the
+     * indices by partition once, ascending within each partition, so every partition only visits its own keys.
+     */
+    private static int[] firstIndexOfEachKey(long[] keys, boolean parallel) {
+        int[] firstIndex = new int[keys.length];
+        if (!parallel) {
+            LongIntHashMap firstIndexByKey = new LongIntHashMap(keys.length / 2);
+            for (int index = 0; index < keys.length; index++) {
+                firstIndex[index] = firstIndexByKey.getOrPut(keys[index], index);
+            }
+            return firstIndex;
         }
 
-        return new WireMesh(rebuiltVertices, rebuiltEdgeA, rebuiltEdgeB);
-    }
+        int partitionCount = Integer.highestOneBit(ForkJoinPool.getCommonPoolParallelism()) * 2;
+        int partitionMask = partitionCount - 1;
 
-    private static LongHashSet getLongHashSet(WireMesh inputMesh, int[] inputVertexIndexToRebuiltVertexIndex) {
-        LongHashSet uniqueEdges = new LongHashSet(inputMesh.edgeCount() * 2);
-        for (int inputEdgeIndex = 0; inputEdgeIndex < inputMesh.edgeCount(); inputEdgeIndex++) {
-            int rebuiltVertexA = inputVertexIndexToRebuiltVertexIndex[inputMesh.edgeA(inputEdgeIndex)];
-            int rebuiltVertexB = inputVertexIndexToRebuiltVertexIndex[inputMesh.edgeB(inputEdgeIndex)];
+        // Count the keys of every chunk per partition, then turn the counts into the position each chunk
+        // writes its first index of that partition to, partition by partition and chunk by chunk
+        int[][] chunkPartitionPositions = new int[chunkCount(keys.length)][partitionCount];
+        forEachChunk(keys.length, true, (fromIndex, toIndex) -> {
+            int[] counts = chunkPartitionPositions[fromIndex / CHUNK_SIZE];
+            for (int index = fromIndex; index < toIndex; index++) {
+                counts[partitionOf(keys[index]) & partitionMask]++;
+            }
+        });
+
+        int[] partitionStarts = new int[partitionCount + 1];
+        int position = 0;
+        for (int partition = 0; partition < partitionCount; partition++) {
+            partitionStarts[partition] = position;
+            for (int[] positions : chunkPartitionPositions) {
+                int count = positions[partition];
+                positions[partition] = position;
+                position += count;
+            }
+        }
+        partitionStarts[partitionCount] = position;
 
-            if (rebuiltVertexA == rebuiltVertexB) {
-                continue;
+        int[] indicesByPartition = new int[keys.length];
+        forEachChunk(keys.length, true, (fromIndex, toIndex) -> {
+            int[] positions = chunkPartitionPositions[fromIndex / CHUNK_SIZE];
+            for (int index = fromIndex; index < toIndex; index++) {
+                indicesByPartition[positions[partitionOf(keys[index]) & partitionMask]++] = index;
             }
+        });
+
+        IntStream.range(0, partitionCount).parallel().forEach(partition -> {
+            int fromPosition = partitionStarts[partition];
+            int toPosition = partitionStarts[partition + 1];
+            LongIntHashMap firstIndexByKey = new LongIntHashMap((toPosition - fromPosition) / 2);
+            for (int partitionPosition = fromPosition; partitionPosition < toPosition; partitionPosition++) {
+                int index = indicesByPartition[partitionPosition];
+                firstIndex[index] = firstIndexByKey.getOrPut(keys[index], index);
+            }
+        });
+        return firstIndex;
+    }
 
-            int lowerVertexIndex = Math.min(rebuiltVertexA, rebuiltVertexB);
-            int higherVertexIndex = Math.max(rebuiltVertexA, rebuiltVertexB);
+    private static EdgeList rebuildUniqueEdges(WireMesh inputMesh, int[] inputVertexIndexToRebuiltVertexIndex, boolean parallel) {
+        int inputEdgeCount = inputMesh.edgeCount();
+        if (!parallel) {
+            LongHashSet uniqueEdgeKeys = new LongHashSet(inputEdgeCount);
+            EdgeList uniqueEdges = new EdgeList(inputEdgeCount);
+            for (int inputEdgeIndex = 0; inputEdgeIndex < inputEdgeCount; inputEdgeIndex++) {
+                long packedEdge = rebuiltEdge(inputMesh, inputVertexIndexToRebuiltVertexIndex, inputEdgeIndex);
+                if (packedEdge != COLLAPSED_EDGE && uniqueEdgeKeys.add(packedEdge)) {
+                    uniqueEdges.addPacked(packedEdge);
+                }
+            }
+            return uniqueEdges;
+        }
 
-            long packedEdgeKey = (((long) lowerVertexIndex) << 32) | (higherVertexIndex & 0xFFFFFFFFL);
-            uniqueEdges.add(packedEdgeKey);
+        long[] packedEdges = new long[inputEdgeCount];
+        forEachChunk(inputEdgeCount, true, (fromEdge, toEdge) -> {
+            for (int inputEdgeIndex = fromEdge; inputEdgeIndex < toEdge; inputEdgeIndex++) {
+                packedEdges[inputEdgeIndex] = rebuiltEdge(inputMesh, inputVertexIndexToRebuiltVertexIndex, inputEdgeIndex);
+            }
+        });
+
+        // Keeping the first copy of every edge in input order gives the same edges as a single threaded rebuild
+        int[] firstEdgeIndex = firstIndexOfEachKey(packedEdges, true);
+        EdgeList uniqueEdges = new EdgeList(inputEdgeCount);
+        for (int inputEdgeIndex = 0; inputEdgeIndex < inputEdgeCount; inputEdgeIndex++) {
+            long packedEdge = packedEdges[inputEdgeIndex];
+            if (packedEdge != COLLAPSED_EDGE && firstEdgeIndex[inputEdgeIndex] == inputEdgeIndex) {
+                uniqueEdges.addPacked(packedEdge);
+            }
         }
         return uniqueEdges;
     }
 
+    private static long rebuiltEdge(WireMesh inputMesh, int[] inputVertexIndexToRebuiltVertexIndex, int inputEdgeIndex) {
+        int rebuiltVertexA = inputVertexIndexToRebuiltVertexIndex[inputMesh.edgeA(inputEdgeIndex)];
+        int rebuiltVertexB = inputVertexIndexToRebuiltVertexIndex[inputMesh.edgeB(inputEdgeIndex)];
+
+        if (rebuiltVertexA == rebuiltVertexB) {
+            return COLLAPSED_EDGE;
+        }
+        return EdgeList.pack(Math.min(rebuiltVertexA, rebuiltVertexB), Math.max(rebuiltVertexA, rebuiltVertexB));
+    }
+
+    private static void forEachChunk(int count, boolean parallel, ChunkAction action) {
+        if (!parallel) {
+            action.run(0, count);
+            return;
+        }
+
+        IntStream.range(0, chunkCount(count)).parallel().forEach(chunk ->
+                action.run(chunk * CHUNK_SIZE, Math.min(count, (chunk + 1) * CHUNK_SIZE)));
+    }
+
+    private static int chunkCount(int count) {
+        return (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
     private static int quantizeToCell(double value, double cellSize) {
         return (int) Math.round(value / cellSize);
     }
@@ -98,4 +237,15 @@ public final class MeshSimplifier {
         long packedZ = (quantizedZ & 0x1FFFFF);
         return (packedX << 42) | (packedY << 21) | packedZ;
     }
-}
\ No newline at end of file
+
+    private static int partitionOf(long quantizedKey) {
+        // multiplicative hash, the high bits depend on every bit of the key
+        long mixed = quantizedKey * 0x9E3779B97F4A7C15L;
+        return (int) (mixed >>> 40);
+    }
+
+    @FunctionalInterface
+    private interface ChunkAction {
+        void run(int fromIndex, int toIndex);
+    }
+}
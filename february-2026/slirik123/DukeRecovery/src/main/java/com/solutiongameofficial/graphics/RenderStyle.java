@@ -0,0 +1,48 @@
+package com.solutiongameofficial.graphics;
+
+import java.awt.*;
+
+/**
+ * State a {@link RenderTarget} graphics is set up with once. Font, colour and composite left null keep the defaults.
+ * Antialiasing switches shapes and text together, quality asks for {@link RenderingHints#VALUE_RENDER_QUALITY}.
+ */
+public record RenderStyle(boolean antialiased, boolean quality, Font font, Color color, Composite composite) {
+
+    public static final RenderStyle ALIASED = new RenderStyle(false, false, null, null, null);
+    public static final RenderStyle ANTIALIASED = new RenderStyle(true, false, null, null, null);
+
+    public RenderStyle withQuality() {
+        return new RenderStyle(antialiased, true, font, color, composite);
+    }
+
+    public RenderStyle withFont(Font font) {
+        return new RenderStyle(antialiased, quality, font, color, composite);
+    }
+
+    public RenderStyle withColor(Color color) {
+        return new RenderStyle(antialiased, quality, font, color, composite);
+    }
+
+    public RenderStyle withComposite(Composite composite) {
+        return new RenderStyle(antialiased, quality, font, color, composite);
+    }
+
+    void applyTo(Graphics2D graphics2D) {
+        graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                antialiased ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+        graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                antialiased ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+        if (quality) {
+            graphics2D.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        }
+        if (font != null) {
+            graphics2D.setFont(font);
+        }
+        if (color != null) {
+            graphics2D.setColor(color);
+        }
+        if (composite != null) {
+            graphics2D.setComposite(composite);
+        }
+    }
+}
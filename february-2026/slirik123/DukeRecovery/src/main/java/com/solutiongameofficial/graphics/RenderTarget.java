@@ -0,0 +1,63 @@
+package com.solutiongameofficial.graphics;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An image a renderer draws into every frame, kept until its size changes, with one graphics per {@link RenderStyle}.
+ * Switching font or composite on a graphics rebuilds its font info on the next drawString, so every style is set up
+ * once and drawn with its own graphics instead. Translucent aliased fills allocate a paint context, integer rectangles
+ * cover the same pixels with an antialiased style, which blends them in place.
+ */
+public final class RenderTarget {
+
+    private final int imageType;
+    private final Map<RenderStyle, Graphics2D> graphicsByStyle = new HashMap<>();
+    private BufferedImage image;
+
+    public RenderTarget(int imageType) {
+        this.imageType = imageType;
+    }
+
+    public RenderTarget(int width, int height, int imageType) {
+        this(imageType);
+        ensureSize(width, height);
+    }
+
+    /**
+     * Reallocates the image if the size changed, graphics handed out before are disposed then.
+     *
+     * @return true if the image was reallocated
+     */
+    public boolean ensureSize(int width, int height) {
+        if (image != null && image.getWidth() == width && image.getHeight() == height) {
+            return false;
+        }
+
+        for (Graphics2D graphics2D : graphicsByStyle.values()) {
+            graphics2D.dispose();
+        }
+        graphicsByStyle.clear();
+        image = new BufferedImage(width, height, imageType);
+        return true;
+    }
+
+    public BufferedImage image() {
+        return image;
+    }
+
+    /**
+     * The graphics of this style, created on first use. Changes made to it carry over to the next frame.
+     */
+    public Graphics2D graphics(RenderStyle style) {
+        Graphics2D graphics2D = graphicsByStyle.get(style);
+        if (graphics2D == null) {
+            graphics2D = image.createGraphics();
+            style.applyTo(graphics2D);
+            graphicsByStyle.put(style, graphics2D);
+        }
+        return graphics2D;
+    }
+}
@@ -0,0 +1,131 @@
+package com.solutiongameofficial.graphics;
+
+import com.solutiongameofficial.collections.EdgeList;
+import com.solutiongameofficial.collections.LongHashSet;
+
+import java.util.Arrays;
+
+/**
+ * Builds a {@link WireMesh} from triangles while loading. Vertices with identical coordinates are welded
+ * into one, and every triangle adds its three edges straight into the unique edge list, in the order they are first seen.
+ */
+public final class WireMeshBuilder {
+
+    private double[] vertexX;
+    private double[] vertexY;
+    private double[] vertexZ;
+    private int vertexCount;
+
+    // open addressing table of vertex index + 1, 0 marks a free slot
+    private int[] weldSlots;
+    private final LongHashSet uniqueEdgeKeys;
+    private final EdgeList uniqueEdges;
+
+    public WireMeshBuilder(int expectedTriangles) {
+        int expectedVertices = Math.max(16, expectedTriangles);
+        vertexX = new double[expectedVertices];
+        vertexY = new double[expectedVertices];
+        vertexZ = new double[expectedVertices];
+        weldSlots = new int[tableCapacity(expectedVertices)];
+        uniqueEdgeKeys = new LongHashSet(Math.max(16, expectedTriangles * 3 / 2));
+        uniqueEdges = new EdgeList(Math.max(16, expectedTriangles * 3 / 2));
+    }
+
+    /**
+     * @return the index of the vertex, shared with every earlier vertex at exactly the same position
+     */
+    public int addVertex(double x, double y, double z) {
+        // -0.0 and 0.0 compare equal, so they have to hash equal as well
+        x += 0.0;
+        y += 0.0;
+        z += 0.0;
+
+        int mask = weldSlots.length - 1;
+        int slot = hash(x, y, z) & mask;
+        while (weldSlots[slot] != 0) {
+            int existing = weldSlots[slot] - 1;
+            if (vertexX[existing] == x && vertexY[existing] == y && vertexZ[existing] == z) {
+                return existing;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (vertexCount == vertexX.length) {
+            vertexX = Arrays.copyOf(vertexX, vertexCount * 2);
+            vertexY = Arrays.copyOf(vertexY, vertexCount * 2);
+            vertexZ = Arrays.copyOf(vertexZ, vertexCount * 2);
+        }
+
+        int vertexIndex = vertexCount++;
+        vertexX[vertexIndex] = x;
+        vertexY[vertexIndex] = y;
+        vertexZ[vertexIndex] = z;
+        weldSlots[slot] = vertexIndex + 1;
+
+        if (vertexCount * 2 > weldSlots.length) {
+            rehash();
+        }
+        return vertexIndex;
+    }
+
+    public void addTriangle(int vertexIndexA, int vertexIndexB, int vertexIndexC) {
+        addUndirectedEdge(vertexIndexA, vertexIndexB);
+        addUndirectedEdge(vertexIndexB, vertexIndexC);
+        addUndirectedEdge(vertexIndexC, vertexIndexA);
+    }
+
+    public WireMesh build() {
+        return new WireMesh(
+                Arrays.copyOf(vertexX, vertexCount),
+                Arrays.copyOf(vertexY, vertexCount),
+                Arrays.copyOf(vertexZ, vertexCount),
+                uniqueEdges.copyEdgeA(),
+                uniqueEdges.copyEdgeB()
+        );
+    }
+
+    private void addUndirectedEdge(int vertexIndexA, int vertexIndexB) {
+        // welding collapses degenerate triangles into zero length edges, those draw nothing
+        if (vertexIndexA == vertexIndexB) {
+            return;
+        }
+
+        int lowerVertexIndex = Math.min(vertexIndexA, vertexIndexB);
+        int higherVertexIndex = Math.max(vertexIndexA, vertexIndexB);
+
+        long packedEdge = EdgeList.pack(lowerVertexIndex, higherVertexIndex);
+        if (uniqueEdgeKeys.add(packedEdge)) {
+            uniqueEdges.addPacked(packedEdge);
+        }
+    }
+
+    private void rehash() {
+        weldSlots = new int[weldSlots.length << 1];
+        int mask = weldSlots.length - 1;
+        for (int vertexIndex = 0; vertexIndex < vertexCount; vertexIndex++) {
+            int slot = hash(vertexX[vertexIndex], vertexY[vertexIndex], vertexZ[vertexIndex]) & mask;
+            while (weldSlots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            weldSlots[slot] = vertexIndex + 1;
+        }
+    }
+
+    private static int tableCapacity(int expectedVertices) {
+        int capacity = 1;
+        while (capacity < expectedVertices * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int hash(double x, double y, double z) {
+        long bits = Double.doubleToLongBits(x);
+        bits = bits * 0x9E3779B97F4A7C15L + Double.doubleToLongBits(y);
+        bits = bits * 0x9E3779B97F4A7C15L + Double.doubleToLongBits(z);
+        bits ^= (bits >>> 33);
+        bits *= 0xff51afd7ed558ccdL;
+        bits ^= (bits >>> 33);
+        return (int) bits;
+    }
+}
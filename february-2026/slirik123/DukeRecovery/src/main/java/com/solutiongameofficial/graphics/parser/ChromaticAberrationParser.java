@@ -1,21 +1,42 @@
 package com.solutiongameofficial.graphics.parser;
 
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 
-public record ChromaticAberrationParser(int baseShiftPixels, int extraShiftPixels) implements Parser {
+/**
+ * Not thread safe. The displacement of every pixel only depends on its position, so the red and blue
+ * source indices are computed once per resolution and each frame is a gather over row bands in parallel.
+ * Output images are pooled: a returned image stays valid until the second parse after it.
+ */
+public final class ChromaticAberrationParser implements Parser {
+
+    private static final int OUTPUT_BUFFER_COUNT = 2;
+
+    private final int baseShiftPixels;
+    private final int extraShiftPixels;
+
+    private final BufferedImage[] outputImages = new BufferedImage[OUTPUT_BUFFER_COUNT];
+    private int nextOutputIndex = 0;
+
+    private int tableWidth = -1;
+    private int tableHeight = -1;
+    private int[] redSourceIndices;
+    private int[] blueSourceIndices;
+    private int[] inputScratch = new int[0];
 
     /**
      * @param baseShiftPixels  shift applied everywhere
      * @param extraShiftPixels additional shift near edges
      */
-    public ChromaticAberrationParser {
+    public ChromaticAberrationParser(int baseShiftPixels, int extraShiftPixels) {
         if (baseShiftPixels < 0) {
             throw new IllegalArgumentException("baseShiftPixels must be >= 0");
         }
         if (extraShiftPixels < 0) {
             throw new IllegalArgumentException("extraShiftPixels must be >= 0");
         }
-
+        this.baseShiftPixels = baseShiftPixels;
+        this.extraShiftPixels = extraShiftPixels;
     }
 
     @Override
@@ -23,61 +44,96 @@ public record ChromaticAberrationParser(int baseShiftPixels, int extraShiftPixel
         int width = image.getWidth();
         int height = image.getHeight();
 
-        int[] inputPixels = image.getRGB(0, 0, width, height, null, 0, width);
-        int[] outputPixels = new int[inputPixels.length];
-
-        int centerX = (width - 1) / 2;
-        int centerY = (height - 1) / 2;
+        int[] inputPixels = readPixels(image, width, height);
+        BufferedImage output = acquireOutput(width, height);
+        int[] outputPixels = ((DataBufferInt) output.getRaster().getDataBuffer()).getData();
 
-        int maxDistance = Math.max(centerX, centerY);
+        int maxDistance = Math.max((width - 1) / 2, (height - 1) / 2);
         if (maxDistance <= 0) {
-            BufferedImage output = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-            output.setRGB(0, 0, width, height, inputPixels, 0, width);
+            System.arraycopy(inputPixels, 0, outputPixels, 0, width * height);
             return output;
         }
 
-        for (int y = 0; y < height; y++) {
-            int dy = y - centerY;
-            int absDy = abs(dy);
+        ensureSourceIndices(width, height, maxDistance);
+        int[] redIndices = redSourceIndices;
+        int[] blueIndices = blueSourceIndices;
 
-            int rowIndex = y * width;
+        RowBands.forEach(height, (startRow, endRow) -> {
+            for (int index = startRow * width, end = endRow * width; index < end; index++) {
+                // alpha and green stay in place, red and blue are sampled from the displaced pixels
+                outputPixels[index] = (inputPixels[index] & 0xFF00FF00)
+                        | (inputPixels[redIndices[index]] & 0x00FF0000)
+                        | (inputPixels[blueIndices[index]] & 0x000000FF);
+            }
+        });
 
-            for (int x = 0; x < width; x++) {
-                int dx = x - centerX;
-                int absDx = abs(dx);
+        return output;
+    }
 
-                int distance = Math.max(absDx, absDy);
-                int shift = baseShiftPixels + (extraShiftPixels * distance) / maxDistance;
+    private int[] readPixels(BufferedImage image, int width, int height) {
+        int pixelCount = width * height;
+        if (image.getType() == BufferedImage.TYPE_INT_ARGB
+                && image.getRaster().getDataBuffer() instanceof DataBufferInt dataBuffer
+                && dataBuffer.getOffset() == 0
+                && dataBuffer.getData().length == pixelCount) {
+            return dataBuffer.getData();
+        }
 
-                int dirX = sign(dx);
-                int dirY = sign(dy);
+        if (inputScratch.length != pixelCount) {
+            inputScratch = new int[pixelCount];
+        }
+        return image.getRGB(0, 0, width, height, inputScratch, 0, width);
+    }
 
-                int redX = clampInt(x + dirX * shift, width - 1);
-                int redY = clampInt(y + dirY * shift, height - 1);
+    private BufferedImage acquireOutput(int width, int height) {
+        BufferedImage output = outputImages[nextOutputIndex];
+        if (output == null || output.getWidth() != width || output.getHeight() != height) {
+            output = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            outputImages[nextOutputIndex] = output;
+        }
+        nextOutputIndex = (nextOutputIndex + 1) % OUTPUT_BUFFER_COUNT;
+        return output;
+    }
 
-                int blueX = clampInt(x - dirX * shift, width - 1);
-                int blueY = clampInt(y - dirY * shift, height - 1);
+    private void ensureSourceIndices(int width, int height, int maxDistance) {
+        if (width == tableWidth && height == tableHeight) {
+            return;
+        }
 
-                int greenIndex = rowIndex + x;
-                int redIndex = redY * width + redX;
-                int blueIndex = blueY * width + blueX;
+        int[] redIndices = new int[width * height];
+        int[] blueIndices = new int[width * height];
+        int centerX = (width - 1) / 2;
+        int centerY = (height - 1) / 2;
 
-                int greenArgb = inputPixels[greenIndex];
-                int redArgb = inputPixels[redIndex];
-                int blueArgb = inputPixels[blueIndex];
+        RowBands.forEach(height, (startRow, endRow) -> {
+            for (int y = startRow; y < endRow; y++) {
+                int dy = y - centerY;
+                int absDy = abs(dy);
+                int dirY = sign(dy);
+
+                for (int x = 0; x < width; x++) {
+                    int dx = x - centerX;
+                    int dirX = sign(dx);
+
+                    int distance = Math.max(abs(dx), absDy);
+                    int shift = baseShiftPixels + (extraShiftPixels * distance) / maxDistance;
 
-                int a = (greenArgb >>> 24) & 0xFF;
-                int r = (redArgb >>> 16) & 0xFF;
-                int g = (greenArgb >>> 8) & 0xFF;
-                int b = blueArgb & 0xFF;
+                    int redX = clampInt(x + dirX * shift, width - 1);
+                    int redY = clampInt(y + dirY * shift, height - 1);
 
-                outputPixels[greenIndex] = (a << 24) | (r << 16) | (g << 8) | b;
+                    int blueX = clampInt(x - dirX * shift, width - 1);
+                    int blueY = clampInt(y - dirY * shift, height - 1);
+
+                    redIndices[y * width + x] = redY * width + redX;
+                    blueIndices[y * width + x] = blueY * width + blueX;
+                }
             }
-        }
+        });
 
-        BufferedImage output = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-        output.setRGB(0, 0, width, height, outputPixels, 0, width);
-        return output;
+        redSourceIndices = redIndices;
+        blueSourceIndices = blueIndices;
+        tableWidth = width;
+        tableHeight = height;
     }
 
     private static int abs(int value) {
@@ -94,4 +150,4 @@ public record ChromaticAberrationParser(int baseShiftPixels, int extraShiftPixel
         }
         return Math.min(value, max);
     }
-}
\ No newline at end of file
+}
@@ -4,7 +4,15 @@ import com.solutiongameofficial.graphics.AsciiColorMode;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
-
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Not thread safe. The returned image is owned by the parser and overwritten by the next parse.
+ * The incremental variants keep the previous input and per cell results and only redraw cells that changed.
+ */
 public final class ImageToAsciiParser implements Parser {
 
     private static final char[] SYMBOLS = new char[] {
@@ -14,13 +22,27 @@ public final class ImageToAsciiParser implements Parser {
     private static final String[] SYMBOL_STRINGS = new String[SYMBOLS.length];
     private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 6);
 
+    private static final int BLACK = 0xFF000000;
+    private static final int WHITE = 0xFFFFFFFF;
+    private static final int CELL_ROWS_PER_BAND = 8;
+
+    private static final Map<Integer, GlyphAtlas> GLYPH_ATLASES = new ConcurrentHashMap<>();
+
     private int cellSize = 6;
     private AsciiColorMode asciiColorMode = AsciiColorMode.MONOCHROME;
 
-    private int cachedCellSize = -1;
-    private FontMetrics cachedFontMetrics;
-    private int[] cachedDrawXOffsetBySymbolIndex;
-    private int cachedDrawYOffset;
+    private BufferedImage output;
+    private int[] outputPixels;
+    private int[] inputScratch = new int[0];
+    private byte[] cellSymbolIndices = new byte[0];
+    private int[] cellColors = new int[0];
+
+    private int[] retainedInput = new int[0];
+    private int[] firstChangedCellX = new int[0];
+    private int[] lastChangedCellX = new int[0];
+    private boolean retainedStateValid = false;
+    private int retainedCellSize;
+    private AsciiColorMode retainedColorMode;
 
     public BufferedImage parse(BufferedImage image, int cellSize) {
         this.cellSize = cellSize;
@@ -43,111 +65,292 @@ public final class ImageToAsciiParser implements Parser {
         int width = image.getWidth();
         int height = image.getHeight();
 
-        int[] inputPixels = image.getRGB(0, 0, width, height, null, 0, width);
+        retainedStateValid = false;
+        parseAll(readPixels(image, width, height), width, height);
+        return output;
+    }
 
-        BufferedImage output = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D graphics2D = output.createGraphics();
-        try {
-            graphics2D.setColor(Color.BLACK);
-            graphics2D.fillRect(0, 0, width, height);
+    public BufferedImage parseIncremental(BufferedImage image, int cellSize, AsciiColorMode asciiColorMode) {
+        return parseIncremental(image, cellSize, asciiColorMode, null);
+    }
+
+    /**
+     * @param dirtyRegion area of the input that may have changed since the previous call, or null to find
+     *                    changed cell rows by comparing against the retained input
+     */
+    public BufferedImage parseIncremental(BufferedImage image, int cellSize, AsciiColorMode asciiColorMode, Rectangle dirtyRegion) {
+        this.cellSize = cellSize;
+        this.asciiColorMode = asciiColorMode;
+
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] inputPixels = readPixels(image, width, height);
+
+        boolean canReuse = retainedStateValid
+                && output.getWidth() == width
+                && output.getHeight() == height
+                && retainedCellSize == cellSize
+                && retainedColorMode == asciiColorMode;
+
+        if (canReuse) {
+            parseChangedCells(inputPixels, width, height, dirtyRegion);
+        } else {
+            parseAll(inputPixels, width, height);
+            retainedCellSize = cellSize;
+            retainedColorMode = asciiColorMode;
+            retainedStateValid = true;
+            dirtyRegion = null;
+        }
 
-            graphics2D.setFont(FONT);
+        if (retainedInput.length != inputPixels.length) {
+            retainedInput = new int[inputPixels.length];
+        }
+        if (dirtyRegion == null) {
+            System.arraycopy(inputPixels, 0, retainedInput, 0, inputPixels.length);
+        } else {
+            // rows outside the hint are unchanged, so only the hinted rows need to be retained again
+            int firstRow = Math.max(0, dirtyRegion.y);
+            int endRow = Math.min(height, dirtyRegion.y + dirtyRegion.height);
+            if (firstRow < endRow && dirtyRegion.x < width && dirtyRegion.x + dirtyRegion.width > 0) {
+                int start = firstRow * width;
+                System.arraycopy(inputPixels, start, retainedInput, start, (endRow - firstRow) * width);
+            }
+        }
 
-            graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
-            graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        return output;
+    }
 
-            ensureMetricsCached(graphics2D);
+    private void parseAll(int[] inputPixels, int width, int height) {
+        ensureOutput(width, height);
 
-            int cellsX = (width + cellSize - 1) / cellSize;
-            int cellsY = (height + cellSize - 1) / cellSize;
+        GlyphAtlas atlas = GLYPH_ATLASES.computeIfAbsent(cellSize, GlyphAtlas::rasterize);
 
-            boolean keepColors = asciiColorMode == AsciiColorMode.KEEP_COLORS;
+        int cellsX = (width + cellSize - 1) / cellSize;
+        int cellsY = (height + cellSize - 1) / cellSize;
+        ensureCells(cellsX * cellsY);
 
-            for (int cellY = 0; cellY < cellsY; cellY++) {
-                int y0 = cellY * cellSize;
-                int y1 = Math.min(y0 + cellSize, height);
+        boolean keepColors = asciiColorMode == AsciiColorMode.KEEP_COLORS;
 
+        RowBands.forEach(cellsY, CELL_ROWS_PER_BAND, (startCellRow, endCellRow) -> {
+            for (int cellY = startCellRow; cellY < endCellRow; cellY++) {
                 for (int cellX = 0; cellX < cellsX; cellX++) {
-                    int x0 = cellX * cellSize;
-                    int x1 = Math.min(x0 + cellSize, width);
+                    measureCell(inputPixels, width, height, cellX, cellY, cellsX, keepColors);
+                }
+            }
+        });
 
-                    long sumLuminance = 0;
-                    long sumR = 0;
-                    long sumG = 0;
-                    long sumB = 0;
-                    int count = 0;
+        RowBands.forEach(height, (startRow, endRow) ->
+                renderRegion(atlas, width, cellsX, cellsY, 0, startRow, width, endRow));
+    }
 
-                    for (int y = y0; y < y1; y++) {
-                        int rowIndex = y * width;
-                        for (int x = x0; x < x1; x++) {
-                            int argb = inputPixels[rowIndex + x];
+    private void parseChangedCells(int[] inputPixels, int width, int height, Rectangle dirtyRegion) {
+        GlyphAtlas atlas = GLYPH_ATLASES.computeIfAbsent(cellSize, GlyphAtlas::rasterize);
+
+        int cellsX = (width + cellSize - 1) / cellSize;
+        int cellsY = (height + cellSize - 1) / cellSize;
+        boolean keepColors = asciiColorMode == AsciiColorMode.KEEP_COLORS;
+
+        int firstCellX = 0;
+        int lastCellX = cellsX - 1;
+        int firstCellY = 0;
+        int lastCellY = cellsY - 1;
+        if (dirtyRegion != null) {
+            int clippedX0 = Math.max(0, dirtyRegion.x);
+            int clippedY0 = Math.max(0, dirtyRegion.y);
+            int clippedX1 = Math.min(width, dirtyRegion.x + dirtyRegion.width);
+            int clippedY1 = Math.min(height, dirtyRegion.y + dirtyRegion.height);
+            if (clippedX0 >= clippedX1 || clippedY0 >= clippedY1) {
+                return;
+            }
+            firstCellX = clippedX0 / cellSize;
+            lastCellX = (clippedX1 - 1) / cellSize;
+            firstCellY = clippedY0 / cellSize;
+            lastCellY = (clippedY1 - 1) / cellSize;
+        }
 
-                            int r = (argb >>> 16) & 0xFF;
-                            int g = (argb >>> 8) & 0xFF;
-                            int b = argb & 0xFF;
+        // per cell row, the range of cells whose symbol or colour changed, -1 when none did
+        if (lastChangedCellX.length != cellsY) {
+            firstChangedCellX = new int[cellsY];
+            lastChangedCellX = new int[cellsY];
+        }
+        Arrays.fill(lastChangedCellX, -1);
+        int changedCellRows = 0;
 
-                            int luminance = (54 * r + 183 * g + 19 * b) >>> 8;
+        for (int cellY = firstCellY; cellY <= lastCellY; cellY++) {
+            if (dirtyRegion == null && !cellRowChanged(inputPixels, width, height, cellY)) {
+                continue;
+            }
 
-                            sumLuminance += luminance;
+            for (int cellX = firstCellX; cellX <= lastCellX; cellX++) {
+                int cellIndex = cellY * cellsX + cellX;
+                byte previousSymbolIndex = cellSymbolIndices[cellIndex];
+                int previousColor = cellColors[cellIndex];
 
-                            if (keepColors) {
-                                sumR += r;
-                                sumG += g;
-                                sumB += b;
-                            }
+                measureCell(inputPixels, width, height, cellX, cellY, cellsX, keepColors);
 
-                            count++;
-                        }
+                if (cellSymbolIndices[cellIndex] != previousSymbolIndex || cellColors[cellIndex] != previousColor) {
+                    if (lastChangedCellX[cellY] < 0) {
+                        firstChangedCellX[cellY] = cellX;
+                        changedCellRows++;
                     }
+                    lastChangedCellX[cellY] = cellX;
+                }
+            }
+        }
 
-                    if (count <= 0) {
-                        continue;
-                    }
+        if (changedCellRows * 2 > cellsY) {
+            RowBands.forEach(height, (startRow, endRow) ->
+                    renderRegion(atlas, width, cellsX, cellsY, 0, startRow, width, endRow));
+            return;
+        }
 
-                    int avgLuminance = (int) (sumLuminance / count); // 0..255
-                    int symbolIndex = mapLumaToSymbolIndex(avgLuminance);
+        for (int cellY = 0; cellY < cellsY; cellY++) {
+            if (lastChangedCellX[cellY] < 0) {
+                continue;
+            }
 
-                    if (keepColors) {
-                        int avgR = (int) (sumR / count);
-                        int avgG = (int) (sumG / count);
-                        int avgB = (int) (sumB / count);
-                        graphics2D.setColor(new Color(avgR, avgG, avgB));
-                    } else {
-                        graphics2D.setColor(Color.WHITE);
-                    }
+            // everything the old or the new glyphs of the changed cells can cover
+            int regionX0 = Math.max(0, firstChangedCellX[cellY] * cellSize + atlas.minimumOffsetX);
+            int regionX1 = Math.min(width, lastChangedCellX[cellY] * cellSize + atlas.maximumOffsetX + 1);
+            int regionY0 = Math.max(0, cellY * cellSize + atlas.minimumOffsetY);
+            int regionY1 = Math.min(height, cellY * cellSize + atlas.maximumOffsetY + 1);
 
-                    int drawX = x0 + cachedDrawXOffsetBySymbolIndex[symbolIndex];
-                    int drawY = y0 + cachedDrawYOffset;
+            if (regionX0 < regionX1 && regionY0 < regionY1) {
+                renderRegion(atlas, width, cellsX, cellsY, regionX0, regionY0, regionX1, regionY1);
+            }
+        }
+    }
+
+    private boolean cellRowChanged(int[] inputPixels, int width, int height, int cellY) {
+        int y1 = Math.min(cellY * cellSize + cellSize, height);
+        for (int y = cellY * cellSize; y < y1; y++) {
+            int rowStart = y * width;
+            if (Arrays.mismatch(inputPixels, rowStart, rowStart + width, retainedInput, rowStart, rowStart + width) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-                    graphics2D.drawString(SYMBOL_STRINGS[symbolIndex], drawX, drawY);
+    private void measureCell(int[] inputPixels, int width, int height, int cellX, int cellY, int cellsX, boolean keepColors) {
+        int x0 = cellX * cellSize;
+        int x1 = Math.min(x0 + cellSize, width);
+        int y0 = cellY * cellSize;
+        int y1 = Math.min(y0 + cellSize, height);
+
+        long sumLuminance = 0;
+        long sumR = 0;
+        long sumG = 0;
+        long sumB = 0;
+        int count = 0;
+
+        for (int y = y0; y < y1; y++) {
+            int rowIndex = y * width;
+            for (int x = x0; x < x1; x++) {
+                int argb = inputPixels[rowIndex + x];
+
+                int r = (argb >>> 16) & 0xFF;
+                int g = (argb >>> 8) & 0xFF;
+                int b = argb & 0xFF;
+
+                sumLuminance += (54 * r + 183 * g + 19 * b) >>> 8;
+
+                if (keepColors) {
+                    sumR += r;
+                    sumG += g;
+                    sumB += b;
                 }
+
+                count++;
             }
+        }
 
-            return output;
-        } finally {
-            graphics2D.dispose();
+        int cellIndex = cellY * cellsX + cellX;
+        int avgLuminance = (int) (sumLuminance / count); // 0..255
+        cellSymbolIndices[cellIndex] = (byte) mapLumaToSymbolIndex(avgLuminance);
+
+        if (keepColors) {
+            int avgR = (int) (sumR / count);
+            int avgG = (int) (sumG / count);
+            int avgB = (int) (sumB / count);
+            cellColors[cellIndex] = BLACK | (avgR << 16) | (avgG << 8) | avgB;
+        } else {
+            cellColors[cellIndex] = WHITE;
         }
     }
 
-    private void ensureMetricsCached(Graphics2D graphics2D) {
-        if (cachedCellSize == cellSize && cachedFontMetrics != null) {
-            return;
+    /**
+     * Clears the region and blits every cell whose glyph reaches into it, in the same row-major order
+     * drawString used, so overlapping glyphs of neighbouring cells resolve identically.
+     */
+    private void renderRegion(GlyphAtlas atlas, int width, int cellsX, int cellsY,
+                              int regionX0, int regionY0, int regionX1, int regionY1)
+    {
+        for (int y = regionY0; y < regionY1; y++) {
+            Arrays.fill(outputPixels, y * width + regionX0, y * width + regionX1, BLACK);
         }
 
-        cachedCellSize = cellSize;
+        int firstCellY = Math.max(0, Math.floorDiv(regionY0 - atlas.maximumOffsetY, cellSize));
+        int lastCellY = Math.min(cellsY - 1, Math.floorDiv(regionY1 - 1 - atlas.minimumOffsetY, cellSize));
+        int firstCellX = Math.max(0, Math.floorDiv(regionX0 - atlas.maximumOffsetX, cellSize));
+        int lastCellX = Math.min(cellsX - 1, Math.floorDiv(regionX1 - 1 - atlas.minimumOffsetX, cellSize));
 
-        cachedFontMetrics = graphics2D.getFontMetrics();
-        int cachedFontHeight = cachedFontMetrics.getHeight();
-        int cachedTextAscent = cachedFontMetrics.getAscent();
+        for (int cellY = firstCellY; cellY <= lastCellY; cellY++) {
+            int originY = cellY * cellSize;
 
-        cachedDrawXOffsetBySymbolIndex = new int[SYMBOLS.length];
+            for (int cellX = firstCellX; cellX <= lastCellX; cellX++) {
+                int cellIndex = cellY * cellsX + cellX;
+                int symbolIndex = cellSymbolIndices[cellIndex];
+                int[] offsetsX = atlas.glyphOffsetsX[symbolIndex];
+                if (offsetsX.length == 0) {
+                    continue;
+                }
 
-        for (int index = 0; index < SYMBOLS.length; index++) {
-            int width = cachedFontMetrics.stringWidth(SYMBOL_STRINGS[index]);
-            cachedDrawXOffsetBySymbolIndex[index] = (cellSize - width) / 2;
+                int[] offsetsY = atlas.glyphOffsetsY[symbolIndex];
+                int originX = cellX * cellSize;
+                int color = cellColors[cellIndex];
+
+                for (int pixel = 0; pixel < offsetsX.length; pixel++) {
+                    int x = originX + offsetsX[pixel];
+                    int y = originY + offsetsY[pixel];
+                    if (x >= regionX0 && x < regionX1 && y >= regionY0 && y < regionY1) {
+                        outputPixels[y * width + x] = color;
+                    }
+                }
+            }
+        }
+    }
+
+    private int[] readPixels(BufferedImage image, int width, int height) {
+        int pixelCount = width * height;
+        int type = image.getType();
+        // only the RGB channels are read, so INT_RGB can be used as is
+        if ((type == BufferedImage.TYPE_INT_ARGB || type == BufferedImage.TYPE_INT_RGB)
+                && image.getRaster().getDataBuffer() instanceof DataBufferInt dataBuffer
+                && dataBuffer.getOffset() == 0
+                && dataBuffer.getData().length == pixelCount) {
+            return dataBuffer.getData();
         }
 
-        cachedDrawYOffset = (cellSize - cachedFontHeight) / 2 + cachedTextAscent;
+        if (inputScratch.length != pixelCount) {
+            inputScratch = new int[pixelCount];
+        }
+        return image.getRGB(0, 0, width, height, inputScratch, 0, width);
+    }
+
+    private void ensureOutput(int width, int height) {
+        if (output != null && output.getWidth() == width && output.getHeight() == height) {
+            return;
+        }
+        output = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        outputPixels = ((DataBufferInt) output.getRaster().getDataBuffer()).getData();
+    }
+
+    private void ensureCells(int cellCount) {
+        if (cellSymbolIndices.length != cellCount) {
+            cellSymbolIndices = new byte[cellCount];
+            cellColors = new int[cellCount];
+        }
     }
 
     private static int mapLumaToSymbolIndex(int luminance0to255) {
@@ -161,9 +364,88 @@ public final class ImageToAsciiParser implements Parser {
         return (luminance0to255 * (SYMBOLS.length - 1)) / 255;
     }
 
+    /**
+     * Pixel offsets, relative to the cell origin, that drawString covers for each symbol at one cell size.
+     * Text antialiasing is off, so every covered pixel takes the cell colour.
+     */
+    private static final class GlyphAtlas {
+
+        private static final int PADDING = 32;
+
+        private final int[][] glyphOffsetsX = new int[SYMBOLS.length][];
+        private final int[][] glyphOffsetsY = new int[SYMBOLS.length][];
+        private int minimumOffsetX = 0;
+        private int maximumOffsetX = 0;
+        private int minimumOffsetY = 0;
+        private int maximumOffsetY = 0;
+
+        private static GlyphAtlas rasterize(int cellSize) {
+            GlyphAtlas atlas = new GlyphAtlas();
+
+            int canvasSize = cellSize + 2 * PADDING;
+            BufferedImage canvas = new BufferedImage(canvasSize, canvasSize, BufferedImage.TYPE_INT_ARGB);
+            int[] canvasPixels = ((DataBufferInt) canvas.getRaster().getDataBuffer()).getData();
+
+            Graphics2D graphics2D = canvas.createGraphics();
+            try {
+                graphics2D.setFont(FONT);
+                graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+                graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+                graphics2D.setColor(Color.WHITE);
+
+                FontMetrics fontMetrics = graphics2D.getFontMetrics();
+                int drawYOffset = (cellSize - fontMetrics.getHeight()) / 2 + fontMetrics.getAscent();
+
+                for (int index = 0; index < SYMBOLS.length; index++) {
+                    int drawXOffset = (cellSize - fontMetrics.stringWidth(SYMBOL_STRINGS[index])) / 2;
+
+                    Arrays.fill(canvasPixels, 0);
+                    graphics2D.drawString(SYMBOL_STRINGS[index], PADDING + drawXOffset, PADDING + drawYOffset);
+                    atlas.collectGlyph(index, canvasPixels, canvasSize);
+                }
+            } finally {
+                graphics2D.dispose();
+            }
+
+            return atlas;
+        }
+
+        private void collectGlyph(int symbolIndex, int[] canvasPixels, int canvasSize) {
+            int coveredCount = 0;
+            for (int pixel : canvasPixels) {
+                if (pixel != 0) {
+                    coveredCount++;
+                }
+            }
+
+            int[] offsetsX = new int[coveredCount];
+            int[] offsetsY = new int[coveredCount];
+            int next = 0;
+
+            for (int y = 0; y < canvasSize; y++) {
+                for (int x = 0; x < canvasSize; x++) {
+                    if (canvasPixels[y * canvasSize + x] == 0) {
+                        continue;
+                    }
+                    offsetsX[next] = x - PADDING;
+                    offsetsY[next] = y - PADDING;
+
+                    minimumOffsetX = Math.min(minimumOffsetX, offsetsX[next]);
+                    maximumOffsetX = Math.max(maximumOffsetX, offsetsX[next]);
+                    minimumOffsetY = Math.min(minimumOffsetY, offsetsY[next]);
+                    maximumOffsetY = Math.max(maximumOffsetY, offsetsY[next]);
+                    next++;
+                }
+            }
+
+            glyphOffsetsX[symbolIndex] = offsetsX;
+            glyphOffsetsY[symbolIndex] = offsetsY;
+        }
+    }
+
     static {
         for (int index = 0; index < SYMBOLS.length; index++) {
             SYMBOL_STRINGS[index] = String.valueOf(SYMBOLS[index]);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,62 @@
+package com.solutiongameofficial.graphics.parser;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits a range of rows into bands processed on the common ForkJoin pool.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class RowBands {
+
+    static final int MINIMUM_ROWS_PER_BAND = 32;
+
+    @FunctionalInterface
+    interface BandAction {
+        void apply(int startRow, int endRow);
+    }
+
+    static void forEach(int rowCount, BandAction action) {
+        forEach(rowCount, MINIMUM_ROWS_PER_BAND, action);
+    }
+
+    static void forEach(int rowCount, int minimumRowsPerBand, BandAction action) {
+        if (rowCount <= minimumRowsPerBand || ForkJoinPool.getCommonPoolParallelism() <= 1) {
+            action.apply(0, rowCount);
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new BandTask(action, 0, rowCount, minimumRowsPerBand));
+    }
+
+    private static final class BandTask extends RecursiveAction {
+
+        private final BandAction action;
+        private final int startRow;
+        private final int endRow;
+        private final int minimumRowsPerBand;
+
+        private BandTask(BandAction action, int startRow, int endRow, int minimumRowsPerBand) {
+            this.action = action;
+            this.startRow = startRow;
+            this.endRow = endRow;
+            this.minimumRowsPerBand = minimumRowsPerBand;
+        }
+
+        @Override
+        protected void compute() {
+            if (endRow - startRow <= minimumRowsPerBand) {
+                action.apply(startRow, endRow);
+                return;
+            }
+
+            int middleRow = (startRow + endRow) >>> 1;
+            invokeAll(
+                    new BandTask(action, startRow, middleRow, minimumRowsPerBand),
+                    new BandTask(action, middleRow, endRow, minimumRowsPerBand)
+            );
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.solutiongameofficial.graphics.projection;
+
+import com.solutiongameofficial.graphics.WireMesh;
+
+interface ProjectionKernel {
+
+    /**
+     * Writes screen coordinates and rotated y for every vertex. Vertices at or behind the near plane (camera depth <= 1)
+     * get {@link WireframeProjector#CLIPPED} as both screen coordinates.
+     */
+    void project(WireMesh mesh, ProjectionTransform transform, int[] screenX, int[] screenY, double[] rotatedY);
+
+    static ProjectionKernel create() {
+        // the incubator module has to be added explicitly (--add-modules jdk.incubator.vector), without it
+        // or without SIMD registers wider than one double the scalar kernel is used
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            ProjectionKernel vectorKernel = vector();
+            if (vectorKernel != null) {
+                return vectorKernel;
+            }
+        }
+        return new ScalarProjectionKernel();
+    }
+
+    /**
+     * The SIMD kernel, or null when it is not on the class path or the platform has a single double lane.
+     * It lives in the separately compiled vector source set, so it is looked up by name.
+     */
+    static ProjectionKernel vector() {
+        try {
+            return (ProjectionKernel) Class.forName("com.solutiongameofficial.graphics.projection.VectorProjectionKernel")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError exception) {
+            // the constructor throws when there is a single lane, which arrives as InvocationTargetException
+            return null;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.solutiongameofficial.graphics.projection;
+
+/**
+ * Centering, scaling, rotation and camera offset folded into one affine transform, followed by a perspective divide.
+ * rotated = matrix * vertex + translation, camera depth = rotated z.
+ */
+record ProjectionTransform(
+        double m00, double m01, double m02, double translateX,
+        double m10, double m11, double m12, double translateY,
+        double m20, double m21, double m22, double translateZ,
+        double focalLength,
+        double screenCenterX,
+        double screenCenterY
+) {
+
+    /**
+     * Same rotation order as rotating around X, then Y, then Z, applied to (vertex - center) * scale.
+     */
+    static ProjectionTransform of(
+            double centerX, double centerY, double centerZ,
+            double scale,
+            double rotationX, double rotationY, double rotationZ,
+            double cameraDistanceZ,
+            double focalLength,
+            double screenCenterX,
+            double screenCenterY
+    ) {
+        double cosX = Math.cos(rotationX);
+        double sinX = Math.sin(rotationX);
+        double cosY = Math.cos(rotationY);
+        double sinY = Math.sin(rotationY);
+        double cosZ = Math.cos(rotationZ);
+        double sinZ = Math.sin(rotationZ);
+
+        double m00 = cosY * cosZ * scale;
+        double m01 = (sinX * sinY * cosZ - cosX * sinZ) * scale;
+        double m02 = (cosX * sinY * cosZ + sinX * sinZ) * scale;
+        double m10 = cosY * sinZ * scale;
+        double m11 = (sinX * sinY * sinZ + cosX * cosZ) * scale;
+        double m12 = (cosX * sinY * sinZ - sinX * cosZ) * scale;
+        double m20 = -sinY * scale;
+        double m21 = sinX * cosY * scale;
+        double m22 = cosX * cosY * scale;
+
+        return new ProjectionTransform(
+                m00, m01, m02, -(m00 * centerX + m01 * centerY + m02 * centerZ),
+                m10, m11, m12, -(m10 * centerX + m11 * centerY + m12 * centerZ),
+                m20, m21, m22, cameraDistanceZ - (m20 * centerX + m21 * centerY + m22 * centerZ),
+                focalLength,
+                screenCenterX,
+                screenCenterY
+        );
+    }
+}
@@ -0,0 +1,53 @@
+package com.solutiongameofficial.graphics.projection;
+
+import com.solutiongameofficial.graphics.WireMesh;
+
+final class ScalarProjectionKernel implements ProjectionKernel {
+
+    @Override
+    public void project(WireMesh mesh, ProjectionTransform transform, int[] screenX, int[] screenY, double[] rotatedY) {
+        project(mesh, transform, screenX, screenY, rotatedY, 0, mesh.vertexCount());
+    }
+
+    static void project(
+            WireMesh mesh,
+            ProjectionTransform transform,
+            int[] screenX,
+            int[] screenY,
+            double[] rotatedY,
+            int fromVertex,
+            int toVertex
+    ) {
+        double[] vertexX = mesh.vertexX();
+        double[] vertexY = mesh.vertexY();
+        double[] vertexZ = mesh.vertexZ();
+
+        double m00 = transform.m00(), m01 = transform.m01(), m02 = transform.m02(), translateX = transform.translateX();
+        double m10 = transform.m10(), m11 = transform.m11(), m12 = transform.m12(), translateY = transform.translateY();
+        double m20 = transform.m20(), m21 = transform.m21(), m22 = transform.m22(), translateZ = transform.translateZ();
+        double focalLength = transform.focalLength();
+        double screenCenterX = transform.screenCenterX();
+        double screenCenterY = transform.screenCenterY();
+
+        for (int vertexIndex = fromVertex; vertexIndex < toVertex; vertexIndex++) {
+            double x = vertexX[vertexIndex];
+            double y = vertexY[vertexIndex];
+            double z = vertexZ[vertexIndex];
+
+            double cameraX = m00 * x + m01 * y + m02 * z + translateX;
+            double cameraY = m10 * x + m11 * y + m12 * z + translateY;
+            double cameraZ = m20 * x + m21 * y + m22 * z + translateZ;
+
+            rotatedY[vertexIndex] = cameraY;
+
+            if (cameraZ <= 1.0) {
+                screenX[vertexIndex] = WireframeProjector.CLIPPED;
+                screenY[vertexIndex] = WireframeProjector.CLIPPED;
+                continue;
+            }
+
+            screenX[vertexIndex] = (int) (screenCenterX + (cameraX * focalLength) / cameraZ);
+            screenY[vertexIndex] = (int) (screenCenterY - (cameraY * focalLength) / cameraZ);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.solutiongameofficial.graphics.projection;
+
+import com.solutiongameofficial.graphics.MeshBounds;
+import com.solutiongameofficial.graphics.WireMesh;
+
+/**
+ * Projects a {@link WireMesh} into screen space. The rotation matrix is built once per call and the output arrays
+ * are reused between frames, so projecting allocates nothing once the largest mesh has been seen.
+ */
+public final class WireframeProjector {
+
+    public static final int CLIPPED = Integer.MIN_VALUE;
+
+    private final ProjectionKernel kernel;
+
+    private int[] screenX = new int[0];
+    private int[] screenY = new int[0];
+    private double[] rotatedY = new double[0];
+
+    public WireframeProjector() {
+        this(ProjectionKernel.create());
+    }
+
+    WireframeProjector(ProjectionKernel kernel) {
+        this.kernel = kernel;
+    }
+
+    public void project(
+            WireMesh mesh,
+            MeshBounds bounds,
+            double scale,
+            double rotationX,
+            double rotationY,
+            double rotationZ,
+            double cameraDistanceZ,
+            double focalLength,
+            int screenCenterX,
+            int screenCenterY
+    ) {
+        ensureCapacity(mesh.vertexCount());
+
+        ProjectionTransform transform = ProjectionTransform.of(
+                bounds.centerX(), bounds.centerY(), bounds.centerZ(),
+                scale,
+                rotationX, rotationY, rotationZ,
+                cameraDistanceZ,
+                focalLength,
+                screenCenterX,
+                screenCenterY
+        );
+        kernel.project(mesh, transform, screenX, screenY, rotatedY);
+    }
+
+    /**
+     * Screen x per vertex of the last projected mesh, {@link #CLIPPED} for vertices behind the camera.
+     */
+    public int[] screenX() {
+        return screenX;
+    }
+
+    public int[] screenY() {
+        return screenY;
+    }
+
+    public double[] rotatedY() {
+        return rotatedY;
+    }
+
+    private void ensureCapacity(int vertexCount) {
+        if (screenX.length < vertexCount) {
+            screenX = new int[vertexCount];
+            screenY = new int[vertexCount];
+            rotatedY = new double[vertexCount];
+        }
+    }
+}
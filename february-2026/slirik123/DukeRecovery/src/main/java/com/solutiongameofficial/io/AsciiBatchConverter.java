@@ -0,0 +1,308 @@
+package com.solutiongameofficial.io;
+
+import com.solutiongameofficial.graphics.AsciiColorMode;
+import com.solutiongameofficial.graphics.parser.ImageToAsciiParser;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streams images through decode, ASCII conversion and PNG encode, each stage on its own worker pool.
+ * At most {@code maximumFramesInFlight} images are held in memory at any time, independent of the folder size.
+ */
+public final class AsciiBatchConverter {
+
+    // Lists "source<TAB>output" for every output this converter wrote, so outputs of removed sources can be
+    // told apart from images that were put into the output directory by hand
+    static final String MANIFEST_FILE_NAME = ".ascii-manifest";
+
+    private final int cellSize;
+    private final AsciiColorMode colorMode;
+    private final int workersPerStage;
+    private final int maximumFramesInFlight;
+
+    public AsciiBatchConverter(int cellSize, AsciiColorMode colorMode) {
+        this(cellSize, colorMode, Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    public AsciiBatchConverter(int cellSize, AsciiColorMode colorMode, int workersPerStage) {
+        if (workersPerStage < 1) {
+            throw new IllegalArgumentException("workersPerStage must be >= 1");
+        }
+        this.cellSize = cellSize;
+        this.colorMode = colorMode;
+        this.workersPerStage = workersPerStage;
+        this.maximumFramesInFlight = workersPerStage * 3 * 2;
+    }
+
+    public record StageReport(String name, int workers, long frames, long busyNanoseconds) {
+
+        /**
+         * Frames per second of stage time, i.e. what the stage could sustain if it never waited on its neighbours.
+         */
+        public double framesPerSecond() {
+            return busyNanoseconds == 0 ? 0d : frames * workers * 1_000_000_000d / busyNanoseconds;
+        }
+    }
+
+    public record Report(int sourceFrames, int skippedFrames, int removedOutputs, long elapsedNanoseconds, List<StageReport> stages) {
+
+        public String describe() {
+            StringBuilder builder = new StringBuilder();
+            builder.append(String.format(Locale.ROOT, "Converted %d of %d frames (%d up to date, %d orphaned outputs removed) in %.2f s%n",
+                    sourceFrames - skippedFrames, sourceFrames, skippedFrames, removedOutputs, elapsedNanoseconds / 1_000_000_000d));
+            for (StageReport stage : stages) {
+                builder.append(String.format(Locale.ROOT, "  %-8s %4d frames  %2d workers  %8.1f frames/s%n",
+                        stage.name(), stage.frames(), stage.workers(), stage.framesPerSecond()));
+            }
+            return builder.toString();
+        }
+    }
+
+    private record Job(Path source, Path target) {}
+
+    /**
+     * Writes each source to a PNG with the same file name stem, {@code Duke_0001.jpg} becomes {@code Duke_0001.png},
+     * skipping sources whose output is already newer than the source. Outputs written by an earlier run for
+     * sources that are gone are deleted, other files in the output directory are left alone.
+     */
+    public Report convert(List<Path> sources, Path outputDirectory) {
+        long startNanoseconds = System.nanoTime();
+
+        Map<String, String> manifest = new LinkedHashMap<>();
+        List<Job> jobs = new ArrayList<>();
+        for (Path source : sources) {
+            String sourceName = source.getFileName().toString();
+            String targetName = outputFileName(sourceName);
+            if (manifest.containsValue(targetName)) {
+                throw new IllegalArgumentException("More than one source converts to " + targetName + ", rename " + sourceName);
+            }
+            manifest.put(sourceName, targetName);
+
+            Path target = outputDirectory.resolve(targetName);
+            if (!isUpToDate(source, target)) {
+                jobs.add(new Job(source, target));
+            }
+        }
+
+        StageCounter decode = new StageCounter("decode");
+        StageCounter convert = new StageCounter("convert");
+        StageCounter encode = new StageCounter("encode");
+
+        ExecutorService decodePool = Executors.newFixedThreadPool(workersPerStage, namedThreads("ascii-decode"));
+        ExecutorService convertPool = Executors.newFixedThreadPool(workersPerStage, namedThreads("ascii-convert"));
+        ExecutorService encodePool = Executors.newFixedThreadPool(workersPerStage, namedThreads("ascii-encode"));
+
+        Semaphore framesInFlight = new Semaphore(maximumFramesInFlight);
+        CountDownLatch remainingJobs = new CountDownLatch(jobs.size());
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        try {
+            for (Job job : jobs) {
+                framesInFlight.acquire();
+                if (failure.get() != null) {
+                    framesInFlight.release();
+                    remainingJobs.countDown();
+                    continue;
+                }
+
+                Runnable finish = () -> {
+                    framesInFlight.release();
+                    remainingJobs.countDown();
+                };
+
+                decodePool.execute(() -> runStage(decode, failure, finish, () -> {
+                    BufferedImage decoded = decode(job.source());
+
+                    convertPool.execute(() -> runStage(convert, failure, finish, () -> {
+                        BufferedImage converted = new ImageToAsciiParser().parse(decoded, cellSize, colorMode);
+
+                        encodePool.execute(() -> runStage(encode, failure, finish, () -> {
+                            encode(converted, job.target());
+                            finish.run();
+                        }));
+                    }));
+                }));
+            }
+
+            remainingJobs.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while converting frames", exception);
+        } finally {
+            decodePool.shutdownNow();
+            convertPool.shutdownNow();
+            encodePool.shutdownNow();
+        }
+
+        Throwable stageFailure = failure.get();
+        if (stageFailure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (stageFailure instanceof Error error) {
+            throw error;
+        }
+        if (stageFailure != null) {
+            throw new IllegalStateException("Failed to convert frames", stageFailure);
+        }
+
+        int removedOutputs = removeOrphanedOutputs(outputDirectory, manifest);
+        writeManifest(outputDirectory, manifest);
+
+        return new Report(
+                sources.size(),
+                sources.size() - jobs.size(),
+                removedOutputs,
+                System.nanoTime() - startNanoseconds,
+                List.of(decode.report(workersPerStage), convert.report(workersPerStage), encode.report(workersPerStage))
+        );
+    }
+
+    // Anything a stage throws, Errors included, must release its frame, otherwise convert waits forever
+    private static void runStage(StageCounter counter, AtomicReference<Throwable> failure, Runnable finish, Runnable work) {
+        if (failure.get() != null) {
+            finish.run();
+            return;
+        }
+
+        long startNanoseconds = System.nanoTime();
+        try {
+            work.run();
+            counter.record(System.nanoTime() - startNanoseconds);
+        } catch (Throwable throwable) {
+            failure.compareAndSet(null, throwable);
+            finish.run();
+        }
+    }
+
+    static String outputFileName(String sourceFileName) {
+        int extension = sourceFileName.lastIndexOf('.');
+        String stem = extension > 0 ? sourceFileName.substring(0, extension) : sourceFileName;
+        return stem + ".png";
+    }
+
+    private static int removeOrphanedOutputs(Path outputDirectory, Map<String, String> manifest) {
+        int removed = 0;
+        for (String previousOutput : readManifest(outputDirectory).values()) {
+            if (manifest.containsValue(previousOutput)) {
+                continue;
+            }
+
+            Path orphan = outputDirectory.resolve(previousOutput);
+            try {
+                if (Files.deleteIfExists(orphan)) {
+                    removed++;
+                }
+            } catch (IOException exception) {
+                throw new IllegalStateException("Failed to delete orphaned output: " + orphan, exception);
+            }
+        }
+        return removed;
+    }
+
+    private static Map<String, String> readManifest(Path outputDirectory) {
+        Path manifestFile = outputDirectory.resolve(MANIFEST_FILE_NAME);
+        Map<String, String> manifest = new LinkedHashMap<>();
+        if (!Files.exists(manifestFile)) {
+            return manifest;
+        }
+
+        try {
+            for (String line : Files.readAllLines(manifestFile)) {
+                int separator = line.indexOf('\t');
+                if (separator > 0) {
+                    manifest.put(line.substring(0, separator), line.substring(separator + 1));
+                }
+            }
+            return manifest;
+        } catch (IOException exception) {
+            throw new IllegalStateException("Failed to read manifest: " + manifestFile, exception);
+        }
+    }
+
+    private static void writeManifest(Path outputDirectory, Map<String, String> manifest) {
+        Path manifestFile = outputDirectory.resolve(MANIFEST_FILE_NAME);
+        List<String> lines = new ArrayList<>(manifest.size());
+        manifest.forEach((source, output) -> lines.add(source + '\t' + output));
+
+        try {
+            Files.write(manifestFile, lines);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Failed to write manifest: " + manifestFile, exception);
+        }
+    }
+
+    private static boolean isUpToDate(Path source, Path target) {
+        try {
+            return Files.exists(target)
+                    && Files.getLastModifiedTime(target).compareTo(Files.getLastModifiedTime(source)) >= 0;
+        } catch (IOException exception) {
+            return false;
+        }
+    }
+
+    private static BufferedImage decode(Path source) {
+        try {
+            BufferedImage image = ImageIO.read(source.toFile());
+            if (image == null) {
+                throw new IllegalStateException("Unsupported image format or corrupt file: " + source);
+            }
+            return image;
+        } catch (IOException exception) {
+            throw new IllegalStateException("Failed to read image: " + source, exception);
+        }
+    }
+
+    private static void encode(BufferedImage image, Path target) {
+        try {
+            ImageIO.write(image, "png", target.toFile());
+        } catch (IOException exception) {
+            throw new IllegalStateException("Failed to write image: " + target, exception);
+        }
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class StageCounter {
+
+        private final String name;
+        private final AtomicLong frames = new AtomicLong();
+        private final AtomicLong busyNanoseconds = new AtomicLong();
+
+        private StageCounter(String name) {
+            this.name = name;
+        }
+
+        private void record(long nanoseconds) {
+            frames.incrementAndGet();
+            busyNanoseconds.addAndGet(nanoseconds);
+        }
+
+        private StageReport report(int workers) {
+            return new StageReport(name, workers, frames.get(), busyNanoseconds.get());
+        }
+    }
+}
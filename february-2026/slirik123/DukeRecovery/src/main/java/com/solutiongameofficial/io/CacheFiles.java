@@ -0,0 +1,46 @@
+package com.solutiongameofficial.io;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Location and atomic writes for the on-disk caches. Everything in there can be regenerated, so failures are ignored.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CacheFiles {
+
+    public static final String CACHE_DIRECTORY_PROPERTY = "dukerecovery.cacheDir";
+
+    public static Path directory(String name) {
+        String configured = System.getProperty(CACHE_DIRECTORY_PROPERTY);
+        Path root = configured != null
+                ? Paths.get(configured)
+                : Paths.get(System.getProperty("user.home"), ".cache", "duke-recovery");
+        return root.resolve(name);
+    }
+
+    /**
+     * Written next to the target and renamed, so a crashed or concurrent launch never sees half a file.
+     */
+    public static void writeAtomically(Path file, byte[] contents) {
+        Path temporaryFile = null;
+        try {
+            Files.createDirectories(file.getParent());
+            temporaryFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            Files.write(temporaryFile, contents);
+            Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | UnsupportedOperationException exception) {
+            if (temporaryFile != null) {
+                try {
+                    Files.deleteIfExists(temporaryFile);
+                } catch (IOException ignored) {}
+            }
+        }
+    }
+}
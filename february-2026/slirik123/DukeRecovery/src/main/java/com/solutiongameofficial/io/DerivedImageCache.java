@@ -0,0 +1,120 @@
+package com.solutiongameofficial.io;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Caches images computed from other images (tinting, bloom) in memory and as raw ARGB files on disk,
+ * so later launches skip both the PNG decode and the derivation itself.
+ * The disk cache is best effort: unreadable, stale or unwritable entries are simply recomputed.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DerivedImageCache {
+
+    // bump when the file layout changes, old entries are then ignored
+    private static final int FORMAT_VERSION = 1;
+    private static final int MAGIC = 0x44524943;
+    private static final int HEADER_BYTES = 4 * Integer.BYTES;
+
+    private static final Map<String, BufferedImage> IMAGES = new ConcurrentHashMap<>();
+
+    /**
+     * @param derivation describes how the image is derived, including every parameter that changes the result
+     */
+    public static BufferedImage get(String derivation, BufferedImage source, UnaryOperator<BufferedImage> derive) {
+        String key = sha256(derivation + "@" + sourceHash(source));
+        BufferedImage image = IMAGES.get(key);
+        if (image != null) {
+            return image;
+        }
+
+        // loaded and derived outside the map so the I/O does not block other keys, a racing caller may
+        // compute the same image but only the first one published is kept and written to disk
+        Path file = CacheFiles.directory("derived").resolve(key + ".argb");
+        BufferedImage cached = read(file);
+        if (cached != null) {
+            BufferedImage winner = IMAGES.putIfAbsent(key, cached);
+            return winner != null ? winner : cached;
+        }
+
+        BufferedImage derived = derive.apply(source);
+        BufferedImage winner = IMAGES.putIfAbsent(key, derived);
+        if (winner != null) {
+            return winner;
+        }
+        write(file, derived);
+        return derived;
+    }
+
+    private static String sourceHash(BufferedImage source) {
+        String contentHash = ResourceLoader.contentHash(source);
+        if (contentHash != null) {
+            return contentHash;
+        }
+
+        int width = source.getWidth();
+        int height = source.getHeight();
+        ByteBuffer pixels = ByteBuffer.allocate(2 * Integer.BYTES + width * height * Integer.BYTES);
+        pixels.putInt(width).putInt(height);
+        pixels.asIntBuffer().put(source.getRGB(0, 0, width, height, null, 0, width));
+        return ResourceLoader.sha256(pixels.array());
+    }
+
+    private static String sha256(String text) {
+        return ResourceLoader.sha256(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static BufferedImage read(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) >= 0) {}
+            header.flip();
+            if (header.remaining() != HEADER_BYTES || header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+                return null;
+            }
+
+            int width = header.getInt();
+            int height = header.getInt();
+            if (width <= 0 || height <= 0 || channel.size() != HEADER_BYTES + (long) width * height * Integer.BYTES) {
+                return null;
+            }
+
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, (long) pixels.length * Integer.BYTES)
+                    .asIntBuffer()
+                    .get(pixels);
+            return image;
+        } catch (IOException exception) {
+            return null;
+        }
+    }
+
+    private static void write(Path file, BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+
+        ByteBuffer contents = ByteBuffer.allocate(HEADER_BYTES + width * height * Integer.BYTES);
+        contents.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(width).putInt(height);
+        contents.asIntBuffer().put(image.getRGB(0, 0, width, height, null, 0, width));
+
+        CacheFiles.writeAtomically(file, contents.array());
+    }
+}
@@ -0,0 +1,37 @@
+package com.solutiongameofficial.io;
+
+import java.util.Locale;
+
+public enum FrameFormat {
+    PNG((byte) 0, false),
+    RAW((byte) 1, false),
+    RLE_DELTA((byte) 2, true),
+    TILE_DELTA((byte) 3, true);
+
+    public final byte id;
+    public final boolean delta;
+
+    FrameFormat(byte id, boolean delta) {
+        this.id = id;
+        this.delta = delta;
+    }
+
+    public static FrameFormat fromArgument(String argument) {
+        String normalized = argument.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+        for (FrameFormat format : values()) {
+            if (format.name().equals(normalized)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown frame format: " + argument);
+    }
+
+    public static FrameFormat fromId(byte id) {
+        for (FrameFormat format : values()) {
+            if (format.id == id) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown frame format id: " + id);
+    }
+}
@@ -0,0 +1,132 @@
+package com.solutiongameofficial.io;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Reference decoder for the streams written by {@link FrameStreamRenderer}.
+ * The returned pixels are owned by the decoder and updated in place by the next frame.
+ */
+public final class FrameStreamDecoder implements AutoCloseable {
+
+    private final DataInputStream inputStream;
+
+    private byte[] frameBytes = new byte[0];
+    private int[] pixels = new int[0];
+    private int width;
+    private int height;
+    private boolean hasKeyframe;
+
+    public FrameStreamDecoder(InputStream inputStream) {
+        this.inputStream = new DataInputStream(new BufferedInputStream(inputStream));
+    }
+
+    public record DecodedFrame(FrameFormat format, boolean keyframe, int width, int height, int[] pixels) {
+
+        public BufferedImage toImage() {
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            int[] target = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            System.arraycopy(pixels, 0, target, 0, width * height);
+            return image;
+        }
+    }
+
+    /**
+     * Returns null once the stream ends between two frames.
+     */
+    public DecodedFrame next() {
+        try {
+            int length;
+            try {
+                length = inputStream.readInt();
+            } catch (EOFException endOfStream) {
+                return null;
+            }
+
+            if (frameBytes.length < length) {
+                frameBytes = new byte[length];
+            }
+            inputStream.readFully(frameBytes, 0, length);
+            return decode(ByteBuffer.wrap(frameBytes, 0, length));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private DecodedFrame decode(ByteBuffer frame) {
+        FrameFormat format = FrameFormat.fromId(frame.get());
+        boolean keyframe = (frame.get() & FrameStreamEncoder.FLAG_KEYFRAME) != 0;
+        int frameWidth = frame.getInt();
+        int frameHeight = frame.getInt();
+
+        if (keyframe) {
+            resize(frameWidth, frameHeight);
+            hasKeyframe = true;
+        } else if (!hasKeyframe || frameWidth != width || frameHeight != height) {
+            throw new IllegalStateException("Delta frame without a matching keyframe");
+        }
+
+        IntBuffer body = frame.slice().asIntBuffer();
+        switch (format) {
+            case RAW -> body.get(pixels, 0, width * height);
+            case RLE_DELTA -> readRunLengthDelta(body, keyframe);
+            case TILE_DELTA -> readTiles(body);
+            default -> throw new IllegalStateException("Unsupported stream format: " + format);
+        }
+
+        return new DecodedFrame(format, keyframe, width, height, pixels);
+    }
+
+    private void resize(int frameWidth, int frameHeight) {
+        width = frameWidth;
+        height = frameHeight;
+        if (pixels.length != width * height) {
+            pixels = new int[width * height];
+        }
+    }
+
+    private void readRunLengthDelta(IntBuffer body, boolean keyframe) {
+        int index = 0;
+        while (body.hasRemaining()) {
+            int runLength = body.get();
+            int value = body.get();
+            for (int end = index + runLength; index < end; index++) {
+                pixels[index] = keyframe ? value : pixels[index] ^ value;
+            }
+        }
+        if (index != width * height) {
+            throw new IllegalStateException("Run lengths cover " + index + " of " + width * height + " pixels");
+        }
+    }
+
+    private void readTiles(IntBuffer body) {
+        int tileSize = body.get();
+        int tileCount = body.get();
+
+        for (int tile = 0; tile < tileCount; tile++) {
+            int tileX = body.get();
+            int tileY = body.get();
+            int tileWidth = Math.min(tileSize, width - tileX);
+            int tileHeight = Math.min(tileSize, height - tileY);
+
+            for (int row = 0; row < tileHeight; row++) {
+                body.get(pixels, (tileY + row) * width + tileX, tileWidth);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            inputStream.close();
+        } catch (IOException ignored) {}
+    }
+}
@@ -0,0 +1,153 @@
+package com.solutiongameofficial.io;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Wire format, big endian: int length of the rest of the frame, byte format id, byte flags,
+ * int width, int height, followed by the format specific body.
+ * Delta formats send a keyframe every {@code keyframeInterval} frames so clients can resync.
+ */
+final class FrameStreamEncoder {
+
+    static final int HEADER_BYTES = 14;
+    static final byte FLAG_KEYFRAME = 1;
+    static final int TILE_SIZE = 64;
+
+    private final FrameFormat format;
+    private final int keyframeInterval;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(0);
+    private int framesSinceKeyframe;
+
+    FrameStreamEncoder(FrameFormat format, int keyframeInterval) {
+        if (format == FrameFormat.PNG) {
+            throw new IllegalArgumentException("PNG frames are written by PngStreamRenderer");
+        }
+        if (keyframeInterval < 1) {
+            throw new IllegalArgumentException("keyframeInterval must be >= 1");
+        }
+        this.format = format;
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    /**
+     * Encodes into a direct buffer that is reused between calls, flipped and ready to be written.
+     * Passing no previous frame produces a keyframe.
+     */
+    ByteBuffer encode(int[] pixels, int[] previousPixels, int width, int height) {
+        buffer = encode(pixels, previousPixels, width, height, buffer);
+        return buffer;
+    }
+
+    /**
+     * Encodes into the given direct buffer, or into a new one when it is too small,
+     * so a caller can keep several encoded frames in flight.
+     */
+    ByteBuffer encode(int[] pixels, int[] previousPixels, int width, int height, ByteBuffer reusable) {
+        int pixelCount = width * height;
+        boolean keyframe = previousPixels == null || !format.delta || framesSinceKeyframe >= keyframeInterval - 1;
+        framesSinceKeyframe = keyframe ? 0 : framesSinceKeyframe + 1;
+
+        int capacity = HEADER_BYTES + maximumBodyBytes(width, height);
+        ByteBuffer target = reusable.capacity() < capacity ? ByteBuffer.allocateDirect(capacity) : reusable;
+        target.clear();
+        target.position(Integer.BYTES);
+        target.put(format.id);
+        target.put(keyframe ? FLAG_KEYFRAME : 0);
+        target.putInt(width);
+        target.putInt(height);
+
+        // every body field is an int, so the body is written through a single int view of the buffer
+        IntBuffer body = target.asIntBuffer();
+        switch (format) {
+            case RAW -> body.put(pixels, 0, pixelCount);
+            case RLE_DELTA -> writeRunLengthDelta(pixels, keyframe ? null : previousPixels, pixelCount, body);
+            case TILE_DELTA -> writeChangedTiles(pixels, keyframe ? null : previousPixels, width, height, body);
+            default -> throw new IllegalStateException("Unsupported stream format: " + format);
+        }
+        target.position(target.position() + body.position() * Integer.BYTES);
+
+        target.putInt(0, target.position() - Integer.BYTES);
+        return target.flip();
+    }
+
+    private int maximumBodyBytes(int width, int height) {
+        int pixelCount = width * height;
+        return switch (format) {
+            case RLE_DELTA -> pixelCount * 2 * Integer.BYTES;
+            case TILE_DELTA -> (2 + tileCount(width) * tileCount(height) * 2 + pixelCount) * Integer.BYTES;
+            default -> pixelCount * Integer.BYTES;
+        };
+    }
+
+    // Runs of (count, value) where value is the pixel XOR the previous frame, so unchanged areas become zero runs
+    private static void writeRunLengthDelta(int[] pixels, int[] previousPixels, int pixelCount, IntBuffer body) {
+        int index = 0;
+        while (index < pixelCount) {
+            int value = deltaAt(pixels, previousPixels, index);
+            int runEnd;
+
+            if (value == 0 && previousPixels != null) {
+                int mismatch = Arrays.mismatch(pixels, index, pixelCount, previousPixels, index, pixelCount);
+                runEnd = mismatch < 0 ? pixelCount : index + mismatch;
+            } else {
+                runEnd = index + 1;
+                while (runEnd < pixelCount && deltaAt(pixels, previousPixels, runEnd) == value) {
+                    runEnd++;
+                }
+            }
+
+            body.put(runEnd - index);
+            body.put(value);
+            index = runEnd;
+        }
+    }
+
+    private static int tileCount(int pixels) {
+        return (pixels + TILE_SIZE - 1) / TILE_SIZE;
+    }
+
+    // int tile size, int tile count, then per tile: int x, int y and the tile pixels row by row
+    private static void writeChangedTiles(int[] pixels, int[] previousPixels, int width, int height, IntBuffer body) {
+        body.put(TILE_SIZE);
+        int tileCountPosition = body.position();
+        body.put(0);
+
+        int tileCount = 0;
+        for (int tileY = 0; tileY < height; tileY += TILE_SIZE) {
+            int tileHeight = Math.min(TILE_SIZE, height - tileY);
+
+            for (int tileX = 0; tileX < width; tileX += TILE_SIZE) {
+                int tileWidth = Math.min(TILE_SIZE, width - tileX);
+
+                if (previousPixels != null && !tileChanged(pixels, previousPixels, width, tileX, tileY, tileWidth, tileHeight)) {
+                    continue;
+                }
+
+                body.put(tileX);
+                body.put(tileY);
+                for (int row = 0; row < tileHeight; row++) {
+                    body.put(pixels, (tileY + row) * width + tileX, tileWidth);
+                }
+                tileCount++;
+            }
+        }
+
+        body.put(tileCountPosition, tileCount);
+    }
+
+    private static boolean tileChanged(int[] pixels, int[] previousPixels, int width, int tileX, int tileY, int tileWidth, int tileHeight) {
+        for (int row = 0; row < tileHeight; row++) {
+            int rowStart = (tileY + row) * width + tileX;
+            if (Arrays.mismatch(pixels, rowStart, rowStart + tileWidth, previousPixels, rowStart, rowStart + tileWidth) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int deltaAt(int[] pixels, int[] previousPixels, int index) {
+        return previousPixels == null ? pixels[index] : pixels[index] ^ previousPixels[index];
+    }
+}
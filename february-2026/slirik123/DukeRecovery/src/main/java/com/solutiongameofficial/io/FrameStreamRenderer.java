@@ -0,0 +1,327 @@
+package com.solutiongameofficial.io;
+
+import com.solutiongameofficial.game.GameThreads;
+import com.solutiongameofficial.graphics.Renderer;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Copies presented frames into pooled pixel buffers, encodes them on a background thread and writes them on a writer
+ * thread of its own. When encoding or writing falls behind the oldest pending frame is dropped,
+ * so the game loop never waits on stdout.
+ * <p>
+ * A standalone renderer encodes on its own thread. Renderers of hosted sessions share one encoder executor,
+ * at most one encode task per renderer runs at a time, so frames are still written in order. Only encoding runs
+ * on the shared executor, a client that stops reading stalls its own writer and never an encoder thread.
+ */
+public final class FrameStreamRenderer implements Renderer {
+
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 120;
+    private static final int DEFAULT_MAXIMUM_PENDING_FRAMES = 2;
+    private static final int WRITE_BUFFERS = 2;
+    private static final long CLOSE_TIMEOUT_NANOSECONDS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final FrameFormat format;
+    private final OutputStream outputStream;
+    private final WritableByteChannel channel;
+    private final FrameStreamEncoder encoder;
+
+    private final BlockingQueue<FrameBuffer> pendingFrames;
+    private final BlockingQueue<FrameBuffer> freeFrames;
+    private final Executor encoderExecutor;
+    // only set when the renderer created the executor itself
+    private final ExecutorService ownedEncoderExecutor;
+    private final AtomicBoolean encoding = new AtomicBoolean();
+
+    // encoded frames travel to the writer and come back once written, so the encoder never waits on a socket
+    private final BlockingQueue<ByteBuffer> encodedFrames = new LinkedBlockingQueue<>();
+    private final BlockingQueue<ByteBuffer> freeWriteBuffers = new ArrayBlockingQueue<>(WRITE_BUFFERS);
+    private final Thread writer;
+
+    private final AtomicLong framesSubmitted = new AtomicLong();
+    private final AtomicLong framesEncoded = new AtomicLong();
+    private final AtomicLong framesDropped = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong lastFrameBytes = new AtomicLong();
+    private final AtomicLong totalEncodeNanoseconds = new AtomicLong();
+    private final AtomicLong maximumEncodeNanoseconds = new AtomicLong();
+    private final AtomicLong encodeCpuNanoseconds = new AtomicLong();
+    private final AtomicLong encodeAllocatedBytes = new AtomicLong();
+
+    private volatile boolean running = true;
+    private volatile UncheckedIOException failure;
+
+    private FrameBuffer previousFrame;
+
+    public FrameStreamRenderer(OutputStream outputStream, FrameFormat format) {
+        this(outputStream, format, DEFAULT_KEYFRAME_INTERVAL, DEFAULT_MAXIMUM_PENDING_FRAMES);
+    }
+
+    public FrameStreamRenderer(OutputStream outputStream, FrameFormat format, int keyframeInterval) {
+        this(outputStream, format, keyframeInterval, DEFAULT_MAXIMUM_PENDING_FRAMES);
+    }
+
+    public FrameStreamRenderer(OutputStream outputStream, FrameFormat format, int keyframeInterval, int maximumPendingFrames) {
+        this(outputStream, format, keyframeInterval, maximumPendingFrames, null, GameThreads.platform());
+    }
+
+    /**
+     * Encodes on the given executor, which stays open when the renderer is closed, and writes on a thread of the game.
+     */
+    public FrameStreamRenderer(OutputStream outputStream,
+                               FrameFormat format,
+                               int keyframeInterval,
+                               Executor encoderExecutor,
+                               GameThreads threads)
+    {
+        this(outputStream, format, keyframeInterval, DEFAULT_MAXIMUM_PENDING_FRAMES, encoderExecutor, threads);
+    }
+
+    private FrameStreamRenderer(OutputStream outputStream,
+                                FrameFormat format,
+                                int keyframeInterval,
+                                int maximumPendingFrames,
+                                Executor encoderExecutor,
+                                GameThreads threads)
+    {
+        if (maximumPendingFrames < 1) {
+            throw new IllegalArgumentException("maximumPendingFrames must be >= 1");
+        }
+        this.format = format;
+        this.outputStream = outputStream;
+        this.channel = Channels.newChannel(outputStream);
+        this.encoder = new FrameStreamEncoder(format, keyframeInterval);
+
+        this.pendingFrames = new ArrayBlockingQueue<>(maximumPendingFrames);
+        // one extra buffer for the frame being encoded and one for the previous frame delta formats compare against
+        this.freeFrames = new ArrayBlockingQueue<>(maximumPendingFrames + 2);
+        for (int i = 0; i < maximumPendingFrames + 2; i++) {
+            freeFrames.add(new FrameBuffer());
+        }
+
+        if (encoderExecutor == null) {
+            this.ownedEncoderExecutor = Executors.newSingleThreadExecutor(runnable ->
+                    Thread.ofPlatform().name("frame-encoder").daemon().unstarted(runnable));
+            this.encoderExecutor = ownedEncoderExecutor;
+        } else {
+            this.ownedEncoderExecutor = null;
+            this.encoderExecutor = encoderExecutor;
+        }
+
+        for (int i = 0; i < WRITE_BUFFERS; i++) {
+            freeWriteBuffers.add(ByteBuffer.allocateDirect(0));
+        }
+        this.writer = threads.unstarted("frame-writer", this::writeEncodedFrames);
+        writer.start();
+    }
+
+    @Override
+    public void present(BufferedImage image) {
+        if (failure != null) {
+            throw failure;
+        }
+        if (!running) {
+            return;
+        }
+
+        framesSubmitted.incrementAndGet();
+
+        FrameBuffer frame = freeFrames.poll();
+        if (frame == null) {
+            frame = pendingFrames.poll();
+            framesDropped.incrementAndGet();
+            if (frame == null) {
+                return;
+            }
+        }
+
+        frame.capture(image);
+        if (!pendingFrames.offer(frame)) {
+            framesDropped.incrementAndGet();
+            freeFrames.offer(frame);
+        }
+        scheduleEncoding();
+    }
+
+    public FrameFormat format() {
+        return format;
+    }
+
+    public FrameStreamStatistics statistics() {
+        long encoded = framesEncoded.get();
+        return new FrameStreamStatistics(
+                framesSubmitted.get(),
+                encoded,
+                framesDropped.get(),
+                bytesWritten.get(),
+                lastFrameBytes.get(),
+                encoded == 0 ? 0 : totalEncodeNanoseconds.get() / encoded,
+                maximumEncodeNanoseconds.get(),
+                encodeCpuNanoseconds.get(),
+                encodeAllocatedBytes.get()
+        );
+    }
+
+    /**
+     * Waits up to a second for the frames presented so far to be written, then ends the writer.
+     * A writer still blocked on a socket by then is interrupted, which closes the connection.
+     */
+    @Override
+    public void close() {
+        running = false;
+        scheduleEncoding();
+
+        long deadline = System.nanoTime() + CLOSE_TIMEOUT_NANOSECONDS;
+        while (failure == null && !isDrained() && System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        if (ownedEncoderExecutor != null) {
+            ownedEncoderExecutor.shutdown();
+        }
+        writer.interrupt();
+    }
+
+    private boolean isDrained() {
+        return pendingFrames.isEmpty() && !encoding.get() && freeWriteBuffers.size() == WRITE_BUFFERS;
+    }
+
+    private void scheduleEncoding() {
+        if (failure != null || pendingFrames.isEmpty() || !encoding.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            encoderExecutor.execute(this::encodePendingFrames);
+        } catch (RejectedExecutionException exception) {
+            // the shared executor is already shut down, the host is going away
+            encoding.set(false);
+        }
+    }
+
+    private void encodePendingFrames() {
+        long cpuStartNanoseconds = THREADS.getCurrentThreadCpuTime();
+        long allocatedStartBytes = THREADS.getCurrentThreadAllocatedBytes();
+        try {
+            // without a free write buffer the writer is behind, the frames wait and the oldest get dropped
+            ByteBuffer target;
+            while ((target = freeWriteBuffers.poll()) != null) {
+                FrameBuffer frame = pendingFrames.poll();
+                if (frame == null) {
+                    freeWriteBuffers.offer(target);
+                    break;
+                }
+                encodedFrames.offer(encode(frame, target));
+            }
+        } finally {
+            // virtual threads report -1, the numbers are only kept for platform threads
+            if (cpuStartNanoseconds >= 0L && allocatedStartBytes >= 0L) {
+                encodeCpuNanoseconds.addAndGet(THREADS.getCurrentThreadCpuTime() - cpuStartNanoseconds);
+                encodeAllocatedBytes.addAndGet(THREADS.getCurrentThreadAllocatedBytes() - allocatedStartBytes);
+            }
+            encoding.set(false);
+        }
+
+        // a frame published or a buffer freed after the last poll but before the flag was cleared would wait otherwise
+        scheduleEncoding();
+    }
+
+    private ByteBuffer encode(FrameBuffer frame, ByteBuffer target) {
+        long startNanoseconds = System.nanoTime();
+
+        int[] previousPixels = previousFrame != null && previousFrame.hasSameSizeAs(frame) ? previousFrame.pixels : null;
+        ByteBuffer encoded = encoder.encode(frame.pixels, previousPixels, frame.width, frame.height, target);
+
+        long encodeNanoseconds = System.nanoTime() - startNanoseconds;
+        framesEncoded.incrementAndGet();
+        totalEncodeNanoseconds.addAndGet(encodeNanoseconds);
+        maximumEncodeNanoseconds.accumulateAndGet(encodeNanoseconds, Math::max);
+
+        if (format.delta) {
+            if (previousFrame != null) {
+                freeFrames.offer(previousFrame);
+            }
+            previousFrame = frame;
+        } else {
+            freeFrames.offer(frame);
+        }
+        return encoded;
+    }
+
+    private void writeEncodedFrames() {
+        try {
+            while (true) {
+                ByteBuffer encoded = encodedFrames.take();
+                int frameBytes = encoded.remaining();
+                while (encoded.hasRemaining()) {
+                    channel.write(encoded);
+                }
+                outputStream.flush();
+
+                bytesWritten.addAndGet(frameBytes);
+                lastFrameBytes.set(frameBytes);
+                freeWriteBuffers.offer(encoded);
+                scheduleEncoding();
+            }
+        } catch (InterruptedException ignored) {
+            // closed
+        } catch (IOException exception) {
+            if (running) {
+                failure = new UncheckedIOException(exception);
+                running = false;
+            }
+        }
+    }
+
+    private static final class FrameBuffer {
+
+        private int width;
+        private int height;
+        private int[] pixels = new int[0];
+
+        private void capture(BufferedImage image) {
+            width = image.getWidth();
+            height = image.getHeight();
+
+            int pixelCount = width * height;
+            if (pixels.length != pixelCount) {
+                pixels = new int[pixelCount];
+            }
+
+            if (image.getType() == BufferedImage.TYPE_INT_ARGB
+                    && image.getRaster().getDataBuffer() instanceof DataBufferInt dataBuffer
+                    && dataBuffer.getOffset() == 0
+                    && dataBuffer.getData().length == pixelCount) {
+                System.arraycopy(dataBuffer.getData(), 0, pixels, 0, pixelCount);
+            } else {
+                image.getRGB(0, 0, width, height, pixels, 0, width);
+            }
+        }
+
+        private boolean hasSameSizeAs(FrameBuffer other) {
+            return width == other.width && height == other.height;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.solutiongameofficial.io;
+
+public record FrameStreamStatistics(long framesSubmitted,
+                                    long framesEncoded,
+                                    long framesDropped,
+                                    long bytesWritten,
+                                    long lastFrameBytes,
+                                    long averageEncodeNanoseconds,
+                                    long maximumEncodeNanoseconds,
+                                    long encodeCpuNanoseconds,
+                                    long encodeAllocatedBytes) {
+
+    public double averageFrameBytes() {
+        return framesEncoded == 0 ? 0d : (double) bytesWritten / framesEncoded;
+    }
+}
@@ -0,0 +1,69 @@
+package com.solutiongameofficial.io;
+
+import com.solutiongameofficial.game.GameAction;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes the actions of a session in the {@link InputRecording} format, stamped with the simulation tick they were
+ * applied before. Every line is flushed right away, a session closed with the window still leaves a usable recording.
+ */
+public final class InputRecorder {
+
+    private static final InputRecorder DISABLED = new InputRecorder(null);
+
+    private final BufferedWriter writer;
+
+    private InputRecorder(BufferedWriter writer) {
+        this.writer = writer;
+    }
+
+    public static InputRecorder disabled() {
+        return DISABLED;
+    }
+
+    public static InputRecorder open(Path file, long seed) {
+        try {
+            InputRecorder recorder = new InputRecorder(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+            recorder.writeLine(InputRecording.HEADER);
+            recorder.writeLine("seed " + seed);
+            return recorder;
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to create input recording: " + file, exception);
+        }
+    }
+
+    public void record(long tick, GameAction action) {
+        if (writer != null) {
+            writeLine(tick + " " + action.name());
+        }
+    }
+
+    public void close(long endTick) {
+        if (writer == null) {
+            return;
+        }
+
+        writeLine("end " + endTick);
+        try {
+            writer.close();
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to close input recording", exception);
+        }
+    }
+
+    private void writeLine(String line) {
+        try {
+            writer.write(line);
+            writer.newLine();
+            writer.flush();
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to write input recording", exception);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.solutiongameofficial.io;
+
+import com.solutiongameofficial.game.GameAction;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A recorded session: the seed it was played with and every action with the simulation tick it was applied before,
+ * one tick is 1/60 s of game time. Stored as text, e.g.
+ * <pre>
+ * # DukeRecovery input recording
+ * seed 42
+ * 312 MOVE_RIGHT
+ * 340 MOVE_UP
+ * end 5400
+ * </pre>
+ * Recordings without an end line (the game was killed) end with their last action.
+ */
+public record InputRecording(long seed, List<Action> actions, long endTick) {
+
+    static final String HEADER = "# DukeRecovery input recording";
+
+    public record Action(long tick, GameAction action) { }
+
+    public static InputRecording read(Path file) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to read input recording: " + file, exception);
+        }
+
+        Long seed = null;
+        Long endTick = null;
+        List<Action> actions = new ArrayList<>();
+
+        for (int lineIndex = 0; lineIndex < lines.size(); lineIndex++) {
+            String line = lines.get(lineIndex).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            String[] parts = line.split("\\s+");
+            if (parts.length != 2) {
+                throw malformed(file, lineIndex, line);
+            }
+
+            try {
+                switch (parts[0]) {
+                    case "seed" -> seed = Long.parseLong(parts[1]);
+                    case "end" -> endTick = Long.parseLong(parts[1]);
+                    default -> {
+                        long tick = Long.parseLong(parts[0]);
+                        if (!actions.isEmpty() && tick < actions.getLast().tick()) {
+                            throw malformed(file, lineIndex, line);
+                        }
+                        actions.add(new Action(tick, GameAction.valueOf(parts[1])));
+                    }
+                }
+            } catch (IllegalArgumentException exception) {
+                throw malformed(file, lineIndex, line);
+            }
+        }
+
+        if (seed == null) {
+            throw new IllegalStateException("Input recording has no seed: " + file);
+        }
+        if (endTick == null) {
+            endTick = actions.isEmpty() ? 0L : actions.getLast().tick();
+        }
+        return new InputRecording(seed, List.copyOf(actions), endTick);
+    }
+
+    private static IllegalStateException malformed(Path file, int lineIndex, String line) {
+        return new IllegalStateException("Malformed input recording " + file + " at line " + (lineIndex + 1) + ": " + line);
+    }
+}
@@ -0,0 +1,138 @@
+package com.solutiongameofficial.io;
+
+import com.solutiongameofficial.graphics.MeshBounds;
+import com.solutiongameofficial.graphics.MeshSimplifier;
+import com.solutiongameofficial.graphics.WireMesh;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Stores loaded and simplified STL meshes as flat coordinate and edge arrays, keyed by the STL contents and the
+ * simplification cell size, so later launches only map the cache file instead of parsing and simplifying again.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MeshCache {
+
+    // bump when the file layout, the loader or the simplifier change their output
+    private static final int FORMAT_VERSION = 2;
+    private static final int MAGIC = 0x44524d48;
+    private static final int HEADER_BYTES = 4 * Integer.BYTES;
+
+    /**
+     * @param relativeCellSize simplification cell size as a fraction of the largest mesh dimension, 0 keeps the welded mesh
+     */
+    public static WireMesh loadSimplifiedFromResource(String resourcePath, double relativeCellSize) {
+        return loadLevelsOfDetailFromResource(resourcePath, relativeCellSize)[0];
+    }
+
+    /**
+     * Every level is cached on its own, levels missing from the cache are simplified together from a single parse.
+     */
+    public static WireMesh[] loadLevelsOfDetailFromResource(String resourcePath, double... relativeCellSizes) {
+        ByteBuffer stlBytes = StlLoader.openResource(resourcePath);
+        String sourceHash = ResourceLoader.sha256(stlBytes);
+
+        WireMesh[] levels = new WireMesh[relativeCellSizes.length];
+        Path[] files = new Path[relativeCellSizes.length];
+        int missingLevelCount = 0;
+
+        for (int level = 0; level < relativeCellSizes.length; level++) {
+            String key = ResourceLoader.sha256((sourceHash + ":" + relativeCellSizes[level]).getBytes(StandardCharsets.UTF_8));
+            files[level] = CacheFiles.directory("mesh").resolve(key + ".mesh");
+            levels[level] = read(files[level]);
+            if (levels[level] == null) {
+                missingLevelCount++;
+            }
+        }
+
+        if (missingLevelCount == 0) {
+            return levels;
+        }
+
+        WireMesh rawMesh = StlLoader.load(stlBytes);
+        MeshBounds rawMeshBounds = MeshBounds.from(rawMesh);
+        double rawMeshSize = Math.max(rawMeshBounds.sizeX(), Math.max(rawMeshBounds.sizeY(), rawMeshBounds.sizeZ()));
+        if (rawMeshSize <= 0.0) {
+            rawMeshSize = 1.0;
+        }
+
+        int[] missingLevels = new int[missingLevelCount];
+        double[] missingCellSizes = new double[missingLevelCount];
+        for (int level = 0, missing = 0; level < relativeCellSizes.length; level++) {
+            if (levels[level] == null) {
+                missingLevels[missing] = level;
+                missingCellSizes[missing] = relativeCellSizes[level] * rawMeshSize;
+                missing++;
+            }
+        }
+
+        WireMesh[] simplified = MeshSimplifier.buildLevelsOfDetail(rawMesh, missingCellSizes);
+        for (int missing = 0; missing < missingLevelCount; missing++) {
+            int level = missingLevels[missing];
+            levels[level] = simplified[missing];
+            write(files[level], levels[level]);
+        }
+        return levels;
+    }
+
+    private static WireMesh read(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer contents = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (contents.limit() < HEADER_BYTES || contents.getInt() != MAGIC || contents.getInt() != FORMAT_VERSION) {
+                return null;
+            }
+
+            int vertexCount = contents.getInt();
+            int edgeCount = contents.getInt();
+            if (vertexCount < 0 || edgeCount < 0
+                    || contents.remaining() != (long) vertexCount * 3 * Double.BYTES + (long) edgeCount * 2 * Integer.BYTES) {
+                return null;
+            }
+
+            double[] vertexX = new double[vertexCount];
+            double[] vertexY = new double[vertexCount];
+            double[] vertexZ = new double[vertexCount];
+            int[] edgeA = new int[edgeCount];
+            int[] edgeB = new int[edgeCount];
+
+            contents.asDoubleBuffer().get(vertexX).get(vertexY).get(vertexZ);
+            contents.position(contents.position() + vertexCount * 3 * Double.BYTES);
+            contents.asIntBuffer().get(edgeA).get(edgeB);
+
+            for (int edgeIndex = 0; edgeIndex < edgeCount; edgeIndex++) {
+                if (edgeA[edgeIndex] < 0 || edgeA[edgeIndex] >= vertexCount || edgeB[edgeIndex] < 0 || edgeB[edgeIndex] >= vertexCount) {
+                    return null;
+                }
+            }
+
+            return new WireMesh(vertexX, vertexY, vertexZ, edgeA, edgeB);
+        } catch (IOException exception) {
+            return null;
+        }
+    }
+
+    private static void write(Path file, WireMesh mesh) {
+        int vertexCount = mesh.vertexCount();
+        int edgeCount = mesh.edgeCount();
+
+        ByteBuffer contents = ByteBuffer.allocate(HEADER_BYTES + vertexCount * 3 * Double.BYTES + edgeCount * 2 * Integer.BYTES);
+        contents.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(vertexCount).putInt(edgeCount);
+        contents.asDoubleBuffer().put(mesh.vertexX()).put(mesh.vertexY()).put(mesh.vertexZ());
+        contents.position(contents.position() + vertexCount * 3 * Double.BYTES);
+        contents.asIntBuffer().put(mesh.edgeA()).put(mesh.edgeB());
+
+        CacheFiles.writeAtomically(file, contents.array());
+    }
+}
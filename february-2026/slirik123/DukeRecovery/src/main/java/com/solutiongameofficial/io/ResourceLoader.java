@@ -6,22 +6,35 @@ import lombok.NoArgsConstructor;
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class ResourceLoader {
 
     private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
 
+    private static final Map<String, BufferedImage> IMAGES_BY_PATH = new ConcurrentHashMap<>();
+    private static final Map<String, BufferedImage> IMAGES_BY_CONTENT = new ConcurrentHashMap<>();
+    // BufferedImage keeps identity equality, so this maps each shared instance to its content hash
+    private static final Map<BufferedImage, String> CONTENT_HASHES = new ConcurrentHashMap<>();
+
     public static InputStream open(String path) {
         String normalized = path.startsWith("/") ? path.substring(1) : path;
         InputStream stream = Thread.currentThread().getContextClassLoader().getResourceAsStream(normalized);
@@ -50,9 +63,70 @@ public final class ResourceLoader {
         }
     }
 
+    /**
+     * Decodes every resource at most once and hands the same image to every caller, also when two paths
+     * have identical contents. Returned images are shared, so callers must never draw into them.
+     */
     public static BufferedImage loadImage(String path) {
-        try (InputStream inputStream = open(path)) {
-            BufferedImage image = ImageIO.read(inputStream);
+        BufferedImage image = IMAGES_BY_PATH.get(path);
+        if (image != null) {
+            return image;
+        }
+
+        // loaded outside the maps so a slow read or decode does not block other keys, a racing caller may
+        // decode the same resource but only the first image published is kept
+        BufferedImage loaded = loadSharedImage(path);
+        BufferedImage winner = IMAGES_BY_PATH.putIfAbsent(path, loaded);
+        return winner != null ? winner : loaded;
+    }
+
+    /**
+     * SHA-256 of the encoded resource an image was loaded from, or null for images that did not come from {@link #loadImage}.
+     */
+    public static String contentHash(BufferedImage image) {
+        return CONTENT_HASHES.get(image);
+    }
+
+    public static String sha256(byte[] bytes) {
+        return sha256(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Hashes the remaining bytes without moving the position of the given buffer.
+     */
+    public static String sha256(ByteBuffer bytes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(bytes.duplicate());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 not available", exception);
+        }
+    }
+
+    private static BufferedImage loadSharedImage(String path) {
+        byte[] bytes = readAllBytes(path);
+        String contentHash = sha256(bytes);
+
+        BufferedImage image = IMAGES_BY_CONTENT.get(contentHash);
+        if (image != null) {
+            return image;
+        }
+
+        BufferedImage decoded = decodeImage(path, bytes);
+        // the hash is recorded before publishing so the winner never shows up without one
+        CONTENT_HASHES.put(decoded, contentHash);
+        BufferedImage winner = IMAGES_BY_CONTENT.putIfAbsent(contentHash, decoded);
+        if (winner != null) {
+            CONTENT_HASHES.remove(decoded);
+            return winner;
+        }
+        return decoded;
+    }
+
+    private static BufferedImage decodeImage(String path, byte[] bytes) {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
             if (image == null) {
                 throw new IllegalStateException("Unsupported image format or corrupt resource: " + path);
             }
@@ -62,54 +136,32 @@ public final class ResourceLoader {
         }
     }
 
-    public static List<BufferedImage> loadAllImagesFromRaw() {
+    /**
+     * Image files in the raw folder, sorted by file name.
+     */
+    public static List<Path> listRawImageFiles() {
         Path rawDir = getProjectResourceDir().resolve("raw");
         if (!Files.exists(rawDir)) {
             throw new IllegalStateException("Raw directory not found: " + rawDir.toAbsolutePath());
         }
 
-        try {
-            List<BufferedImage> result = new ArrayList<>();
-
-            try (DirectoryStream<Path> stream = Files.newDirectoryStream(rawDir)) {
-                for (Path file : stream) {
-                    if (!Files.isRegularFile(file)) {
-                        continue;
-                    }
-
-                    String name = file.getFileName().toString();
-                    if (!isImage(name)) {
-                        continue;
-                    }
-
-                    BufferedImage image = ImageIO.read(file.toFile());
-                    if (image == null) {
-                        throw new IllegalStateException("Unsupported image format or corrupt file: " + file);
-                    }
-
-                    result.add(image);
+        List<Path> result = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(rawDir)) {
+            for (Path file : stream) {
+                if (Files.isRegularFile(file) && isImage(file.getFileName().toString())) {
+                    result.add(file);
                 }
             }
-
-            return result;
         } catch (IOException exception) {
-            throw new IllegalStateException("Failed to load images from raw folder: " + rawDir, exception);
+            throw new IllegalStateException("Failed to list raw folder: " + rawDir, exception);
         }
-    }
 
-    public static void saveAllImagesToAsciiFolder(List<BufferedImage> images) {
-        Path asciiDir = ensureAsciiDirExists();
+        result.sort(Comparator.comparing(file -> file.getFileName().toString()));
+        return result;
+    }
 
-        try {
-            int index = 1;
-            for (BufferedImage image : images) {
-                String fileName = String.format(Locale.ROOT, "ascii_%04d.png", index++);
-                Path outFile = asciiDir.resolve(fileName);
-                ImageIO.write(image, "png", outFile.toFile());
-            }
-        } catch (IOException exception) {
-            throw new IllegalStateException("Failed to save ascii images into: " + asciiDir, exception);
-        }
+    public static Path asciiOutputDirectory() {
+        return ensureAsciiDirExists();
     }
 
     private static Path getProjectResourceDir() {
@@ -1,6 +1,7 @@
 package com.solutiongameofficial.io;
 
 import com.solutiongameofficial.game.GameAction;
+import com.solutiongameofficial.game.GameThreads;
 
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -16,20 +17,33 @@ public final class StdioInputAdapter implements AutoCloseable {
     private final BufferedReader reader;
     private final PrintStream output;
     private final Thread thread;
+    private final boolean quitOnEndOfInput;
     private volatile boolean running = true;
 
-    public StdioInputAdapter(InputFacade input, InputStream inputStream, PrintStream outputStream) {
+    public StdioInputAdapter(InputFacade input, InputStream inputStream, PrintStream outputStream, GameThreads threads) {
+        this(input, inputStream, outputStream, threads, false);
+    }
+
+    /**
+     * @param quitOnEndOfInput publish {@link GameAction#QUIT} once the input stream ends, e.g. when a client disconnects
+     */
+    public StdioInputAdapter(InputFacade input,
+                             InputStream inputStream,
+                             PrintStream outputStream,
+                             GameThreads threads,
+                             boolean quitOnEndOfInput)
+    {
         this.input = input;
+        this.quitOnEndOfInput = quitOnEndOfInput;
         this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
         this.output = outputStream;
 
-        this.thread = new Thread(this::loop, "stdio-input");
-        this.thread.setDaemon(true);
+        this.thread = threads.unstarted("stdio-input", this::loop);
     }
 
     public void start() {
         thread.start();
-        output.println("STDIN controls: UP, LEFT, DOWN, RIGHT");
+        output.println("STDIN controls: UP, LEFT, DOWN, RIGHT, PROFILER");
         output.flush();
     }
 
@@ -54,6 +68,10 @@ public final class StdioInputAdapter implements AutoCloseable {
                 output.flush();
             }
         }
+
+        if (quitOnEndOfInput) {
+            input.publish(GameAction.QUIT);
+        }
     }
 
     private GameAction parse(String raw) {
@@ -64,6 +82,7 @@ public final class StdioInputAdapter implements AutoCloseable {
             case "LEFT" -> GameAction.MOVE_LEFT;
             case "DOWN" -> GameAction.MOVE_DOWN;
             case "RIGHT" -> GameAction.MOVE_RIGHT;
+            case "PROFILER" -> GameAction.TOGGLE_PROFILER;
             default -> null;
         };
     }
@@ -1,159 +1,196 @@
 package com.solutiongameofficial.io;
 
-import com.solutiongameofficial.graphics.Vector3;
 import com.solutiongameofficial.graphics.WireMesh;
+import com.solutiongameofficial.graphics.WireMeshBuilder;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
+/**
+ * Parses binary and ASCII STL in one pass over the file, welding shared corners into one vertex.
+ */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class StlLoader {
 
+    private static final int BINARY_HEADER_BYTES = 84;
+    private static final int BINARY_TRIANGLE_BYTES = 50;
+
     public static WireMesh loadFromResource(String resourcePath) {
-        byte[] resourceBytes = ResourceLoader.readAllBytes(resourcePath);
+        return load(openResource(resourcePath));
+    }
+
+    public static WireMesh loadFromFile(Path file) {
+        return load(map(file));
+    }
+
+    public static WireMesh load(ByteBuffer stlBytes) {
+        ByteBuffer littleEndian = stlBytes.duplicate().order(ByteOrder.LITTLE_ENDIAN);
 
         // binary STL has 80-byte header + 4-byte tri count, and expected size matches
-        if (looksLikeBinaryStl(resourceBytes)) {
-            return loadBinary(resourceBytes);
+        if (looksLikeBinaryStl(littleEndian)) {
+            return loadBinary(littleEndian);
         }
 
         // Fallback: ASCII
-        String asciiText = new String(resourceBytes, StandardCharsets.US_ASCII);
-        return loadAscii(asciiText);
+        return loadAscii(littleEndian);
     }
 
-    private static boolean looksLikeBinaryStl(byte[] stlBytes) {
-        if (stlBytes.length < 84) {
-            return false;
+    /**
+     * Resources that live on the file system (running from the IDE or Gradle) are memory mapped,
+     * resources inside the jar are read into memory.
+     */
+    static ByteBuffer openResource(String resourcePath) {
+        String normalized = resourcePath.startsWith("/") ? resourcePath.substring(1) : resourcePath;
+        URL resource = Thread.currentThread().getContextClassLoader().getResource(normalized);
+
+        if (resource != null && resource.getProtocol().equals("file")) {
+            try {
+                return map(Path.of(resource.toURI()));
+            } catch (URISyntaxException | UncheckedIOException ignored) {}
         }
 
-        ByteBuffer stlByteBuffer = ByteBuffer.wrap(stlBytes).order(ByteOrder.LITTLE_ENDIAN);
-        stlByteBuffer.position(80);
+        return ByteBuffer.wrap(ResourceLoader.readAllBytes(resourcePath));
+    }
+
+    private static ByteBuffer map(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to map STL file: " + file, exception);
+        }
+    }
 
-        long triangleCount = Integer.toUnsignedLong(stlByteBuffer.getInt());
-        long expectedLength = 84L + triangleCount * 50L;
-        if (expectedLength == stlBytes.length) {
+    private static boolean looksLikeBinaryStl(ByteBuffer stlBytes) {
+        if (stlBytes.limit() < BINARY_HEADER_BYTES) {
+            return false;
+        }
+
+        long triangleCount = Integer.toUnsignedLong(stlBytes.getInt(80));
+        long expectedLength = BINARY_HEADER_BYTES + triangleCount * BINARY_TRIANGLE_BYTES;
+        if (expectedLength == stlBytes.limit()) {
             return true;
         }
 
-        int startLength = 5;
-        String startText = new String(stlBytes, 0, startLength, StandardCharsets.US_ASCII).toLowerCase();
+        byte[] startBytes = new byte[5];
+        stlBytes.get(0, startBytes);
+        String startText = new String(startBytes, StandardCharsets.US_ASCII).toLowerCase();
         return !startText.startsWith("solid");
     }
 
-    private static WireMesh loadBinary(byte[] stlBytes) {
-        ByteBuffer stlByteBuffer = ByteBuffer.wrap(stlBytes).order(ByteOrder.LITTLE_ENDIAN);
-        stlByteBuffer.position(80);
-
-        int triangleCount = stlByteBuffer.getInt();
-
-        List<Vector3> vertices = new ArrayList<>(triangleCount * 3);
-        int[] triangleA = new int[triangleCount];
-        int[] triangleB = new int[triangleCount];
-        int[] triangleC = new int[triangleCount];
+    private static WireMesh loadBinary(ByteBuffer stlBytes) {
+        int triangleCount = stlBytes.getInt(80);
+        if (BINARY_HEADER_BYTES + (long) triangleCount * BINARY_TRIANGLE_BYTES > stlBytes.limit()) {
+            throw new IllegalStateException("Binary STL is truncated, expected " + triangleCount + " triangles");
+        }
 
-        // 80 header + 4 count
-        stlByteBuffer.position(84);
+        WireMeshBuilder builder = new WireMeshBuilder(triangleCount);
 
         for (int triangleIndex = 0; triangleIndex < triangleCount; triangleIndex++) {
-            // normal (ignored)
-            stlByteBuffer.getFloat();
-            stlByteBuffer.getFloat();
-            stlByteBuffer.getFloat();
-
-            int vertexIndexA = vertices.size();
-            vertices.add(new Vector3(stlByteBuffer.getFloat(), stlByteBuffer.getFloat(), stlByteBuffer.getFloat()));
-
-            int vertexIndexB = vertices.size();
-            vertices.add(new Vector3(stlByteBuffer.getFloat(), stlByteBuffer.getFloat(), stlByteBuffer.getFloat()));
-
-            int vertexIndexC = vertices.size();
-            vertices.add(new Vector3(stlByteBuffer.getFloat(), stlByteBuffer.getFloat(), stlByteBuffer.getFloat()));
+            // 12 bytes normal (ignored), 3 corners of 12 bytes, 2 bytes attribute count (ignored)
+            int offset = BINARY_HEADER_BYTES + triangleIndex * BINARY_TRIANGLE_BYTES + 12;
 
-            triangleA[triangleIndex] = vertexIndexA;
-            triangleB[triangleIndex] = vertexIndexB;
-            triangleC[triangleIndex] = vertexIndexC;
+            int vertexIndexA = builder.addVertex(stlBytes.getFloat(offset), stlBytes.getFloat(offset + 4), stlBytes.getFloat(offset + 8));
+            int vertexIndexB = builder.addVertex(stlBytes.getFloat(offset + 12), stlBytes.getFloat(offset + 16), stlBytes.getFloat(offset + 20));
+            int vertexIndexC = builder.addVertex(stlBytes.getFloat(offset + 24), stlBytes.getFloat(offset + 28), stlBytes.getFloat(offset + 32));
 
-            // attribute byte count
-            stlByteBuffer.getShort();
+            builder.addTriangle(vertexIndexA, vertexIndexB, vertexIndexC);
         }
 
-        WireMesh.Triangles triangles = new WireMesh.Triangles(vertices, triangleA, triangleB, triangleC);
-        return WireMesh.fromTriangles(triangles.vertices(), triangles.triangleA(), triangles.triangleB(), triangles.triangleC());
+        return builder.build();
     }
 
-    private static WireMesh loadAscii(String stlText) {
-        String[] lines = stlText.split("\n");
+    private static WireMesh loadAscii(ByteBuffer stlBytes) {
+        // ASCII STL takes roughly 250 bytes per facet
+        WireMeshBuilder builder = new WireMeshBuilder(stlBytes.limit() / 250);
+        AsciiTokenizer tokenizer = new AsciiTokenizer(stlBytes);
 
-        List<Vector3> vertices = new ArrayList<>();
-        List<Integer> triangleA = new ArrayList<>();
-        List<Integer> triangleB = new ArrayList<>();
-        List<Integer> triangleC = new ArrayList<>();
+        int[] pendingVertices = new int[3];
+        int pendingVertexCount = 0;
 
-        Vector3 pendingVertex0 = null;
-        Vector3 pendingVertex1 = null;
-        Vector3 pendingVertex2 = null;
-
-        for (String rawLine : lines) {
-            String trimmedLine = rawLine.trim();
-            if (!trimmedLine.startsWith("vertex ")) {
+        while (tokenizer.next()) {
+            if (!tokenizer.tokenEquals("vertex")) {
                 continue;
             }
 
-            String[] parts = trimmedLine.split("\\s+");
-            if (parts.length < 4) {
-                continue;
-            }
+            float x = tokenizer.nextFloat();
+            float y = tokenizer.nextFloat();
+            float z = tokenizer.nextFloat();
 
-            float x = Float.parseFloat(parts[1]);
-            float y = Float.parseFloat(parts[2]);
-            float z = Float.parseFloat(parts[3]);
-
-            if (pendingVertex0 == null) {
-                pendingVertex0 = new Vector3(x, y, z);
-            } else if (pendingVertex1 == null) {
-                pendingVertex1 = new Vector3(x, y, z);
-            } else {
-                pendingVertex2 = new Vector3(x, y, z);
+            pendingVertices[pendingVertexCount++] = builder.addVertex(x, y, z);
+            if (pendingVertexCount == 3) {
+                builder.addTriangle(pendingVertices[0], pendingVertices[1], pendingVertices[2]);
+                pendingVertexCount = 0;
             }
+        }
 
-            if (pendingVertex1 != null && pendingVertex2 != null) {
-                int vertexIndexA = vertices.size();
-                vertices.add(pendingVertex0);
+        return builder.build();
+    }
+
+    /**
+     * Splits the file on whitespace without building a String for anything but the numbers.
+     */
+    private static final class AsciiTokenizer {
 
-                int vertexIndexB = vertices.size();
-                vertices.add(pendingVertex1);
+        private final ByteBuffer bytes;
+        private final byte[] token = new byte[64];
+        private int tokenLength;
+        private int position;
 
-                int vertexIndexC = vertices.size();
-                vertices.add(pendingVertex2);
+        private AsciiTokenizer(ByteBuffer bytes) {
+            this.bytes = bytes;
+        }
 
-                triangleA.add(vertexIndexA);
-                triangleB.add(vertexIndexB);
-                triangleC.add(vertexIndexC);
+        private boolean next() {
+            int limit = bytes.limit();
+            while (position < limit && isWhitespace(bytes.get(position))) {
+                position++;
+            }
+            if (position >= limit) {
+                return false;
+            }
 
-                pendingVertex0 = null;
-                pendingVertex1 = null;
-                pendingVertex2 = null;
+            tokenLength = 0;
+            while (position < limit && !isWhitespace(bytes.get(position))) {
+                if (tokenLength < token.length) {
+                    token[tokenLength] = bytes.get(position);
+                }
+                tokenLength++;
+                position++;
             }
+            return true;
         }
 
-        int triangleCount = triangleA.size();
-        int[] triangleAArray = new int[triangleCount];
-        int[] triangleBArray = new int[triangleCount];
-        int[] triangleCArray = new int[triangleCount];
+        private boolean tokenEquals(String expected) {
+            if (tokenLength != expected.length()) {
+                return false;
+            }
+            for (int index = 0; index < tokenLength; index++) {
+                if (token[index] != expected.charAt(index)) {
+                    return false;
+                }
+            }
+            return true;
+        }
 
-        for (int triangleIndex = 0; triangleIndex < triangleCount; triangleIndex++) {
-            triangleAArray[triangleIndex] = triangleA.get(triangleIndex);
-            triangleBArray[triangleIndex] = triangleB.get(triangleIndex);
-            triangleCArray[triangleIndex] = triangleC.get(triangleIndex);
+        private float nextFloat() {
+            if (!next() || tokenLength > token.length) {
+                throw new IllegalStateException("Malformed ASCII STL vertex near byte " + position);
+            }
+            return Float.parseFloat(new String(token, 0, tokenLength, StandardCharsets.US_ASCII));
         }
 
-        WireMesh.Triangles triangles = new WireMesh.Triangles(vertices, triangleAArray, triangleBArray, triangleCArray);
-        return WireMesh.fromTriangles(triangles.vertices(), triangles.triangleA(), triangles.triangleB(), triangles.triangleC());
+        private static boolean isWhitespace(byte value) {
+            return value == ' ' || value == '\n' || value == '\r' || value == '\t';
+        }
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import com.solutiongameofficial.graphics.AsciiColorMode;
 import com.solutiongameofficial.graphics.parser.ImageToAsciiParser;
 import lombok.RequiredArgsConstructor;
 
+import java.awt.*;
 import java.awt.image.BufferedImage;
 
 @RequiredArgsConstructor
@@ -46,6 +47,13 @@ public final class AsciiPresenter {
     }
 
     public BufferedImage get(BufferedImage normalLayer) {
+        return get(normalLayer, null);
+    }
+
+    /**
+     * @param dirtyRegion area of normalLayer that may have changed since the last refresh, null if unknown
+     */
+    public BufferedImage get(BufferedImage normalLayer, Rectangle dirtyRegion) {
         if (normalLayer == null) {
             throw new IllegalArgumentException("normalLayer is null");
         }
@@ -63,7 +71,7 @@ public final class AsciiPresenter {
         refreshAccumulatorSeconds = 0.0;
         dirty = false;
 
-        asciiLayer = asciiParser.parse(normalLayer, 4, AsciiColorMode.KEEP_COLORS);
+        asciiLayer = asciiParser.parseIncremental(normalLayer, 4, AsciiColorMode.KEEP_COLORS, dirtyRegion);
         return asciiLayer;
     }
 }
\ No newline at end of file
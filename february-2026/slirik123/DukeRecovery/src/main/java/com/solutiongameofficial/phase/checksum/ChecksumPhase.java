@@ -28,7 +28,7 @@ public final class ChecksumPhase implements Phase {
     @Override
     public BufferedImage content() {
         BufferedImage normal = renderer.render(state);
-        return presenter.get(normal);
+        return presenter.get(normal, renderer.dirtyRegion(state));
     }
 
     {
@@ -1,7 +1,12 @@
 package com.solutiongameofficial.phase.checksum;
 
+import com.solutiongameofficial.graphics.AlphaComposites;
+import com.solutiongameofficial.graphics.RenderStyle;
+import com.solutiongameofficial.graphics.RenderTarget;
+
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.util.Arrays;
 
 public final class ChecksumRenderer {
 
@@ -20,73 +25,102 @@ public final class ChecksumRenderer {
     private static final Font MAIN_FONT = new Font("Arial", Font.BOLD, 128);
     private static final Font HUD_FONT = new Font("Arial", Font.PLAIN, 64);
 
-    private BufferedImage normalLayer;
+    private static final RenderStyle MAIN_STYLE = RenderStyle.ALIASED.withFont(MAIN_FONT);
+    private static final RenderStyle HUD_STYLE = RenderStyle.ALIASED.withFont(HUD_FONT).withColor(HUD_COLOR);
+    private static final RenderStyle UNDERLINE_STYLE = RenderStyle.ANTIALIASED.withColor(UNDERLINE_COLOR);
+
+    private static final int DIRTY_REGION_MARGIN = 8;
+
+    private final RenderTarget normalLayer = new RenderTarget(BufferedImage.TYPE_INT_ARGB);
+    private boolean initialized;
 
     private FontMetrics mainFontMetrics;
     private int characterHeight;
     private int characterSpacing;
     private int cellWidth;
 
-    private final AlphaComposite[] alphaCompositeCache = new AlphaComposite[256];
-
-    public void initialize() {
-        normalLayer = new BufferedImage(IMAGE_WIDTH, IMAGE_HEIGHT, BufferedImage.TYPE_INT_ARGB);
-
-        Graphics2D graphics2D = normalLayer.createGraphics();
-        try {
-            graphics2D.setFont(MAIN_FONT);
-            mainFontMetrics = graphics2D.getFontMetrics();
+    /**
+     * Text at 128pt is filled from the glyph outlines, which allocates a path for every character drawn.
+     * The symbols are rasterized once per colour and opacity instead, indexed by [opaque][selected][character].
+     */
+    private final Glyph[][][] glyphs = new Glyph[2][2][128];
 
-            characterHeight = mainFontMetrics.getAscent();
-            cellWidth = mainFontMetrics.charWidth('W') + 6;
-            characterSpacing = cellWidth;
+    // reused every frame: the symbol being drawn, the dirty region and the HUD line
+    private final char[] symbol = new char[1];
+    private final Rectangle dirtyRegion = new Rectangle();
+    private String expectedSequence;
+    private String expectedLabel;
 
-            for (int alpha = 0; alpha < 256; alpha++) {
-                alphaCompositeCache[alpha] = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha / 255f);
+    public void initialize() {
+        normalLayer.ensureSize(IMAGE_WIDTH, IMAGE_HEIGHT);
+        for (Glyph[][] glyphsForOpacity : glyphs) {
+            for (Glyph[] glyphsForColor : glyphsForOpacity) {
+                Arrays.fill(glyphsForColor, null);
             }
-        } finally {
-            graphics2D.dispose();
         }
+        initialized = true;
+
+        mainFontMetrics = normalLayer.graphics(MAIN_STYLE).getFontMetrics();
+        characterHeight = mainFontMetrics.getAscent();
+        cellWidth = mainFontMetrics.charWidth('W') + 6;
+        characterSpacing = cellWidth;
     }
 
     public BufferedImage render(ChecksumState state) {
-        if (normalLayer == null) {
+        if (!initialized) {
             initialize();
         }
 
-        Graphics2D graphics2D = normalLayer.createGraphics();
-        try {
-            graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
-            graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
-
-            graphics2D.setColor(BACKGROUND_COLOR);
-            graphics2D.fillRect(0, 0, IMAGE_WIDTH, IMAGE_HEIGHT);
+        Graphics2D graphics2D = normalLayer.graphics(MAIN_STYLE);
+        Graphics2D underlineGraphics = normalLayer.graphics(UNDERLINE_STYLE);
 
-            graphics2D.setFont(MAIN_FONT);
+        graphics2D.setColor(BACKGROUND_COLOR);
+        graphics2D.fillRect(0, 0, IMAGE_WIDTH, IMAGE_HEIGHT);
 
-            int selectedIndex = state.getSelectedIndex();
-            int columns = state.getColumnCount();
+        int selectedIndex = state.getSelectedIndex();
+        int columns = state.getColumnCount();
 
-            for (int columnIndex = 0; columnIndex < columns; columnIndex++) {
-                int characterX = START_X + (columnIndex * characterSpacing);
+        for (int columnIndex = 0; columnIndex < columns; columnIndex++) {
+            int characterX = START_X + (columnIndex * characterSpacing);
 
-                drawQuantumCharacter(graphics2D, state, columnIndex, characterX, selectedIndex);
+            drawQuantumCharacter(graphics2D, state, columnIndex, characterX, selectedIndex);
 
-                if (columnIndex == selectedIndex) {
-                    graphics2D.setColor(UNDERLINE_COLOR);
-                    int underlineY = BASELINE_Y + 10;
-                    graphics2D.fillRect(characterX - 2, underlineY, characterSpacing - 2, 4);
-                }
+            if (columnIndex == selectedIndex) {
+                int underlineY = BASELINE_Y + 10;
+                underlineGraphics.fillRect(characterX - 2, underlineY, characterSpacing - 2, 4);
             }
+        }
 
-            graphics2D.setColor(HUD_COLOR);
-            graphics2D.setFont(HUD_FONT);
-            graphics2D.drawString("Expected: " + state.getExpectedSequence(), 400, 920);
+        normalLayer.graphics(HUD_STYLE).drawString(expectedLabel(state), 400, 920);
 
-            return normalLayer;
-        } finally {
-            graphics2D.dispose();
+        return normalLayer.image();
+    }
+
+    /**
+     * Area that can differ between two renders: the scrolling columns and their underline.
+     * The background and the expected sequence are static. The returned rectangle is overwritten by the next call.
+     */
+    public Rectangle dirtyRegion(ChecksumState state) {
+        if (!initialized) {
+            initialize();
         }
+
+        // base characters scroll up to one character height above the baseline, next characters one below it
+        int top = BASELINE_Y - 2 * characterHeight - DIRTY_REGION_MARGIN;
+        int bottom = BASELINE_Y + characterHeight + mainFontMetrics.getDescent() + DIRTY_REGION_MARGIN;
+        int left = START_X - 2 - DIRTY_REGION_MARGIN;
+        int right = START_X + state.getColumnCount() * characterSpacing + DIRTY_REGION_MARGIN;
+
+        dirtyRegion.setBounds(left, top, right - left, bottom - top);
+        return dirtyRegion;
+    }
+
+    private String expectedLabel(ChecksumState state) {
+        if (!state.getExpectedSequence().equals(expectedSequence)) {
+            expectedSequence = state.getExpectedSequence();
+            expectedLabel = "Expected: " + expectedSequence;
+        }
+        return expectedLabel;
     }
 
     private void drawQuantumCharacter(Graphics2D graphics2D,
@@ -118,17 +152,62 @@ public final class ChecksumRenderer {
 
         Composite originalComposite = graphics2D.getComposite();
 
-        graphics2D.setColor(columnIndex == selectedIndex ? SELECTED_COLOR : TEXT_COLOR);
-
-        graphics2D.setComposite(alphaCompositeCache[baseAlpha255]);
-        graphics2D.drawString(String.valueOf(baseCharacter), characterX + baseOffsetX, BASELINE_Y - offsetPixels);
+        boolean selected = columnIndex == selectedIndex;
 
-        graphics2D.setComposite(alphaCompositeCache[nextAlpha255]);
-        graphics2D.drawString(String.valueOf(nextCharacter), characterX + nextOffsetX, BASELINE_Y + (characterHeight - offsetPixels));
+        drawSymbol(graphics2D, baseCharacter, selected, baseAlpha255, characterX + baseOffsetX, BASELINE_Y - offsetPixels);
+        drawSymbol(graphics2D, nextCharacter, selected, nextAlpha255, characterX + nextOffsetX, BASELINE_Y + (characterHeight - offsetPixels));
 
         graphics2D.setComposite(originalComposite);
     }
 
+    private void drawSymbol(Graphics2D graphics2D, char character, boolean selected, int alpha255, int x, int baselineY) {
+        graphics2D.setComposite(AlphaComposites.srcOver255(alpha255));
+
+        if (character >= glyphs[0][0].length) {
+            graphics2D.setColor(selected ? SELECTED_COLOR : TEXT_COLOR);
+            symbol[0] = character;
+            graphics2D.drawChars(symbol, 0, 1, x, baselineY);
+            return;
+        }
+
+        boolean opaque = alpha255 == 255;
+        Glyph[] glyphsForColor = glyphs[opaque ? 1 : 0][selected ? 1 : 0];
+        Glyph glyph = glyphsForColor[character];
+        if (glyph == null) {
+            glyph = rasterizeGlyph(character, selected ? SELECTED_COLOR : TEXT_COLOR, opaque);
+            glyphsForColor[character] = glyph;
+        }
+
+        graphics2D.drawImage(glyph.image(), x + glyph.bounds().x, baselineY + glyph.bounds().y, null);
+    }
+
+    private Glyph rasterizeGlyph(char character, Color color, boolean opaque) {
+        // pixel bounds relative to the origin, padded since the outline fill rounds differently than the bounds
+        Rectangle bounds = MAIN_FONT.createGlyphVector(mainFontMetrics.getFontRenderContext(), new char[] {character})
+                .getPixelBounds(null, 0, 0);
+        bounds.grow(2, 2);
+
+        BufferedImage glyphImage = new BufferedImage(Math.max(1, bounds.width), Math.max(1, bounds.height), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D glyphGraphics = glyphImage.createGraphics();
+        try {
+            glyphGraphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+            glyphGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+            glyphGraphics.setFont(MAIN_FONT);
+            glyphGraphics.setColor(color);
+            // Translucent outlines are filled a pixel off the opaque ones. This rounds to full alpha but still
+            // takes the translucent path, so the cached glyph matches drawChars at any alpha below one.
+            if (!opaque) {
+                glyphGraphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.999f));
+            }
+
+            symbol[0] = character;
+            glyphGraphics.drawChars(symbol, 0, 1, -bounds.x, -bounds.y);
+        } finally {
+            glyphGraphics.dispose();
+        }
+        return new Glyph(glyphImage, bounds);
+    }
+
     private static int clampAlpha255(int value) {
         if (value < 0) {
             return 0;
@@ -140,4 +219,6 @@ public final class ChecksumRenderer {
         int result = value % mod;
         return result < 0 ? result + mod : result;
     }
-}
\ No newline at end of file
+
+    private record Glyph(BufferedImage image, Rectangle bounds) { }
+}
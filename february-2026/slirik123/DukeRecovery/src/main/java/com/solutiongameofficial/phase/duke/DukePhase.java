@@ -10,13 +10,21 @@ import java.awt.image.BufferedImage;
 
 public final class DukePhase implements Phase {
 
-    private final MemoryDefragState state = new MemoryDefragState();
+    private final MemoryDefragState state;
     private final MemoryDefragRenderer renderer = new MemoryDefragRenderer();
     private final AsciiPresenter presenter = new AsciiPresenter(new ImageToAsciiParser());
 
     @Getter
     private boolean failed;
 
+    public DukePhase(long seed) {
+        state = new MemoryDefragState(seed);
+        renderer.initialize();
+        state.initialize(renderer.getMeshBounds());
+        presenter.initialize();
+        presenter.markDirty();
+    }
+
     @Override
     public boolean update(GameAction action, double deltaTime) {
         boolean changed = state.applyInput(action);
@@ -39,11 +47,4 @@ public final class DukePhase implements Phase {
         BufferedImage normal = renderer.render(state);
         return presenter.get(normal);
     }
-
-    {
-        renderer.initialize();
-        state.initialize(renderer.getMeshBounds());
-        presenter.initialize();
-        presenter.markDirty();
-    }
 }
\ No newline at end of file
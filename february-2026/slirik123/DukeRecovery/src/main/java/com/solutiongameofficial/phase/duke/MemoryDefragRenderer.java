@@ -1,10 +1,9 @@
 package com.solutiongameofficial.phase.duke;
 
 import com.solutiongameofficial.graphics.MeshBounds;
-import com.solutiongameofficial.graphics.MeshSimplifier;
-import com.solutiongameofficial.graphics.Vector3;
 import com.solutiongameofficial.graphics.WireMesh;
-import com.solutiongameofficial.io.StlLoader;
+import com.solutiongameofficial.graphics.projection.WireframeProjector;
+import com.solutiongameofficial.io.MeshCache;
 import lombok.Getter;
 
 import java.awt.image.BufferedImage;
@@ -19,28 +18,23 @@ public final class MemoryDefragRenderer {
     private static final int DARK_GRAY = 0xFF141414;
     private static final int MID_GRAY = 0xFF2A2A2A;
 
+    // a coarser level is only used once the finer one would put its detail closer together than this
+    private static final double MIN_CELL_PIXELS = 4.0;
+
     private BufferedImage frame;
     private int[] pixels;
 
-    private WireMesh mesh;
+    private final WireframeProjector projector = new WireframeProjector();
+
+    private WireMesh[] levelsOfDetail;
     @Getter private MeshBounds meshBounds;
 
     public void initialize() {
         frame = new BufferedImage(MemoryDefragState.WIDTH, MemoryDefragState.HEIGHT, BufferedImage.TYPE_INT_ARGB);
         pixels = ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
 
-        WireMesh rawMesh = StlLoader.loadFromResource("/stl/duke.stl");
-
-        MeshBounds rawMeshBounds = MeshBounds.from(rawMesh);
-        double rawMeshSize = Math.max(rawMeshBounds.sizeX(), Math.max(rawMeshBounds.sizeY(), rawMeshBounds.sizeZ()));
-        if (rawMeshSize <= 0.0) {
-            rawMeshSize = 1.0;
-        }
-
-        double quantizationCellSize = rawMeshSize * 0.012;
-
-        this.mesh = MeshSimplifier.quantizeAndRebuild(rawMesh, quantizationCellSize);
-        this.meshBounds = MeshBounds.from(mesh);
+        this.levelsOfDetail = DukeMesh.LEVELS_OF_DETAIL;
+        this.meshBounds = DukeMesh.BOUNDS;
     }
 
     public BufferedImage render(MemoryDefragState state) {
@@ -74,40 +68,15 @@ public final class MemoryDefragRenderer {
         double corruptionProgress = state.modelCorruption();
         double corruptionCutOriginalSpace = originalMeshMinY + (originalMeshMaxY - originalMeshMinY) * corruptionProgress;
 
-        int vertexCount = mesh.vertexCount();
-        int[] projectedScreenXByVertex = new int[vertexCount];
-        int[] projectedScreenYByVertex = new int[vertexCount];
-        double[] rotatedYByVertex = new double[vertexCount];
-
         double meshBoundsSize = Math.max(meshBounds.sizeX(), Math.max(meshBounds.sizeY(), meshBounds.sizeZ()));
         double cameraDistanceZ = (meshBoundsSize == 0.0 ? 1.0 : meshBoundsSize) * 2.5;
         double focalLength = 900.0;
 
-        for (int vertexIndex = 0; vertexIndex < vertexCount; vertexIndex++) {
-            Vector3 vertex = mesh.vertex(vertexIndex);
-
-            double centeredScaledX = (vertex.x() - meshBounds.centerX()) * meshScale;
-            double centeredScaledY = (vertex.y() - meshBounds.centerY()) * meshScale;
-            double centeredScaledZ = (vertex.z() - meshBounds.centerZ()) * meshScale;
-
-            Vector3 rotatedVertex = rotateXYZ(centeredScaledX, centeredScaledY, centeredScaledZ, rotationX, rotationY, rotationZ);
-
-            rotatedYByVertex[vertexIndex] = rotatedVertex.y();
-
-            double cameraSpaceZ = rotatedVertex.z() + cameraDistanceZ;
-
-            if (cameraSpaceZ <= 1.0) {
-                projectedScreenXByVertex[vertexIndex] = Integer.MIN_VALUE;
-                projectedScreenYByVertex[vertexIndex] = Integer.MIN_VALUE;
-                continue;
-            }
-
-            int projectedX = (int) (screenCenterX + (rotatedVertex.x() * focalLength) / cameraSpaceZ);
-            int projectedY = (int) (screenCenterY - (rotatedVertex.y() * focalLength) / cameraSpaceZ);
-
-            projectedScreenXByVertex[vertexIndex] = projectedX;
-            projectedScreenYByVertex[vertexIndex] = projectedY;
-        }
+        WireMesh mesh = selectLevelOfDetail(maxMeshDimension * meshScale * focalLength / cameraDistanceZ);
+        projector.project(mesh, meshBounds, meshScale, rotationX, rotationY, rotationZ, cameraDistanceZ, focalLength, screenCenterX, screenCenterY);
+        int[] projectedScreenXByVertex = projector.screenX();
+        int[] projectedScreenYByVertex = projector.screenY();
+        double[] rotatedYByVertex = projector.rotatedY();
 
         // CorruptionCut (which is in original mesh y-space) into rotated y-space approximately
         double corruptionCutRotatedSpaceY = getCorruptionCutRotatedSpaceY(originalMeshMaxY, originalMeshMinY, corruptionCutOriginalSpace);
@@ -122,7 +91,7 @@ public final class MemoryDefragRenderer {
             int screenBX = projectedScreenXByVertex[vertexBIndex];
             int screenBY = projectedScreenYByVertex[vertexBIndex];
 
-            if (screenAX == Integer.MIN_VALUE || screenBX == Integer.MIN_VALUE) {
+            if (screenAX == WireframeProjector.CLIPPED || screenBX == WireframeProjector.CLIPPED) {
                 continue;
             }
 
@@ -198,28 +167,6 @@ public final class MemoryDefragRenderer {
         }
     }
 
-    private static Vector3 rotateXYZ(double x, double y, double z, double angleX, double angleY, double angleZ) {
-        // Rotate X
-        double cosX = Math.cos(angleX);
-        double sinX = Math.sin(angleX);
-        double rotatedY1 = y * cosX - z * sinX;
-        double rotatedZ1 = y * sinX + z * cosX;
-
-        // Rotate Y
-        double cosY = Math.cos(angleY);
-        double sinY = Math.sin(angleY);
-        double rotatedX2 = x * cosY + rotatedZ1 * sinY;
-        double rotatedZ2 = -x * sinY + rotatedZ1 * cosY;
-
-        // Rotate Z
-        double cosZ = Math.cos(angleZ);
-        double sinZ = Math.sin(angleZ);
-        double rotatedX3 = rotatedX2 * cosZ - rotatedY1 * sinZ;
-        double rotatedY3 = rotatedX2 * sinZ + rotatedY1 * cosZ;
-
-        return new Vector3(rotatedX3, rotatedY3, rotatedZ2);
-    }
-
     private void fillRect(int x, int y, int w, int h, int argb) {
         int clampedX0 = clamp(x, MemoryDefragState.WIDTH);
         int clampedY0 = clamp(y, MemoryDefragState.HEIGHT);
@@ -316,7 +263,30 @@ public final class MemoryDefragRenderer {
         }
     }
 
+    /**
+     * Picks the finest level whose cells still project to at least {@link #MIN_CELL_PIXELS} on screen.
+     */
+    private WireMesh selectLevelOfDetail(double projectedMeshPixels) {
+        for (int level = 0; level < levelsOfDetail.length; level++) {
+            if (DukeMesh.RELATIVE_CELL_SIZES[level] * projectedMeshPixels >= MIN_CELL_PIXELS) {
+                return levelsOfDetail[level];
+            }
+        }
+        return levelsOfDetail[levelsOfDetail.length - 1];
+    }
+
     private static int clamp(int value, int hi) {
         return value < 0 ? 0 : Math.min(value, hi);
     }
+
+    /**
+     * The simplified meshes never change, so they are loaded once on first use and shared by every Duke phase.
+     * Every level is centered with the bounds of the finest one, so switching levels never moves the model.
+     */
+    private static final class DukeMesh {
+
+        private static final double[] RELATIVE_CELL_SIZES = {0.012, 0.024, 0.048};
+        private static final WireMesh[] LEVELS_OF_DETAIL = MeshCache.loadLevelsOfDetailFromResource("/stl/duke.stl", RELATIVE_CELL_SIZES);
+        private static final MeshBounds BOUNDS = MeshBounds.from(LEVELS_OF_DETAIL[0]);
+    }
 }
\ No newline at end of file
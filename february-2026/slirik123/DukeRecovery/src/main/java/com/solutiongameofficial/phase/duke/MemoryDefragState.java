@@ -12,7 +12,7 @@ public final class MemoryDefragState {
     public static final int HEIGHT = 1080;
     public static final int ROW_COUNT = 18;
 
-    private final SplittableRandom random = new SplittableRandom();
+    private final SplittableRandom random;
     private final MemoryRow[] rows = new MemoryRow[ROW_COUNT];
 
     private int selectedIndex = 0;
@@ -42,6 +42,13 @@ public final class MemoryDefragState {
     private double meshMinY = -1.0;
     private double meshMaxY = 1.0;
 
+    /**
+     * Fixed seed for reproducible runs such as benchmarks and replays.
+     */
+    public MemoryDefragState(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
     public void initialize(MeshBounds bounds) {
         this.meshMinY = bounds.minY();
         this.meshMaxY = bounds.maxY();
@@ -1,11 +1,14 @@
 package com.solutiongameofficial.phase.loading;
 
+import com.solutiongameofficial.graphics.AlphaComposites;
+import com.solutiongameofficial.graphics.RenderStyle;
+import com.solutiongameofficial.graphics.RenderTarget;
 import com.solutiongameofficial.graphics.parser.ImageToAsciiParser;
 import com.solutiongameofficial.graphics.parser.Parser;
 
 import java.awt.AlphaComposite;
+import java.awt.Color;
 import java.awt.Graphics2D;
-import java.awt.RenderingHints;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 
@@ -17,32 +20,32 @@ public final class LoadingRenderer {
     private static final int SEGMENTS = 16;
     private static final int VISIBLE_SEGMENTS = 4;
 
-    private static final int BACKGROUND_RGB = 0x000000;
-    private static final int OVAL_RGB = 0xFFFFFF;
+    private static final Color BACKGROUND_COLOR = new Color(0x000000);
+    private static final Color OVAL_COLOR = new Color(0xFFFFFF);
+
+    private static final float[] ALPHA_BY_TRAIL = { 1.0f, 0.70f, 0.42f, 0.18f };
 
     private static final double ROTATIONS_PER_SECOND = 0.35;
 
-    private final BufferedImage frame = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+    private static final RenderStyle SPINNER_STYLE = RenderStyle.ANTIALIASED.withQuality();
+
+    private final RenderTarget frame = new RenderTarget(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
     private final Parser asciiParser = new ImageToAsciiParser();
 
-    public BufferedImage render(LoadingState state) {
-        Graphics2D graphics = frame.createGraphics();
-        try {
-            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+    // the spinner restores the identity transform after every oval, so it never has to be copied out
+    private final AffineTransform identityTransform = new AffineTransform();
 
-            clear(graphics);
-            drawSpinner(graphics, state.elapsedSeconds());
-        } finally {
-            graphics.dispose();
-        }
+    public BufferedImage render(LoadingState state) {
+        Graphics2D graphics = frame.graphics(SPINNER_STYLE);
+        clear(graphics);
+        drawSpinner(graphics, state.elapsedSeconds());
 
-        return asciiParser.parse(frame);
+        return asciiParser.parse(frame.image());
     }
 
     private void clear(Graphics2D graphics) {
         graphics.setComposite(AlphaComposite.SrcOver);
-        graphics.setColor(new java.awt.Color(BACKGROUND_RGB));
+        graphics.setColor(BACKGROUND_COLOR);
         graphics.fillRect(0, 0, WIDTH, HEIGHT);
     }
 
@@ -63,8 +66,6 @@ public final class LoadingRenderer {
             headIndex += SEGMENTS;
         }
 
-        float[] alphaByTrail = new float[] { 1.0f, 0.70f, 0.42f, 0.18f };
-
         for (int trail = 0; trail < VISIBLE_SEGMENTS; trail++) {
             int segmentIndex = headIndex - trail;
             while (segmentIndex < 0) {
@@ -74,7 +75,7 @@ public final class LoadingRenderer {
 
             double theta = (segmentIndex * stepRadians) + baseAngleRadians;
 
-            float alpha = alphaByTrail[Math.min(trail, alphaByTrail.length - 1)];
+            float alpha = ALPHA_BY_TRAIL[Math.min(trail, ALPHA_BY_TRAIL.length - 1)];
             drawRadialOval(graphics, centerX, centerY, radiusPixels, theta, ovalThicknessPixels, ovalLengthPixels, alpha);
         }
     }
@@ -89,12 +90,9 @@ public final class LoadingRenderer {
             int ovalLengthPixels,
             float alpha
     ) {
-        AffineTransform oldTransform = graphics.getTransform();
-        java.awt.Composite oldComposite = graphics.getComposite();
-
         try {
-            graphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, clamp01(alpha)));
-            graphics.setColor(new java.awt.Color(OVAL_RGB));
+            graphics.setComposite(AlphaComposites.srcOver(clamp01(alpha)));
+            graphics.setColor(OVAL_COLOR);
 
             graphics.translate(centerX, centerY);
             graphics.rotate(thetaRadians);
@@ -105,8 +103,8 @@ public final class LoadingRenderer {
 
             graphics.fillOval(x, y, ovalThicknessPixels, ovalLengthPixels);
         } finally {
-            graphics.setTransform(oldTransform);
-            graphics.setComposite(oldComposite);
+            graphics.setTransform(identityTransform);
+            graphics.setComposite(AlphaComposite.SrcOver);
         }
     }
 
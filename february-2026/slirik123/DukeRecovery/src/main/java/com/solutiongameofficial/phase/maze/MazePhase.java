@@ -18,9 +18,9 @@ public class MazePhase implements Phase {
     private static final double SNAKE_SPAWN_SECONDS = 1.4;
     private static final double SNAKE_STEP_SECONDS = 0.06;
 
-    private final Random random = new Random(1337);
+    private final Random random;
 
-    private final MazeState mazeState = new MazeState(GRID_WIDTH, GRID_HEIGHT, random);
+    private final MazeState mazeState;
     private final MazeInputInterpreter inputInterpreter = new MazeInputInterpreter(DOUBLE_TAP_SECONDS);
     private final CorruptedSnake corruptedSnake = new CorruptedSnake(SNAKE_SPAWN_SECONDS, SNAKE_STEP_SECONDS);
     private final MazeRenderer renderer = new MazeRenderer(new ImageToAsciiParser());
@@ -28,7 +28,9 @@ public class MazePhase implements Phase {
     private boolean solvedFlashActive = false;
     private double solvedFlashSeconds = 0.0;
 
-    public MazePhase() {
+    public MazePhase(long seed) {
+        random = new Random(seed);
+        mazeState = new MazeState(GRID_WIDTH, GRID_HEIGHT, random);
         renderer.markCorruptedLayerDirty();
     }
 
@@ -1,5 +1,7 @@
 package com.solutiongameofficial.phase.maze;
 
+import com.solutiongameofficial.graphics.RenderStyle;
+import com.solutiongameofficial.graphics.RenderTarget;
 import com.solutiongameofficial.graphics.parser.Parser;
 
 import java.awt.*;
@@ -7,11 +9,48 @@ import java.awt.image.BufferedImage;
 
 public final class MazeRenderer {
 
+    private static final int CELL_SIZE_PIXELS = 64;
+    private static final int PADDING_PIXELS = 80;
+
+    private static final Font SYMBOL_FONT = new Font(Font.MONOSPACED, Font.BOLD, 32);
+    private static final Font FOOTER_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 16);
+
+    private static final Color CURSOR_COLOR = new Color(255, 255, 255, 30);
+    private static final Color START_COLOR = new Color(0, 255, 0, 35);
+    private static final Color TARGET_COLOR = new Color(255, 0, 0, 35);
+    private static final Color GRID_COLOR = new Color(255, 255, 255, 25);
+    private static final Color FLASH_COLOR = new Color(255, 255, 255, 200);
+    private static final Color FOOTER_COLOR = new Color(255, 255, 255, 180);
+
+    private static final RenderStyle GRID_STYLE = RenderStyle.ANTIALIASED;
+    private static final RenderStyle SYMBOL_STYLE = RenderStyle.ALIASED.withFont(SYMBOL_FONT);
+    private static final RenderStyle FOOTER_STYLE = RenderStyle.ALIASED.withFont(FOOTER_FONT).withColor(FOOTER_COLOR);
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final String[] SYMBOL_STRINGS = new String[DIRECTIONS.length];
+
+    static {
+        for (Direction direction : DIRECTIONS) {
+            SYMBOL_STRINGS[direction.ordinal()] = String.valueOf(direction.symbol);
+        }
+    }
+
     private final Parser asciiParser;
 
     private BufferedImage corruptedLayer = null;
     private boolean corruptedLayerDirty = true;
 
+    private final RenderTarget normalLayer = new RenderTarget(BufferedImage.TYPE_INT_ARGB);
+    private final RenderTarget finalImage = new RenderTarget(BufferedImage.TYPE_INT_ARGB);
+
+    private final int[] symbolWidths = new int[DIRECTIONS.length];
+    private int symbolAscent;
+    private int symbolHeight;
+
+    private int solvesLabelCompleted = -1;
+    private int solvesLabelRequired = -1;
+    private String solvesLabel;
+
     public MazeRenderer(Parser asciiParser) {
         this.asciiParser = asciiParser;
     }
@@ -26,115 +65,123 @@ public final class MazeRenderer {
                                 int solvesRequired,
                                 CorruptedSnake.Overlay snakeOverlay)
     {
-        int cellSizePixels = 64;
-        int paddingPixels = 80;
+        int cellSizePixels = CELL_SIZE_PIXELS;
+        int paddingPixels = PADDING_PIXELS;
 
         int imageWidth = paddingPixels * 2 + mazeState.getGridWidth() * cellSizePixels;
         int imageHeight = paddingPixels * 2 + mazeState.getGridHeight() * cellSizePixels + 120;
 
-        BufferedImage normalLayer = renderNormalLayer(mazeState, solvedFlashActive, solvedFlashSeconds, solvesRequired, imageWidth, imageHeight, cellSizePixels, paddingPixels);
+        ensureLayers(imageWidth, imageHeight);
+        renderNormalLayer(mazeState, solvedFlashActive, solvedFlashSeconds, solvesRequired, imageWidth, imageHeight, cellSizePixels, paddingPixels);
 
         if (corruptedLayer == null || corruptedLayerDirty) {
-            corruptedLayer = asciiParser.parse(normalLayer);
+            corruptedLayer = asciiParser.parse(normalLayer.image());
             corruptedLayerDirty = false;
         }
 
-        BufferedImage finalImage = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D graphics2D = finalImage.createGraphics();
-        try {
-            graphics2D.drawImage(normalLayer, 0, 0, null);
+        if (snakeOverlay == null) {
+            return normalLayer.image();
+        }
 
-            if (snakeOverlay != null) {
-                overlaySnakeStrip(graphics2D, mazeState, snakeOverlay, cellSizePixels, paddingPixels);
-            }
+        Graphics2D finalGraphics = finalImage.graphics(RenderStyle.ALIASED);
+        finalGraphics.drawImage(normalLayer.image(), 0, 0, null);
+        overlaySnakeStrip(finalGraphics, mazeState, snakeOverlay, cellSizePixels, paddingPixels);
+        return finalImage.image();
+    }
+
+    private void ensureLayers(int imageWidth, int imageHeight) {
+        finalImage.ensureSize(imageWidth, imageHeight);
+        if (!normalLayer.ensureSize(imageWidth, imageHeight)) {
+            return;
+        }
 
-            return finalImage;
-        } finally {
-            graphics2D.dispose();
+        FontMetrics fontMetrics = normalLayer.graphics(SYMBOL_STYLE).getFontMetrics();
+        for (Direction direction : DIRECTIONS) {
+            symbolWidths[direction.ordinal()] = fontMetrics.stringWidth(SYMBOL_STRINGS[direction.ordinal()]);
         }
+        symbolAscent = fontMetrics.getAscent();
+        symbolHeight = fontMetrics.getHeight();
     }
 
-    private BufferedImage renderNormalLayer(MazeState mazeState,
-                                            boolean solvedFlashActive,
-                                            double solvedFlashSeconds,
-                                            int solvesRequired,
-                                            int imageWidth,
-                                            int imageHeight,
-                                            int cellSizePixels,
-                                            int paddingPixels)
+    private void renderNormalLayer(MazeState mazeState,
+                                   boolean solvedFlashActive,
+                                   double solvedFlashSeconds,
+                                   int solvesRequired,
+                                   int imageWidth,
+                                   int imageHeight,
+                                   int cellSizePixels,
+                                   int paddingPixels)
     {
-        BufferedImage image = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D graphics2D = image.createGraphics();
-        try {
-            graphics2D.setColor(Color.BLACK);
-            graphics2D.fillRect(0, 0, imageWidth, imageHeight);
+        Graphics2D graphics2D = normalLayer.graphics(GRID_STYLE);
 
-            graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
-            graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        graphics2D.setColor(Color.BLACK);
+        graphics2D.fillRect(0, 0, imageWidth, imageHeight);
 
-            Font font = new Font(Font.MONOSPACED, Font.BOLD, 32);
-            graphics2D.setFont(font);
-            FontMetrics fontMetrics = graphics2D.getFontMetrics();
+        boolean drawFlash = solvedFlashActive && ((int) (solvedFlashSeconds * 10) % 2 == 0);
 
-            boolean drawFlash = solvedFlashActive && ((int) (solvedFlashSeconds * 10) % 2 == 0);
+        Direction[][] grid = mazeState.getGrid();
+        Point startPoint = mazeState.getStartPoint();
+        Point targetPoint = mazeState.getTargetPoint();
 
-            Direction[][] grid = mazeState.getGrid();
-            Point startPoint = mazeState.getStartPoint();
-            Point targetPoint = mazeState.getTargetPoint();
+        for (int y = 0; y < mazeState.getGridHeight(); y++) {
+            for (int x = 0; x < mazeState.getGridWidth(); x++) {
+                int pixelX = paddingPixels + x * cellSizePixels;
+                int pixelY = paddingPixels + y * cellSizePixels;
 
-            for (int y = 0; y < mazeState.getGridHeight(); y++) {
-                for (int x = 0; x < mazeState.getGridWidth(); x++) {
-                    int pixelX = paddingPixels + x * cellSizePixels;
-                    int pixelY = paddingPixels + y * cellSizePixels;
+                boolean isCursor = x == mazeState.getCursorX() && y == mazeState.getCursorY();
+                boolean isStart = x == startPoint.x && y == startPoint.y;
+                boolean isTarget = x == targetPoint.x && y == targetPoint.y;
 
-                    boolean isCursor = x == mazeState.getCursorX() && y == mazeState.getCursorY();
-                    boolean isStart = x == startPoint.x && y == startPoint.y;
-                    boolean isTarget = x == targetPoint.x && y == targetPoint.y;
-
-                    if (isCursor) {
-                        graphics2D.setColor(new Color(255, 255, 255, 30));
-                        graphics2D.fillRect(pixelX, pixelY, cellSizePixels, cellSizePixels);
-                    }
-
-                    if (isStart) {
-                        graphics2D.setColor(new Color(0, 255, 0, 35));
-                        graphics2D.fillRect(pixelX, pixelY, cellSizePixels, cellSizePixels);
-                    }
+                if (isCursor) {
+                    graphics2D.setColor(CURSOR_COLOR);
+                    graphics2D.fillRect(pixelX, pixelY, cellSizePixels, cellSizePixels);
+                }
 
-                    if (isTarget) {
-                        graphics2D.setColor(new Color(255, 0, 0, 35));
-                        graphics2D.fillRect(pixelX, pixelY, cellSizePixels, cellSizePixels);
-                    }
+                if (isStart) {
+                    graphics2D.setColor(START_COLOR);
+                    graphics2D.fillRect(pixelX, pixelY, cellSizePixels, cellSizePixels);
+                }
 
-                    graphics2D.setColor(new Color(255, 255, 255, 25));
-                    graphics2D.drawRect(pixelX, pixelY, cellSizePixels, cellSizePixels);
+                if (isTarget) {
+                    graphics2D.setColor(TARGET_COLOR);
+                    graphics2D.fillRect(pixelX, pixelY, cellSizePixels, cellSizePixels);
+                }
 
-                    char symbol = grid[y][x].symbol;
+                graphics2D.setColor(GRID_COLOR);
+                graphics2D.drawRect(pixelX, pixelY, cellSizePixels, cellSizePixels);
+            }
+        }
 
-                    graphics2D.setColor(drawFlash ? new Color(255, 255, 255, 200) : Color.WHITE);
+        // symbols stay well inside their cells, so drawing them after the whole grid gives the same pixels
+        Graphics2D symbolGraphics = normalLayer.graphics(SYMBOL_STYLE);
+        symbolGraphics.setColor(drawFlash ? FLASH_COLOR : Color.WHITE);
+        for (int y = 0; y < mazeState.getGridHeight(); y++) {
+            for (int x = 0; x < mazeState.getGridWidth(); x++) {
+                int pixelX = paddingPixels + x * cellSizePixels;
+                int pixelY = paddingPixels + y * cellSizePixels;
 
-                    String text = String.valueOf(symbol);
-                    int textWidth = fontMetrics.stringWidth(text);
-                    int textAscent = fontMetrics.getAscent();
+                int symbolIndex = grid[y][x].ordinal();
 
-                    int drawX = pixelX + (cellSizePixels - textWidth) / 2;
-                    int drawY = pixelY + (cellSizePixels - fontMetrics.getHeight()) / 2 + textAscent;
+                int drawX = pixelX + (cellSizePixels - symbolWidths[symbolIndex]) / 2;
+                int drawY = pixelY + (cellSizePixels - symbolHeight) / 2 + symbolAscent;
 
-                    graphics2D.drawString(text, drawX, drawY);
-                }
+                symbolGraphics.drawString(SYMBOL_STRINGS[symbolIndex], drawX, drawY);
             }
+        }
 
-            graphics2D.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 16));
-            graphics2D.setColor(new Color(255, 255, 255, 180));
-
-            graphics2D.drawString("Path Routing", paddingPixels, imageHeight - 80);
-            graphics2D.drawString("Solves: " + mazeState.getSolvesCompleted() + " / " + solvesRequired, paddingPixels, imageHeight - 60);
-            graphics2D.drawString("Controls: Move with arrows. Double tap to rotate.", paddingPixels, imageHeight - 40);
+        Graphics2D footerGraphics = normalLayer.graphics(FOOTER_STYLE);
+        footerGraphics.drawString("Path Routing", paddingPixels, imageHeight - 80);
+        footerGraphics.drawString(solvesLabel(mazeState.getSolvesCompleted(), solvesRequired), paddingPixels, imageHeight - 60);
+        footerGraphics.drawString("Controls: Move with arrows. Double tap to rotate.", paddingPixels, imageHeight - 40);
+    }
 
-            return image;
-        } finally {
-            graphics2D.dispose();
+    private String solvesLabel(int solvesCompleted, int solvesRequired) {
+        if (solvesCompleted != solvesLabelCompleted || solvesRequired != solvesLabelRequired) {
+            solvesLabelCompleted = solvesCompleted;
+            solvesLabelRequired = solvesRequired;
+            solvesLabel = "Solves: " + solvesCompleted + " / " + solvesRequired;
         }
+        return solvesLabel;
     }
 
     private void overlaySnakeStrip(Graphics2D graphics2D,
@@ -17,10 +17,7 @@ public final class GameEndedPhase implements Phase {
         state.update(deltaTime);
         lastFrame = renderer.render(state);
 
-        if (state.isFinished()) {
-            System.exit(0);
-        }
-        return false;
+        return state.isFinished();
     }
 
     @Override
@@ -1,7 +1,10 @@
 package com.solutiongameofficial.phase.success;
 
+import com.solutiongameofficial.graphics.AlphaComposites;
+import com.solutiongameofficial.graphics.RenderStyle;
+import com.solutiongameofficial.graphics.RenderTarget;
+
 import java.awt.*;
-import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 
 public final class GameEndedRenderer {
@@ -9,37 +12,56 @@ public final class GameEndedRenderer {
     private static final int WIDTH = 960;
     private static final int HEIGHT = 540;
 
-    private static final int BLACK = 0x000000;
-    private static final int WHITE = 0xFFFFFF;
+    private static final Color BLACK = new Color(0x000000);
+    private static final Color WHITE = new Color(0xFFFFFF);
+    private static final BasicStroke DEFAULT_STROKE = new BasicStroke();
+    private static final BasicStroke EMBLEM_STROKE = new BasicStroke(2f);
+
+    private static final Font TITLE_FONT = new Font("Monospaced", Font.BOLD, 44);
+    private static final Font SUBTITLE_FONT = new Font("Monospaced", Font.PLAIN, 16);
+    private static final Font STORY_FONT = new Font("Monospaced", Font.PLAIN, 18);
+
+    private static final String TITLE = "GAME COMPLETE";
+    private static final String SUBTITLE = "Integrity restored. The machine remembers you.";
+
+    private static final RenderStyle SHAPE_STYLE = RenderStyle.ANTIALIASED.withQuality();
+    private static final RenderStyle TITLE_STYLE = textStyle(TITLE_FONT, AlphaComposite.SrcOver);
+    private static final RenderStyle SUBTITLE_STYLE = textStyle(SUBTITLE_FONT, AlphaComposites.srcOver(0.75f));
+    private static final RenderStyle STORY_STYLE = textStyle(STORY_FONT, AlphaComposites.srcOver(0.92f));
+
+    private final RenderTarget frame = new RenderTarget(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+
+    private final int titleWidth;
+    private final int subtitleWidth;
 
-    private final BufferedImage frame = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+    // the story is typed out one character at a time, drawing prefixes of these avoids a substring per line per frame
+    private char[][] storyLineCharacters;
 
-    private final Font titleFont = new Font("Monospaced", Font.BOLD, 44);
-    private final Font subtitleFont = new Font("Monospaced", Font.PLAIN, 16);
-    private final Font storyFont = new Font("Monospaced", Font.PLAIN, 18);
+    public GameEndedRenderer() {
+        titleWidth = frame.graphics(TITLE_STYLE).getFontMetrics().stringWidth(TITLE);
+        subtitleWidth = frame.graphics(SUBTITLE_STYLE).getFontMetrics().stringWidth(SUBTITLE);
+    }
+
+    private static RenderStyle textStyle(Font font, Composite composite) {
+        return SHAPE_STYLE.withFont(font).withColor(WHITE).withComposite(composite);
+    }
 
     public BufferedImage render(GameEndedState state) {
-        Graphics2D graphics = frame.createGraphics();
-        try {
-            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-            graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-
-            clear(graphics);
-            drawVignette(graphics, state.elapsedSeconds());
-            drawScanlines(graphics, state.elapsedSeconds());
-            drawCoreEmblem(graphics, state.elapsedSeconds());
-            drawTextBlock(graphics, state);
-            drawFadeOutIfFinished(graphics, state);
-        } finally {
-            graphics.dispose();
-        }
-        return frame;
+        Graphics2D graphics = frame.graphics(SHAPE_STYLE);
+        clear(graphics);
+        drawVignette(graphics, state.elapsedSeconds());
+        drawScanlines(graphics, state.elapsedSeconds());
+        drawCoreEmblem(graphics, state.elapsedSeconds());
+        drawTextBlock(state);
+        drawFadeOutIfFinished(graphics, state);
+        return frame.image();
     }
 
     private void clear(Graphics2D graphics) {
+        // the graphics outlive the frame, so the emblem stroke has to be undone before the vignette
+        graphics.setStroke(DEFAULT_STROKE);
         graphics.setComposite(AlphaComposite.SrcOver);
-        graphics.setColor(new Color(BLACK));
+        graphics.setColor(BLACK);
         graphics.fillRect(0, 0, WIDTH, HEIGHT);
     }
 
@@ -53,8 +75,8 @@ public final class GameEndedRenderer {
             float pulse = (float) (0.5 + 0.5 * Math.sin(timeSeconds * 0.8));
             float finalAlpha = clamp01(alpha + 0.02f * pulse);
 
-            graphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, finalAlpha));
-            graphics.setColor(new Color(0, 0, 0));
+            graphics.setComposite(AlphaComposites.srcOver(finalAlpha));
+            graphics.setColor(BLACK);
             graphics.drawRect(inset, inset, WIDTH - 1 - inset * 2, HEIGHT - 1 - inset * 2);
         }
 
@@ -69,8 +91,8 @@ public final class GameEndedRenderer {
             int yy = (int) Math.floor(y + drift) % HEIGHT;
             float alpha = 0.05f;
 
-            graphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
-            graphics.setColor(new java.awt.Color(0, 0, 0));
+            graphics.setComposite(AlphaComposites.srcOver(alpha));
+            graphics.setColor(BLACK);
             graphics.drawLine(0, yy, WIDTH, yy);
         }
 
@@ -86,80 +108,64 @@ public final class GameEndedRenderer {
         int ringRadius = 68;
         int tickCount = 24;
 
-        graphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.25f));
-        graphics.setColor(new java.awt.Color(WHITE));
-        graphics.setStroke(new BasicStroke(2f));
+        graphics.setComposite(AlphaComposites.srcOver(0.25f));
+        graphics.setColor(WHITE);
+        graphics.setStroke(EMBLEM_STROKE);
         graphics.drawOval(centerX - ringRadius, centerY - ringRadius, ringRadius * 2, ringRadius * 2);
 
-        graphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.8f));
+        graphics.setComposite(AlphaComposites.srcOver(0.8f));
         graphics.fillOval(centerX - 8, centerY - 8, 16, 16);
 
-        AffineTransform old = graphics.getTransform();
-        try {
-            graphics.translate(centerX, centerY);
-            graphics.rotate(rotation);
-
-            for (int count = 0; count < tickCount; count++) {
-                double a = (2.0 * Math.PI) * ((double) count / (double) tickCount);
+        // the ticks are rotated here rather than through the transform, rotated lines allocate in Java2D
+        for (int count = 0; count < tickCount; count++) {
+            double a = (2.0 * Math.PI) * ((double) count / (double) tickCount);
 
-                float emphasis = (float) (0.35 + 0.65 * Math.max(0.0, Math.sin(a * 2.0 + timeSeconds)));
-                float alpha = clamp01(0.15f + 0.30f * emphasis);
+            float emphasis = (float) (0.35 + 0.65 * Math.max(0.0, Math.sin(a * 2.0 + timeSeconds)));
+            float alpha = clamp01(0.15f + 0.30f * emphasis);
 
-                graphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
-                graphics.setColor(new java.awt.Color(WHITE));
-                graphics.setStroke(new BasicStroke(2f));
+            graphics.setComposite(AlphaComposites.srcOver(alpha));
 
-                int x1 = (int) Math.round(Math.cos(a) * (ringRadius + 6));
-                int y1 = (int) Math.round(Math.sin(a) * (ringRadius + 6));
-                int x2 = (int) Math.round(Math.cos(a) * (ringRadius + 18));
-                int y2 = (int) Math.round(Math.sin(a) * (ringRadius + 18));
+            double cos = Math.cos(a + rotation);
+            double sin = Math.sin(a + rotation);
+            int x1 = centerX + (int) Math.round(cos * (ringRadius + 6));
+            int y1 = centerY + (int) Math.round(sin * (ringRadius + 6));
+            int x2 = centerX + (int) Math.round(cos * (ringRadius + 18));
+            int y2 = centerY + (int) Math.round(sin * (ringRadius + 18));
 
-                graphics.drawLine(x1, y1, x2, y2);
-            }
-        } finally {
-            graphics.setTransform(old);
-            graphics.setComposite(AlphaComposite.SrcOver);
+            graphics.drawLine(x1, y1, x2, y2);
         }
+
+        graphics.setComposite(AlphaComposite.SrcOver);
     }
 
-    private void drawTextBlock(Graphics2D graphics, GameEndedState state) {
+    private void drawTextBlock(GameEndedState state) {
         int centerX = WIDTH / 2;
 
-        graphics.setColor(new java.awt.Color(WHITE));
-        graphics.setFont(titleFont);
-
-        String title = "GAME COMPLETE";
-        int titleWidth = graphics.getFontMetrics().stringWidth(title);
-        graphics.drawString(title, centerX - titleWidth / 2, 150);
-
-        graphics.setFont(subtitleFont);
-        graphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.75f));
-
-        String subTitle = "Integrity restored. The machine remembers you.";
-        int subWidth = graphics.getFontMetrics().stringWidth(subTitle);
-        graphics.drawString(subTitle, centerX - subWidth / 2, 180);
-
-        graphics.setComposite(AlphaComposite.SrcOver);
+        frame.graphics(TITLE_STYLE).drawString(TITLE, centerX - titleWidth / 2, 150);
+        frame.graphics(SUBTITLE_STYLE).drawString(SUBTITLE, centerX - subtitleWidth / 2, 180);
 
-        graphics.setFont(storyFont);
         int left = 140;
         int top = 240;
         int lineHeight = 24;
 
         GameEndedStoryText storyText = state.storyText();
+        if (storyLineCharacters == null) {
+            storyLineCharacters = new char[storyText.lineCount()][];
+            for (int index = 0; index < storyLineCharacters.length; index++) {
+                storyLineCharacters[index] = storyText.line(index).toCharArray();
+            }
+        }
+
+        Graphics2D storyGraphics = frame.graphics(STORY_STYLE);
         for (int index = 0; index < storyText.lineCount(); index++) {
-            String line = storyText.visibleLine(index);
+            int visibleLength = storyText.visibleLength(index);
 
-            if (line == null || line.isEmpty()) {
+            if (visibleLength == 0) {
                 continue;
             }
 
-            graphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.92f));
-            graphics.setColor(new java.awt.Color(WHITE));
-            graphics.drawString(line, left, top + index * lineHeight);
+            storyGraphics.drawChars(storyLineCharacters[index], 0, visibleLength, left, top + index * lineHeight);
         }
-
-        graphics.setComposite(AlphaComposite.SrcOver);
     }
 
     private void drawFadeOutIfFinished(Graphics2D graphics, GameEndedState state) {
@@ -173,8 +179,8 @@ public final class GameEndedRenderer {
         }
 
         float alpha = clamp01((float) (seconds / 0.8));
-        graphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
-        graphics.setColor(new java.awt.Color(0, 0, 0));
+        graphics.setComposite(AlphaComposites.srcOver(alpha));
+        graphics.setColor(BLACK);
         graphics.fillRect(0, 0, WIDTH, HEIGHT);
         graphics.setComposite(AlphaComposite.SrcOver);
     }
@@ -64,26 +64,34 @@ public final class GameEndedStoryText {
         return lines.length;
     }
 
-    public String visibleLine(int index) {
+    public String line(int index) {
         if (index < 0 || index >= lines.length) {
             return "";
         }
+        return lines[index];
+    }
+
+    /**
+     * Number of leading characters of {@link #line(int)} typed out so far.
+     */
+    public int visibleLength(int index) {
+        if (index < 0 || index >= lines.length) {
+            return 0;
+        }
 
         if (fullyRevealed) {
-            return lines[index];
+            return lines[index].length();
         }
 
         if (index < currentLineIndex) {
-            return lines[index];
+            return lines[index].length();
         }
 
         if (index > currentLineIndex) {
-            return "";
+            return 0;
         }
 
-        String line = lines[index];
-        int count = Math.min(revealedCharactersInLine, line.length());
-        return line.substring(0, count);
+        return Math.min(revealedCharactersInLine, lines[index].length());
     }
 
     private void revealNextCharacter() {
@@ -6,12 +6,23 @@ import java.awt.image.BufferedImage;
 import java.util.List;
 
 /**
- * For caching the frames
+ * For caching the frames, repeated frames share one decoded image through {@link ResourceLoader#loadImage}
  */
 public class IntroOutroFrames {
 
     public final List<BufferedImage> IMAGES;
 
+    /**
+     * The frames never change, every game in the process plays the same ones.
+     */
+    public static IntroOutroFrames shared() {
+        return Shared.INSTANCE;
+    }
+
+    private static final class Shared {
+        private static final IntroOutroFrames INSTANCE = new IntroOutroFrames();
+    }
+
     {
         IMAGES = List.of(ResourceLoader.loadImage("ascii/DukeIP_0001.png"),
                 ResourceLoader.loadImage("ascii/DukeIP_0002.png"),
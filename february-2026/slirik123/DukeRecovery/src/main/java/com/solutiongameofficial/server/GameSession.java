@@ -0,0 +1,158 @@
+package com.solutiongameofficial.server;
+
+import com.solutiongameofficial.game.GameAction;
+import com.solutiongameofficial.game.GameLoopRunner;
+import com.solutiongameofficial.game.GameSimulation;
+import com.solutiongameofficial.game.GameThreads;
+import com.solutiongameofficial.game.RandomRegistry;
+import com.solutiongameofficial.game.profiler.FrameProfiler;
+import com.solutiongameofficial.game.profiler.FrameStage;
+import com.solutiongameofficial.io.FrameStreamRenderer;
+import com.solutiongameofficial.io.FrameStreamStatistics;
+import com.solutiongameofficial.io.InputFacade;
+import com.solutiongameofficial.io.InputRecorder;
+import com.solutiongameofficial.io.StdioInputAdapter;
+import com.solutiongameofficial.phase.Phase;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * One game played over one connection. The client sends the same commands as on stdin in headless mode
+ * and receives nothing but the frame stream, the game quits when the client disconnects.
+ */
+final class GameSession {
+
+    // stages that do work, the waits and the whole frame would count the same time twice
+    private static final List<FrameStage> WORK_STAGES = List.of(
+            FrameStage.INPUT,
+            FrameStage.SIMULATION,
+            FrameStage.PHASE_CONTENT,
+            FrameStage.PHASE_SNAPSHOT,
+            FrameStage.COMPOSE,
+            FrameStage.POST_PROCESS,
+            FrameStage.PRESENT
+    );
+
+    @Getter
+    private final int id;
+    private final SocketChannel channel;
+    private final SessionHost.Settings settings;
+    private final Executor encoderExecutor;
+    private final GameThreads threads;
+    private final List<Supplier<Phase>> phases;
+    private final RandomRegistry randoms;
+
+    private final InputFacade input = new InputFacade();
+    private final FrameProfiler profiler = new FrameProfiler();
+    private final long startNanoseconds = System.nanoTime();
+
+    private final Thread thread;
+    private volatile FrameStreamRenderer renderer;
+
+    GameSession(int id,
+                SocketChannel channel,
+                SessionHost.Settings settings,
+                List<Supplier<Phase>> phases,
+                RandomRegistry randoms,
+                Executor encoderExecutor,
+                Consumer<GameSession> onEnd)
+    {
+        this.id = id;
+        this.channel = channel;
+        this.settings = settings;
+        this.encoderExecutor = encoderExecutor;
+        this.threads = GameThreads.virtual(SessionAllocationSampler.THREAD_NAME_PREFIX + id);
+        this.phases = phases;
+        this.randoms = randoms;
+        this.thread = threads.unstarted("game-loop", () -> {
+            try {
+                run();
+            } finally {
+                onEnd.accept(this);
+            }
+        });
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void quit() {
+        input.publish(GameAction.QUIT);
+    }
+
+    /**
+     * Quits the game, waits until the {@link System#nanoTime()} deadline for it to write its last frames
+     * and drops the connection if that takes longer.
+     */
+    void stop(long deadlineNanoseconds) {
+        quit();
+        try {
+            Duration remaining = Duration.ofNanos(Math.max(0L, deadlineNanoseconds - System.nanoTime()));
+            if (thread.isAlive() && !thread.join(remaining)) {
+                disconnect();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            disconnect();
+        }
+    }
+
+    SessionMetrics metrics(long sampledAllocatedBytes) {
+        long frameNanoseconds = 0L;
+        for (FrameStage stage : WORK_STAGES) {
+            frameNanoseconds += profiler.totalNanoseconds(stage);
+        }
+
+        FrameStreamRenderer currentRenderer = renderer;
+        FrameStreamStatistics statistics = currentRenderer == null ? null : currentRenderer.statistics();
+        return new SessionMetrics(
+                id,
+                System.nanoTime() - startNanoseconds,
+                statistics == null ? 0L : statistics.framesSubmitted(),
+                statistics == null ? 0L : statistics.framesDropped(),
+                statistics == null ? 0L : statistics.bytesWritten(),
+                frameNanoseconds,
+                statistics == null ? 0L : statistics.encodeCpuNanoseconds(),
+                statistics == null ? 0L : statistics.encodeAllocatedBytes(),
+                sampledAllocatedBytes
+        );
+    }
+
+    private void run() {
+        PrintStream discardedOutput = new PrintStream(OutputStream.nullOutputStream());
+        try (channel;
+             StdioInputAdapter commands = new StdioInputAdapter(input, Channels.newInputStream(channel), discardedOutput, threads, true))
+        {
+            commands.start();
+
+            GameSimulation simulation = new GameSimulation(phases, randoms, InputRecorder.disabled(), threads);
+            renderer = new FrameStreamRenderer(Channels.newOutputStream(channel), settings.format(),
+                    settings.keyframeInterval(), encoderExecutor, threads);
+            try {
+                new GameLoopRunner(input, simulation, renderer, settings.postProcessingEnabled(), profiler, threads).run();
+            } finally {
+                renderer.close();
+            }
+        } catch (IOException | RuntimeException exception) {
+            // mostly the client going away while a frame is written
+            System.out.println("Session " + id + " ended: " + exception.getMessage());
+        }
+    }
+
+    private void disconnect() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {}
+    }
+}
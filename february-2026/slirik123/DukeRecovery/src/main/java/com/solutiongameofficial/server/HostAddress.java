@@ -0,0 +1,62 @@
+package com.solutiongameofficial.server;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Where the {@link SessionHost} listens: {@code tcp:<port>} on the loopback interface only,
+ * or {@code unix:<path>} for a Unix domain socket.
+ */
+public record HostAddress(ProtocolFamily family, SocketAddress address) {
+
+    public static HostAddress fromArgument(String argument) {
+        int separator = argument.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Host address must be tcp:<port> or unix:<path>: " + argument);
+        }
+
+        String value = argument.substring(separator + 1);
+        return switch (argument.substring(0, separator)) {
+            case "tcp" -> new HostAddress(StandardProtocolFamily.INET,
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(value)));
+            case "unix" -> new HostAddress(StandardProtocolFamily.UNIX, UnixDomainSocketAddress.of(value));
+            default -> throw new IllegalArgumentException("Host address must be tcp:<port> or unix:<path>: " + argument);
+        };
+    }
+
+    ServerSocketChannel bind() {
+        try {
+            ServerSocketChannel channel = ServerSocketChannel.open(family);
+            channel.bind(address);
+            return channel;
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to listen on " + this, exception);
+        }
+    }
+
+    /**
+     * Unix domain sockets leave their file behind.
+     */
+    void release() {
+        if (address instanceof UnixDomainSocketAddress unixAddress) {
+            Path socketFile = unixAddress.getPath();
+            try {
+                Files.deleteIfExists(socketFile);
+            } catch (IOException ignored) {}
+        }
+    }
+
+    @Override
+    public String toString() {
+        return address instanceof UnixDomainSocketAddress unixAddress ? "unix:" + unixAddress.getPath() : "tcp:" + address;
+    }
+}
@@ -0,0 +1,78 @@
+package com.solutiongameofficial.server;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Attributes JFR allocation samples to sessions by the name of the allocating thread, {@code session-<id>-...}.
+ * Every sample is weighted with the bytes allocated since the previous sample, so the sums estimate what each session
+ * allocated, virtual threads included.
+ */
+final class SessionAllocationSampler implements AutoCloseable {
+
+    static final String THREAD_NAME_PREFIX = "session-";
+
+    private static final String ALLOCATION_SAMPLE_EVENT = "jdk.ObjectAllocationSample";
+    private static final String SAMPLES_PER_SECOND = "1000/s";
+
+    private final Map<Integer, LongAdder> allocatedBytesBySession = new ConcurrentHashMap<>();
+    private final RecordingStream stream = new RecordingStream();
+
+    SessionAllocationSampler() {
+        stream.enable(ALLOCATION_SAMPLE_EVENT).with("throttle", SAMPLES_PER_SECOND);
+        stream.onEvent(ALLOCATION_SAMPLE_EVENT, this::onAllocationSample);
+    }
+
+    void start() {
+        stream.startAsync();
+    }
+
+    void register(int sessionId) {
+        allocatedBytesBySession.put(sessionId, new LongAdder());
+    }
+
+    void unregister(int sessionId) {
+        allocatedBytesBySession.remove(sessionId);
+    }
+
+    long allocatedBytes(int sessionId) {
+        LongAdder allocatedBytes = allocatedBytesBySession.get(sessionId);
+        return allocatedBytes == null ? 0L : allocatedBytes.sum();
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    private void onAllocationSample(RecordedEvent event) {
+        RecordedThread thread = event.getThread("eventThread");
+        if (thread == null || thread.getJavaName() == null) {
+            return;
+        }
+
+        int sessionId = sessionIdOf(thread.getJavaName());
+        LongAdder allocatedBytes = sessionId < 0 ? null : allocatedBytesBySession.get(sessionId);
+        if (allocatedBytes != null) {
+            allocatedBytes.add(event.getLong("weight"));
+        }
+    }
+
+    private static int sessionIdOf(String threadName) {
+        if (!threadName.startsWith(THREAD_NAME_PREFIX)) {
+            return -1;
+        }
+
+        int end = threadName.indexOf('-', THREAD_NAME_PREFIX.length());
+        try {
+            return Integer.parseInt(threadName, THREAD_NAME_PREFIX.length(), end < 0 ? threadName.length() : end, 10);
+        } catch (NumberFormatException exception) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.solutiongameofficial.server;
+
+import com.solutiongameofficial.game.RandomRegistry;
+import com.solutiongameofficial.io.FrameFormat;
+import com.solutiongameofficial.phase.Phase;
+import lombok.NonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Hosts independent games in one process, one {@link GameSession} per accepted connection.
+ * Every session runs on its own virtual threads, frames of all sessions are encoded on one pool of platform threads
+ * sized to the cores. Decoded assets are shared through the static caches of {@code ResourceLoader},
+ * {@code DerivedImageCache} and the Duke mesh, so a new session only allocates its own frame buffers.
+ */
+public final class SessionHost implements AutoCloseable {
+
+    private static final Duration SESSION_STOP_TIMEOUT = Duration.ofSeconds(2);
+
+    public record Settings(FrameFormat format,
+                           int keyframeInterval,
+                           boolean postProcessingEnabled,
+                           int maximumSessions,
+                           Duration metricsInterval) { }
+
+    private final HostAddress address;
+    private final Settings settings;
+    private final Function<RandomRegistry, List<Supplier<Phase>>> phases;
+    private final RandomRegistry randoms;
+
+    private final ExecutorService encoderExecutor;
+    private final SessionAllocationSampler allocationSampler = new SessionAllocationSampler();
+    private final Map<Integer, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger nextSessionId = new AtomicInteger(1);
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private final ServerSocketChannel serverChannel;
+    private final Thread metricsReporter;
+
+    public SessionHost(@NonNull HostAddress address,
+                       @NonNull Settings settings,
+                       @NonNull Function<RandomRegistry, List<Supplier<Phase>>> phases,
+                       @NonNull RandomRegistry randoms)
+    {
+        if (settings.maximumSessions() < 1) {
+            throw new IllegalArgumentException("maximumSessions must be >= 1");
+        }
+        this.address = address;
+        this.settings = settings;
+        this.phases = phases;
+        this.randoms = randoms;
+
+        AtomicInteger encoderThreadCount = new AtomicInteger();
+        this.encoderExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable ->
+                Thread.ofPlatform().name("frame-encoder-" + encoderThreadCount.incrementAndGet()).daemon().unstarted(runnable));
+        this.serverChannel = address.bind();
+        this.metricsReporter = Thread.ofVirtual().name("session-metrics").unstarted(this::reportMetrics);
+    }
+
+    /**
+     * Accepts connections on the calling thread until the host is closed.
+     */
+    public void run() {
+        allocationSampler.start();
+        if (!settings.metricsInterval().isZero()) {
+            metricsReporter.start();
+        }
+        System.out.println("Hosting games on " + address);
+
+        while (!closed.get()) {
+            SocketChannel channel;
+            try {
+                channel = serverChannel.accept();
+            } catch (ClosedChannelException exception) {
+                break;
+            } catch (IOException exception) {
+                if (closed.get()) {
+                    break;
+                }
+                throw new UncheckedIOException("Failed to accept a connection on " + address, exception);
+            }
+
+            if (sessions.size() >= settings.maximumSessions()) {
+                System.out.println("Refused connection, " + sessions.size() + " sessions are running");
+                closeQuietly(channel);
+                continue;
+            }
+            startSession(channel);
+        }
+    }
+
+    public List<SessionMetrics> metrics() {
+        List<SessionMetrics> metrics = new ArrayList<>();
+        for (GameSession session : sessions.values()) {
+            metrics.add(metricsOf(session));
+        }
+        metrics.sort(Comparator.comparingInt(SessionMetrics::sessionId));
+        return metrics;
+    }
+
+    /**
+     * Stops accepting, quits every session and waits for them to write their last frames, all against one deadline.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        closeQuietly(serverChannel);
+        metricsReporter.interrupt();
+
+        // every session is told to quit before the first wait, so they all wind down within the same timeout
+        List<GameSession> stopping = List.copyOf(sessions.values());
+        for (GameSession session : stopping) {
+            session.quit();
+        }
+        long deadlineNanoseconds = System.nanoTime() + SESSION_STOP_TIMEOUT.toNanos();
+        for (GameSession session : stopping) {
+            session.stop(deadlineNanoseconds);
+        }
+
+        encoderExecutor.shutdown();
+        try {
+            if (!encoderExecutor.awaitTermination(1, TimeUnit.SECONDS)) {
+                encoderExecutor.shutdownNow();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            encoderExecutor.shutdownNow();
+        }
+
+        allocationSampler.close();
+        address.release();
+    }
+
+    private void startSession(SocketChannel channel) {
+        int sessionId = nextSessionId.getAndIncrement();
+        // every session plays its own game, the host seed only makes the whole set of sessions reproducible
+        RandomRegistry sessionRandoms = new RandomRegistry(randoms.nextSeed("session"));
+
+        GameSession session = new GameSession(sessionId, channel, settings, phases.apply(sessionRandoms), sessionRandoms,
+                encoderExecutor, this::sessionEnded);
+        allocationSampler.register(sessionId);
+        sessions.put(sessionId, session);
+        session.start();
+        System.out.println("Session " + sessionId + " started, " + sessions.size() + " running");
+    }
+
+    private void sessionEnded(GameSession session) {
+        sessions.remove(session.getId());
+        System.out.println(metricsOf(session).summary() + ", ended");
+        allocationSampler.unregister(session.getId());
+    }
+
+    private SessionMetrics metricsOf(GameSession session) {
+        return session.metrics(allocationSampler.allocatedBytes(session.getId()));
+    }
+
+    private void reportMetrics() {
+        try {
+            while (!closed.get()) {
+                Thread.sleep(settings.metricsInterval());
+                for (SessionMetrics metrics : metrics()) {
+                    System.out.println(metrics.summary());
+                }
+            }
+        } catch (InterruptedException ignored) {}
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ignored) {}
+    }
+}
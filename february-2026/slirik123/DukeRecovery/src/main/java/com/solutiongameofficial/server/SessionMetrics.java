@@ -0,0 +1,55 @@
+package com.solutiongameofficial.server;
+
+import java.util.Locale;
+
+/**
+ * Resource use of one hosted session so far.
+ * <p>
+ * Virtual threads report no thread CPU time or allocation, so the numbers come from where they can be measured:
+ * frame time is what the game loop and frame pipeline spent in their stages (they never block, so that is CPU time
+ * as long as the host has no more carrier threads than cores), encode time and bytes are measured exactly on the
+ * shared encoder threads, and the session's own allocations are estimated from JFR allocation samples.
+ * HUD rendering and phase preloading are only part of the allocation estimate.
+ */
+public record SessionMetrics(int sessionId,
+                             long uptimeNanoseconds,
+                             long framesPresented,
+                             long framesDropped,
+                             long bytesWritten,
+                             long frameNanoseconds,
+                             long encodeCpuNanoseconds,
+                             long encodeAllocatedBytes,
+                             long sampledAllocatedBytes) {
+
+    public long cpuNanoseconds() {
+        return frameNanoseconds + encodeCpuNanoseconds;
+    }
+
+    public long allocatedBytes() {
+        return sampledAllocatedBytes + encodeAllocatedBytes;
+    }
+
+    /**
+     * @return share of one core, 1.0 is a fully busy core
+     */
+    public double cpuLoad() {
+        return uptimeNanoseconds == 0L ? 0d : (double) cpuNanoseconds() / uptimeNanoseconds;
+    }
+
+    public double allocatedMegabytesPerSecond() {
+        return uptimeNanoseconds == 0L ? 0d : allocatedBytes() / 1_048_576d / (uptimeNanoseconds / 1e9);
+    }
+
+    public String summary() {
+        return String.format(Locale.ROOT,
+                "session %d: up %.0f s, %d frames (%d dropped), %.1f MB sent, cpu %.1f%% of a core (encode %.1f s), allocating %.1f MB/s",
+                sessionId,
+                uptimeNanoseconds / 1e9,
+                framesPresented,
+                framesDropped,
+                bytesWritten / 1_048_576d,
+                cpuLoad() * 100d,
+                encodeCpuNanoseconds / 1e9,
+                allocatedMegabytesPerSecond());
+    }
+}
@@ -0,0 +1,48 @@
+package com.solutiongameofficial.swing;
+
+import com.solutiongameofficial.graphics.Renderer;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+
+/**
+ * Draws the frame into the canvas back buffer and flips it before returning, so the image is never read after
+ * {@link #present(BufferedImage)} returns and the caller can reuse it right away.
+ */
+public final class BufferStrategyRenderer implements Renderer {
+
+    private final CanvasFrame frame;
+
+    public BufferStrategyRenderer(CanvasFrame frame) {
+        this.frame = frame;
+    }
+
+    @Override
+    public void present(BufferedImage image) {
+        int width = frame.getCanvasWidth();
+        int height = frame.getCanvasHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+
+        BufferStrategy bufferStrategy = frame.getBufferStrategy();
+        do {
+            // the back buffers are volatile, lost or restored contents mean the frame has to be drawn again
+            do {
+                Graphics2D graphics2D = (Graphics2D) bufferStrategy.getDrawGraphics();
+                try {
+                    graphics2D.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+                    graphics2D.drawImage(image, 0, 0, width, height, null);
+                } finally {
+                    graphics2D.dispose();
+                }
+            } while (bufferStrategy.contentsRestored());
+
+            bufferStrategy.show();
+        } while (bufferStrategy.contentsLost());
+
+        // flushes the window system queue, without it some X11 setups show frames in bursts
+        Toolkit.getDefaultToolkit().sync();
+    }
+}
@@ -0,0 +1,63 @@
+package com.solutiongameofficial.swing;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+
+/**
+ * Window for active rendering. Frames are drawn into the back buffers of a {@link BufferStrategy} on the
+ * canvas, which are accelerated {@link java.awt.image.VolatileImage}s wherever the graphics pipeline supports it,
+ * so nothing goes through the event dispatch thread.
+ */
+public final class CanvasFrame {
+
+    private static final int BUFFER_COUNT = 2;
+
+    private final JFrame frame = new JFrame(System.getenv("APP_NAME"));
+    private final Canvas canvas = new Canvas();
+    private final BufferStrategy bufferStrategy;
+
+    /**
+     * Has to be called on the event dispatch thread.
+     */
+    public CanvasFrame() {
+        // the canvas never takes focus, so key bindings keep going through the root pane like in Frame
+        canvas.setIgnoreRepaint(true);
+        canvas.setFocusable(false);
+        canvas.setBackground(Color.BLACK);
+
+        JPanel contentPane = new JPanel(new BorderLayout());
+        contentPane.setBackground(Color.BLACK);
+        contentPane.add(canvas, BorderLayout.CENTER);
+
+        Dimension dimension = Toolkit.getDefaultToolkit().getScreenSize();
+        frame.setSize((int) dimension.getWidth() / 2, (int) dimension.getHeight() / 2);
+
+        frame.setExtendedState(JFrame.MAXIMIZED_BOTH);
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.setLocationRelativeTo(null);
+
+        frame.setContentPane(contentPane);
+        frame.setVisible(true);
+
+        // a buffer strategy needs a displayable canvas, so it can only be created once the frame is visible
+        canvas.createBufferStrategy(BUFFER_COUNT);
+        bufferStrategy = canvas.getBufferStrategy();
+    }
+
+    public JRootPane getRootPane() {
+        return frame.getRootPane();
+    }
+
+    BufferStrategy getBufferStrategy() {
+        return bufferStrategy;
+    }
+
+    int getCanvasWidth() {
+        return canvas.getWidth();
+    }
+
+    int getCanvasHeight() {
+        return canvas.getHeight();
+    }
+}
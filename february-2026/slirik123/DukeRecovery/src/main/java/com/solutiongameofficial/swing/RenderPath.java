@@ -0,0 +1,24 @@
+package com.solutiongameofficial.swing;
+
+import java.util.Locale;
+
+public enum RenderPath {
+    /**
+     * Hands every frame to the event dispatch thread through {@link Frame#repaint()}.
+     */
+    SWING,
+    /**
+     * Draws every frame straight into a {@link java.awt.image.BufferStrategy} on the presenting thread.
+     */
+    BUFFER_STRATEGY;
+
+    public static RenderPath fromArgument(String argument) {
+        String normalized = argument.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+        for (RenderPath renderPath : values()) {
+            if (renderPath.name().equals(normalized)) {
+                return renderPath;
+            }
+        }
+        throw new IllegalArgumentException("Unknown render path: " + argument);
+    }
+}
@@ -25,6 +25,8 @@ public record SwingInputAdapter(InputFacade input) {
         bind(inputMap, actionMap, "pressed D", "rightPress", GameAction.MOVE_RIGHT);
         bind(inputMap, actionMap, "pressed RIGHT", "rightPress", GameAction.MOVE_RIGHT);
 
+        bind(inputMap, actionMap, "pressed F3", "toggleProfiler", GameAction.TOGGLE_PROFILER);
+
         bind(inputMap, actionMap, "pressed Q", "quit", GameAction.QUIT);
     }
 
@@ -0,0 +1,60 @@
+package com.solutiongameofficial.collections;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EdgeListTest {
+
+    @Test
+    void packKeepsBothVertexIndices() {
+        long packed = EdgeList.pack(Integer.MAX_VALUE, 0);
+        assertEquals(Integer.MAX_VALUE, EdgeList.vertexA(packed));
+        assertEquals(0, EdgeList.vertexB(packed));
+
+        // vertex B must not bleed into vertex A through sign extension
+        packed = EdgeList.pack(3, -1);
+        assertEquals(3, EdgeList.vertexA(packed));
+        assertEquals(-1, EdgeList.vertexB(packed));
+    }
+
+    @Test
+    void growsPastItsExpectedSize() {
+        EdgeList edges = new EdgeList(0);
+        for (int edge = 0; edge < 1_000; edge++) {
+            edges.add(edge, edge + 1);
+        }
+
+        assertEquals(1_000, edges.size());
+        for (int edge = 0; edge < 1_000; edge++) {
+            assertEquals(edge, edges.edgeA(edge));
+            assertEquals(edge + 1, edges.edgeB(edge));
+        }
+    }
+
+    @Test
+    void copiesHoldOnlyTheEdgesInUse() {
+        EdgeList edges = new EdgeList(16);
+        edges.add(1, 2);
+        edges.addPacked(EdgeList.pack(3, 4));
+
+        assertArrayEquals(new int[] {1, 3}, edges.copyEdgeA());
+        assertArrayEquals(new int[] {2, 4}, edges.copyEdgeB());
+        assertThrows(IndexOutOfBoundsException.class, () -> edges.edgeA(2));
+    }
+
+    @Test
+    void clearKeepsTheListUsable() {
+        EdgeList edges = new EdgeList(4);
+        edges.add(1, 2);
+
+        edges.clear();
+
+        assertTrue(edges.isEmpty());
+        edges.add(5, 6);
+        assertArrayEquals(new int[] {5}, edges.copyEdgeA());
+    }
+}
@@ -0,0 +1,61 @@
+package com.solutiongameofficial.collections;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntArrayListTest {
+
+    @Test
+    void growsPastItsExpectedSize() {
+        IntArrayList list = new IntArrayList(0);
+        for (int value = 0; value < 1_000; value++) {
+            list.add(value * 3);
+        }
+
+        assertEquals(1_000, list.size());
+        for (int index = 0; index < 1_000; index++) {
+            assertEquals(index * 3, list.get(index));
+        }
+        assertEquals(1_000, list.toArray().length);
+    }
+
+    @Test
+    void setOverwritesInPlace() {
+        IntArrayList list = new IntArrayList(4);
+        list.add(1);
+        list.add(2);
+
+        list.set(1, 5);
+
+        assertArrayEquals(new int[] {1, 5}, list.toArray());
+    }
+
+    @Test
+    void indicesPastTheSizeAreRejected() {
+        // the backing array is larger than the list, those slots must not be reachable
+        IntArrayList list = new IntArrayList(8);
+        list.add(1);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.set(1, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+    }
+
+    @Test
+    void clearKeepsTheListUsable() {
+        IntArrayList list = new IntArrayList(4);
+        list.add(1);
+        list.add(2);
+
+        list.clear();
+
+        assertTrue(list.isEmpty());
+        assertArrayEquals(new int[0], list.toArray());
+        list.add(3);
+        assertArrayEquals(new int[] {3}, list.toArray());
+    }
+}
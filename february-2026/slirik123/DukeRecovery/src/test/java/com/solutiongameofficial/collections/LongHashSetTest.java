@@ -0,0 +1,146 @@
+package com.solutiongameofficial.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongHashSetTest {
+
+    // an expected size of 4 gives a table of 8 slots
+    static final int SLOTS = 8;
+
+    @Test
+    void addsEachKeyOnce() {
+        LongHashSet set = new LongHashSet(4);
+
+        assertTrue(set.add(42L));
+        assertFalse(set.add(42L));
+        assertTrue(set.add(-7L));
+
+        assertTrue(set.contains(42L));
+        assertTrue(set.contains(-7L));
+        assertFalse(set.contains(43L));
+        assertEquals(2, set.size());
+    }
+
+    @Test
+    void sentinelKeyIsAnOrdinaryKey() {
+        LongHashSet set = new LongHashSet(4);
+        assertFalse(set.contains(0L));
+
+        assertTrue(set.add(0L));
+        assertFalse(set.add(0L));
+        assertTrue(set.contains(0L));
+        assertEquals(1, set.size());
+        assertEquals(0L, singleKey(set));
+
+        assertTrue(set.remove(0L));
+        assertFalse(set.remove(0L));
+        assertFalse(set.contains(0L));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    void removeShiftsCollidingKeysBackAcrossTheTableEnd() {
+        // two keys that want the last slot, the second wraps around to slot 0,
+        // and a key that wants slot 0 and is pushed to slot 1
+        long[] lastSlotKeys = keysWithHomeSlot(SLOTS - 1, 2);
+        long firstSlotKey = keysWithHomeSlot(0, 1)[0];
+        LongHashSet set = new LongHashSet(4);
+        set.add(lastSlotKeys[0]);
+        set.add(lastSlotKeys[1]);
+        set.add(firstSlotKey);
+
+        assertTrue(set.remove(lastSlotKeys[0]));
+
+        assertFalse(set.contains(lastSlotKeys[0]));
+        assertTrue(set.contains(lastSlotKeys[1]));
+        assertTrue(set.contains(firstSlotKey));
+        assertEquals(2, set.size());
+
+        assertTrue(set.remove(lastSlotKeys[1]));
+        assertTrue(set.contains(firstSlotKey));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void growsPastItsExpectedSize() {
+        LongHashSet set = new LongHashSet(2);
+        for (long key = 1; key <= 10_000; key++) {
+            assertTrue(set.add(key * 31));
+        }
+
+        assertEquals(10_000, set.size());
+        for (long key = 1; key <= 10_000; key++) {
+            assertTrue(set.contains(key * 31));
+            assertFalse(set.contains(key * 31 + 1));
+        }
+    }
+
+    @Test
+    void matchesHashSetUnderRandomAddsAndRemoves() {
+        Random random = new Random(7);
+        LongHashSet set = new LongHashSet(4);
+        Set<Long> expected = new HashSet<>();
+
+        for (int operation = 0; operation < 200_000; operation++) {
+            // a small key range keeps probe chains long and removals frequent
+            long key = random.nextInt(512) - 256;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), set.remove(key));
+            } else {
+                assertEquals(expected.add(key), set.add(key));
+            }
+            assertEquals(expected.size(), set.size());
+        }
+
+        for (long key = -256; key < 256; key++) {
+            assertEquals(expected.contains(key), set.contains(key));
+        }
+        Set<Long> iterated = new HashSet<>();
+        LongHashSet.Cursor cursor = set.cursor();
+        while (cursor.advance()) {
+            assertTrue(iterated.add(cursor.key()));
+        }
+        assertEquals(expected, iterated);
+    }
+
+    @Test
+    void clearKeepsTheSetUsable() {
+        LongHashSet set = new LongHashSet(4);
+        set.add(0L);
+        set.add(5L);
+
+        set.clear();
+
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(0L));
+        assertFalse(set.contains(5L));
+        assertTrue(set.add(5L));
+    }
+
+    static long[] keysWithHomeSlot(int slot, int count) {
+        long[] keys = new long[count];
+        int found = 0;
+        for (long key = 1; found < count; key++) {
+            if ((PrimitiveHashing.mix(key) & (SLOTS - 1)) == slot) {
+                keys[found++] = key;
+            }
+        }
+        return keys;
+    }
+
+    private static long singleKey(LongHashSet set) {
+        LongHashSet.Cursor cursor = set.cursor();
+        assertTrue(cursor.advance());
+        long key = cursor.key();
+        assertFalse(cursor.advance());
+        return key;
+    }
+}
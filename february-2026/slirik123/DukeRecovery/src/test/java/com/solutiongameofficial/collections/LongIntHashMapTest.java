@@ -0,0 +1,122 @@
+package com.solutiongameofficial.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongIntHashMapTest {
+
+    private static final int MISSING = -1;
+
+    @Test
+    void putOverwritesAndGetOrPutKeepsTheFirstValue() {
+        LongIntHashMap map = new LongIntHashMap(4);
+
+        map.put(42L, 1);
+        map.put(42L, 2);
+        assertEquals(2, map.get(42L, MISSING));
+
+        assertEquals(3, map.getOrPut(17L, 3));
+        assertEquals(3, map.getOrPut(17L, 4));
+        assertEquals(3, map.get(17L, MISSING));
+
+        assertEquals(MISSING, map.get(18L, MISSING));
+        assertFalse(map.containsKey(18L));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void sentinelKeyIsAnOrdinaryKey() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        assertEquals(MISSING, map.get(0L, MISSING));
+
+        assertEquals(5, map.getOrPut(0L, 5));
+        assertEquals(5, map.getOrPut(0L, 6));
+        map.put(0L, 7);
+        assertEquals(7, map.get(0L, MISSING));
+        assertTrue(map.containsKey(0L));
+        assertEquals(1, map.size());
+
+        LongIntHashMap.Cursor cursor = map.cursor();
+        assertTrue(cursor.advance());
+        assertEquals(0L, cursor.key());
+        assertEquals(7, cursor.value());
+        assertFalse(cursor.advance());
+
+        assertTrue(map.remove(0L));
+        assertFalse(map.containsKey(0L));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void removeShiftsCollidingEntriesBackAcrossTheTableEnd() {
+        // laid out like LongHashSetTest: two keys at the last slot and slot 0, one pushed from slot 0 to 1
+        long[] lastSlotKeys = LongHashSetTest.keysWithHomeSlot(LongHashSetTest.SLOTS - 1, 2);
+        long firstSlotKey = LongHashSetTest.keysWithHomeSlot(0, 1)[0];
+        LongIntHashMap map = new LongIntHashMap(4);
+        map.put(lastSlotKeys[0], 10);
+        map.put(lastSlotKeys[1], 11);
+        map.put(firstSlotKey, 12);
+
+        assertTrue(map.remove(lastSlotKeys[0]));
+
+        assertEquals(MISSING, map.get(lastSlotKeys[0], MISSING));
+        assertEquals(11, map.get(lastSlotKeys[1], MISSING));
+        assertEquals(12, map.get(firstSlotKey, MISSING));
+
+        assertTrue(map.remove(lastSlotKeys[1]));
+        assertEquals(12, map.get(firstSlotKey, MISSING));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void keepsValuesThroughRehash() {
+        LongIntHashMap map = new LongIntHashMap(2);
+        for (int value = 0; value < 10_000; value++) {
+            map.put(value * 1_000_003L, value);
+        }
+
+        assertEquals(10_000, map.size());
+        for (int value = 0; value < 10_000; value++) {
+            assertEquals(value, map.get(value * 1_000_003L, MISSING));
+        }
+    }
+
+    @Test
+    void matchesHashMapUnderRandomPutsAndRemoves() {
+        Random random = new Random(11);
+        LongIntHashMap map = new LongIntHashMap(4);
+        Map<Long, Integer> expected = new HashMap<>();
+
+        for (int operation = 0; operation < 200_000; operation++) {
+            long key = random.nextInt(512) - 256;
+            int value = random.nextInt();
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.remove(key) != null, map.remove(key));
+                case 1 -> assertEquals((int) expected.computeIfAbsent(key, ignored -> value), map.getOrPut(key, value));
+                default -> {
+                    expected.put(key, value);
+                    map.put(key, value);
+                }
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        for (long key = -256; key < 256; key++) {
+            assertEquals((int) expected.getOrDefault(key, MISSING), map.get(key, MISSING));
+        }
+        Map<Long, Integer> iterated = new HashMap<>();
+        LongIntHashMap.Cursor cursor = map.cursor();
+        while (cursor.advance()) {
+            assertNull(iterated.put(cursor.key(), cursor.value()));
+        }
+        assertEquals(expected, iterated);
+    }
+}
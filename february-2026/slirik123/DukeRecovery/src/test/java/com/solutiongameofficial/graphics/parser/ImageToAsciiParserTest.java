@@ -0,0 +1,222 @@
+package com.solutiongameofficial.graphics.parser;
+
+import com.solutiongameofficial.graphics.AsciiColorMode;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class ImageToAsciiParserTest {
+
+    // the parser's symbol ramp and font, the reference below draws with them the way the parser did before the glyph atlas
+    private static final char[] SYMBOLS = new char[] {
+            ' ', '.', ',', '-', ':', ';', '*', '+', 'g', '&', '$', '#', '%', 'A', '@'
+    };
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 6);
+
+    // cell sizes below the glyph size make neighbouring glyphs overlap, sides that are no multiple leave partial cells
+    private static final int[] CELL_SIZES = {3, 4, 6, 7, 10};
+    private static final int WIDTH = 97;
+    private static final int HEIGHT = 61;
+
+    @Test
+    void monochromeMatchesDrawString() {
+        assertMatchesDrawString(AsciiColorMode.MONOCHROME);
+    }
+
+    @Test
+    void keepColorsMatchesDrawString() {
+        assertMatchesDrawString(AsciiColorMode.KEEP_COLORS);
+    }
+
+    @Test
+    void incrementalMatchesFullParse() {
+        assertIncrementalMatchesFullParse(false);
+    }
+
+    @Test
+    void incrementalWithDirtyRegionMatchesFullParse() {
+        assertIncrementalMatchesFullParse(true);
+    }
+
+    // every step edits the same image, then checks the retained output against a fresh parser doing a full parse
+    private static void assertIncrementalMatchesFullParse(boolean passDirtyRegion) {
+        ImageToAsciiParser incremental = new ImageToAsciiParser();
+        BufferedImage image = noise();
+        Random random = new Random(7);
+
+        // first frame, there is no retained state yet
+        assertIncrementalStep(incremental, image, 7, AsciiColorMode.KEEP_COLORS, null, "first frame");
+
+        assertIncrementalStep(incremental, image, 7, AsciiColorMode.KEEP_COLORS,
+                passDirtyRegion ? new Rectangle(0, 0, WIDTH, HEIGHT) : null, "unchanged frame");
+
+        int column = 41;
+        for (int y = 0; y < HEIGHT; y++) {
+            image.setRGB(column, y, random.nextInt());
+        }
+        assertIncrementalStep(incremental, image, 7, AsciiColorMode.KEEP_COLORS,
+                passDirtyRegion ? new Rectangle(column, 0, 1, HEIGHT) : null, "changed column");
+
+        // the last pixel column only, where a row comparison that stops one pixel short would miss it
+        fill(image, WIDTH - 1, 0, 1, HEIGHT, 0xFFFFFF);
+        assertIncrementalStep(incremental, image, 7, AsciiColorMode.KEEP_COLORS,
+                passDirtyRegion ? new Rectangle(WIDTH - 1, 0, 1, HEIGHT) : null, "changed last column");
+
+        Rectangle scattered = null;
+        for (int i = 0; i < 12; i++) {
+            int x = random.nextInt(WIDTH - 2);
+            int y = random.nextInt(HEIGHT - 2);
+            fill(image, x, y, 2, 2, random.nextInt());
+            Rectangle changed = new Rectangle(x, y, 2, 2);
+            scattered = scattered == null ? changed : scattered.union(changed);
+        }
+        assertIncrementalStep(incremental, image, 7, AsciiColorMode.KEEP_COLORS,
+                passDirtyRegion ? scattered : null, "scattered cells");
+
+        // turning the whole frame to black changes more than half of the cell rows
+        fill(image, 0, 0, WIDTH, HEIGHT, 0);
+        assertIncrementalStep(incremental, image, 7, AsciiColorMode.KEEP_COLORS,
+                passDirtyRegion ? new Rectangle(0, 0, WIDTH, HEIGHT) : null, "whole frame");
+
+        image = gradient();
+        assertIncrementalStep(incremental, image, 4, AsciiColorMode.KEEP_COLORS, null, "cell size change");
+        assertIncrementalStep(incremental, image, 4, AsciiColorMode.MONOCHROME, null, "colour mode change");
+
+        fill(image, 10, 10, 15, 3, 0xFFFFFF);
+        assertIncrementalStep(incremental, image, 4, AsciiColorMode.MONOCHROME,
+                passDirtyRegion ? new Rectangle(10, 10, 15, 3) : null, "change after cell size change");
+    }
+
+    private static void assertIncrementalStep(ImageToAsciiParser incremental, BufferedImage image, int cellSize,
+                                              AsciiColorMode asciiColorMode, Rectangle dirtyRegion, String step)
+    {
+        int[] actual = pixels(incremental.parseIncremental(image, cellSize, asciiColorMode, dirtyRegion));
+        int[] expected = pixels(new ImageToAsciiParser().parse(image, cellSize, asciiColorMode));
+        assertArrayEquals(expected, actual, step);
+    }
+
+    private static void assertMatchesDrawString(AsciiColorMode asciiColorMode) {
+        ImageToAsciiParser parser = new ImageToAsciiParser();
+        List<BufferedImage> images = List.of(gradient(), noise(), checkerboard());
+        for (int imageIndex = 0; imageIndex < images.size(); imageIndex++) {
+            BufferedImage image = images.get(imageIndex);
+            for (int cellSize : CELL_SIZES) {
+                assertArrayEquals(
+                        pixels(drawString(image, cellSize, asciiColorMode)),
+                        pixels(parser.parse(image, cellSize, asciiColorMode)),
+                        "image " + imageIndex + " at cell size " + cellSize
+                );
+            }
+        }
+    }
+
+    /**
+     * The per cell drawString rendering the glyph atlas replaced.
+     */
+    private static BufferedImage drawString(BufferedImage image, int cellSize, AsciiColorMode asciiColorMode) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] inputPixels = image.getRGB(0, 0, width, height, null, 0, width);
+
+        BufferedImage output = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics2D = output.createGraphics();
+        try {
+            graphics2D.setColor(Color.BLACK);
+            graphics2D.fillRect(0, 0, width, height);
+            graphics2D.setFont(FONT);
+            graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+            graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+
+            FontMetrics fontMetrics = graphics2D.getFontMetrics();
+            int drawYOffset = (cellSize - fontMetrics.getHeight()) / 2 + fontMetrics.getAscent();
+
+            for (int y0 = 0; y0 < height; y0 += cellSize) {
+                for (int x0 = 0; x0 < width; x0 += cellSize) {
+                    long sumLuminance = 0;
+                    long sumR = 0;
+                    long sumG = 0;
+                    long sumB = 0;
+                    int count = 0;
+                    for (int y = y0; y < Math.min(y0 + cellSize, height); y++) {
+                        for (int x = x0; x < Math.min(x0 + cellSize, width); x++) {
+                            int argb = inputPixels[y * width + x];
+                            int r = (argb >>> 16) & 0xFF;
+                            int g = (argb >>> 8) & 0xFF;
+                            int b = argb & 0xFF;
+                            sumLuminance += (54 * r + 183 * g + 19 * b) >>> 8;
+                            sumR += r;
+                            sumG += g;
+                            sumB += b;
+                            count++;
+                        }
+                    }
+
+                    int luminance = (int) (sumLuminance / count);
+                    int symbolIndex = luminance <= 0 ? 0
+                            : luminance >= 255 ? SYMBOLS.length - 1
+                            : (luminance * (SYMBOLS.length - 1)) / 255;
+                    String symbol = String.valueOf(SYMBOLS[symbolIndex]);
+
+                    graphics2D.setColor(asciiColorMode == AsciiColorMode.KEEP_COLORS
+                            ? new Color((int) (sumR / count), (int) (sumG / count), (int) (sumB / count))
+                            : Color.WHITE);
+                    graphics2D.drawString(symbol, x0 + (cellSize - fontMetrics.stringWidth(symbol)) / 2, y0 + drawYOffset);
+                }
+            }
+            return output;
+        } finally {
+            graphics2D.dispose();
+        }
+    }
+
+    // every symbol of the ramp, in tinted colours
+    private static BufferedImage gradient() {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                int level = x * 255 / (WIDTH - 1);
+                image.setRGB(x, y, (level << 16) | ((y * 255 / (HEIGHT - 1)) << 8) | (255 - level));
+            }
+        }
+        return image;
+    }
+
+    private static BufferedImage noise() {
+        Random random = new Random(42);
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                image.setRGB(x, y, random.nextInt());
+            }
+        }
+        return image;
+    }
+
+    // not an INT_RGB or INT_ARGB image, so the parser copies the pixels instead of reading the raster directly
+    private static BufferedImage checkerboard() {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_3BYTE_BGR);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                image.setRGB(x, y, ((x / 5 + y / 5) & 1) == 0 ? 0xFFFFFF : 0x202020);
+            }
+        }
+        return image;
+    }
+
+    private static void fill(BufferedImage image, int x, int y, int width, int height, int rgb) {
+        for (int row = y; row < y + height; row++) {
+            for (int column = x; column < x + width; column++) {
+                image.setRGB(column, row, rgb);
+            }
+        }
+    }
+
+    private static int[] pixels(BufferedImage image) {
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+    }
+}
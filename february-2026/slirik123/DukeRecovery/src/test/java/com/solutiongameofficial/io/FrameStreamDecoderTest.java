@@ -0,0 +1,108 @@
+package com.solutiongameofficial.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FrameStreamDecoderTest {
+
+    // neither side is a multiple of the 64 pixel tile size, so the last tile column and row are partial
+    private static final int WIDTH = 130;
+    private static final int HEIGHT = 70;
+    private static final int KEYFRAME_INTERVAL = 3;
+    private static final int FRAME_COUNT = 8;
+
+    @Test
+    void rawFramesRoundTrip() {
+        assertRoundTrip(FrameFormat.RAW);
+    }
+
+    @Test
+    void runLengthDeltaFramesRoundTrip() {
+        assertRoundTrip(FrameFormat.RLE_DELTA);
+    }
+
+    @Test
+    void tileDeltaFramesRoundTrip() {
+        assertRoundTrip(FrameFormat.TILE_DELTA);
+    }
+
+    @Test
+    void deltaFrameWithoutKeyframeIsRejected() {
+        FrameStreamEncoder encoder = new FrameStreamEncoder(FrameFormat.TILE_DELTA, KEYFRAME_INTERVAL);
+        List<int[]> frames = frames();
+        encoder.encode(frames.get(0), null, WIDTH, HEIGHT);
+        byte[] deltaOnly = copy(encoder.encode(frames.get(1), frames.get(0), WIDTH, HEIGHT));
+
+        try (FrameStreamDecoder decoder = new FrameStreamDecoder(new ByteArrayInputStream(deltaOnly))) {
+            assertThrows(IllegalStateException.class, decoder::next);
+        }
+    }
+
+    private static void assertRoundTrip(FrameFormat format) {
+        List<int[]> frames = frames();
+        FrameStreamEncoder encoder = new FrameStreamEncoder(format, KEYFRAME_INTERVAL);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        int[] previous = null;
+        for (int[] frame : frames) {
+            stream.writeBytes(copy(encoder.encode(frame, previous, WIDTH, HEIGHT)));
+            previous = frame;
+        }
+
+        try (FrameStreamDecoder decoder = new FrameStreamDecoder(new ByteArrayInputStream(stream.toByteArray()))) {
+            for (int i = 0; i < FRAME_COUNT; i++) {
+                FrameStreamDecoder.DecodedFrame decoded = decoder.next();
+                assertEquals(format, decoded.format());
+                assertEquals(WIDTH, decoded.width());
+                assertEquals(HEIGHT, decoded.height());
+                // delta formats send a keyframe every KEYFRAME_INTERVAL frames, RAW frames are all keyframes
+                boolean keyframe = !format.delta || i % KEYFRAME_INTERVAL == 0;
+                assertEquals(keyframe, decoded.keyframe(), "keyframe flag of frame " + i);
+                assertArrayEquals(frames.get(i), decoded.pixels(), "pixels of frame " + i);
+            }
+            assertNull(decoder.next());
+        }
+    }
+
+    // a random first frame, then each frame changes a few rectangles, one of them in the partial corner tile
+    private static List<int[]> frames() {
+        Random random = new Random(42);
+        List<int[]> frames = new ArrayList<>();
+        int[] pixels = new int[WIDTH * HEIGHT];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = random.nextInt();
+        }
+        frames.add(pixels.clone());
+
+        for (int frame = 1; frame < FRAME_COUNT; frame++) {
+            fill(pixels, random.nextInt(WIDTH - 10), random.nextInt(HEIGHT - 10), 10, 10, random.nextInt());
+            fill(pixels, WIDTH - 3, HEIGHT - 3, 3, 3, random.nextInt());
+            frames.add(pixels.clone());
+        }
+        return frames;
+    }
+
+    private static void fill(int[] pixels, int x, int y, int width, int height, int color) {
+        for (int row = y; row < y + height; row++) {
+            for (int column = x; column < x + width; column++) {
+                pixels[row * WIDTH + column] = color;
+            }
+        }
+    }
+
+    private static byte[] copy(ByteBuffer encoded) {
+        byte[] bytes = new byte[encoded.remaining()];
+        encoded.get(bytes);
+        return bytes;
+    }
+}
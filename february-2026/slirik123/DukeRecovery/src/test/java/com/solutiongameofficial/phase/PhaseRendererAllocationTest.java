@@ -0,0 +1,98 @@
+package com.solutiongameofficial.phase;
+
+import com.solutiongameofficial.graphics.parser.ImageToAsciiParser;
+import com.solutiongameofficial.phase.checksum.AsciiPresenter;
+import com.solutiongameofficial.phase.checksum.ChecksumRenderer;
+import com.solutiongameofficial.phase.checksum.ChecksumState;
+import com.solutiongameofficial.phase.loading.LoadingRenderer;
+import com.solutiongameofficial.phase.loading.LoadingState;
+import com.solutiongameofficial.phase.maze.MazeRenderer;
+import com.solutiongameofficial.phase.maze.MazeState;
+import com.solutiongameofficial.phase.success.GameEndedRenderer;
+import com.solutiongameofficial.phase.success.GameEndedState;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Steady-state frames of the 2D phase renderers, measured with the allocation counter of the rendering thread.
+ */
+class PhaseRendererAllocationTest {
+
+    private static final double FIXED_DELTA_TIME = 1d / 60d;
+    private static final int WARM_UP_FRAMES = 3_000;
+    private static final int MEASURED_FRAMES = 500;
+
+    /**
+     * What is left is inside Java2D: a clip rectangle for every translucent string, a shape and a path iterator
+     * for every antialiased oval and the bands the ASCII parser forks on more than one core. Up to 752 bytes
+     * have been measured, depending on core count and collector.
+     */
+    private static final long MAXIMUM_BYTES_PER_FRAME = 1024L;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void mazeFramesStayUnderAllocationBound() {
+        MazeRenderer renderer = new MazeRenderer(new ImageToAsciiParser());
+        MazeState state = new MazeState(9, 9, new Random(1337L));
+
+        assertSteadyStateAllocation("maze", () -> renderer.render(state, false, 0.0, 3, null));
+    }
+
+    @Test
+    void checksumFramesStayUnderAllocationBound() {
+        ChecksumRenderer renderer = new ChecksumRenderer();
+        renderer.initialize();
+        ChecksumState state = new ChecksumState();
+        AsciiPresenter presenter = new AsciiPresenter(new ImageToAsciiParser());
+        presenter.initialize();
+
+        assertSteadyStateAllocation("checksum", () -> {
+            state.update(FIXED_DELTA_TIME);
+            presenter.update(FIXED_DELTA_TIME, false);
+            presenter.get(renderer.render(state), renderer.dirtyRegion(state));
+        });
+    }
+
+    @Test
+    void loadingFramesStayUnderAllocationBound() {
+        LoadingRenderer renderer = new LoadingRenderer();
+        LoadingState state = new LoadingState(Double.MAX_VALUE);
+
+        assertSteadyStateAllocation("loading", () -> {
+            state.update(FIXED_DELTA_TIME);
+            renderer.render(state);
+        });
+    }
+
+    @Test
+    void gameEndedFramesStayUnderAllocationBound() {
+        GameEndedRenderer renderer = new GameEndedRenderer();
+        GameEndedState state = new GameEndedState(Double.MAX_VALUE);
+
+        assertSteadyStateAllocation("game ended", () -> {
+            state.update(FIXED_DELTA_TIME);
+            renderer.render(state);
+        });
+    }
+
+    private static void assertSteadyStateAllocation(String phase, Runnable frame) {
+        for (int i = 0; i < WARM_UP_FRAMES; i++) {
+            frame.run();
+        }
+
+        long startBytes = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            frame.run();
+        }
+        long bytesPerFrame = (THREADS.getCurrentThreadAllocatedBytes() - startBytes) / MEASURED_FRAMES;
+
+        assertTrue(bytesPerFrame <= MAXIMUM_BYTES_PER_FRAME,
+                phase + " allocated " + bytesPerFrame + " B per frame, at most " + MAXIMUM_BYTES_PER_FRAME + " expected");
+    }
+}
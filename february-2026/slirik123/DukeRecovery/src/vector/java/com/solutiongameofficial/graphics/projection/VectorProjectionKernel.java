@@ -0,0 +1,89 @@
+package com.solutiongameofficial.graphics.projection;
+
+import com.solutiongameofficial.graphics.WireMesh;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Same math as {@link ScalarProjectionKernel}, several vertices per instruction.
+ * Compiled in its own source set, the only one built against the incubator module, and only loaded by
+ * {@link ProjectionKernel#vector()} when that module is present.
+ */
+final class VectorProjectionKernel implements ProjectionKernel {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    // same lane count as DOUBLES, so lanes convert one to one. There is no 32 bit vector shape,
+    // so a single double lane has no matching int species
+    private static final VectorSpecies<Integer> INTS = isSupported()
+            ? VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.length() * Integer.SIZE))
+            : null;
+
+    VectorProjectionKernel() {
+        if (!isSupported()) {
+            throw new IllegalStateException("Preferred double species has a single lane, use the scalar kernel");
+        }
+    }
+
+    /**
+     * False when the platform's preferred double vector has one lane, there is nothing to gain over the scalar kernel then.
+     */
+    static boolean isSupported() {
+        return DOUBLES.length() >= 2;
+    }
+
+    @Override
+    public void project(WireMesh mesh, ProjectionTransform transform, int[] screenX, int[] screenY, double[] rotatedY) {
+        double[] vertexX = mesh.vertexX();
+        double[] vertexY = mesh.vertexY();
+        double[] vertexZ = mesh.vertexZ();
+        int vertexCount = mesh.vertexCount();
+
+        DoubleVector m00 = DoubleVector.broadcast(DOUBLES, transform.m00());
+        DoubleVector m01 = DoubleVector.broadcast(DOUBLES, transform.m01());
+        DoubleVector m02 = DoubleVector.broadcast(DOUBLES, transform.m02());
+        DoubleVector m10 = DoubleVector.broadcast(DOUBLES, transform.m10());
+        DoubleVector m11 = DoubleVector.broadcast(DOUBLES, transform.m11());
+        DoubleVector m12 = DoubleVector.broadcast(DOUBLES, transform.m12());
+        DoubleVector m20 = DoubleVector.broadcast(DOUBLES, transform.m20());
+        DoubleVector m21 = DoubleVector.broadcast(DOUBLES, transform.m21());
+        DoubleVector m22 = DoubleVector.broadcast(DOUBLES, transform.m22());
+        DoubleVector translateX = DoubleVector.broadcast(DOUBLES, transform.translateX());
+        DoubleVector translateY = DoubleVector.broadcast(DOUBLES, transform.translateY());
+        DoubleVector translateZ = DoubleVector.broadcast(DOUBLES, transform.translateZ());
+        DoubleVector focalLength = DoubleVector.broadcast(DOUBLES, transform.focalLength());
+        DoubleVector screenCenterX = DoubleVector.broadcast(DOUBLES, transform.screenCenterX());
+        DoubleVector screenCenterY = DoubleVector.broadcast(DOUBLES, transform.screenCenterY());
+        IntVector clipped = IntVector.broadcast(INTS, WireframeProjector.CLIPPED);
+
+        int vectorEnd = DOUBLES.loopBound(vertexCount);
+        int vertexIndex = 0;
+        for (; vertexIndex < vectorEnd; vertexIndex += DOUBLES.length()) {
+            DoubleVector x = DoubleVector.fromArray(DOUBLES, vertexX, vertexIndex);
+            DoubleVector y = DoubleVector.fromArray(DOUBLES, vertexY, vertexIndex);
+            DoubleVector z = DoubleVector.fromArray(DOUBLES, vertexZ, vertexIndex);
+
+            // same evaluation order as the scalar kernel, so both produce identical pixels
+            DoubleVector cameraX = m00.mul(x).add(m01.mul(y)).add(m02.mul(z)).add(translateX);
+            DoubleVector cameraY = m10.mul(x).add(m11.mul(y)).add(m12.mul(z)).add(translateY);
+            DoubleVector cameraZ = m20.mul(x).add(m21.mul(y)).add(m22.mul(z)).add(translateZ);
+
+            cameraY.intoArray(rotatedY, vertexIndex);
+
+            VectorMask<Integer> behindCamera = cameraZ.compare(VectorOperators.LE, 1.0).cast(INTS);
+
+            IntVector projectedX = (IntVector) screenCenterX.add(cameraX.mul(focalLength).div(cameraZ))
+                    .convertShape(VectorOperators.D2I, INTS, 0);
+            IntVector projectedY = (IntVector) screenCenterY.sub(cameraY.mul(focalLength).div(cameraZ))
+                    .convertShape(VectorOperators.D2I, INTS, 0);
+
+            projectedX.blend(clipped, behindCamera).intoArray(screenX, vertexIndex);
+            projectedY.blend(clipped, behindCamera).intoArray(screenY, vertexIndex);
+        }
+
+        ScalarProjectionKernel.project(mesh, transform, screenX, screenY, rotatedY, vertexIndex, vertexCount);
+    }
+}